@@ -42,6 +42,7 @@ import io.atlasmap.api.AtlasContext;
 import io.atlasmap.api.AtlasContextFactory;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasSession;
+import io.atlasmap.api.AtlasWarmUpResult;
 import io.atlasmap.core.AtlasMappingService.AtlasMappingFormat;
 import io.atlasmap.core.DefaultAtlasContextFactory;
 import io.atlasmap.v2.AtlasMapping;
@@ -69,6 +70,8 @@ public class AtlasEndpoint extends ResourceEndpoint {
     private String sourceMapName;
     @UriParam
     private String targetMapName;
+    @UriParam
+    private int warmUpIterations;
 
     public AtlasEndpoint(String uri, AtlasComponent component, String resourceUri) {
         super(uri, component, resourceUri);
@@ -166,12 +169,35 @@ public class AtlasEndpoint extends ResourceEndpoint {
         return this.targetMapName;
     }
 
+    /**
+     * The maximum number of sessions processed over synthesized source documents when the
+     * endpoint is started, so that the mapping is warmed up before the route takes traffic.
+     * Warming up stops earlier once the latency has stabilized. 0 disables it, which is the default.
+     */
+    public void setWarmUpIterations(int warmUpIterations) {
+        this.warmUpIterations = warmUpIterations;
+    }
+
+    public int getWarmUpIterations() {
+        return warmUpIterations;
+    }
+
     public AtlasEndpoint findOrCreateEndpoint(String uri, String newResourceUri) {
         String newUri = uri.replace(getResourceUri(), newResourceUri);
         log.debug("Getting endpoint with URI: {}", newUri);
         return getCamelContext().getEndpoint(newUri, AtlasEndpoint.class);
     }
 
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+        if (warmUpIterations > 0) {
+            AtlasContext context = getAtlasContext() != null ? getAtlasContext() : createAtlasContext();
+            AtlasWarmUpResult result = context.warmUp(warmUpIterations);
+            LOG.info("Warmed up the Atlas mapping {}: {}", getResourceUri(), result);
+        }
+    }
+
     @Override
     protected void onExchange(Exchange exchange) throws Exception {
         Message incomingMessage = exchange.getIn();
@@ -186,31 +212,40 @@ public class AtlasEndpoint extends ResourceEndpoint {
             return;
         }
 
-        AtlasSession atlasSession = getOrCreateAtlasContext(incomingMessage).createSession();
-        populateSourceDocuments(exchange, atlasSession);
-        getAtlasContext().process(atlasSession);
-
-        List<Audit> errors = new ArrayList<>();
-        for (Audit audit : atlasSession.getAudits().getAudit()) {
-            switch (audit.getStatus()) {
-            case ERROR:
-                errors.add(audit);
-                break;
-            case WARN:
-                LOG.warn("{}: docId='{}', path='{}'", audit.getMessage(), audit.getDocId(), audit.getPath());
-                break;
-            default:
-                LOG.info("{}: docId='{}', path='{}'", audit.getMessage(), audit.getDocId(), audit.getPath());
+        AtlasContext context = getOrCreateAtlasContext(incomingMessage);
+        // a context created for the mapping in the message header is used only for this exchange
+        boolean headerContext = context != getAtlasContext();
+        try {
+            AtlasSession atlasSession = context.createSession();
+            populateSourceDocuments(exchange, atlasSession);
+            context.process(atlasSession);
+
+            List<Audit> errors = new ArrayList<>();
+            for (Audit audit : atlasSession.getAudits().getAudit()) {
+                switch (audit.getStatus()) {
+                case ERROR:
+                    errors.add(audit);
+                    break;
+                case WARN:
+                    LOG.warn("{}: docId='{}', path='{}'", audit.getMessage(), audit.getDocId(), audit.getPath());
+                    break;
+                default:
+                    LOG.info("{}: docId='{}', path='{}'", audit.getMessage(), audit.getDocId(), audit.getPath());
+                }
+            }
+            if (!errors.isEmpty()) {
+                StringBuilder buf = new StringBuilder("Errors: ");
+                errors.stream().forEach(a -> buf.append(
+                        String.format("[%s: docId='%s', path='%s'], ", a.getMessage(), a.getDocId(), a.getPath())));
+                throw new AtlasException(buf.toString());
+            }
+
+            populateTargetDocuments(atlasSession, exchange);
+        } finally {
+            if (headerContext) {
+                context.close();
             }
         }
-        if (!errors.isEmpty()) {
-            StringBuilder buf = new StringBuilder("Errors: ");
-            errors.stream().forEach(a -> buf.append(
-                    String.format("[%s: docId='%s', path='%s'], ", a.getMessage(), a.getDocId(), a.getPath())));
-            throw new AtlasException(buf.toString());
-        }
-
-        populateTargetDocuments(atlasSession, exchange);
     }
 
     private AtlasContext getOrCreateAtlasContext(Message incomingMessage) throws Exception {
@@ -240,11 +275,22 @@ public class AtlasEndpoint extends ResourceEndpoint {
         }
 
         // No mapping in header, and no existing context. Create new one from resourceUri
+        return createAtlasContext();
+    }
+
+    private synchronized AtlasContext createAtlasContext() throws Exception {
+        if (atlasContext != null) {
+            return atlasContext;
+        }
+        String path = getResourceUri();
+        ObjectHelper.notNull(path, "mappingUri");
+        AtlasMappingFormat mappingFormat = path.toLowerCase().endsWith("json")
+                ? AtlasMappingFormat.JSON : AtlasMappingFormat.XML;
         if (log.isDebugEnabled()) {
             log.debug("Atlas mapping content read from resourceUri: {} for endpoint {}",
                     new Object[] { path, getEndpointUri() });
         }
-        reader = getEncoding() != null ? new InputStreamReader(getResourceAsInputStream(), getEncoding())
+        Reader reader = getEncoding() != null ? new InputStreamReader(getResourceAsInputStream(), getEncoding())
                 : new InputStreamReader(getResourceAsInputStream());
         AtlasMapping mapping = ((DefaultAtlasContextFactory) getOrCreateAtlasContextFactory())
                 .getMappingService()
@@ -5,6 +5,7 @@ import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
@@ -22,6 +23,7 @@ import org.slf4j.LoggerFactory;
 
 import io.atlasmap.api.AtlasContext;
 import io.atlasmap.api.AtlasSession;
+import io.atlasmap.api.AtlasWarmUpResult;
 import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.Audits;
 import io.atlasmap.v2.DataSource;
@@ -104,6 +106,17 @@ public class AtlasEndpointTest {
         perform(dataSources, null, null, true);
     }
 
+    @Test
+    public void testWarmUpOnStart() throws Exception {
+        final AtlasContext context = spy(AtlasContext.class);
+        when(context.warmUp(100)).thenReturn(new AtlasWarmUpResult(60, 0, true, 1000000L, 10000L));
+        final AtlasEndpoint endpoint = new AtlasEndpoint("atlas:test.xml", new AtlasComponent(), "test.xml");
+        endpoint.setAtlasContext(context);
+        endpoint.setWarmUpIterations(100);
+        endpoint.doStart();
+        verify(context).warmUp(100);
+    }
+
     private void perform(List<DataSource> dataSources, String sourceDocId, String targetDocId, boolean fromStream) throws Exception {
         final AtlasMapping mapping = new AtlasMapping();
         mapping.getDataSource().addAll(dataSources);
@@ -15,7 +15,7 @@
  */
 package io.atlasmap.api;
 
-public interface AtlasContext {
+public interface AtlasContext extends AutoCloseable {
 
     AtlasContextFactory getContextFactory();
 
@@ -24,4 +24,27 @@ public interface AtlasContext {
     void process(AtlasSession session) throws AtlasException;
 
     void processValidation(AtlasSession session) throws AtlasException;
+
+    /**
+     * Processes sessions over source documents synthesized from the DataSources and the source
+     * fields of the mapping definition, so that the classes are loaded and the mapping paths are
+     * compiled before the context takes traffic. It stops as soon as the session latency has
+     * stabilized, or after {@code maxIterations} sessions.
+     *
+     * @param maxIterations maximum number of sessions to process
+     * @return warm-up result, with no iteration if this context doesn't support warming up
+     * @throws AtlasException if the context can't be initialized
+     */
+    default AtlasWarmUpResult warmUp(int maxIterations) throws AtlasException {
+        return new AtlasWarmUpResult(0, 0, false, 0L, 0L);
+    }
+
+    /**
+     * Releases the modules and the JMX registrations held by this context. A closed context can't
+     * create nor process a session anymore.
+     */
+    @Override
+    default void close() {
+        // no-op
+    }
 }
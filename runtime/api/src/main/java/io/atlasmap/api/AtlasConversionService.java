@@ -17,6 +17,7 @@ package io.atlasmap.api;
 
 import java.util.Optional;
 
+import io.atlasmap.spi.AtlasPrimitiveValue;
 import io.atlasmap.v2.FieldType;
 
 public interface AtlasConversionService {
@@ -36,6 +37,22 @@ public interface AtlasConversionService {
     Object convertType(Object sourceValue, String sourceFormat, Class targetType, String targetFormat)
             throws AtlasConversionException;
 
+    /**
+     * Converts a numeric or String value into a primitive of the target type without boxing, e.g.
+     * long to int, double to float or String to long. The same range checks apply as for
+     * {@link #convertType(Object, FieldType, FieldType)}.
+     *
+     * @param source source value
+     * @param targetType target type
+     * @param target holder to receive the converted value, may be the source holder itself
+     * @return false if there's no primitive conversion between the types, use {@code convertType()} then
+     * @throws AtlasConversionException if the value can't be converted
+     */
+    default boolean convertPrimitive(AtlasPrimitiveValue source, FieldType targetType, AtlasPrimitiveValue target)
+            throws AtlasConversionException {
+        return false;
+    }
+
     Class<?> boxOrUnboxPrimitive(Class<?> clazz);
 
     Class<?> classFromFieldType(FieldType fieldType);
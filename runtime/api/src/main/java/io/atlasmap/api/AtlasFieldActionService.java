@@ -17,6 +17,7 @@ package io.atlasmap.api;
 
 import java.util.List;
 
+import io.atlasmap.v2.Action;
 import io.atlasmap.v2.ActionDetail;
 import io.atlasmap.v2.Actions;
 import io.atlasmap.v2.Field;
@@ -28,4 +29,12 @@ public interface AtlasFieldActionService {
     void processActions(Actions actions, Field field) throws AtlasException;
     Object processActions(Actions actions, Object sourceValue, FieldType targetType) throws AtlasException;
 
+    /**
+     * @param action field action
+     * @return true if the field action takes a whole collection as its input, e.g. Add or Concatenate
+     */
+    default boolean isCollectionAction(Action action) {
+        return false;
+    }
+
 }
@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.api;
+
+/**
+ * Outcome of {@link AtlasContext#warmUp(int)}. Latencies are in nanoseconds.
+ */
+public class AtlasWarmUpResult {
+
+    private final int iterations;
+    private final int failedIterations;
+    private final boolean stabilized;
+    private final long firstLatency;
+    private final long latency;
+
+    public AtlasWarmUpResult(int iterations, int failedIterations, boolean stabilized, long firstLatency,
+            long latency) {
+        this.iterations = iterations;
+        this.failedIterations = failedIterations;
+        this.stabilized = stabilized;
+        this.firstLatency = firstLatency;
+        this.latency = latency;
+    }
+
+    /**
+     * @return number of sessions processed
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return number of sessions which failed or ended up with error audits
+     */
+    public int getFailedIterations() {
+        return failedIterations;
+    }
+
+    /**
+     * @return true if the session latency stopped improving before the iterations ran out
+     */
+    public boolean isStabilized() {
+        return stabilized;
+    }
+
+    /**
+     * @return latency of the first session
+     */
+    public long getFirstLatency() {
+        return firstLatency;
+    }
+
+    /**
+     * @return median latency of the last sessions
+     */
+    public long getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        return "AtlasWarmUpResult [iterations=" + iterations + ", failedIterations=" + failedIterations
+                + ", stabilized=" + stabilized + ", firstLatency=" + firstLatency + ", latency=" + latency + "]";
+    }
+}
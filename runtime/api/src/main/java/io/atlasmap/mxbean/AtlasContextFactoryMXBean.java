@@ -24,4 +24,16 @@ public interface AtlasContextFactoryMXBean {
 
     public String getVersion();
 
+    public int getContextCount();
+
+    public int getMaxContexts();
+
+    public void setMaxContexts(int maxContexts);
+
+    public long getEvictedContextCount();
+
+    public boolean isContextJmxEnabled();
+
+    public void setContextJmxEnabled(boolean enabled);
+
 }
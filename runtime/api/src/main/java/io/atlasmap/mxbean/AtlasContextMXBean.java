@@ -15,6 +15,13 @@
  */
 package io.atlasmap.mxbean;
 
+import java.io.IOException;
+
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.TabularData;
+
+import io.atlasmap.v2.AuditStatus;
+
 public interface AtlasContextMXBean {
     public String getUuid();
 
@@ -27,4 +34,22 @@ public interface AtlasContextMXBean {
     public String getThreadName();
 
     public String getVersion();
+
+    public boolean isProfilingEnabled();
+
+    public void setProfilingEnabled(boolean enabled);
+
+    public int getProfilingSampleRate();
+
+    public void setProfilingSampleRate(int sampleRate);
+
+    public TabularData readProfilingReport() throws OpenDataException;
+
+    public void writeProfilingReport(String fileName) throws IOException;
+
+    public void resetProfiling();
+
+    public AuditStatus getAuditLevel();
+
+    public void setAuditLevel(AuditStatus auditLevel);
 }
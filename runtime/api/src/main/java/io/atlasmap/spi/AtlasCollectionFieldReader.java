@@ -0,0 +1,39 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.spi;
+
+import io.atlasmap.api.AtlasException;
+
+/**
+ * A {@link AtlasFieldReader} which can read every item of a source collection one by one, so that
+ * a collection field action such as Add or Concatenate reduces them without the whole collection
+ * being materialized into field values first.
+ */
+public interface AtlasCollectionFieldReader extends AtlasFieldReader {
+
+    /**
+     * Reads the source field in the session head whose path has array or list segments without an
+     * index, e.g. {@code /orders<>/amount}, as a lazily evaluated sequence of the item values in
+     * document order. Nested collections are flattened and items which don't have a value are
+     * skipped. Each item is read only when the returned {@link Iterable} is iterated.
+     *
+     * @param session session
+     * @return item values
+     * @throws AtlasException if the document is not set
+     */
+    Iterable<Object> readCollection(AtlasInternalSession session) throws AtlasException;
+
+}
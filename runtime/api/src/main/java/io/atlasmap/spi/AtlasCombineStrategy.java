@@ -15,6 +15,7 @@
  */
 package io.atlasmap.spi;
 
+import java.util.HashMap;
 import java.util.Map;
 
 public interface AtlasCombineStrategy {
@@ -36,4 +37,22 @@ public interface AtlasCombineStrategy {
     String combineValues(Map<Integer, String> values, String delimiter);
 
     String combineValues(Map<Integer, String> values, String delimiter, Integer maxItems);
+
+    /**
+     * Same as {@link #combineValues(Map, String)}, but takes the values as arrays already sorted by
+     * index so that no map needs to be built and sorted. Implementations should override this.
+     *
+     * @param indexes ascending, distinct indexes of the values
+     * @param values values, {@code values[i]} is at {@code indexes[i]}
+     * @param count number of values in the arrays
+     * @param delimiter delimiter, or null to use {@link #getDelimiter()}
+     * @return combined value
+     */
+    default String combineValues(int[] indexes, String[] values, int count, String delimiter) {
+        Map<Integer, String> map = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            map.put(indexes[i], values[i]);
+        }
+        return delimiter != null ? combineValues(map, delimiter) : combineValues(map);
+    }
 }
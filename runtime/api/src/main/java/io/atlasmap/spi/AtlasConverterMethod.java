@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.spi;
+
+import io.atlasmap.api.AtlasConverter;
+
+/**
+ * A {@link AtlasConversionInfo} annotated method of an {@link AtlasConverter}, see {@link AtlasGeneratedRegistry}.
+ */
+public final class AtlasConverterMethod {
+
+    @FunctionalInterface
+    public interface Invoker {
+        Object convert(AtlasConverter<?> converter, Object sourceValue, String sourceFormat, String targetFormat)
+                throws Exception;
+    }
+
+    private final String sourceClassName;
+    private final String targetClassName;
+    private final boolean containsFormat;
+    private final Invoker invoker;
+
+    /**
+     * @param sourceClassName canonical name of the source value class
+     * @param targetClassName canonical name of the converted value class
+     * @param containsFormat whether the method takes the source and target formats
+     * @param invoker calls the method on the converter
+     */
+    public AtlasConverterMethod(String sourceClassName, String targetClassName, boolean containsFormat,
+            Invoker invoker) {
+        this.sourceClassName = sourceClassName;
+        this.targetClassName = targetClassName;
+        this.containsFormat = containsFormat;
+        this.invoker = invoker;
+    }
+
+    public String getSourceClassName() {
+        return sourceClassName;
+    }
+
+    public String getTargetClassName() {
+        return targetClassName;
+    }
+
+    public boolean isContainsFormat() {
+        return containsFormat;
+    }
+
+    public Invoker getInvoker() {
+        return invoker;
+    }
+}
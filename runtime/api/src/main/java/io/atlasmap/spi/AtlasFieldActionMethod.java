@@ -0,0 +1,101 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.spi;
+
+import io.atlasmap.v2.Action;
+import io.atlasmap.v2.CollectionType;
+import io.atlasmap.v2.FieldType;
+
+/**
+ * A {@link AtlasFieldActionInfo} annotated method of an {@link io.atlasmap.api.AtlasFieldAction}, along with
+ * the setters of its {@code io.atlasmap.v2} action model class, see {@link AtlasGeneratedRegistry}.
+ */
+public final class AtlasFieldActionMethod {
+
+    @FunctionalInterface
+    public interface Invoker {
+        Object process(Action action, Object sourceValue) throws Exception;
+    }
+
+    private final String methodName;
+    private final String name;
+    private final FieldType sourceType;
+    private final FieldType targetType;
+    private final CollectionType sourceCollectionType;
+    private final CollectionType targetCollectionType;
+    private final String[] parameterNames;
+    private final Class<?>[] parameterTypes;
+    private final Invoker invoker;
+
+    /**
+     * {@code name}, {@code sourceType}, {@code targetType}, {@code sourceCollectionType} and
+     * {@code targetCollectionType} are the {@link AtlasFieldActionInfo} values of the method.
+     *
+     * @param methodName method name
+     * @param parameterNames action model setter properties, or null if the model class wasn't found
+     * @param parameterTypes action model setter parameter types
+     * @param invoker calls the method, or null if it can only be invoked reflectively
+     */
+    public AtlasFieldActionMethod(String methodName, String name, FieldType sourceType, FieldType targetType,
+            CollectionType sourceCollectionType, CollectionType targetCollectionType, String[] parameterNames,
+            Class<?>[] parameterTypes, Invoker invoker) {
+        this.methodName = methodName;
+        this.name = name;
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+        this.sourceCollectionType = sourceCollectionType;
+        this.targetCollectionType = targetCollectionType;
+        this.parameterNames = parameterNames;
+        this.parameterTypes = parameterTypes;
+        this.invoker = invoker;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public FieldType getSourceType() {
+        return sourceType;
+    }
+
+    public FieldType getTargetType() {
+        return targetType;
+    }
+
+    public CollectionType getSourceCollectionType() {
+        return sourceCollectionType;
+    }
+
+    public CollectionType getTargetCollectionType() {
+        return targetCollectionType;
+    }
+
+    public String[] getParameterNames() {
+        return parameterNames;
+    }
+
+    public Class<?>[] getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public Invoker getInvoker() {
+        return invoker;
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.spi;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converter and field action methods collected at compile time by the AtlasMap annotation processor
+ * ({@code io.atlasmap.processor.AtlasRegistryProcessor}), so that {@link AtlasConversionInfo} and
+ * {@link AtlasFieldActionInfo} annotated methods don't need to be discovered by reflection when the
+ * conversion and field action services are initialized, and are invoked directly afterwards.
+ * Implementations are looked up with {@link java.util.ServiceLoader}. The converters and field actions
+ * themselves are still registered as services; the ones a registry doesn't cover are scanned
+ * reflectively as before.
+ */
+public interface AtlasGeneratedRegistry {
+
+    /**
+     * @return converter methods keyed by the binary name of the {@link io.atlasmap.api.AtlasConverter} class
+     */
+    Map<String, List<AtlasConverterMethod>> getConverterMethods();
+
+    /**
+     * @return field action methods keyed by the binary name of the {@link io.atlasmap.api.AtlasFieldAction} class
+     */
+    Map<String, List<AtlasFieldActionMethod>> getFieldActionMethods();
+}
@@ -15,7 +15,10 @@
  */
 package io.atlasmap.spi;
 
+import java.util.OptionalInt;
+
 import io.atlasmap.api.AtlasSession;
+import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.LookupTable;
 import io.atlasmap.v2.Mapping;
@@ -40,6 +43,16 @@ public interface AtlasInternalSession extends AtlasSession {
 
     Head head();
 
+    /**
+     * Audits with a lower status than this level are not recorded in the session, apart from
+     * errors which always are.
+     *
+     * @return audit level, {@link AuditStatus#ALL} records all the audits
+     */
+    default AuditStatus getAuditLevel() {
+        return AuditStatus.ALL;
+    }
+
     public interface Head {
 
         Mapping getMapping();
@@ -50,6 +63,17 @@ public interface AtlasInternalSession extends AtlasSession {
 
         LookupTable getLookupTable();
 
+        /**
+         * Loop index bound while a collection mapping is processed. Field readers and writers
+         * resolve the array and list segments of the field path to this index instead of the
+         * one written in the path.
+         *
+         * @return collection index, or an empty one outside of a collection mapping
+         */
+        default OptionalInt getCollectionIndex() {
+            return OptionalInt.empty();
+        }
+
         Head setMapping(Mapping mapping);
 
         Head setLookupTable(LookupTable table);
@@ -58,6 +82,10 @@ public interface AtlasInternalSession extends AtlasSession {
 
         Head setTargetField(Field targetField);
 
+        default Head setCollectionIndex(OptionalInt index) {
+            return this;
+        }
+
         Head unset();
 
     }
@@ -15,6 +15,9 @@
  */
 package io.atlasmap.spi;
 
+import java.util.Collections;
+import java.util.List;
+
 import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasConverter;
 
@@ -38,4 +41,11 @@ public interface AtlasPrimitiveConverter<T> extends AtlasConverter<T> {
 
     String convertToString(T value, String sourceFormat, String targetFormat) throws AtlasConversionException;
 
+    /**
+     * @return conversions of this converter which don't box, see {@link AtlasPrimitiveValueConverter}
+     */
+    default List<AtlasPrimitiveValueConverter> getPrimitiveValueConverters() {
+        return Collections.emptyList();
+    }
+
 }
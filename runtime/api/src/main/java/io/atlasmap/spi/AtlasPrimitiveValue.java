@@ -0,0 +1,152 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.spi;
+
+import io.atlasmap.v2.FieldType;
+
+/**
+ * Mutable holder of a single {@link FieldType#INTEGER}, {@link FieldType#LONG}, {@link FieldType#SHORT},
+ * {@link FieldType#DOUBLE}, {@link FieldType#FLOAT} or {@link FieldType#STRING} value, so that those can
+ * be converted with {@link io.atlasmap.api.AtlasConversionService#convertPrimitive(AtlasPrimitiveValue,
+ * FieldType, AtlasPrimitiveValue)} without boxing. A holder is meant to be reused by a single thread.
+ */
+public final class AtlasPrimitiveValue {
+
+    private FieldType type;
+    private long longValue;
+    private double doubleValue;
+    private String stringValue;
+
+    public FieldType getType() {
+        return type;
+    }
+
+    public int getInteger() {
+        return (int) longValue;
+    }
+
+    public void setInteger(int value) {
+        this.type = FieldType.INTEGER;
+        this.longValue = value;
+    }
+
+    public long getLong() {
+        return longValue;
+    }
+
+    public void setLong(long value) {
+        this.type = FieldType.LONG;
+        this.longValue = value;
+    }
+
+    public short getShort() {
+        return (short) longValue;
+    }
+
+    public void setShort(short value) {
+        this.type = FieldType.SHORT;
+        this.longValue = value;
+    }
+
+    public double getDouble() {
+        return doubleValue;
+    }
+
+    public void setDouble(double value) {
+        this.type = FieldType.DOUBLE;
+        this.doubleValue = value;
+    }
+
+    public float getFloat() {
+        return (float) doubleValue;
+    }
+
+    public void setFloat(float value) {
+        this.type = FieldType.FLOAT;
+        this.doubleValue = value;
+    }
+
+    public String getString() {
+        return stringValue;
+    }
+
+    public void setString(String value) {
+        this.type = FieldType.STRING;
+        this.stringValue = value;
+    }
+
+    /**
+     * Unboxes a value into this holder.
+     *
+     * @param value boxed primitive or String
+     * @return false if the value is null or of an unsupported type, in which case the holder is cleared
+     */
+    public boolean set(Object value) {
+        Class<?> clazz = value != null ? value.getClass() : null;
+        if (clazz == Integer.class) {
+            setInteger((Integer) value);
+        } else if (clazz == Long.class) {
+            setLong((Long) value);
+        } else if (clazz == Double.class) {
+            setDouble((Double) value);
+        } else if (clazz == String.class) {
+            setString((String) value);
+        } else if (clazz == Float.class) {
+            setFloat((Float) value);
+        } else if (clazz == Short.class) {
+            setShort((Short) value);
+        } else {
+            clear();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the value boxed as its type, or null if the holder is empty
+     */
+    public Object box() {
+        if (type == null) {
+            return null;
+        }
+        switch (type) {
+        case INTEGER:
+            return getInteger();
+        case LONG:
+            return getLong();
+        case SHORT:
+            return getShort();
+        case DOUBLE:
+            return getDouble();
+        case FLOAT:
+            return getFloat();
+        default:
+            return stringValue;
+        }
+    }
+
+    public void clear() {
+        this.type = null;
+        this.longValue = 0L;
+        this.doubleValue = 0.0d;
+        this.stringValue = null;
+    }
+
+    @Override
+    public String toString() {
+        return type + ":" + box();
+    }
+}
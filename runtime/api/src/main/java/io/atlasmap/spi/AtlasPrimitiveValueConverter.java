@@ -0,0 +1,54 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.spi;
+
+import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.v2.FieldType;
+
+/**
+ * A conversion between two {@link AtlasPrimitiveValue} types which doesn't box, contributed by an
+ * {@link AtlasPrimitiveConverter}. It must apply the same range checks as the equivalent boxed
+ * {@code convertTo*()} method of the converter.
+ */
+public final class AtlasPrimitiveValueConverter {
+
+    @FunctionalInterface
+    public interface Conversion {
+        void convert(AtlasPrimitiveValue source, AtlasPrimitiveValue target) throws AtlasConversionException;
+    }
+
+    private final FieldType sourceType;
+    private final FieldType targetType;
+    private final Conversion conversion;
+
+    public AtlasPrimitiveValueConverter(FieldType sourceType, FieldType targetType, Conversion conversion) {
+        this.sourceType = sourceType;
+        this.targetType = targetType;
+        this.conversion = conversion;
+    }
+
+    public FieldType getSourceType() {
+        return sourceType;
+    }
+
+    public FieldType getTargetType() {
+        return targetType;
+    }
+
+    public void convert(AtlasPrimitiveValue source, AtlasPrimitiveValue target) throws AtlasConversionException {
+        conversion.convert(source, target);
+    }
+}
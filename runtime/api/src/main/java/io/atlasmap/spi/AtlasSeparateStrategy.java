@@ -36,4 +36,18 @@ public interface AtlasSeparateStrategy {
     List<String> separateValue(String value, String delimiter);
 
     List<String> separateValue(String value, String delimiter, Integer limit);
+
+    /**
+     * Returns a single value of {@link #separateValue(String, String)}. Implementations should
+     * override this to avoid separating the whole value when only a few indexes are mapped.
+     *
+     * @param value value to separate
+     * @param delimiter delimiter, or null to use {@link #getDelimiter()}
+     * @param index zero based index of the separated value
+     * @return separated value, or null if the value separates into fewer values
+     */
+    default String separateValueAt(String value, String delimiter, int index) {
+        List<String> values = delimiter != null ? separateValue(value, delimiter) : separateValue(value);
+        return values != null && index >= 0 && index < values.size() ? values.get(index) : null;
+    }
 }
@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.spi;
+
+import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.v2.Field;
+
+/**
+ * Observes {@link AtlasSession} execution. Listeners are invoked synchronously on the thread which
+ * processes the session, so implementations are expected to be cheap and thread-safe. All elapsed
+ * times are in nanoseconds. Every callback has a no-op default, so that implementations only need
+ * to override the events they're interested in.
+ */
+public interface AtlasSessionListener {
+
+    enum ModulePhase {
+        PRE_VALIDATION, PRE_SOURCE_EXECUTION, PRE_TARGET_EXECUTION, POST_VALIDATION, POST_SOURCE_EXECUTION,
+        POST_TARGET_EXECUTION
+    }
+
+    default void onSessionStart(AtlasSession session) {
+    }
+
+    default void onSessionEnd(AtlasSession session, long elapsedNanos) {
+    }
+
+    default void onValidation(AtlasSession session, long elapsedNanos) {
+    }
+
+    default void onModuleExecution(AtlasSession session, AtlasModule module, ModulePhase phase, long elapsedNanos) {
+    }
+
+    default void onFieldRead(AtlasSession session, Field sourceField, long elapsedNanos) {
+    }
+
+    default void onFieldWrite(AtlasSession session, Field sourceField, Field targetField, long elapsedNanos) {
+    }
+
+    /**
+     * @param session session
+     * @param sourceField source field, or null if it's not known
+     * @param targetField target field, or null if the failure happened while reading the source
+     * @param e the conversion failure
+     */
+    default void onConversionFailure(AtlasSession session, Field sourceField, Field targetField,
+            AtlasConversionException e) {
+    }
+}
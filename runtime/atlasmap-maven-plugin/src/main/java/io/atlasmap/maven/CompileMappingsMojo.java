@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.maven;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.core.AtlasMappingService;
+import io.atlasmap.core.AtlasMappingService.AtlasMappingFormat;
+import io.atlasmap.core.DefaultAtlasContextFactory;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.Validation;
+import io.atlasmap.v2.ValidationStatus;
+
+/**
+ * Validates mapping definitions and writes them in the {@link AtlasMappingFormat#BINARY} format, which
+ * is loaded at runtime without parsing, e.g. {@code atlasmapping.xml} is written as {@code atlasmapping.bin}.
+ */
+@Mojo(name = "compile-mappings", defaultPhase = LifecyclePhase.PROCESS_RESOURCES)
+public class CompileMappingsMojo extends AbstractMojo {
+
+    /**
+     * The directory where binary mappings get generated to.
+     */
+    @Parameter(defaultValue = "${project.build.outputDirectory}")
+    private File outputDir;
+
+    /**
+     * The XML or JSON mapping definitions to compile, the format is detected from the file extension.
+     */
+    @Parameter(required = true)
+    private List<File> mappingFiles;
+
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (outputDir != null) {
+            outputDir.mkdirs();
+        }
+        DefaultAtlasContextFactory factory = DefaultAtlasContextFactory.getInstance();
+        AtlasMappingService mappingService = factory.getMappingService();
+        for (File mappingFile : mappingFiles) {
+            String name = mappingFile.getName();
+            int dot = name.lastIndexOf('.');
+            String extension = dot < 0 ? "" : name.substring(dot + 1);
+            AtlasMappingFormat format = AtlasMappingFormat.JSON.value().equalsIgnoreCase(extension)
+                    ? AtlasMappingFormat.JSON : AtlasMappingFormat.XML;
+
+            AtlasMapping mapping;
+            try {
+                mapping = mappingService.loadMapping(mappingFile, format);
+            } catch (AtlasException e) {
+                throw new MojoExecutionException(String.format("Failed to load %s: %s", mappingFile, e.getMessage()), e);
+            }
+
+            boolean failed = false;
+            for (Validation validation : factory.getValidationService().validateMapping(mapping)) {
+                String message = String.format("%s: %s", mappingFile, validation.getMessage());
+                if (validation.getStatus() == ValidationStatus.ERROR) {
+                    getLog().error(message);
+                    failed = true;
+                } else if (validation.getStatus() == ValidationStatus.WARN) {
+                    getLog().warn(message);
+                }
+            }
+            if (failed) {
+                throw new MojoFailureException("Mapping definition is not valid: " + mappingFile);
+            }
+
+            File target = new File(outputDir,
+                    (dot < 0 ? name : name.substring(0, dot)) + "." + AtlasMappingFormat.BINARY.value());
+            try {
+                mappingService.saveMappingAsFile(mapping, target, AtlasMappingFormat.BINARY);
+            } catch (AtlasException e) {
+                throw new MojoExecutionException(String.format("Failed to write %s: %s", target, e.getMessage()), e);
+            }
+            getLog().info("Created: " + target);
+        }
+    }
+
+    public File getOutputDir() {
+        return outputDir;
+    }
+
+    public void setOutputDir(File outputDir) {
+        this.outputDir = outputDir;
+    }
+
+    public List<File> getMappingFiles() {
+        return mappingFiles;
+    }
+
+    public void setMappingFiles(List<File> mappingFiles) {
+        this.mappingFiles = mappingFiles;
+    }
+}
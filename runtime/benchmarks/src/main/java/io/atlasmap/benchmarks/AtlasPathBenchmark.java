@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.atlasmap.core.AtlasPath;
+import io.atlasmap.core.CompiledPath;
+
+/**
+ * Micro benchmarks of {@link AtlasPath} parsing, {@link CompiledPath} lookups and the collection
+ * index manipulation done for every item of a collection mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class AtlasPathBenchmark {
+
+    private String simplePath;
+    private String collectionPath;
+    private String indexedPath;
+    private AtlasPath parsedCollectionPath;
+
+    @Setup
+    public void setup() {
+        simplePath = "/order/address/street";
+        collectionPath = "/orders/order<>/contact/firstName";
+        indexedPath = "/orders/order<42>/contact/phone[3]/number";
+        parsedCollectionPath = new AtlasPath(collectionPath);
+    }
+
+    @Benchmark
+    public Object parseSimple() {
+        return new AtlasPath(simplePath).getSegments();
+    }
+
+    @Benchmark
+    public Object parseCollection() {
+        return new AtlasPath(collectionPath).getSegments();
+    }
+
+    @Benchmark
+    public Object segmentContexts() {
+        return new AtlasPath(indexedPath).getSegmentContexts(false);
+    }
+
+    @Benchmark
+    public Object removeCollectionIndexes() {
+        return AtlasPath.removeCollectionIndexes(indexedPath);
+    }
+
+    @Benchmark
+    public Object setCollectionIndex() {
+        AtlasPath path = new AtlasPath(parsedCollectionPath.toString());
+        path.setCollectionIndex(path.getCollectionSegment(), 42);
+        return path.toString();
+    }
+
+    @Benchmark
+    public Object compileCollection() {
+        return CompiledPath.compile(collectionPath).getSegmentExpressions();
+    }
+
+    @Benchmark
+    public Object overwriteCollectionIndex() {
+        return AtlasPath.overwriteCollectionIndex(collectionPath, 42);
+    }
+}
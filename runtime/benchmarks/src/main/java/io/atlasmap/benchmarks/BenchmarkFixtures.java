@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import io.atlasmap.itests.generator.CorpusFormat;
+import io.atlasmap.itests.generator.CorpusShape;
+import io.atlasmap.itests.generator.DocumentGenerator;
+import io.atlasmap.itests.generator.MappingGenerator;
+import io.atlasmap.json.v2.AtlasJsonModelFactory;
+import io.atlasmap.json.v2.JsonField;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.DataSource;
+import io.atlasmap.v2.DataSourceType;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.LookupEntry;
+import io.atlasmap.v2.LookupTable;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+
+/**
+ * Mapping definitions and source documents shared by the benchmarks, built with the corpus
+ * generator. Same format scenarios map {@link #RECORD_FIELDS} fields of each record in a
+ * collection of {@code size} records. Collection mappings can't cross formats yet, so the
+ * mixed scenarios instead map {@code size} flat fields one by one.
+ */
+public final class BenchmarkFixtures {
+
+    public static final int RECORD_FIELDS = 10;
+
+    public enum Scenario {
+        JSON_JSON(CorpusFormat.JSON, CorpusFormat.JSON),
+        XML_XML(CorpusFormat.XML, CorpusFormat.XML),
+        JAVA_JAVA(CorpusFormat.JAVA, CorpusFormat.JAVA),
+        JSON_XML(CorpusFormat.JSON, CorpusFormat.XML),
+        XML_JSON(CorpusFormat.XML, CorpusFormat.JSON);
+
+        private final CorpusFormat source;
+        private final CorpusFormat target;
+
+        Scenario(CorpusFormat source, CorpusFormat target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        public CorpusFormat getSource() {
+            return source;
+        }
+
+        public CorpusFormat getTarget() {
+            return target;
+        }
+
+        public CorpusShape shape(int size) {
+            if (source == target) {
+                return new CorpusShape().setFieldCount(RECORD_FIELDS).setCollectionDepth(1).setCollectionSize(size);
+            }
+            return new CorpusShape().setFieldCount(size).setNestingDepth(Math.min(size - 1, 3));
+        }
+    }
+
+    private BenchmarkFixtures() {
+    }
+
+    public static AtlasMapping createMapping(Scenario scenario, int size) {
+        return MappingGenerator.generate(scenario.shape(size), scenario.getSource(), scenario.getTarget());
+    }
+
+    public static Object createSourceDocument(Scenario scenario, int size) {
+        return DocumentGenerator.generate(scenario.shape(size), scenario.getSource());
+    }
+
+    /**
+     * Creates a JSON to JSON lookup mapping with a table of {@code tableSize} entries,
+     * where the source value {@link #lookupSourceValue(int)} hits the last entry.
+     */
+    public static AtlasMapping createLookupMapping(int tableSize) {
+        AtlasMapping answer = AtlasModelFactory.createAtlasMapping();
+        answer.setName("benchmark-lookup");
+        answer.getDataSource().add(createJsonDataSource(DataSourceType.SOURCE));
+        answer.getDataSource().add(createJsonDataSource(DataSourceType.TARGET));
+        LookupTable table = new LookupTable();
+        table.setName("benchmark");
+        for (int i = 0; i < tableSize; i++) {
+            LookupEntry entry = new LookupEntry();
+            entry.setSourceValue("source" + i);
+            entry.setSourceType(FieldType.STRING);
+            entry.setTargetValue("target" + i);
+            entry.setTargetType(FieldType.STRING);
+            table.getLookupEntry().add(entry);
+        }
+        answer.getLookupTables().getLookupTable().add(table);
+
+        Mapping mapping = AtlasModelFactory.createMapping(MappingType.LOOKUP);
+        mapping.setLookupTableName(table.getName());
+        mapping.getInputField().add(createJsonField("/code"));
+        mapping.getOutputField().add(createJsonField("/code"));
+        answer.getMappings().getMapping().add(mapping);
+        return answer;
+    }
+
+    public static String lookupSourceValue(int tableSize) {
+        return "{\"code\":\"source" + (tableSize - 1) + "\"}";
+    }
+
+    static DataSource createJsonDataSource(DataSourceType type) {
+        DataSource answer = new DataSource();
+        answer.setDataSourceType(type);
+        answer.setUri(AtlasJsonModelFactory.URI_FORMAT);
+        return answer;
+    }
+
+    static JsonField createJsonField(String path) {
+        JsonField answer = AtlasJsonModelFactory.createJsonField();
+        answer.setPath(path);
+        answer.setFieldType(FieldType.STRING);
+        return answer;
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.atlasmap.core.DefaultAtlasCombineStrategy;
+import io.atlasmap.core.DefaultAtlasSeparateStrategy;
+
+/**
+ * Micro benchmarks of the default combine and separate strategies, comparing the map/list based
+ * methods with the sorted array and single index ones the context uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class CombineSeparateBenchmark {
+
+    private DefaultAtlasCombineStrategy combineStrategy;
+    private DefaultAtlasSeparateStrategy separateStrategy;
+    private int[] indexes;
+    private String[] values;
+    private String separateValue;
+
+    @Setup
+    public void setup() {
+        combineStrategy = new DefaultAtlasCombineStrategy();
+        separateStrategy = new DefaultAtlasSeparateStrategy();
+        indexes = new int[] { 0, 1, 2, 3 };
+        values = new String[] { "John", "Q", "Public", "Jr." };
+        separateValue = "John Q Public Jr.";
+    }
+
+    @Benchmark
+    public String combineMap() {
+        Map<Integer, String> map = new HashMap<>();
+        for (int i = 0; i < indexes.length; i++) {
+            map.put(indexes[i], values[i]);
+        }
+        return combineStrategy.combineValues(map, ",");
+    }
+
+    @Benchmark
+    public String combineSorted() {
+        return combineStrategy.combineValues(indexes, values, indexes.length, ",");
+    }
+
+    @Benchmark
+    public String separateList() {
+        List<String> separated = separateStrategy.separateValue(separateValue);
+        return separated.size() > 2 ? separated.get(2) : null;
+    }
+
+    @Benchmark
+    public String separateAt() {
+        return separateStrategy.separateValueAt(separateValue, null, 2);
+    }
+}
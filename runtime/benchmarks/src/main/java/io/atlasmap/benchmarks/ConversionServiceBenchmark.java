@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.core.DefaultAtlasConversionService;
+import io.atlasmap.spi.AtlasPrimitiveValue;
+import io.atlasmap.v2.FieldType;
+
+/**
+ * Micro benchmarks of {@link DefaultAtlasConversionService#convertType(Object, FieldType, FieldType)}
+ * for the most common auto conversions, including decimal, out of range and invalid numeric strings,
+ * and of the unboxed {@link DefaultAtlasConversionService#convertPrimitive(AtlasPrimitiveValue, FieldType,
+ * AtlasPrimitiveValue)} counterparts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class ConversionServiceBenchmark {
+
+    private DefaultAtlasConversionService conversionService;
+    private String intString;
+    private String doubleString;
+    private String invalidNumber;
+    private String decimalString;
+    private String outOfRangeNumber;
+    private Integer intValue;
+    private Long longValue;
+    private Double doubleValue;
+    private Date dateValue;
+    private AtlasPrimitiveValue primitiveValue;
+
+    @Setup
+    public void setup() {
+        conversionService = DefaultAtlasConversionService.getInstance();
+        intString = "123456";
+        doubleString = "12345.678";
+        invalidNumber = "12a45";
+        decimalString = "123456.00";
+        outOfRangeNumber = "12345678901";
+        intValue = 123456;
+        longValue = 123456789L;
+        doubleValue = 12345.678;
+        dateValue = new Date(1500000000000L);
+        primitiveValue = new AtlasPrimitiveValue();
+    }
+
+    @Benchmark
+    public Object stringToInteger() throws AtlasConversionException {
+        return conversionService.convertType(intString, FieldType.STRING, FieldType.INTEGER);
+    }
+
+    @Benchmark
+    public Object stringToDouble() throws AtlasConversionException {
+        return conversionService.convertType(doubleString, FieldType.STRING, FieldType.DOUBLE);
+    }
+
+    @Benchmark
+    public Object invalidStringToInteger() {
+        try {
+            return conversionService.convertType(invalidNumber, FieldType.STRING, FieldType.INTEGER);
+        } catch (AtlasConversionException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object decimalStringToInteger() throws AtlasConversionException {
+        return conversionService.convertType(decimalString, FieldType.STRING, FieldType.INTEGER);
+    }
+
+    @Benchmark
+    public Object outOfRangeStringToInteger() {
+        try {
+            return conversionService.convertType(outOfRangeNumber, FieldType.STRING, FieldType.INTEGER);
+        } catch (AtlasConversionException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object stringToLong() throws AtlasConversionException {
+        return conversionService.convertType(outOfRangeNumber, FieldType.STRING, FieldType.LONG);
+    }
+
+    @Benchmark
+    public Object integerToString() throws AtlasConversionException {
+        return conversionService.convertType(intValue, FieldType.INTEGER, FieldType.STRING);
+    }
+
+    @Benchmark
+    public Object integerToLong() throws AtlasConversionException {
+        return conversionService.convertType(intValue, FieldType.INTEGER, FieldType.LONG);
+    }
+
+    @Benchmark
+    public Object longToInteger() throws AtlasConversionException {
+        return conversionService.convertType(longValue, FieldType.LONG, FieldType.INTEGER);
+    }
+
+    @Benchmark
+    public int primitiveLongToInteger() throws AtlasConversionException {
+        primitiveValue.setLong(123456789L);
+        conversionService.convertPrimitive(primitiveValue, FieldType.INTEGER, primitiveValue);
+        return primitiveValue.getInteger();
+    }
+
+    @Benchmark
+    public long primitiveStringToLong() throws AtlasConversionException {
+        primitiveValue.setString(outOfRangeNumber);
+        conversionService.convertPrimitive(primitiveValue, FieldType.LONG, primitiveValue);
+        return primitiveValue.getLong();
+    }
+
+    @Benchmark
+    public Object doubleToString() throws AtlasConversionException {
+        return conversionService.convertType(doubleValue, FieldType.DOUBLE, FieldType.STRING);
+    }
+
+    @Benchmark
+    public Object dateToString() throws AtlasConversionException {
+        return conversionService.convertType(dateValue, FieldType.DATE_TIME, FieldType.STRING);
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.core.DefaultAtlasConversionService;
+import io.atlasmap.core.DefaultAtlasFieldActionService;
+import io.atlasmap.v2.Action;
+import io.atlasmap.v2.Actions;
+import io.atlasmap.v2.Capitalize;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Length;
+import io.atlasmap.v2.Lowercase;
+import io.atlasmap.v2.Trim;
+import io.atlasmap.v2.Uppercase;
+
+/**
+ * Micro benchmarks of {@link DefaultAtlasFieldActionService#processActions(Actions, Object, FieldType)}
+ * for a single action, an action chain and a chain ending with a type changing action.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class FieldActionServiceBenchmark {
+
+    private DefaultAtlasFieldActionService fieldActionService;
+    private Actions single;
+    private Actions chain;
+    private Actions typeChanging;
+    private String value;
+
+    @Setup
+    public void setup() {
+        fieldActionService = new DefaultAtlasFieldActionService(DefaultAtlasConversionService.getInstance());
+        fieldActionService.init();
+        single = actions(new Uppercase());
+        chain = actions(new Trim(), new Lowercase(), new Capitalize());
+        typeChanging = actions(new Trim(), new Length());
+        value = "  atlasmap field action benchmark  ";
+    }
+
+    @Benchmark
+    public Object singleAction() throws AtlasException {
+        return fieldActionService.processActions(single, value, FieldType.STRING);
+    }
+
+    @Benchmark
+    public Object actionChain() throws AtlasException {
+        return fieldActionService.processActions(chain, value, FieldType.STRING);
+    }
+
+    @Benchmark
+    public Object typeChangingChain() throws AtlasException {
+        return fieldActionService.processActions(typeChanging, value, FieldType.STRING);
+    }
+
+    private static Actions actions(Action... actions) {
+        Actions answer = new Actions();
+        answer.getActions().addAll(Arrays.asList(actions));
+        return answer;
+    }
+}
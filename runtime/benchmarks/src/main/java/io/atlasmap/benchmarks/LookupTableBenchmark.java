@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.core.DefaultAtlasContextFactory;
+
+/**
+ * Lookup mapping cost as a function of the lookup table size, always hitting the last entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class LookupTableBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int tableSize;
+
+    private AtlasContext context;
+    private String sourceDocument;
+
+    @Setup
+    public void setup() throws AtlasException {
+        context = DefaultAtlasContextFactory.getInstance()
+                .createContext(BenchmarkFixtures.createLookupMapping(tableSize));
+        sourceDocument = BenchmarkFixtures.lookupSourceValue(tableSize);
+        AtlasSession session = process();
+        if (session.hasErrors()) {
+            throw new IllegalStateException("Lookup failed: " + session.getAudits().getAudit());
+        }
+    }
+
+    @Benchmark
+    public Object lookup() throws AtlasException {
+        return process().getDefaultTargetDocument();
+    }
+
+    AtlasSession process() throws AtlasException {
+        AtlasSession session = context.createSession();
+        session.setDefaultSourceDocument(sourceDocument);
+        context.process(session);
+        return session;
+    }
+}
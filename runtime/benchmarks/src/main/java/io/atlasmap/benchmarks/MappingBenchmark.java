@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.benchmarks.BenchmarkFixtures.Scenario;
+import io.atlasmap.core.DefaultAtlasContextFactory;
+import io.atlasmap.v2.AtlasMapping;
+
+/**
+ * End to end {@link AtlasContext#process(AtlasSession)} throughput for each source/target
+ * format combination and document size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 2, jvmArgsAppend = { "-Xms1g", "-Xmx1g" })
+public class MappingBenchmark {
+
+    @Param({ "JSON_JSON", "XML_XML", "JAVA_JAVA", "JSON_XML", "XML_JSON" })
+    public Scenario scenario;
+
+    @Param({ "1", "10", "100", "1000" })
+    public int size;
+
+    private AtlasContext context;
+    private Object sourceDocument;
+
+    @Setup
+    public void setup() throws AtlasException {
+        AtlasMapping mapping = BenchmarkFixtures.createMapping(scenario, size);
+        context = DefaultAtlasContextFactory.getInstance().createContext(mapping);
+        sourceDocument = BenchmarkFixtures.createSourceDocument(scenario, size);
+        // fail fast rather than benchmarking the error path
+        AtlasSession session = process();
+        if (session.hasErrors()) {
+            throw new IllegalStateException(
+                    String.format("Scenario %s failed: %s", scenario, session.getAudits().getAudit()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context = null;
+        sourceDocument = null;
+    }
+
+    @Benchmark
+    public Object map() throws AtlasException {
+        return process().getDefaultTargetDocument();
+    }
+
+    AtlasSession process() throws AtlasException {
+        AtlasSession session = context.createSession();
+        session.setDefaultSourceDocument(sourceDocument);
+        context.process(session);
+        return session;
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.core.DefaultAtlasContextFactory;
+import io.atlasmap.itests.generator.CorpusFormat;
+import io.atlasmap.itests.generator.CorpusShape;
+import io.atlasmap.itests.generator.DocumentGenerator;
+import io.atlasmap.itests.generator.MappingGenerator;
+import io.atlasmap.v2.AtlasMapping;
+
+/**
+ * Scaling limits of the engine with generated corpora: the number of mapped fields, the nesting
+ * depth and the source document size. Pass e.g. {@code -p documentSize=104857600} to go up to
+ * 100 MB documents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class ScalingBenchmark {
+
+    @Param({ "JSON", "XML" })
+    public CorpusFormat format;
+
+    @Param({ "10", "100", "1000", "10000" })
+    public int fieldCount;
+
+    @Param({ "0", "3" })
+    public int nestingDepth;
+
+    @Param({ "0", "1024", "1048576" })
+    public long documentSize;
+
+    private AtlasContext context;
+    private Object sourceDocument;
+
+    @Setup
+    public void setup() throws AtlasException {
+        CorpusShape shape = new CorpusShape().setFieldCount(fieldCount).setNestingDepth(nestingDepth);
+        if (documentSize > 0) {
+            shape.setCollectionDepth(1);
+            shape.setCollectionSize(DocumentGenerator.collectionSizeFor(shape, format, documentSize));
+        }
+        AtlasMapping mapping = MappingGenerator.generate(shape, format, format);
+        context = DefaultAtlasContextFactory.getInstance().createContext(mapping);
+        sourceDocument = DocumentGenerator.generate(shape, format);
+    }
+
+    @Benchmark
+    public Object map() throws AtlasException {
+        AtlasSession session = context.createSession();
+        session.setDefaultSourceDocument(sourceDocument);
+        context.process(session);
+        return session.getDefaultTargetDocument();
+    }
+}
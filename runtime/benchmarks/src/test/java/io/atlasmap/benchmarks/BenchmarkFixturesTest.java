@@ -0,0 +1,56 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.benchmarks;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.atlasmap.benchmarks.BenchmarkFixtures.Scenario;
+import io.atlasmap.itests.generator.GeneratedRecord;
+
+public class BenchmarkFixturesTest {
+
+    @Test
+    public void testMappingScenarios() throws Exception {
+        for (Scenario scenario : Scenario.values()) {
+            MappingBenchmark benchmark = new MappingBenchmark();
+            benchmark.scenario = scenario;
+            benchmark.size = 10;
+            benchmark.setup();
+            Object target = benchmark.map();
+            assertNotNull(scenario.name(), target);
+            if (target instanceof GeneratedRecord) {
+                GeneratedRecord javaTarget = (GeneratedRecord) target;
+                assertEquals(10, javaTarget.getItems().size());
+                assertEquals("v9-9xxxx", javaTarget.getItems().get(9).getField9());
+            } else {
+                String doc = target.toString();
+                assertTrue(scenario + ": " + doc, doc.contains(">v9-") || doc.contains("\"v9-"));
+            }
+        }
+    }
+
+    @Test
+    public void testLookup() throws Exception {
+        LookupTableBenchmark benchmark = new LookupTableBenchmark();
+        benchmark.tableSize = 100;
+        benchmark.setup();
+        assertEquals("{\"code\":\"target99\"}", benchmark.lookup().toString());
+    }
+}
@@ -15,19 +15,20 @@
  */
 package io.atlasmap.actions;
 
+import java.lang.reflect.Array;
 import java.math.BigDecimal;
-import java.util.ArrayList;
+import java.math.BigInteger;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
-import java.util.List;
 import java.util.Map;
 
 import io.atlasmap.api.AtlasFieldAction;
 import io.atlasmap.spi.AtlasFieldActionInfo;
 import io.atlasmap.v2.Action;
+import io.atlasmap.v2.Add;
 import io.atlasmap.v2.AreaUnitType;
+import io.atlasmap.v2.Average;
 import io.atlasmap.v2.CollectionType;
 import io.atlasmap.v2.ConvertAreaUnit;
 import io.atlasmap.v2.ConvertDistanceUnit;
@@ -187,26 +188,9 @@ public class NumberFieldActions implements AtlasFieldAction {
             return 0;
         }
 
-        Collection<?> inputs = collection(input);
-
-        Number sum = 0L;
-        for (Object entry : inputs) {
-            if (entry instanceof Number) {
-                if (sum instanceof BigDecimal) {
-                    sum = ((BigDecimal) sum).add(BigDecimal.valueOf(((Number) entry).doubleValue()));
-                } else if (entry instanceof BigDecimal) {
-                    sum = BigDecimal.valueOf(sum.doubleValue()).add((BigDecimal) entry);
-                } else if (requiresDoubleResult(sum) || requiresDoubleResult(entry)) {
-                    sum = sum.doubleValue() + ((Number) entry).doubleValue();
-                } else {
-                    sum = sum.longValue() + ((Number) entry).longValue();
-                }
-            } else {
-                throw new IllegalArgumentException(COLLECTION_MUST_CONTAIN_NUMBERS_ERR_MSG);
-            }
-        }
-
-        return sum;
+        Sum sum = new Sum(isCompensated(action));
+        sum.addAll(input);
+        return sum.result();
     }
 
     @AtlasFieldActionInfo(name = "Average", sourceType = FieldType.NUMBER, targetType = FieldType.NUMBER, sourceCollectionType = CollectionType.ALL, targetCollectionType = CollectionType.NONE)
@@ -214,8 +198,10 @@ public class NumberFieldActions implements AtlasFieldAction {
         if (input == null) {
             return 0;
         }
-        Collection<?> inputs = collection(input);
-        return add(null, input).doubleValue() / inputs.size();
+
+        Sum sum = new Sum(isCompensated(action));
+        sum.addAll(input);
+        return sum.doubleValue() / sum.count;
     }
 
     @AtlasFieldActionInfo(name = "Ceiling", sourceType = FieldType.NUMBER, targetType = FieldType.NUMBER, sourceCollectionType = CollectionType.NONE, targetCollectionType = CollectionType.NONE)
@@ -299,7 +285,12 @@ public class NumberFieldActions implements AtlasFieldAction {
             return 0;
         }
 
-        Collection<?> inputs = collection(input);
+        if (input instanceof double[] || input instanceof float[] || input instanceof long[] || input instanceof int[]
+                || input instanceof byte[]) {
+            return divide(new PrimitiveArray(input));
+        }
+
+        Iterable<?> inputs = collection(input);
 
         Number quotient = null;
         for (Object entry : inputs) {
@@ -307,9 +298,9 @@ public class NumberFieldActions implements AtlasFieldAction {
                 if (quotient == null) {
                     quotient = (Number) entry;
                 } else if (quotient instanceof BigDecimal) {
-                    quotient = ((BigDecimal) quotient).divide(BigDecimal.valueOf(((Number) entry).doubleValue()));
+                    quotient = ((BigDecimal) quotient).divide(toBigDecimal((Number) entry));
                 } else if (entry instanceof BigDecimal) {
-                    quotient = BigDecimal.valueOf(quotient.doubleValue()).divide((BigDecimal) entry);
+                    quotient = toBigDecimal(quotient).divide((BigDecimal) entry);
                 } else {
                     quotient = quotient.doubleValue() / ((Number) entry).doubleValue();
                 }
@@ -332,7 +323,12 @@ public class NumberFieldActions implements AtlasFieldAction {
             return 0;
         }
 
-        Collection<?> inputs = collection(input);
+        if (input instanceof double[] || input instanceof float[] || input instanceof long[] || input instanceof int[]
+                || input instanceof byte[]) {
+            return extremum(new PrimitiveArray(input), true);
+        }
+
+        Iterable<?> inputs = collection(input);
 
         Number max = null;
         for (Object entry : inputs) {
@@ -356,7 +352,12 @@ public class NumberFieldActions implements AtlasFieldAction {
             return 0;
         }
 
-        Collection<?> inputs = collection(input);
+        if (input instanceof double[] || input instanceof float[] || input instanceof long[] || input instanceof int[]
+                || input instanceof byte[]) {
+            return extremum(new PrimitiveArray(input), false);
+        }
+
+        Iterable<?> inputs = collection(input);
 
         Number min = null;
         for (Object entry : inputs) {
@@ -380,26 +381,9 @@ public class NumberFieldActions implements AtlasFieldAction {
             return 0;
         }
 
-        Collection<?> inputs = collection(input);
-
-        Number product = 1L;
-        for (Object entry : inputs) {
-            if (entry instanceof Number) {
-                if (product instanceof BigDecimal) {
-                    product = ((BigDecimal) product).multiply(BigDecimal.valueOf(((Number) entry).doubleValue()));
-                } else if (entry instanceof BigDecimal) {
-                    product = BigDecimal.valueOf(product.doubleValue()).multiply((BigDecimal) entry);
-                } else if (requiresDoubleResult(product) || requiresDoubleResult(entry)) {
-                    product = product.doubleValue() * ((Number) entry).doubleValue();
-                } else {
-                    product = product.longValue() * ((Number) entry).longValue();
-                }
-            } else {
-                throw new IllegalArgumentException(COLLECTION_MUST_CONTAIN_NUMBERS_ERR_MSG);
-            }
-        }
-
-        return product;
+        Product product = new Product();
+        product.multiplyAll(input);
+        return product.result();
     }
 
     @AtlasFieldActionInfo(name = "Round", sourceType = FieldType.NUMBER, targetType = FieldType.NUMBER, sourceCollectionType = CollectionType.NONE, targetCollectionType = CollectionType.NONE)
@@ -413,92 +397,437 @@ public class NumberFieldActions implements AtlasFieldAction {
             return 0;
         }
 
-        Collection<?> inputs = collection(input);
+        Difference difference = new Difference();
+        difference.subtractAll(input);
+        return difference.result();
+    }
 
-        Number difference = null;
-        for (Object entry : inputs) {
-            if (entry instanceof Number) {
-                if (difference == null) {
-                    difference = (Number) entry;
-                } else if (difference instanceof BigDecimal) {
-                    difference = ((BigDecimal) difference).subtract(BigDecimal.valueOf(((Number) entry).doubleValue()));
-                } else if (entry instanceof BigDecimal) {
-                    difference = BigDecimal.valueOf(difference.doubleValue()).subtract((BigDecimal) entry);
-                } else if (requiresDoubleResult(difference) || requiresDoubleResult(entry)) {
-                    difference = difference.doubleValue() - ((Number) entry).doubleValue();
-                } else {
-                    difference = difference.longValue() - ((Number) entry).longValue();
+    private static Iterable<?> collection(Object input) {
+        if (input instanceof Iterable) {
+            // also a lazily read source collection, see AtlasCollectionFieldReader
+            return (Iterable<?>) input;
+        }
+        if (input instanceof Map) {
+            return ((Map<?, ?>) input).values();
+        }
+        if (input instanceof Number[]) {
+            return Arrays.asList((Object[]) input);
+        }
+        throw new IllegalArgumentException(
+                "Illegal input[" + input + "]. Input must be an Iterable, Map or array of numbers");
+    }
+
+    private static Number doMultiply(Number input, double rate) {
+        if (input instanceof BigDecimal) {
+            return ((BigDecimal) input).multiply(BigDecimal.valueOf(rate));
+        }
+        return (input.doubleValue() * rate);
+    }
+
+    private static boolean requiresDoubleResult(Object object) {
+        return object instanceof Double || object instanceof Float;
+    }
+
+    /**
+     * Converts an entry once the result is promoted to {@link BigDecimal}, only floating point
+     * entries go through {@code double}.
+     */
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (number instanceof BigInteger) {
+            return new BigDecimal(number.toString());
+        }
+        if (requiresDoubleResult(number)) {
+            return BigDecimal.valueOf(number.doubleValue());
+        }
+        return BigDecimal.valueOf(number.longValue());
+    }
+
+    private static boolean isCompensated(Action action) {
+        if (action instanceof Add) {
+            return Boolean.TRUE.equals(((Add) action).isCompensated());
+        }
+        if (action instanceof Average) {
+            return Boolean.TRUE.equals(((Average) action).isCompensated());
+        }
+        return false;
+    }
+
+    private static Number divide(PrimitiveArray inputs) {
+        if (inputs.length == 0) {
+            return null;
+        }
+        if (inputs.length == 1) {
+            return inputs.box(0);
+        }
+        double quotient = inputs.doubleAt(0);
+        for (int i = 1; i < inputs.length; i++) {
+            quotient /= inputs.doubleAt(i);
+        }
+        return quotient;
+    }
+
+    private static Number extremum(PrimitiveArray inputs, boolean max) {
+        if (inputs.length == 0) {
+            return null;
+        }
+        // the first one wins on ties, and the index is tracked so that only the result is boxed
+        int index = 0;
+        if (inputs.integral) {
+            long value = inputs.longAt(0);
+            for (int i = 1; i < inputs.length; i++) {
+                long entry = inputs.longAt(i);
+                if (max ? entry > value : entry < value) {
+                    value = entry;
+                    index = i;
+                }
+            }
+        } else {
+            double value = inputs.doubleAt(0);
+            for (int i = 1; i < inputs.length; i++) {
+                double entry = inputs.doubleAt(i);
+                if (max ? entry > value : entry < value) {
+                    value = entry;
+                    index = i;
+                }
+            }
+        }
+        return inputs.box(index);
+    }
+
+    /**
+     * Read-only view over a primitive number array, so that the aggregation kernels can run
+     * without boxing each element.
+     */
+    private static final class PrimitiveArray {
+        private final double[] doubles;
+        private final float[] floats;
+        private final long[] longs;
+        private final int[] ints;
+        private final byte[] bytes;
+        private final int length;
+        private final boolean integral;
+
+        PrimitiveArray(Object array) {
+            doubles = array instanceof double[] ? (double[]) array : null;
+            floats = array instanceof float[] ? (float[]) array : null;
+            longs = array instanceof long[] ? (long[]) array : null;
+            ints = array instanceof int[] ? (int[]) array : null;
+            bytes = array instanceof byte[] ? (byte[]) array : null;
+            integral = doubles == null && floats == null;
+            length = Array.getLength(array);
+        }
+
+        double doubleAt(int i) {
+            if (doubles != null) {
+                return doubles[i];
+            }
+            if (floats != null) {
+                return floats[i];
+            }
+            return longAt(i);
+        }
+
+        long longAt(int i) {
+            if (longs != null) {
+                return longs[i];
+            }
+            if (ints != null) {
+                return ints[i];
+            }
+            if (bytes != null) {
+                return bytes[i];
+            }
+            return (long) doubleAt(i);
+        }
+
+        Number box(int i) {
+            if (doubles != null) {
+                return doubles[i];
+            }
+            if (floats != null) {
+                return floats[i];
+            }
+            if (longs != null) {
+                return longs[i];
+            }
+            if (ints != null) {
+                return ints[i];
+            }
+            return bytes[i];
+        }
+    }
+
+    /**
+     * Single pass summation. The running sum stays a primitive {@code long} until a floating point
+     * number shows up, then a primitive {@code double} optionally with Neumaier's compensation,
+     * and a {@link BigDecimal} once a {@link BigDecimal} shows up.
+     */
+    private static final class Sum {
+        private final boolean compensated;
+        private int count;
+        private long longSum;
+        private double doubleSum;
+        private double compensation;
+        private boolean doubleResult;
+        private BigDecimal bigDecimalSum;
+
+        Sum(boolean compensated) {
+            this.compensated = compensated;
+        }
+
+        void addAll(Object input) {
+            if (input instanceof double[]) {
+                for (double entry : (double[]) input) {
+                    addDouble(entry);
+                }
+            } else if (input instanceof float[]) {
+                for (float entry : (float[]) input) {
+                    addDouble(entry);
+                }
+            } else if (input instanceof long[]) {
+                for (long entry : (long[]) input) {
+                    addLong(entry);
+                }
+            } else if (input instanceof int[]) {
+                for (int entry : (int[]) input) {
+                    addLong(entry);
+                }
+            } else if (input instanceof byte[]) {
+                for (byte entry : (byte[]) input) {
+                    addLong(entry);
                 }
             } else {
+                for (Object entry : collection(input)) {
+                    add(entry);
+                }
+            }
+        }
+
+        void add(Object entry) {
+            if (!(entry instanceof Number)) {
                 throw new IllegalArgumentException(COLLECTION_MUST_CONTAIN_NUMBERS_ERR_MSG);
             }
+            if (bigDecimalSum != null) {
+                count++;
+                bigDecimalSum = bigDecimalSum.add(toBigDecimal((Number) entry));
+            } else if (entry instanceof BigDecimal) {
+                count++;
+                bigDecimalSum = toBigDecimal(result()).add((BigDecimal) entry);
+            } else if (doubleResult || requiresDoubleResult(entry)) {
+                addDouble(((Number) entry).doubleValue());
+            } else {
+                addLong(((Number) entry).longValue());
+            }
         }
 
-        return difference;
-    }
+        void addLong(long entry) {
+            if (doubleResult) {
+                addDouble(entry);
+                return;
+            }
+            count++;
+            longSum += entry;
+        }
 
-    private static Collection<?> collection(Object input) {
-        if (input instanceof Collection) {
-            return (Collection<?>) input;
+        void addDouble(double entry) {
+            count++;
+            if (!doubleResult) {
+                doubleResult = true;
+                doubleSum = longSum;
+            }
+            if (!compensated) {
+                doubleSum += entry;
+                return;
+            }
+            double t = doubleSum + entry;
+            if (Math.abs(doubleSum) >= Math.abs(entry)) {
+                compensation += (doubleSum - t) + entry;
+            } else {
+                compensation += (entry - t) + doubleSum;
+            }
+            doubleSum = t;
         }
-        if (input instanceof Map) {
-            return ((Map<?, ?>) input).values();
+
+        double doubleValue() {
+            if (bigDecimalSum != null) {
+                return bigDecimalSum.doubleValue();
+            }
+            return doubleResult ? doubleSum + compensation : longSum;
         }
-        if (input instanceof Number[]) {
-            return Arrays.asList((Object[]) input);
+
+        Number result() {
+            if (bigDecimalSum != null) {
+                return bigDecimalSum;
+            }
+            if (doubleResult) {
+                return doubleSum + compensation;
+            }
+            return longSum;
         }
-        if (input instanceof double[]) {
-            double[] din = (double[]) input;
-            List<Double> dinList = new ArrayList<>(din.length);
-            for (double e : din) {
-                dinList.add(e);
+    }
+
+    /**
+     * Single pass multiplication, promoted from {@code long} to {@code double} to {@link BigDecimal}
+     * the same way as {@link Sum}.
+     */
+    private static final class Product {
+        private long longProduct = 1L;
+        private double doubleProduct;
+        private boolean doubleResult;
+        private BigDecimal bigDecimalProduct;
+
+        void multiplyAll(Object input) {
+            if (input instanceof double[]) {
+                for (double entry : (double[]) input) {
+                    multiplyDouble(entry);
+                }
+            } else if (input instanceof float[]) {
+                for (float entry : (float[]) input) {
+                    multiplyDouble(entry);
+                }
+            } else if (input instanceof long[]) {
+                for (long entry : (long[]) input) {
+                    multiplyLong(entry);
+                }
+            } else if (input instanceof int[]) {
+                for (int entry : (int[]) input) {
+                    multiplyLong(entry);
+                }
+            } else if (input instanceof byte[]) {
+                for (byte entry : (byte[]) input) {
+                    multiplyLong(entry);
+                }
+            } else {
+                for (Object entry : collection(input)) {
+                    multiply(entry);
+                }
             }
-            return dinList;
         }
-        if (input instanceof float[]) {
-            float[] fin = (float[]) input;
-            List<Float> finList = new ArrayList<>(fin.length);
-            for (float e : fin) {
-                finList.add(e);
+
+        void multiply(Object entry) {
+            if (!(entry instanceof Number)) {
+                throw new IllegalArgumentException(COLLECTION_MUST_CONTAIN_NUMBERS_ERR_MSG);
+            }
+            if (bigDecimalProduct != null) {
+                bigDecimalProduct = bigDecimalProduct.multiply(toBigDecimal((Number) entry));
+            } else if (entry instanceof BigDecimal) {
+                bigDecimalProduct = toBigDecimal(result()).multiply((BigDecimal) entry);
+            } else if (doubleResult || requiresDoubleResult(entry)) {
+                multiplyDouble(((Number) entry).doubleValue());
+            } else {
+                multiplyLong(((Number) entry).longValue());
             }
-            return finList;
         }
-        if (input instanceof long[]) {
-            long[] lin = (long[]) input;
-            List<Long> linList = new ArrayList<>(lin.length);
-            for (long e : lin) {
-                linList.add(e);
+
+        void multiplyLong(long entry) {
+            if (doubleResult) {
+                doubleProduct *= entry;
+            } else {
+                longProduct *= entry;
             }
-            return linList;
         }
-        if (input instanceof int[]) {
-            int[] iin = (int[]) input;
-            List<Integer> iinList = new ArrayList<>(iin.length);
-            for (int e : iin) {
-                iinList.add(e);
+
+        void multiplyDouble(double entry) {
+            if (!doubleResult) {
+                doubleResult = true;
+                doubleProduct = longProduct;
             }
-            return iinList;
+            doubleProduct *= entry;
         }
-        if (input instanceof byte[]) {
-            byte[] bin = (byte[]) input;
-            List<Byte> binList = new ArrayList<>(bin.length);
-            for (byte e : bin) {
-                binList.add(e);
+
+        Number result() {
+            if (bigDecimalProduct != null) {
+                return bigDecimalProduct;
             }
-            return binList;
+            if (doubleResult) {
+                return doubleProduct;
+            }
+            return longProduct;
         }
-        throw new IllegalArgumentException(
-                "Illegal input[" + input + "]. Input must be a Collection, Map or array of numbers");
     }
 
-    private static Number doMultiply(Number input, double rate) {
-        if (input instanceof BigDecimal) {
-            return ((BigDecimal) input).multiply(BigDecimal.valueOf(rate));
+    /**
+     * Single pass subtraction from the first entry, which is returned as is if it is the only one.
+     */
+    private static final class Difference {
+        private int count;
+        private Number first;
+        private long longDifference;
+        private double doubleDifference;
+        private boolean doubleResult;
+        private BigDecimal bigDecimalDifference;
+
+        void subtractAll(Object input) {
+            if (input instanceof double[] || input instanceof float[] || input instanceof long[]
+                    || input instanceof int[] || input instanceof byte[]) {
+                PrimitiveArray inputs = new PrimitiveArray(input);
+                count = inputs.length;
+                if (count == 1) {
+                    first = inputs.box(0);
+                } else if (count > 1 && inputs.integral) {
+                    longDifference = inputs.longAt(0);
+                    for (int i = 1; i < count; i++) {
+                        longDifference -= inputs.longAt(i);
+                    }
+                } else if (count > 1) {
+                    doubleResult = true;
+                    doubleDifference = inputs.doubleAt(0);
+                    for (int i = 1; i < count; i++) {
+                        doubleDifference -= inputs.doubleAt(i);
+                    }
+                }
+                return;
+            }
+            for (Object entry : collection(input)) {
+                subtract(entry);
+            }
         }
-        return (input.doubleValue() * rate);
-    }
 
-    private static boolean requiresDoubleResult(Object object) {
-        return object instanceof Double || object instanceof Float;
+        void subtract(Object entry) {
+            if (!(entry instanceof Number)) {
+                throw new IllegalArgumentException(COLLECTION_MUST_CONTAIN_NUMBERS_ERR_MSG);
+            }
+            Number number = (Number) entry;
+            if (count++ == 0) {
+                first = number;
+                if (number instanceof BigDecimal) {
+                    bigDecimalDifference = (BigDecimal) number;
+                } else if (requiresDoubleResult(number)) {
+                    doubleResult = true;
+                    doubleDifference = number.doubleValue();
+                } else {
+                    longDifference = number.longValue();
+                }
+            } else if (bigDecimalDifference != null) {
+                bigDecimalDifference = bigDecimalDifference.subtract(toBigDecimal(number));
+            } else if (number instanceof BigDecimal) {
+                Number current = doubleResult ? (Number) doubleDifference : (Number) longDifference;
+                bigDecimalDifference = toBigDecimal(current).subtract((BigDecimal) number);
+            } else if (doubleResult || requiresDoubleResult(number)) {
+                if (!doubleResult) {
+                    doubleResult = true;
+                    doubleDifference = longDifference;
+                }
+                doubleDifference -= number.doubleValue();
+            } else {
+                longDifference -= number.longValue();
+            }
+        }
+
+        Number result() {
+            if (count <= 1) {
+                return first;
+            }
+            if (bigDecimalDifference != null) {
+                return bigDecimalDifference;
+            }
+            if (doubleResult) {
+                return doubleDifference;
+            }
+            return longDifference;
+        }
     }
 }
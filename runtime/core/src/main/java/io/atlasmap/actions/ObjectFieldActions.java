@@ -17,7 +17,9 @@ package io.atlasmap.actions;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.StringJoiner;
 
 import io.atlasmap.api.AtlasFieldAction;
 import io.atlasmap.spi.AtlasFieldActionInfo;
@@ -45,8 +47,8 @@ public class ObjectFieldActions implements AtlasFieldAction {
             return contains.getValue() == null;
         }
 
-        if (input instanceof Collection) {
-            return collectionContains((Collection<?>)input, contains);
+        if (input instanceof Iterable) {
+            return collectionContains((Iterable<?>)input, contains);
         }
         if (input.getClass().isArray()) {
             return collectionContains(Arrays.asList((Object[])input), contains);
@@ -78,6 +80,14 @@ public class ObjectFieldActions implements AtlasFieldAction {
         if (input.getClass().isArray()) {
             return Arrays.asList((Object[])input).toString().equals(equals.getValue());
         }
+        if (input instanceof Iterable && !(input instanceof Collection)) {
+            // lazily read source collection, same format as AbstractCollection.toString()
+            StringJoiner joiner = new StringJoiner(", ", "[", "]");
+            for (Object item : (Iterable<?>)input) {
+                joiner.add(String.valueOf(item));
+            }
+            return joiner.toString().equals(equals.getValue());
+        }
         return input.toString().equals(equals.getValue());
     }
 
@@ -94,6 +104,13 @@ public class ObjectFieldActions implements AtlasFieldAction {
         if (input instanceof Collection) {
             return ((Collection<?>)input).size();
         }
+        if (input instanceof Iterable) {
+            int length = 0;
+            for (Iterator<?> it = ((Iterable<?>)input).iterator(); it.hasNext(); it.next()) {
+                length++;
+            }
+            return length;
+        }
         if (input.getClass().isArray()) {
             return ((Object[])input).length;
         }
@@ -103,7 +120,7 @@ public class ObjectFieldActions implements AtlasFieldAction {
         return input.toString().length();
     }
 
-    private static boolean collectionContains(Collection<?> collection, Contains contains) {
+    private static boolean collectionContains(Iterable<?> collection, Contains contains) {
         for (Object item : collection) {
             if (item == null) {
                 if (contains.getValue() == null) {
@@ -16,12 +16,12 @@
 package io.atlasmap.actions;
 
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
 import java.util.regex.Pattern;
 
 import io.atlasmap.api.AtlasFieldAction;
+import io.atlasmap.core.AtlasFormatCache;
 import io.atlasmap.spi.AtlasFieldActionInfo;
 import io.atlasmap.v2.Action;
 import io.atlasmap.v2.Append;
@@ -82,7 +82,7 @@ public class StringComplexFieldActions implements AtlasFieldAction {
         Concatenate concat = (Concatenate) action;
         String delim = concat.getDelimiter() == null ? "" : concat.getDelimiter();
 
-        Collection<?> inputs = collection(input);
+        Iterable<?> inputs = collection(input);
 
         StringBuilder builder = new StringBuilder();
         for (Object entry : inputs) {
@@ -230,7 +230,7 @@ public class StringComplexFieldActions implements AtlasFieldAction {
         }
 
         String newString = replaceAll.getNewString();
-        return input == null ? null : input.replaceAll(match, newString == null ? "" : newString);
+        return input == null ? null : AtlasFormatCache.replaceAll(input, match, newString == null ? "" : newString);
     }
 
     @AtlasFieldActionInfo(name = "ReplaceFirst", sourceType = FieldType.STRING, targetType = FieldType.STRING, sourceCollectionType = CollectionType.NONE, targetCollectionType = CollectionType.NONE)
@@ -246,7 +246,7 @@ public class StringComplexFieldActions implements AtlasFieldAction {
         }
 
         String newString = replaceFirst.getNewString();
-        return input == null ? null : input.replaceFirst(match, newString == null ? "" : newString);
+        return input == null ? null : AtlasFormatCache.replaceFirst(input, match, newString == null ? "" : newString);
     }
 
     @AtlasFieldActionInfo(name = "StartsWith", sourceType = FieldType.STRING, targetType = FieldType.BOOLEAN, sourceCollectionType = CollectionType.NONE, targetCollectionType = CollectionType.NONE)
@@ -327,9 +327,10 @@ public class StringComplexFieldActions implements AtlasFieldAction {
         return doSubString(input.substring(0, idx), subStringBefore.getStartIndex(), subStringBefore.getEndIndex());
     }
 
-    private static Collection<?> collection(Object input) {
-        if (input instanceof Collection) {
-            return (Collection<?>) input;
+    private static Iterable<?> collection(Object input) {
+        if (input instanceof Iterable) {
+            // also a lazily read source collection, see AtlasCollectionFieldReader
+            return (Iterable<?>) input;
         }
         if (input instanceof Map) {
             return ((Map<?, ?>) input).values();
@@ -338,7 +339,7 @@ public class StringComplexFieldActions implements AtlasFieldAction {
             return Arrays.asList((Object[]) input);
         }
         throw new IllegalArgumentException(
-                "Illegal input[" + input + "]. Input must be a Collection, Map or array");
+                "Illegal input[" + input + "]. Input must be an Iterable, Map or array");
     }
 
     private static String doSubString(String input, Integer startIndex, Integer endIndex) {
@@ -18,6 +18,7 @@ package io.atlasmap.actions;
 import java.util.regex.Pattern;
 
 import io.atlasmap.api.AtlasFieldAction;
+import io.atlasmap.core.AtlasFormatCache;
 import io.atlasmap.spi.AtlasFieldActionInfo;
 import io.atlasmap.v2.Action;
 import io.atlasmap.v2.CollectionType;
@@ -61,7 +62,7 @@ public class StringSimpleFieldActions implements AtlasFieldAction {
 
     @AtlasFieldActionInfo(name = "Normalize", sourceType = FieldType.STRING, targetType = FieldType.STRING, sourceCollectionType = CollectionType.NONE, targetCollectionType = CollectionType.NONE)
     public static String normalize(Action action, String input) {
-        return input == null ? null : input.replaceAll("\\s+", " ").trim();
+        return input == null ? null : AtlasFormatCache.replaceAll(input, "\\s+", " ").trim();
     }
 
     @AtlasFieldActionInfo(name = "RemoveFileExtension", sourceType = FieldType.STRING, targetType = FieldType.STRING, sourceCollectionType = CollectionType.NONE, targetCollectionType = CollectionType.NONE)
@@ -16,6 +16,7 @@
 package io.atlasmap.converters;
 
 import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.core.AtlasFormatCache;
 import io.atlasmap.spi.AtlasConversionConcern;
 import io.atlasmap.spi.AtlasConversionInfo;
 import io.atlasmap.spi.AtlasPrimitiveConverter;
@@ -153,9 +154,8 @@ public class BooleanConverter implements AtlasPrimitiveConverter<Boolean> {
         if (value == null) {
             return null;
         }
-        // TODO optimize/save defaults
         String format = targetFormat != null && !"".equals(targetFormat) ? targetFormat : STRING_VALUES;
-        String[] values = format.split("\\|");
+        String[] values = AtlasFormatCache.tokens(format, '|');
         String trueValue = "";
         String falseValue = "";
         if (values.length == 2) {
@@ -16,6 +16,7 @@
 package io.atlasmap.converters;
 
 import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.core.AtlasFormatCache;
 import io.atlasmap.spi.AtlasConversionConcern;
 import io.atlasmap.spi.AtlasConversionInfo;
 import io.atlasmap.spi.AtlasPrimitiveConverter;
@@ -40,7 +41,7 @@ public class CharacterConverter implements AtlasPrimitiveConverter<Character> {
         }
 
         String regex = sourceFormat != null && !"".equals(sourceFormat) ? sourceFormat : TRUE_REGEX;
-        if (Character.toString(value).matches(regex)) {
+        if (AtlasFormatCache.pattern(regex).matcher(Character.toString(value)).matches()) {
             return Boolean.TRUE;
         } else {
             return Boolean.FALSE;
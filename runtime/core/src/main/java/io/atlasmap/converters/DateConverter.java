@@ -30,6 +30,7 @@ import java.util.GregorianCalendar;
 
 import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasConverter;
+import io.atlasmap.core.AtlasFormatCache;
 import io.atlasmap.spi.AtlasConversionInfo;
 import io.atlasmap.v2.FieldType;
 
@@ -185,7 +186,7 @@ public class DateConverter implements AtlasConverter<Date> {
     public Date convertFromString(String date, String sourceFormat, String targetFormat)
             throws AtlasConversionException {
 
-        DateTimeFormatter formater = sourceFormat != null ? DateTimeFormatter.ofPattern(sourceFormat)
+        DateTimeFormatter formater = sourceFormat != null ? AtlasFormatCache.dateTimeFormatter(sourceFormat)
                 : DateTimeFormatter.ISO_ZONED_DATE_TIME;
         return Date.from(ZonedDateTime.parse(date, formater).toInstant());
     }
@@ -15,15 +15,31 @@
  */
 package io.atlasmap.converters;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasUnsupportedException;
 import io.atlasmap.spi.AtlasConversionConcern;
 import io.atlasmap.spi.AtlasConversionInfo;
 import io.atlasmap.spi.AtlasPrimitiveConverter;
+import io.atlasmap.spi.AtlasPrimitiveValueConverter;
 import io.atlasmap.v2.FieldType;
 
 public class DoubleConverter implements AtlasPrimitiveConverter<Double> {
 
+    private static final List<AtlasPrimitiveValueConverter> PRIMITIVE_VALUE_CONVERTERS = Collections.unmodifiableList(
+            Arrays.asList(
+                    new AtlasPrimitiveValueConverter(FieldType.DOUBLE, FieldType.INTEGER,
+                            (s, t) -> t.setInteger(toInteger(s.getDouble()))),
+                    new AtlasPrimitiveValueConverter(FieldType.DOUBLE, FieldType.LONG,
+                            (s, t) -> t.setLong(toLong(s.getDouble()))),
+                    new AtlasPrimitiveValueConverter(FieldType.DOUBLE, FieldType.SHORT,
+                            (s, t) -> t.setShort(toShort(s.getDouble()))),
+                    new AtlasPrimitiveValueConverter(FieldType.DOUBLE, FieldType.FLOAT,
+                            (s, t) -> t.setFloat(toFloat(s.getDouble())))));
+
     /**
      * @param value
      * @return
@@ -111,11 +127,7 @@ public class DoubleConverter implements AtlasPrimitiveConverter<Double> {
         if (value == null) {
             return null;
         }
-        if (value > Float.MAX_VALUE || (value < Float.MIN_VALUE && value != 0)) {
-            throw new AtlasConversionException(
-                    String.format("Double %s is greater than Float.MAX_VALUE or less than Float.MIN_VALUE", value));
-        }
-        return value.floatValue();
+        return toFloat(value);
     }
 
     /**
@@ -129,10 +141,7 @@ public class DoubleConverter implements AtlasPrimitiveConverter<Double> {
         if (value == null) {
             return null;
         }
-        if (value > Integer.MAX_VALUE) {
-            throw new AtlasConversionException(String.format("Double %s is greater than Integer.MAX_VALUE", value));
-        }
-        return value.intValue();
+        return toInteger(value);
     }
 
     /**
@@ -146,10 +155,7 @@ public class DoubleConverter implements AtlasPrimitiveConverter<Double> {
         if (value == null) {
             return null;
         }
-        if (value > Long.MAX_VALUE) {
-            throw new AtlasConversionException(String.format("Double %s is greater than Long.MAX_VALUE", value));
-        }
-        return value.longValue();
+        return toLong(value);
     }
 
     /**
@@ -163,11 +169,7 @@ public class DoubleConverter implements AtlasPrimitiveConverter<Double> {
         if (value == null) {
             return null;
         }
-        if (value > Short.MAX_VALUE || value < Short.MIN_VALUE) {
-            throw new AtlasConversionException(
-                    String.format("Double %s is greater than Short.MAX_VALUE or less than Short.MIN_VALUE", value));
-        }
-        return value.shortValue();
+        return toShort(value);
     }
 
     /**
@@ -184,4 +186,39 @@ public class DoubleConverter implements AtlasPrimitiveConverter<Double> {
         }
         return String.valueOf(value);
     }
+
+    public static float toFloat(double value) throws AtlasConversionException {
+        if (value > Float.MAX_VALUE || (value < Float.MIN_VALUE && value != 0)) {
+            throw new AtlasConversionException(
+                    String.format("Double %s is greater than Float.MAX_VALUE or less than Float.MIN_VALUE", value));
+        }
+        return (float) value;
+    }
+
+    public static int toInteger(double value) throws AtlasConversionException {
+        if (value > Integer.MAX_VALUE) {
+            throw new AtlasConversionException(String.format("Double %s is greater than Integer.MAX_VALUE", value));
+        }
+        return (int) value;
+    }
+
+    public static long toLong(double value) throws AtlasConversionException {
+        if (value > Long.MAX_VALUE) {
+            throw new AtlasConversionException(String.format("Double %s is greater than Long.MAX_VALUE", value));
+        }
+        return (long) value;
+    }
+
+    public static short toShort(double value) throws AtlasConversionException {
+        if (value > Short.MAX_VALUE || value < Short.MIN_VALUE) {
+            throw new AtlasConversionException(
+                    String.format("Double %s is greater than Short.MAX_VALUE or less than Short.MIN_VALUE", value));
+        }
+        return (short) value;
+    }
+
+    @Override
+    public List<AtlasPrimitiveValueConverter> getPrimitiveValueConverters() {
+        return PRIMITIVE_VALUE_CONVERTERS;
+    }
 }
@@ -15,15 +15,31 @@
  */
 package io.atlasmap.converters;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasUnsupportedException;
 import io.atlasmap.spi.AtlasConversionConcern;
 import io.atlasmap.spi.AtlasConversionInfo;
 import io.atlasmap.spi.AtlasPrimitiveConverter;
+import io.atlasmap.spi.AtlasPrimitiveValueConverter;
 import io.atlasmap.v2.FieldType;
 
 public class FloatConverter implements AtlasPrimitiveConverter<Float> {
 
+    private static final List<AtlasPrimitiveValueConverter> PRIMITIVE_VALUE_CONVERTERS = Collections.unmodifiableList(
+            Arrays.asList(
+                    new AtlasPrimitiveValueConverter(FieldType.FLOAT, FieldType.INTEGER,
+                            (s, t) -> t.setInteger(toInteger(s.getFloat()))),
+                    new AtlasPrimitiveValueConverter(FieldType.FLOAT, FieldType.LONG,
+                            (s, t) -> t.setLong(toLong(s.getFloat()))),
+                    new AtlasPrimitiveValueConverter(FieldType.FLOAT, FieldType.SHORT,
+                            (s, t) -> t.setShort(toShort(s.getFloat()))),
+                    new AtlasPrimitiveValueConverter(FieldType.FLOAT, FieldType.DOUBLE,
+                            (s, t) -> t.setDouble(s.getFloat()))));
+
     /**
      * @param value
      * @return
@@ -128,11 +144,7 @@ public class FloatConverter implements AtlasPrimitiveConverter<Float> {
         if (value == null) {
             return null;
         }
-        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
-            throw new AtlasConversionException(String
-                    .format("Float %s is greater than Integer.MAX_VALUE or is less than Integer.MIN_VALUE", value));
-        }
-        return value.intValue();
+        return toInteger(value);
     }
 
     /**
@@ -147,11 +159,7 @@ public class FloatConverter implements AtlasPrimitiveConverter<Float> {
         if (value == null) {
             return null;
         }
-        if (value > Long.MAX_VALUE || value < Long.MIN_VALUE) {
-            throw new AtlasConversionException(
-                    String.format("Float %s is greater than Long.MAX_VALUE or is less than Long.MIN_VALUE", value));
-        }
-        return value.longValue();
+        return toLong(value);
     }
 
     /**
@@ -166,11 +174,7 @@ public class FloatConverter implements AtlasPrimitiveConverter<Float> {
         if (value == null) {
             return null;
         }
-        if (value > Short.MAX_VALUE || value < Short.MIN_VALUE) {
-            throw new AtlasConversionException(
-                    String.format("Float %s is greater than Short.MAX_VALUE  or is less than Short.MIN_VALUE", value));
-        }
-        return value.shortValue();
+        return toShort(value);
     }
 
     /**
@@ -188,4 +192,33 @@ public class FloatConverter implements AtlasPrimitiveConverter<Float> {
         }
         return String.valueOf(value);
     }
+
+    public static int toInteger(float value) throws AtlasConversionException {
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new AtlasConversionException(String
+                    .format("Float %s is greater than Integer.MAX_VALUE or is less than Integer.MIN_VALUE", value));
+        }
+        return (int) value;
+    }
+
+    public static long toLong(float value) throws AtlasConversionException {
+        if (value > Long.MAX_VALUE || value < Long.MIN_VALUE) {
+            throw new AtlasConversionException(
+                    String.format("Float %s is greater than Long.MAX_VALUE or is less than Long.MIN_VALUE", value));
+        }
+        return (long) value;
+    }
+
+    public static short toShort(float value) throws AtlasConversionException {
+        if (value > Short.MAX_VALUE || value < Short.MIN_VALUE) {
+            throw new AtlasConversionException(
+                    String.format("Float %s is greater than Short.MAX_VALUE  or is less than Short.MIN_VALUE", value));
+        }
+        return (short) value;
+    }
+
+    @Override
+    public List<AtlasPrimitiveValueConverter> getPrimitiveValueConverters() {
+        return PRIMITIVE_VALUE_CONVERTERS;
+    }
 }
@@ -15,15 +15,31 @@
  */
 package io.atlasmap.converters;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasUnsupportedException;
 import io.atlasmap.spi.AtlasConversionConcern;
 import io.atlasmap.spi.AtlasConversionInfo;
 import io.atlasmap.spi.AtlasPrimitiveConverter;
+import io.atlasmap.spi.AtlasPrimitiveValueConverter;
 import io.atlasmap.v2.FieldType;
 
 public class IntegerConverter implements AtlasPrimitiveConverter<Integer> {
 
+    private static final List<AtlasPrimitiveValueConverter> PRIMITIVE_VALUE_CONVERTERS = Collections.unmodifiableList(
+            Arrays.asList(
+                    new AtlasPrimitiveValueConverter(FieldType.INTEGER, FieldType.LONG,
+                            (s, t) -> t.setLong(s.getInteger())),
+                    new AtlasPrimitiveValueConverter(FieldType.INTEGER, FieldType.SHORT,
+                            (s, t) -> t.setShort(toShort(s.getInteger()))),
+                    new AtlasPrimitiveValueConverter(FieldType.INTEGER, FieldType.FLOAT,
+                            (s, t) -> t.setFloat(s.getInteger())),
+                    new AtlasPrimitiveValueConverter(FieldType.INTEGER, FieldType.DOUBLE,
+                            (s, t) -> t.setDouble(s.getInteger()))));
+
     /**
      * @param value
      * @return
@@ -145,11 +161,7 @@ public class IntegerConverter implements AtlasPrimitiveConverter<Integer> {
         if (value == null) {
             return null;
         }
-        if (value > Short.MAX_VALUE || value < Short.MIN_VALUE) {
-            throw new AtlasConversionException(
-                    String.format("Integer %s is greater than Short.MAX_VALUE or less than Short.MIN_VALUE", value));
-        }
-        return value.shortValue();
+        return toShort(value);
     }
 
     /**
@@ -166,4 +178,17 @@ public class IntegerConverter implements AtlasPrimitiveConverter<Integer> {
         }
         return String.valueOf(value);
     }
+
+    public static short toShort(int value) throws AtlasConversionException {
+        if (value > Short.MAX_VALUE || value < Short.MIN_VALUE) {
+            throw new AtlasConversionException(
+                    String.format("Integer %s is greater than Short.MAX_VALUE or less than Short.MIN_VALUE", value));
+        }
+        return (short) value;
+    }
+
+    @Override
+    public List<AtlasPrimitiveValueConverter> getPrimitiveValueConverters() {
+        return PRIMITIVE_VALUE_CONVERTERS;
+    }
 }
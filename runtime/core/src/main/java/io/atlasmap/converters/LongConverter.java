@@ -15,15 +15,31 @@
  */
 package io.atlasmap.converters;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasUnsupportedException;
 import io.atlasmap.spi.AtlasConversionConcern;
 import io.atlasmap.spi.AtlasConversionInfo;
 import io.atlasmap.spi.AtlasPrimitiveConverter;
+import io.atlasmap.spi.AtlasPrimitiveValueConverter;
 import io.atlasmap.v2.FieldType;
 
 public class LongConverter implements AtlasPrimitiveConverter<Long> {
 
+    private static final List<AtlasPrimitiveValueConverter> PRIMITIVE_VALUE_CONVERTERS = Collections.unmodifiableList(
+            Arrays.asList(
+                    new AtlasPrimitiveValueConverter(FieldType.LONG, FieldType.INTEGER,
+                            (s, t) -> t.setInteger(toInteger(s.getLong()))),
+                    new AtlasPrimitiveValueConverter(FieldType.LONG, FieldType.SHORT,
+                            (s, t) -> t.setShort(toShort(s.getLong()))),
+                    new AtlasPrimitiveValueConverter(FieldType.LONG, FieldType.FLOAT,
+                            (s, t) -> t.setFloat(s.getLong())),
+                    new AtlasPrimitiveValueConverter(FieldType.LONG, FieldType.DOUBLE,
+                            (s, t) -> t.setDouble(s.getLong()))));
+
     /**
      * @param value
      * @return
@@ -113,11 +129,7 @@ public class LongConverter implements AtlasPrimitiveConverter<Long> {
         if (value == null) {
             return null;
         }
-        if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
-            throw new AtlasConversionException(
-                    String.format("Long %s is greater than Integer.MAX_VALUE  or less than Integer.MIN_VALUE", value));
-        }
-        return value.intValue();
+        return toInteger(value);
     }
 
     @Override
@@ -136,11 +148,7 @@ public class LongConverter implements AtlasPrimitiveConverter<Long> {
         if (value == null) {
             return null;
         }
-        if (value > Short.MAX_VALUE || value < Short.MIN_VALUE) {
-            throw new AtlasConversionException(
-                    String.format("Long %s is greater than Short.MAX_VALUE or less than Short.MIN_VALUE", value));
-        }
-        return value.shortValue();
+        return toShort(value);
     }
 
     @Override
@@ -152,4 +160,25 @@ public class LongConverter implements AtlasPrimitiveConverter<Long> {
         }
         return String.valueOf(value);
     }
+
+    public static int toInteger(long value) throws AtlasConversionException {
+        if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+            throw new AtlasConversionException(
+                    String.format("Long %s is greater than Integer.MAX_VALUE  or less than Integer.MIN_VALUE", value));
+        }
+        return (int) value;
+    }
+
+    public static short toShort(long value) throws AtlasConversionException {
+        if (value > Short.MAX_VALUE || value < Short.MIN_VALUE) {
+            throw new AtlasConversionException(
+                    String.format("Long %s is greater than Short.MAX_VALUE or less than Short.MIN_VALUE", value));
+        }
+        return (short) value;
+    }
+
+    @Override
+    public List<AtlasPrimitiveValueConverter> getPrimitiveValueConverters() {
+        return PRIMITIVE_VALUE_CONVERTERS;
+    }
 }
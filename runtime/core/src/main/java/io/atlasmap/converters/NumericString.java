@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.converters;
+
+/**
+ * Classifies a string as an integer, a decimal or something else in a single pass over its
+ * characters, so that converters can pick the right parse path up front instead of relying on
+ * {@link NumberFormatException} control flow. Only the plain ASCII form accepted by
+ * {@link java.math.BigDecimal#BigDecimal(String)} is recognized; anything else, e.g. surrounding
+ * whitespace or non-ASCII digits, is {@link #OTHER} and is left to the JDK parsers.
+ */
+final class NumericString {
+
+    /** Neither an integer nor a decimal in plain ASCII form. */
+    static final int OTHER = 0;
+    /** Optionally signed digits which fit in a long. */
+    static final int INTEGER = 1;
+    /** Optionally signed digits which don't fit in a long. */
+    static final int BIG_INTEGER = 2;
+    /** A number with a fraction and/or an exponent. */
+    static final int DECIMAL = 3;
+
+    private static final int MAX_LONG_DIGITS = 19;
+    private static final int MAX_EXPONENT_DIGITS = 9;
+
+    private NumericString() {
+    }
+
+    static int classify(String value) {
+        int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+            i++;
+        }
+        int integerStart = i;
+        while (i < length && isDigit(value.charAt(i))) {
+            i++;
+        }
+        int integerDigits = i - integerStart;
+        if (i == length) {
+            if (integerDigits == 0) {
+                return OTHER;
+            }
+            int significantStart = integerStart;
+            while (significantStart < length - 1 && value.charAt(significantStart) == '0') {
+                significantStart++;
+            }
+            int significantDigits = length - significantStart;
+            if (significantDigits < MAX_LONG_DIGITS) {
+                return INTEGER;
+            }
+            return significantDigits == MAX_LONG_DIGITS && fitsLong(value, significantStart) ? INTEGER : BIG_INTEGER;
+        }
+        int fractionDigits = 0;
+        if (value.charAt(i) == '.') {
+            i++;
+            int fractionStart = i;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+            }
+            fractionDigits = i - fractionStart;
+        }
+        if (integerDigits == 0 && fractionDigits == 0) {
+            return OTHER;
+        }
+        if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentStart = i;
+            while (i < length && isDigit(value.charAt(i))) {
+                i++;
+            }
+            int exponentDigits = i - exponentStart;
+            // BigDecimal rejects exponents beyond the int range
+            if (exponentDigits == 0 || exponentDigits > MAX_EXPONENT_DIGITS) {
+                return OTHER;
+            }
+        }
+        return i == length ? DECIMAL : OTHER;
+    }
+
+    /**
+     * Parses a string classified as {@link #INTEGER}.
+     *
+     * @param value integer string
+     * @return long value
+     */
+    static long parseLong(String value) {
+        boolean negative = value.charAt(0) == '-';
+        int i = negative || value.charAt(0) == '+' ? 1 : 0;
+        // accumulate negatively to cover Long.MIN_VALUE, the same way as Long.parseLong()
+        long answer = 0;
+        for (; i < value.length(); i++) {
+            answer = answer * 10 - (value.charAt(i) - '0');
+        }
+        return negative ? answer : -answer;
+    }
+
+    private static boolean fitsLong(String value, int digitsStart) {
+        boolean negative = value.charAt(0) == '-';
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyMin = limit / 10;
+        long answer = 0;
+        for (int i = digitsStart; i < value.length(); i++) {
+            int digit = value.charAt(i) - '0';
+            if (answer < multiplyMin) {
+                return false;
+            }
+            answer *= 10;
+            if (answer < limit + digit) {
+                return false;
+            }
+            answer -= digit;
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -15,15 +15,31 @@
  */
 package io.atlasmap.converters;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasUnsupportedException;
 import io.atlasmap.spi.AtlasConversionConcern;
 import io.atlasmap.spi.AtlasConversionInfo;
 import io.atlasmap.spi.AtlasPrimitiveConverter;
+import io.atlasmap.spi.AtlasPrimitiveValueConverter;
 import io.atlasmap.v2.FieldType;
 
 public class ShortConverter implements AtlasPrimitiveConverter<Short> {
 
+    private static final List<AtlasPrimitiveValueConverter> PRIMITIVE_VALUE_CONVERTERS = Collections.unmodifiableList(
+            Arrays.asList(
+                    new AtlasPrimitiveValueConverter(FieldType.SHORT, FieldType.INTEGER,
+                            (s, t) -> t.setInteger(s.getShort())),
+                    new AtlasPrimitiveValueConverter(FieldType.SHORT, FieldType.LONG,
+                            (s, t) -> t.setLong(s.getShort())),
+                    new AtlasPrimitiveValueConverter(FieldType.SHORT, FieldType.FLOAT,
+                            (s, t) -> t.setFloat(s.getShort())),
+                    new AtlasPrimitiveValueConverter(FieldType.SHORT, FieldType.DOUBLE,
+                            (s, t) -> t.setDouble(s.getShort()))));
+
     /**
      * @param value
      * @return
@@ -168,4 +184,9 @@ public class ShortConverter implements AtlasPrimitiveConverter<Short> {
         }
         return String.valueOf(value);
     }
+
+    @Override
+    public List<AtlasPrimitiveValueConverter> getPrimitiveValueConverters() {
+        return PRIMITIVE_VALUE_CONVERTERS;
+    }
 }
@@ -17,15 +17,33 @@ package io.atlasmap.converters;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.core.AtlasFormatCache;
 import io.atlasmap.spi.AtlasConversionConcern;
 import io.atlasmap.spi.AtlasConversionInfo;
 import io.atlasmap.spi.AtlasPrimitiveConverter;
+import io.atlasmap.spi.AtlasPrimitiveValueConverter;
 import io.atlasmap.v2.FieldType;
 
 public class StringConverter implements AtlasPrimitiveConverter<String> {
 
+    private static final List<AtlasPrimitiveValueConverter> PRIMITIVE_VALUE_CONVERTERS = Collections.unmodifiableList(
+            Arrays.asList(
+                    new AtlasPrimitiveValueConverter(FieldType.STRING, FieldType.INTEGER,
+                            (s, t) -> t.setInteger(toInteger(s.getString()))),
+                    new AtlasPrimitiveValueConverter(FieldType.STRING, FieldType.LONG,
+                            (s, t) -> t.setLong(toLong(s.getString()))),
+                    new AtlasPrimitiveValueConverter(FieldType.STRING, FieldType.SHORT,
+                            (s, t) -> t.setShort(toShort(s.getString()))),
+                    new AtlasPrimitiveValueConverter(FieldType.STRING, FieldType.FLOAT,
+                            (s, t) -> t.setFloat(toFloat(s.getString()))),
+                    new AtlasPrimitiveValueConverter(FieldType.STRING, FieldType.DOUBLE,
+                            (s, t) -> t.setDouble(toDouble(s.getString())))));
+
     private static final String TRUE_REGEX = "true|TRUE|t|T|y|Y|1";
 
     /**
@@ -44,7 +62,7 @@ public class StringConverter implements AtlasPrimitiveConverter<String> {
             return null;
         }
         String regex = sourceFormat != null && !"".equals(sourceFormat) ? sourceFormat : TRUE_REGEX;
-        if (value.matches(regex)) {
+        if (AtlasFormatCache.pattern(regex).matcher(value).matches()) {
             return Boolean.TRUE;
         } else {
             return Boolean.FALSE;
@@ -62,12 +80,21 @@ public class StringConverter implements AtlasPrimitiveConverter<String> {
         if (value == null) {
             return null;
         }
-        try {
-            return Byte.parseByte(value);
-        } catch (NumberFormatException nfex) {
-            throw new AtlasConversionException(String
-                    .format("String %s cannont be converted to a Byte as it is not in a numerical format", value));
+        int kind = NumericString.classify(value);
+        if (kind == NumericString.INTEGER) {
+            long l = NumericString.parseLong(value);
+            if (l >= Byte.MIN_VALUE && l <= Byte.MAX_VALUE) {
+                return (byte) l;
+            }
+        } else if (kind == NumericString.OTHER) {
+            try {
+                return Byte.parseByte(value);
+            } catch (NumberFormatException nfex) {
+                // fall through
+            }
         }
+        throw new AtlasConversionException(String
+                .format("String %s cannont be converted to a Byte as it is not in a numerical format", value));
     }
 
     /**
@@ -104,22 +131,7 @@ public class StringConverter implements AtlasPrimitiveConverter<String> {
         if (value == null) {
             return null;
         }
-
-        try {
-            Double.parseDouble(value);
-        } catch (NumberFormatException nfe) {
-            throw new AtlasConversionException(nfe);
-        }
-
-        if (Double.valueOf(value) == 0.0d || Double.valueOf(value) == -0.0d) {
-            return Double.valueOf(value);
-        }
-        if (Double.valueOf(value) < Double.MIN_VALUE || Double.valueOf(value) > Double.MAX_VALUE) {
-            throw new AtlasConversionException(
-                    String.format("String %s is greater than Double.MAX_VALUE  or less than Double.MIN_VALUE", value));
-        }
-
-        return Double.valueOf(value);
+        return toDouble(value);
     }
 
     /**
@@ -134,26 +146,7 @@ public class StringConverter implements AtlasPrimitiveConverter<String> {
         if (value == null) {
             return null;
         }
-        // check we can make a float of the String
-        try {
-            Float.parseFloat(value);
-        } catch (NumberFormatException nfe) {
-            throw new AtlasConversionException(nfe);
-        }
-
-        BigDecimal bd = new BigDecimal(value);
-
-        // handle 0.0f && -0.0 (floats suck)
-        if (bd.floatValue() == 0.0f || bd.floatValue() == -0.0) {
-            return Float.valueOf(value);
-        }
-
-        if (bd.floatValue() < Float.MIN_VALUE || bd.floatValue() > Float.MAX_VALUE) {
-            throw new AtlasConversionException(
-                    String.format("String %s is greater than Float.MAX_VALUE  or less than Float.MIN_VALUE", value));
-        }
-
-        return Float.valueOf(value);
+        return toFloat(value);
     }
 
     /**
@@ -168,26 +161,7 @@ public class StringConverter implements AtlasPrimitiveConverter<String> {
         if (value == null) {
             return null;
         }
-
-        BigDecimal bd = null;
-        Integer i = null;
-        try {
-            i = Integer.parseInt(value);
-        } catch (NumberFormatException nfe) {
-            try {
-                bd = new BigDecimal(value);
-                i = bd.intValue();
-            } catch (NumberFormatException nfe2) {
-                throw new AtlasConversionException(nfe);
-            }
-        }
-
-        if (bd != null && bd.compareTo(BigDecimal.valueOf(i)) != 0) {
-            throw new AtlasConversionException(String
-                    .format("String %s is greater than Integer.MAX_VALUE  or less than Integer.MIN_VALUE", value));
-        }
-
-        return i;
+        return toInteger(value);
     }
 
     /**
@@ -202,26 +176,7 @@ public class StringConverter implements AtlasPrimitiveConverter<String> {
         if (value == null) {
             return null;
         }
-
-        BigDecimal bd = null;
-        Long l = null;
-        try {
-            l = Long.parseLong(value);
-        } catch (NumberFormatException nfe) {
-            try {
-                bd = new BigDecimal(value);
-                l = bd.longValue();
-            } catch (NumberFormatException nfe2) {
-                throw new AtlasConversionException(nfe);
-            }
-        }
-
-        if (bd != null && bd.compareTo(BigDecimal.valueOf(l)) != 0) {
-            throw new AtlasConversionException(
-                    String.format("String %s is greater than Long.MAX_VALUE  or less than Long.MIN_VALUE", value));
-        }
-
-        return l;
+        return toLong(value);
     }
 
     /**
@@ -236,14 +191,7 @@ public class StringConverter implements AtlasPrimitiveConverter<String> {
         if (value == null) {
             return null;
         }
-        // check we can make a short of the String
-        Short shortty;
-        try {
-            shortty = Short.parseShort(value);
-        } catch (NumberFormatException nfe) {
-            throw new AtlasConversionException(nfe);
-        }
-        return Short.valueOf(shortty);
+        return toShort(value);
     }
 
     /**
@@ -262,13 +210,163 @@ public class StringConverter implements AtlasPrimitiveConverter<String> {
         return new String(value);
     }
 
+    public static double toDouble(String value) throws AtlasConversionException {
+        double d;
+        if (NumericString.classify(value) != NumericString.OTHER) {
+            d = Double.parseDouble(value);
+        } else {
+            try {
+                d = Double.parseDouble(value);
+            } catch (NumberFormatException nfe) {
+                throw new AtlasConversionException(nfe);
+            }
+        }
+
+        if (d == 0.0d || d == -0.0d) {
+            return d;
+        }
+        if (d < Double.MIN_VALUE || d > Double.MAX_VALUE) {
+            throw new AtlasConversionException(
+                    String.format("String %s is greater than Double.MAX_VALUE  or less than Double.MIN_VALUE", value));
+        }
+
+        return d;
+    }
+
+    public static float toFloat(String value) throws AtlasConversionException {
+        // check we can make a float of the String
+        float f;
+        if (NumericString.classify(value) != NumericString.OTHER) {
+            f = Float.parseFloat(value);
+        } else {
+            try {
+                f = Float.parseFloat(value);
+            } catch (NumberFormatException nfe) {
+                throw new AtlasConversionException(nfe);
+            }
+        }
+
+        // handle 0.0f && -0.0 (floats suck)
+        if (f == 0.0f || f == -0.0) {
+            return f;
+        }
+
+        if (f < Float.MIN_VALUE || f > Float.MAX_VALUE) {
+            throw new AtlasConversionException(
+                    String.format("String %s is greater than Float.MAX_VALUE  or less than Float.MIN_VALUE", value));
+        }
+
+        return f;
+    }
+
+    public static int toInteger(String value) throws AtlasConversionException {
+        int kind = NumericString.classify(value);
+        if (kind == NumericString.INTEGER) {
+            long l = NumericString.parseLong(value);
+            if (l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE) {
+                return (int) l;
+            }
+        } else if (kind == NumericString.DECIMAL) {
+            BigDecimal bd = new BigDecimal(value);
+            int i = bd.intValue();
+            if (bd.compareTo(BigDecimal.valueOf(i)) == 0) {
+                return i;
+            }
+        } else if (kind == NumericString.OTHER) {
+            return parseInteger(value);
+        }
+        throw new AtlasConversionException(String
+                .format("String %s is greater than Integer.MAX_VALUE  or less than Integer.MIN_VALUE", value));
+    }
+
+    public static long toLong(String value) throws AtlasConversionException {
+        int kind = NumericString.classify(value);
+        if (kind == NumericString.INTEGER) {
+            return NumericString.parseLong(value);
+        } else if (kind == NumericString.DECIMAL) {
+            BigDecimal bd = new BigDecimal(value);
+            long l = bd.longValue();
+            if (bd.compareTo(BigDecimal.valueOf(l)) == 0) {
+                return l;
+            }
+        } else if (kind == NumericString.OTHER) {
+            return parseLong(value);
+        }
+        throw new AtlasConversionException(
+                String.format("String %s is greater than Long.MAX_VALUE  or less than Long.MIN_VALUE", value));
+    }
+
+    public static short toShort(String value) throws AtlasConversionException {
+        // check we can make a short of the String
+        int kind = NumericString.classify(value);
+        if (kind == NumericString.INTEGER) {
+            long l = NumericString.parseLong(value);
+            if (l >= Short.MIN_VALUE && l <= Short.MAX_VALUE) {
+                return (short) l;
+            }
+            throw new AtlasConversionException(String
+                    .format("String %s is greater than Short.MAX_VALUE  or less than Short.MIN_VALUE", value));
+        } else if (kind != NumericString.OTHER) {
+            throw new AtlasConversionException(
+                    String.format("String %s cannot be converted to a Short as it is not an integer in range", value));
+        }
+        try {
+            return Short.parseShort(value);
+        } catch (NumberFormatException nfe) {
+            throw new AtlasConversionException(nfe);
+        }
+    }
+
+    /**
+     * Parses non ASCII digits and the like, which {@link NumericString} leaves to the JDK.
+     */
+    private static int parseInteger(String value) throws AtlasConversionException {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException nfe) {
+            try {
+                BigDecimal bd = new BigDecimal(value);
+                int i = bd.intValue();
+                if (bd.compareTo(BigDecimal.valueOf(i)) != 0) {
+                    throw new AtlasConversionException(String.format(
+                            "String %s is greater than Integer.MAX_VALUE  or less than Integer.MIN_VALUE", value));
+                }
+                return i;
+            } catch (NumberFormatException nfe2) {
+                throw new AtlasConversionException(nfe);
+            }
+        }
+    }
+
+    private static long parseLong(String value) throws AtlasConversionException {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException nfe) {
+            try {
+                BigDecimal bd = new BigDecimal(value);
+                long l = bd.longValue();
+                if (bd.compareTo(BigDecimal.valueOf(l)) != 0) {
+                    throw new AtlasConversionException(String
+                            .format("String %s is greater than Long.MAX_VALUE  or less than Long.MIN_VALUE", value));
+                }
+                return l;
+            } catch (NumberFormatException nfe2) {
+                throw new AtlasConversionException(nfe);
+            }
+        }
+    }
+
     @AtlasConversionInfo(sourceType = FieldType.STRING, targetType = FieldType.NUMBER, concerns = {
             AtlasConversionConcern.FORMAT })
     public Number convertToNumber(String value) throws AtlasConversionException {
         if (value == null || value.trim().isEmpty()) {
             return null;
         }
-        if (value.matches("\\d+")) {
+        int kind = NumericString.classify(value);
+        boolean signed = value.charAt(0) == '-' || value.charAt(0) == '+';
+        if (kind == NumericString.INTEGER && !signed) {
+            return BigInteger.valueOf(NumericString.parseLong(value));
+        } else if (kind == NumericString.BIG_INTEGER && !signed) {
             return new BigInteger(value);
         }
         try {
@@ -277,4 +375,9 @@ public class StringConverter implements AtlasPrimitiveConverter<String> {
             throw new AtlasConversionException(e);
         }
     }
+
+    @Override
+    public List<AtlasPrimitiveValueConverter> getPrimitiveValueConverters() {
+        return PRIMITIVE_VALUE_CONVERTERS;
+    }
 }
@@ -0,0 +1,275 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Shared cache of the parsed forms of format strings used by converters and field actions:
+ * date time formatters, compiled regular expressions and separator delimited format values.
+ * Each cache is a bounded concurrent cache as for {@link CompiledPath}. Regular expressions which don't
+ * contain any metacharacter are handled as literals without compiling a pattern at all.
+ */
+public final class AtlasFormatCache {
+
+    static final int MAX_CACHE_SIZE = 1024;
+
+    private static final String REGEX_METACHARACTERS = "\\^$.|?*+()[]{}";
+    private static final String WHITESPACE_REGEX = "\\s";
+    private static final String WHITESPACE_RUN_REGEX = "\\s+";
+
+    private static final BoundedCache<String, DateTimeFormatter> DATE_TIME_FORMATTER_CACHE =
+            new BoundedCache<>(MAX_CACHE_SIZE);
+    private static final BoundedCache<String, Pattern> PATTERN_CACHE = new BoundedCache<>(MAX_CACHE_SIZE);
+    private static final Map<Character, BoundedCache<String, String[]>> TOKENS_CACHE = new ConcurrentHashMap<>();
+
+    private AtlasFormatCache() {
+    }
+
+    /**
+     * @param pattern date time pattern, see {@link DateTimeFormatter#ofPattern(String)}
+     * @return shared formatter
+     */
+    public static DateTimeFormatter dateTimeFormatter(String pattern) {
+        DateTimeFormatter answer = DATE_TIME_FORMATTER_CACHE.get(pattern);
+        if (answer == null) {
+            answer = DateTimeFormatter.ofPattern(pattern);
+            DATE_TIME_FORMATTER_CACHE.put(pattern, answer);
+        }
+        return answer;
+    }
+
+    /**
+     * @param regex regular expression
+     * @return shared compiled pattern
+     */
+    public static Pattern pattern(String regex) {
+        Pattern answer = PATTERN_CACHE.get(regex);
+        if (answer == null) {
+            answer = Pattern.compile(regex);
+            PATTERN_CACHE.put(regex, answer);
+        }
+        return answer;
+    }
+
+    /**
+     * Splits a format string such as {@code true|false} into its values. The returned array is
+     * shared and must not be modified.
+     *
+     * @param format format string
+     * @param separator value separator
+     * @return values, trailing empty values are removed as {@link String#split(String)} does
+     */
+    public static String[] tokens(String format, char separator) {
+        BoundedCache<String, String[]> cache = TOKENS_CACHE.get(separator);
+        if (cache == null) {
+            cache = TOKENS_CACHE.computeIfAbsent(separator, k -> new BoundedCache<>(MAX_CACHE_SIZE));
+        }
+        String[] answer = cache.get(format);
+        if (answer == null) {
+            List<String> values = splitLiteral(format, String.valueOf(separator), 0);
+            answer = values.toArray(new String[values.size()]);
+            cache.put(format, answer);
+        }
+        return answer;
+    }
+
+    /**
+     * @param regex regular expression
+     * @return true if the expression doesn't contain any metacharacter, i.e. it only matches itself
+     */
+    public static boolean isLiteral(String regex) {
+        for (int i = 0; i < regex.length(); i++) {
+            if (REGEX_METACHARACTERS.indexOf(regex.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same as {@link String#replaceAll(String, String)}, but without compiling the expression if
+     * it's a literal or it's been compiled already.
+     *
+     * @param input input string
+     * @param regex regular expression
+     * @param replacement replacement, may refer to groups
+     * @return replaced string
+     */
+    public static String replaceAll(String input, String regex, String replacement) {
+        if (!regex.isEmpty() && isLiteral(regex) && isLiteralReplacement(replacement)) {
+            return replaceLiteral(input, regex, replacement, false);
+        }
+        return pattern(regex).matcher(input).replaceAll(replacement);
+    }
+
+    /**
+     * Same as {@link String#replaceFirst(String, String)}, see {@link #replaceAll(String, String, String)}.
+     *
+     * @param input input string
+     * @param regex regular expression
+     * @param replacement replacement, may refer to groups
+     * @return replaced string
+     */
+    public static String replaceFirst(String input, String regex, String replacement) {
+        if (!regex.isEmpty() && isLiteral(regex) && isLiteralReplacement(replacement)) {
+            return replaceLiteral(input, regex, replacement, true);
+        }
+        return pattern(regex).matcher(input).replaceFirst(replacement);
+    }
+
+    /**
+     * Same as {@link String#split(String, int)}, but without compiling the delimiter if it's a
+     * literal or it's been compiled already.
+     *
+     * @param input input string
+     * @param regex delimiter regular expression
+     * @param limit split limit
+     * @return split values
+     */
+    public static List<String> split(String input, String regex, int limit) {
+        if (!regex.isEmpty() && isLiteral(regex)) {
+            return splitLiteral(input, regex, limit);
+        }
+        String[] values = pattern(regex).split(input, limit);
+        List<String> answer = new ArrayList<>(values.length);
+        for (String value : values) {
+            answer.add(value);
+        }
+        return answer;
+    }
+
+    /**
+     * Returns a single value of {@link #split(String, String, int)} without splitting the whole
+     * input. Literal delimiters, {@code \\s} and {@code \\s+} are scanned for without any regular
+     * expression, and no value other than the requested one is created.
+     *
+     * @param input input string
+     * @param regex delimiter regular expression
+     * @param limit split limit
+     * @param index zero based index of the value
+     * @return the value, or null if the input splits into fewer values
+     */
+    public static String split(String input, String regex, int limit, int index) {
+        boolean literal = !regex.isEmpty() && isLiteral(regex);
+        boolean whitespace = WHITESPACE_REGEX.equals(regex);
+        boolean whitespaceRun = WHITESPACE_RUN_REGEX.equals(regex);
+        if (index < 0 || limit <= 0 || !(literal || whitespace || whitespaceRun)) {
+            // trailing empty values are removed with a non positive limit, let split() take care
+            List<String> values = index >= 0 ? split(input, regex, limit) : null;
+            return values != null && index < values.size() ? values.get(index) : null;
+        }
+        int start = 0;
+        for (int i = 0; i < index; i++) {
+            if (i == limit - 1) {
+                return null;
+            }
+            int found = literal ? input.indexOf(regex, start) : indexOfWhitespace(input, start);
+            if (found < 0) {
+                return null;
+            }
+            start = literal ? found + regex.length() : found + 1;
+            if (whitespaceRun) {
+                while (start < input.length() && isWhitespace(input.charAt(start))) {
+                    start++;
+                }
+            }
+        }
+        if (index == limit - 1) {
+            return input.substring(start);
+        }
+        int end = literal ? input.indexOf(regex, start) : indexOfWhitespace(input, start);
+        return end < 0 ? input.substring(start) : input.substring(start, end);
+    }
+
+    static void clearCache() {
+        DATE_TIME_FORMATTER_CACHE.clear();
+        PATTERN_CACHE.clear();
+        TOKENS_CACHE.clear();
+    }
+
+    static int getCacheSize() {
+        int size = DATE_TIME_FORMATTER_CACHE.size() + PATTERN_CACHE.size();
+        for (BoundedCache<String, String[]> tokens : TOKENS_CACHE.values()) {
+            size += tokens.size();
+        }
+        return size;
+    }
+
+    private static boolean isLiteralReplacement(String replacement) {
+        return replacement.indexOf('$') < 0 && replacement.indexOf('\\') < 0;
+    }
+
+    private static String replaceLiteral(String input, String match, String replacement, boolean firstOnly) {
+        int index = input.indexOf(match);
+        if (index < 0) {
+            return input;
+        }
+        StringBuilder buf = new StringBuilder(input.length() + Math.max(0, replacement.length() - match.length()));
+        int start = 0;
+        do {
+            buf.append(input, start, index).append(replacement);
+            start = index + match.length();
+            index = firstOnly ? -1 : input.indexOf(match, start);
+        } while (index >= 0);
+        return buf.append(input, start, input.length()).toString();
+    }
+
+    private static List<String> splitLiteral(String input, String delimiter, int limit) {
+        List<String> answer = new ArrayList<>();
+        int start = 0;
+        int index = input.indexOf(delimiter);
+        while (index >= 0 && (limit <= 0 || answer.size() < limit - 1)) {
+            answer.add(input.substring(start, index));
+            start = index + delimiter.length();
+            index = input.indexOf(delimiter, start);
+        }
+        if (answer.isEmpty()) {
+            answer.add(input);
+            return answer;
+        }
+        answer.add(input.substring(start));
+        if (limit == 0) {
+            int size = answer.size();
+            while (size > 0 && answer.get(size - 1).isEmpty()) {
+                answer.remove(--size);
+            }
+        }
+        return answer;
+    }
+
+    private static int indexOfWhitespace(String input, int start) {
+        for (int i = start; i < input.length(); i++) {
+            if (isWhitespace(input.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return true if {@code \\s} matches the character, which is narrower than
+     *         {@link Character#isWhitespace(char)}
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+}
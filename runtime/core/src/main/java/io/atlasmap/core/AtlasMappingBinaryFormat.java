@@ -0,0 +1,186 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.atlasmap.api.AtlasValidationException;
+import io.atlasmap.v2.AtlasMapping;
+
+/**
+ * Binary form of an already validated {@link AtlasMapping}, which is read back without XML or JSON
+ * parsing. A file starts with a magic number, the format version and the AtlasMap version which
+ * wrote it, followed by the serialized mapping definition. A file written by another AtlasMap
+ * version is rejected as the model classes may have changed, and has to be generated again.
+ */
+final class AtlasMappingBinaryFormat {
+
+    static final int MAGIC = 0x41544c4d;
+    static final int FORMAT_VERSION = 1;
+    static final int MAX_DEPTH = 200;
+    static final int MAX_REFERENCES = 1000000;
+    static final int MAX_ARRAY_LENGTH = 100000;
+
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasMappingBinaryFormat.class);
+    private static final String FILTER_PATTERN = "maxdepth=" + MAX_DEPTH + ";maxrefs=" + MAX_REFERENCES
+            + ";maxarray=" + MAX_ARRAY_LENGTH;
+
+    // io.atlasmap.v2 and the model packages of the modules, such as io.atlasmap.json.v2
+    private static final Pattern MODEL_CLASS = Pattern.compile("io\\.atlasmap\\.(\\w+\\.)?v2\\.[\\w$]+");
+    private static final Set<String> ALLOWED_JDK_CLASSES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "java.lang.Boolean", "java.lang.Byte", "java.lang.Character", "java.lang.Double", "java.lang.Enum",
+            "java.lang.Float", "java.lang.Integer", "java.lang.Long", "java.lang.Number", "java.lang.Short",
+            "java.lang.String", "java.math.BigDecimal", "java.math.BigInteger", "java.util.ArrayList",
+            "java.util.HashMap", "java.util.LinkedHashMap", "java.util.LinkedList", "java.util.Date")));
+
+    private AtlasMappingBinaryFormat() {
+    }
+
+    static void write(AtlasMapping mapping, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeShort(FORMAT_VERSION);
+        data.writeUTF(getAtlasVersion());
+        ObjectOutputStream objects = new ObjectOutputStream(data);
+        objects.writeObject(mapping);
+        objects.flush();
+    }
+
+    static AtlasMapping read(InputStream in) throws IOException, AtlasValidationException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new AtlasValidationException("Not a binary AtlasMapping");
+        }
+        int formatVersion = data.readUnsignedShort();
+        if (formatVersion != FORMAT_VERSION) {
+            throw new AtlasValidationException(String.format(
+                    "Unsupported binary AtlasMapping format version %s, expected %s", formatVersion, FORMAT_VERSION));
+        }
+        String writtenBy = data.readUTF();
+        String current = getAtlasVersion();
+        if (!writtenBy.isEmpty() && !current.isEmpty() && !writtenBy.equals(current)) {
+            throw new AtlasValidationException(String.format(
+                    "Binary AtlasMapping was written by AtlasMap %s and can't be read by %s, it must be generated again",
+                    writtenBy, current));
+        }
+
+        try {
+            // the stream is left open, as the caller opened it
+            Object mapping = new MappingInputStream(data).readObject();
+            if (!(mapping instanceof AtlasMapping)) {
+                throw new AtlasValidationException("Binary AtlasMapping doesn't contain an AtlasMapping");
+            }
+            return (AtlasMapping) mapping;
+        } catch (ClassNotFoundException e) {
+            throw new AtlasValidationException(e.getMessage(), e);
+        }
+    }
+
+    static String getAtlasVersion() {
+        String version = AtlasMapping.class.getPackage() != null
+                ? AtlasMapping.class.getPackage().getImplementationVersion() : null;
+        return version != null ? version : "";
+    }
+
+    /**
+     * Limits the depth, the number of objects and the array lengths of the graph read from the
+     * stream, with the serialization filter of Java 9 and later, or the one of Java 8 update 121
+     * and later.
+     *
+     * @return false if no serialization filter is available
+     */
+    private static boolean applyFilter(ObjectInputStream in) {
+        try {
+            Class<?> filterClass = Class.forName("java.io.ObjectInputFilter");
+            Object filter = Class.forName("java.io.ObjectInputFilter$Config").getMethod("createFilter", String.class)
+                    .invoke(null, FILTER_PATTERN);
+            ObjectInputStream.class.getMethod("setObjectInputFilter", filterClass).invoke(in, filter);
+            return true;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // not Java 9 or later
+        }
+        try {
+            Class<?> filterClass = Class.forName("sun.misc.ObjectInputFilter");
+            Class<?> config = Class.forName("sun.misc.ObjectInputFilter$Config");
+            Object filter = config.getMethod("createFilter", String.class).invoke(null, FILTER_PATTERN);
+            config.getMethod("setObjectInputFilter", ObjectInputStream.class, filterClass).invoke(null, in, filter);
+            return true;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("No serialization filter available, only the number of objects is limited", e);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Only resolves the model classes, so that a crafted file can't instantiate anything else, and
+     * limits the size of the object graph, see {@link AtlasMappingBinaryFormat#applyFilter(ObjectInputStream)}.
+     */
+    private static class MappingInputStream extends ObjectInputStream {
+        private int references;
+
+        MappingInputStream(InputStream in) throws IOException {
+            super(in);
+            // without a serialization filter, count the objects as they're resolved at least
+            enableResolveObject(!applyFilter(this));
+        }
+
+        @Override
+        protected Object resolveObject(Object obj) throws IOException {
+            if (++references > MAX_REFERENCES) {
+                throw new InvalidObjectException(
+                        "Binary AtlasMapping contains more than " + MAX_REFERENCES + " objects");
+            }
+            return obj;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            String name = desc.getName();
+            if (!MODEL_CLASS.matcher(name).matches() && !ALLOWED_JDK_CLASSES.contains(name)) {
+                throw new InvalidClassException(name, "Class is not allowed in a binary AtlasMapping");
+            }
+            try {
+                return super.resolveClass(desc);
+            } catch (ClassNotFoundException e) {
+                // module model classes may not be visible from the core class loader
+                ClassLoader tccl = Thread.currentThread().getContextClassLoader();
+                if (tccl == null) {
+                    throw e;
+                }
+                return Class.forName(name, false, tccl);
+            }
+        }
+    }
+}
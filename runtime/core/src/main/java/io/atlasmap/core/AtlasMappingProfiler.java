@@ -0,0 +1,290 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+import javax.management.openmbean.TabularType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.atlasmap.api.AtlasConversionService;
+import io.atlasmap.api.AtlasFieldActionService;
+
+/**
+ * Opt-in latency and allocation profiler for {@link DefaultAtlasContext}. Only one out of
+ * {@link #getSampleRate()} sessions is measured, and measurements are aggregated per
+ * mapping, per source field read, per target field write, per conversion and per action chain
+ * so that the slowest parts of a mapping definition can be ranked.
+ */
+public class AtlasMappingProfiler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasMappingProfiler.class);
+
+    private static final String[] ITEM_NAMES = new String[] { "rank", "category", "name", "count",
+            "totalTime", "maxTime", "averageTime", "totalAllocatedBytes" };
+    private static final OpenType<?>[] ITEM_TYPES = new OpenType<?>[] { SimpleType.INTEGER, SimpleType.STRING,
+            SimpleType.STRING, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG };
+
+    public enum Category {
+        MAPPING, SOURCE, TARGET, CONVERSION, ACTIONS
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong sessionCount = new AtomicLong();
+    private final ThreadLocal<Sample> sample = ThreadLocal.withInitial(Sample::new);
+    // null if thread allocation tracking is not supported
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private volatile int sampleRate = 1;
+    private volatile boolean allocationTracking = true;
+
+    public AtlasMappingProfiler() {
+        com.sun.management.ThreadMXBean bean = null;
+        try {
+            // com.sun.management.ThreadMXBean is not available on every JVM, nor importable in every container
+            Object threadBean = ManagementFactory.getThreadMXBean();
+            if (threadBean instanceof com.sun.management.ThreadMXBean) {
+                bean = (com.sun.management.ThreadMXBean) threadBean;
+                bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        } catch (Throwable t) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Thread allocation tracking is not supported on this JVM", t);
+            }
+            bean = null;
+        }
+        this.allocationBean = bean;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * @param sampleRate profile one of every {@code sampleRate} sessions, 1 profiles every session
+     */
+    public void setSampleRate(int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("sampleRate must be positive: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean isAllocationTracking() {
+        return allocationTracking && allocationBean != null;
+    }
+
+    public void setAllocationTracking(boolean allocationTracking) {
+        this.allocationTracking = allocationTracking;
+    }
+
+    /**
+     * Decides whether the session about to be processed on this thread is sampled.
+     *
+     * @return true if the session is sampled
+     */
+    public boolean beginSession() {
+        boolean sampled = sessionCount.getAndIncrement() % sampleRate == 0;
+        Sample s = sample.get();
+        s.active = sampled;
+        s.fieldName = null;
+        return sampled;
+    }
+
+    public void endSession() {
+        Sample s = sample.get();
+        s.active = false;
+        s.fieldName = null;
+    }
+
+    public boolean isSampling() {
+        return sample.get().active;
+    }
+
+    public void setCurrentField(String fieldName) {
+        sample.get().fieldName = fieldName;
+    }
+
+    public String getCurrentField() {
+        return sample.get().fieldName;
+    }
+
+    /**
+     * @return bytes allocated so far by the current thread, or -1 if allocation tracking is
+     *         disabled or not supported
+     */
+    public long getAllocatedBytes() {
+        com.sun.management.ThreadMXBean bean = this.allocationBean;
+        if (!allocationTracking || bean == null) {
+            return -1L;
+        }
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    public void record(Category category, String name, long nanos, long allocatedBytes) {
+        String key = category.name() + ':' + name;
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = entries.computeIfAbsent(key, k -> new Entry(category, name));
+        }
+        entry.record(nanos, allocatedBytes);
+    }
+
+    public List<Entry> getRankedEntries() {
+        List<Entry> answer = new ArrayList<>(entries.values());
+        answer.sort((a, b) -> Long.compare(b.getTotalTime(), a.getTotalTime()));
+        return answer;
+    }
+
+    public void reset() {
+        entries.clear();
+        sessionCount.set(0);
+    }
+
+    public TabularData toTabularData() throws OpenDataException {
+        CompositeType rowType = new CompositeType("AtlasMappingProfile", "AtlasMapping profile entry", ITEM_NAMES,
+                ITEM_NAMES, ITEM_TYPES);
+        TabularType tableType = new TabularType("AtlasMappingProfileTable", "AtlasMapping profile ranked by time",
+                rowType, new String[] { "rank" });
+        TabularDataSupport table = new TabularDataSupport(tableType);
+        int rank = 1;
+        for (Entry e : getRankedEntries()) {
+            table.put(new CompositeDataSupport(rowType, ITEM_NAMES, new Object[] { rank++, e.getCategory().name(),
+                    e.getName(), e.getCount(), e.getTotalTime(), e.getMaxTime(), e.getAverageTime(),
+                    e.getTotalAllocatedBytes() }));
+        }
+        return table;
+    }
+
+    public List<Map<String, Object>> toReport() {
+        List<Map<String, Object>> answer = new ArrayList<>();
+        int rank = 1;
+        for (Entry e : getRankedEntries()) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("rank", rank++);
+            row.put("category", e.getCategory().name());
+            row.put("name", e.getName());
+            row.put("count", e.getCount());
+            row.put("totalTime", e.getTotalTime());
+            row.put("maxTime", e.getMaxTime());
+            row.put("averageTime", e.getAverageTime());
+            row.put("totalAllocatedBytes", e.getTotalAllocatedBytes());
+            answer.add(row);
+        }
+        return answer;
+    }
+
+    public void writeJsonReport(File file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("sampleRate", sampleRate);
+        report.put("sessionCount", sessionCount.get());
+        report.put("allocationTracking", isAllocationTracking());
+        report.put("timeUnit", "NANOSECONDS");
+        report.put("entries", toReport());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, report);
+    }
+
+    public AtlasConversionService wrap(AtlasConversionService delegate) {
+        if (delegate == null || delegate instanceof ProfilingConversionService) {
+            return delegate;
+        }
+        return new ProfilingConversionService(delegate, this);
+    }
+
+    public AtlasFieldActionService wrap(AtlasFieldActionService delegate) {
+        if (delegate == null || delegate instanceof ProfilingFieldActionService) {
+            return delegate;
+        }
+        return new ProfilingFieldActionService(delegate, this);
+    }
+
+    public static class Entry {
+        private final Category category;
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+        private final LongAdder totalAllocatedBytes = new LongAdder();
+        private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0L);
+
+        Entry(Category category, String name) {
+            this.category = category;
+            this.name = name;
+        }
+
+        void record(long nanos, long allocatedBytes) {
+            count.increment();
+            totalTime.add(nanos);
+            maxTime.accumulate(nanos);
+            if (allocatedBytes > 0) {
+                totalAllocatedBytes.add(allocatedBytes);
+            }
+        }
+
+        public Category getCategory() {
+            return category;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalTime() {
+            return totalTime.sum();
+        }
+
+        public long getMaxTime() {
+            return maxTime.get();
+        }
+
+        public long getAverageTime() {
+            long c = getCount();
+            return c == 0 ? 0L : getTotalTime() / c;
+        }
+
+        public long getTotalAllocatedBytes() {
+            return totalAllocatedBytes.sum();
+        }
+    }
+
+    private static class Sample {
+        private boolean active;
+        private String fieldName;
+    }
+}
@@ -15,16 +15,27 @@
  */
 package io.atlasmap.core;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Serializable;
+import java.lang.ref.WeakReference;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -42,17 +53,28 @@ import io.atlasmap.api.AtlasValidationException;
 import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.Json;
 
-
+/**
+ * Loads and saves {@link AtlasMapping} as XML or JSON. The JAXBContext is only created on the first
+ * XML use, and is shared with the other instances using the same packages and class loader since
+ * creating it is one of the slowest steps of the startup. Marshallers and unmarshallers aren't
+ * thread safe, so they are pooled per context rather than shared.
+ */
 public class AtlasMappingService implements Serializable {
 
     private static final long serialVersionUID = 1668362984516180517L;
     private static final Logger LOG = LoggerFactory.getLogger(AtlasMappingService.class);
     private static final String CONFIG_V2_PACKAGE = "io.atlasmap.v2";
-    private transient JAXBContext ctx = null;
+    private static final int JAXB_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    // contexts are weakly referenced so that they don't pin the class loader keys
+    private static final Map<ClassLoader, Map<String, WeakReference<JAXBContext>>> JAXB_CONTEXTS = new WeakHashMap<>();
+
+    private String contextPath;
+    private transient ClassLoader classLoader;
+    private transient volatile JAXBPool jaxbPool = null;
     private transient ObjectMapper jsonMapper = null;
 
     public enum AtlasMappingFormat {
-        XML("xml"), JSON("json");
+        XML("xml"), JSON("json"), BINARY("bin");
 
         private String value;
 
@@ -86,17 +108,40 @@ public class AtlasMappingService implements Serializable {
     }
 
     protected void initialize(List<String> packages) throws JAXBException {
+        if (packages == null) {
+            throw new JAXBException("Module packages must be specified");
+        }
 
-        if (getJAXBContext() == null) {
-            setJAXBContext(JAXBContext.newInstance(stringListToColonSeparated(packages)));
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Initialized JAXBContext: " + stringListToColonSeparated(packages));
+        // the JAXBContext is created later on, but missing packages are still reported here
+        contextPath = stringListToColonSeparated(packages);
+        classLoader = Thread.currentThread().getContextClassLoader();
+        for (String packageName : contextPath.split(":")) {
+            if (!packageName.isEmpty() && !isJAXBPackage(packageName)) {
+                throw new JAXBException(String.format("Package %s doesn't contain ObjectFactory.class or jaxb.index",
+                        packageName));
             }
         }
 
         jsonMapper = Json.mapper();
     }
 
+    private boolean isJAXBPackage(String packageName) {
+        ClassLoader loader = getClassLoader();
+        if (loader.getResource(packageName.replace('.', '/') + "/jaxb.index") != null) {
+            return true;
+        }
+        try {
+            Class.forName(packageName + ".ObjectFactory", false, loader);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private ClassLoader getClassLoader() {
+        return classLoader != null ? classLoader : AtlasMappingService.class.getClassLoader();
+    }
+
     public AtlasMapping loadMapping(File file) throws AtlasValidationException {
         return loadMapping(file, AtlasMappingFormat.XML);
     }
@@ -107,11 +152,16 @@ public class AtlasMappingService implements Serializable {
             switch (format) {
             case XML:
                 StreamSource streamSource = new StreamSource(file);
-                atlasMapping = createUnmarshaller().unmarshal(streamSource, AtlasMapping.class).getValue();
+                atlasMapping = unmarshal(streamSource);
                 break;
             case JSON:
                 atlasMapping = jsonMapper.readValue(file, AtlasMapping.class);
                 break;
+            case BINARY:
+                // validated before it was written
+                try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+                    return AtlasMappingBinaryFormat.read(in);
+                }
             default:
                 throw new AtlasValidationException("Unsupported mapping format: " + format.value);
             }
@@ -132,11 +182,13 @@ public class AtlasMappingService implements Serializable {
             switch (format) {
             case XML:
                 StreamSource streamSource = new StreamSource(reader);
-                atlasMapping = createUnmarshaller().unmarshal(streamSource, AtlasMapping.class).getValue();
+                atlasMapping = unmarshal(streamSource);
                 break;
             case JSON:
                 atlasMapping = jsonMapper.readValue(reader, AtlasMapping.class);
                 break;
+            case BINARY:
+                throw new AtlasValidationException("Binary mapping format can't be read from a Reader");
             default:
                 throw new AtlasValidationException("Unsupported mapping format: " + format.value);
             }
@@ -161,6 +213,13 @@ public class AtlasMappingService implements Serializable {
 
     public AtlasMapping loadMapping(InputStream inputStream, AtlasMappingFormat format)
             throws AtlasValidationException {
+        if (format == AtlasMappingFormat.BINARY) {
+            try {
+                return AtlasMappingBinaryFormat.read(inputStream);
+            } catch (Exception e) {
+                throw new AtlasValidationException(e.getMessage(), e);
+            }
+        }
         return loadMapping(new InputStreamReader(inputStream), format);
     }
 
@@ -197,6 +256,9 @@ public class AtlasMappingService implements Serializable {
         case XML:
             saveMappingAsXmlFile(atlasMapping, file);
             break;
+        case BINARY:
+            saveMappingAsBinaryFile(atlasMapping, file);
+            break;
         default:
             saveMappingAsXmlFile(atlasMapping, file);
             break;
@@ -213,12 +275,44 @@ public class AtlasMappingService implements Serializable {
 
     protected void saveMappingAsXmlFile(AtlasMapping atlasMapping, File file) throws AtlasException {
         try {
-            createMarshaller().marshal(atlasMapping, file);
+            JAXBPool pool = getJAXBPool();
+            Marshaller marshaller = pool.marshallers.poll();
+            if (marshaller == null) {
+                marshaller = createMarshaller(pool.context);
+            }
+            marshaller.marshal(atlasMapping, file);
+            pool.marshallers.offer(marshaller);
         } catch (JAXBException e) {
             throw new AtlasValidationException(e.getMessage(), e);
         }
     }
 
+    protected void saveMappingAsBinaryFile(AtlasMapping atlasMapping, File file) throws AtlasException {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            writeMappingAsBinary(atlasMapping, out);
+        } catch (Exception e) {
+            throw new AtlasValidationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Validates and writes the mapping definition in the {@link AtlasMappingFormat#BINARY} format,
+     * which {@link #loadMapping(InputStream, AtlasMappingFormat)} reads back without validating it again.
+     *
+     * @param atlasMapping mapping definition
+     * @param out output stream, left open
+     * @throws AtlasException if the mapping is not valid or can't be written
+     */
+    public void writeMappingAsBinary(AtlasMapping atlasMapping, OutputStream out) throws AtlasException {
+        validate(atlasMapping);
+        try {
+            AtlasMappingBinaryFormat.write(atlasMapping, out);
+            out.flush();
+        } catch (Exception e) {
+            throw new AtlasValidationException(e.getMessage(), e);
+        }
+    }
+
     public void validate(AtlasMapping atlasMapping) throws AtlasValidationException {
         // if(atlasMapping == null || atlasMapping.getName() == null) {
         // throw new AtlasValidationException("AtlasMapping and name must be
@@ -227,21 +321,81 @@ public class AtlasMappingService implements Serializable {
     }
 
     public JAXBContext getJAXBContext() {
-        return ctx;
+        try {
+            return getJAXBPool().context;
+        } catch (JAXBException e) {
+            LOG.error("Error initializing JAXB: " + e.getMessage(), e);
+            throw new IllegalStateException(e.getMessage(), e);
+        }
     }
 
     public void setJAXBContext(JAXBContext ctx) {
-        this.ctx = ctx;
+        this.jaxbPool = ctx != null ? new JAXBPool(ctx) : null;
     }
 
     public Marshaller createMarshaller() throws JAXBException {
-        Marshaller marshaller = getJAXBContext().createMarshaller();
+        return createMarshaller(getJAXBPool().context);
+    }
+
+    public Unmarshaller createUnmarshaller() throws JAXBException {
+        return getJAXBPool().context.createUnmarshaller();
+    }
+
+    boolean isJAXBContextCreated() {
+        return jaxbPool != null;
+    }
+
+    private Marshaller createMarshaller(JAXBContext context) throws JAXBException {
+        Marshaller marshaller = context.createMarshaller();
         marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
         return marshaller;
     }
 
-    public Unmarshaller createUnmarshaller() throws JAXBException {
-        return getJAXBContext().createUnmarshaller();
+    private AtlasMapping unmarshal(StreamSource streamSource) throws JAXBException {
+        JAXBPool pool = getJAXBPool();
+        Unmarshaller unmarshaller = pool.unmarshallers.poll();
+        if (unmarshaller == null) {
+            unmarshaller = pool.context.createUnmarshaller();
+        }
+        AtlasMapping atlasMapping = unmarshaller.unmarshal(streamSource, AtlasMapping.class).getValue();
+        // only returned to the pool once it completed normally
+        pool.unmarshallers.offer(unmarshaller);
+        return atlasMapping;
+    }
+
+    private JAXBPool getJAXBPool() throws JAXBException {
+        JAXBPool pool = jaxbPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = jaxbPool;
+                if (pool == null) {
+                    pool = new JAXBPool(getSharedJAXBContext(contextPath, getClassLoader()));
+                    jaxbPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    private static JAXBContext getSharedJAXBContext(String contextPath, ClassLoader classLoader)
+            throws JAXBException {
+        if (contextPath == null) {
+            throw new JAXBException("AtlasMappingService is not initialized");
+        }
+        synchronized (JAXB_CONTEXTS) {
+            Map<String, WeakReference<JAXBContext>> contexts = JAXB_CONTEXTS.computeIfAbsent(classLoader,
+                    k -> new HashMap<>());
+            WeakReference<JAXBContext> ref = contexts.get(contextPath);
+            JAXBContext context = ref != null ? ref.get() : null;
+            if (context == null) {
+                context = JAXBContext.newInstance(contextPath, classLoader);
+                contexts.put(contextPath, new WeakReference<>(context));
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Initialized JAXBContext: " + contextPath);
+                }
+            }
+            return context;
+        }
     }
 
     public ObjectMapper getObjectMapper() {
@@ -280,4 +434,14 @@ public class AtlasMappingService implements Serializable {
 
         return buffer.toString();
     }
+
+    private static class JAXBPool {
+        private final JAXBContext context;
+        private final BlockingQueue<Marshaller> marshallers = new ArrayBlockingQueue<>(JAXB_POOL_SIZE);
+        private final BlockingQueue<Unmarshaller> unmarshallers = new ArrayBlockingQueue<>(JAXB_POOL_SIZE);
+
+        JAXBPool(JAXBContext context) {
+            this.context = context;
+        }
+    }
 }
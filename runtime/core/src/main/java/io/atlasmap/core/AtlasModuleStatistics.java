@@ -0,0 +1,224 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+import javax.management.openmbean.TabularType;
+
+/**
+ * Execution statistics of an {@link io.atlasmap.spi.AtlasModule}. Counters are striped
+ * ({@link LongAdder}/{@link LongAccumulator}) so that concurrent sessions don't contend on
+ * a single memory location, and nothing is recorded while statistics is disabled.
+ * All execution times are in nanoseconds.
+ */
+public class AtlasModuleStatistics {
+
+    public static final String DIRECTION_SOURCE = "SOURCE";
+    public static final String DIRECTION_TARGET = "TARGET";
+
+    private static final String[] ITEM_NAMES = new String[] { "direction", "count", "successCount", "errorCount",
+            "minExecutionTime", "maxExecutionTime", "totalExecutionTime", "p50ExecutionTime", "p90ExecutionTime",
+            "p99ExecutionTime" };
+    private static final String[] ITEM_DESCRIPTIONS = new String[] { "SOURCE or TARGET", "Number of executions",
+            "Number of successful executions", "Number of failed executions", "Minimum execution time (ns)",
+            "Maximum execution time (ns)", "Total execution time (ns)", "Median execution time (ns, approximate)",
+            "90th percentile execution time (ns, approximate)", "99th percentile execution time (ns, approximate)" };
+    private static final OpenType<?>[] ITEM_TYPES = new OpenType<?>[] { SimpleType.STRING, SimpleType.LONG,
+            SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG,
+            SimpleType.LONG, SimpleType.LONG };
+
+    private volatile boolean enabled;
+    private final ExecutionStatistics source = new ExecutionStatistics();
+    private final ExecutionStatistics target = new ExecutionStatistics();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public ExecutionStatistics getSource() {
+        return source;
+    }
+
+    public ExecutionStatistics getTarget() {
+        return target;
+    }
+
+    public void reset() {
+        source.readAndReset();
+        target.readAndReset();
+    }
+
+    /**
+     * Takes a snapshot of both source and target statistics and resets them.
+     *
+     * @return a table indexed by direction
+     * @throws OpenDataException if the open types can't be built
+     */
+    public TabularData readAndReset() throws OpenDataException {
+        CompositeType rowType = new CompositeType("AtlasModuleStatistics", "AtlasModule execution statistics",
+                ITEM_NAMES, ITEM_DESCRIPTIONS, ITEM_TYPES);
+        TabularType tableType = new TabularType("AtlasModuleStatisticsTable", "AtlasModule execution statistics",
+                rowType, new String[] { "direction" });
+        TabularDataSupport table = new TabularDataSupport(tableType);
+        table.put(new CompositeDataSupport(rowType, ITEM_NAMES, source.readAndReset().toItems(DIRECTION_SOURCE)));
+        table.put(new CompositeDataSupport(rowType, ITEM_NAMES, target.readAndReset().toItems(DIRECTION_TARGET)));
+        return table;
+    }
+
+    /**
+     * Counters and latency histogram for one direction. The histogram uses power-of-two
+     * nanosecond buckets starting from ~1 microsecond, which is enough resolution to tell
+     * a slow module from a fast one while keeping recording to a couple of adds.
+     */
+    public static class ExecutionStatistics {
+        static final int HISTOGRAM_MIN_SHIFT = 10;
+        static final int HISTOGRAM_BUCKETS = 32;
+
+        private final LongAdder successCount = new LongAdder();
+        private final LongAdder errorCount = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+        private final LongAccumulator minTime = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0L);
+        private final LongAdder[] histogram = new LongAdder[HISTOGRAM_BUCKETS];
+
+        public ExecutionStatistics() {
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        public void record(long nanos, boolean success) {
+            if (nanos < 0) {
+                nanos = 0;
+            }
+            if (success) {
+                successCount.increment();
+            } else {
+                errorCount.increment();
+            }
+            totalTime.add(nanos);
+            minTime.accumulate(nanos);
+            maxTime.accumulate(nanos);
+            histogram[bucketOf(nanos)].increment();
+        }
+
+        public long getCount() {
+            return successCount.sum() + errorCount.sum();
+        }
+
+        public long getSuccessCount() {
+            return successCount.sum();
+        }
+
+        public long getErrorCount() {
+            return errorCount.sum();
+        }
+
+        public long getTotalExecutionTime() {
+            return totalTime.sum();
+        }
+
+        public long getMinExecutionTime() {
+            long min = minTime.get();
+            return min == Long.MAX_VALUE ? 0L : min;
+        }
+
+        public long getMaxExecutionTime() {
+            return maxTime.get();
+        }
+
+        public long getPercentileExecutionTime(double percentile) {
+            long[] buckets = new long[HISTOGRAM_BUCKETS];
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                buckets[i] = histogram[i].sum();
+            }
+            return percentileOf(buckets, percentile, getMaxExecutionTime());
+        }
+
+        Snapshot readAndReset() {
+            Snapshot s = new Snapshot();
+            s.successCount = successCount.sumThenReset();
+            s.errorCount = errorCount.sumThenReset();
+            s.totalTime = totalTime.sumThenReset();
+            long min = minTime.getThenReset();
+            s.minTime = min == Long.MAX_VALUE ? 0L : min;
+            s.maxTime = maxTime.getThenReset();
+            s.histogram = new long[HISTOGRAM_BUCKETS];
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                s.histogram[i] = histogram[i].sumThenReset();
+            }
+            return s;
+        }
+
+        static int bucketOf(long nanos) {
+            int bucket = (64 - Long.numberOfLeadingZeros(nanos)) - HISTOGRAM_MIN_SHIFT;
+            if (bucket < 0) {
+                return 0;
+            }
+            return bucket < HISTOGRAM_BUCKETS ? bucket : HISTOGRAM_BUCKETS - 1;
+        }
+
+        static long percentileOf(long[] buckets, double percentile, long max) {
+            long total = 0;
+            for (long b : buckets) {
+                total += b;
+            }
+            if (total == 0) {
+                return 0L;
+            }
+            long threshold = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= threshold) {
+                    // upper bound of the bucket, but never above the observed maximum
+                    long upper = i == buckets.length - 1 ? Long.MAX_VALUE : (1L << (i + HISTOGRAM_MIN_SHIFT)) - 1;
+                    return Math.min(upper, max);
+                }
+            }
+            return max;
+        }
+    }
+
+    static class Snapshot {
+        private long successCount;
+        private long errorCount;
+        private long totalTime;
+        private long minTime;
+        private long maxTime;
+        private long[] histogram;
+
+        Object[] toItems(String direction) {
+            return new Object[] { direction, successCount + errorCount, successCount, errorCount, minTime, maxTime,
+                    totalTime, ExecutionStatistics.percentileOf(histogram, 0.5, maxTime),
+                    ExecutionStatistics.percentileOf(histogram, 0.9, maxTime),
+                    ExecutionStatistics.percentileOf(histogram, 0.99, maxTime) };
+        }
+    }
+}
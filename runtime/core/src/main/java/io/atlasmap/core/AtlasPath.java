@@ -36,17 +36,7 @@ public class AtlasPath {
         String path = p;
         this.originalPath = path;
         if (path != null && !"".equals(path)) {
-            if (path.startsWith(PATH_SEPARATOR)) {
-                path = path.replaceFirst(PATH_SEPARATOR, "");
-            }
-            if (path.contains(PATH_SEPARATOR)) {
-                String[] parts = path.split(PATH_SEPARATOR_ESCAPED, 512);
-                for (String part : parts) {
-                    getSegments().add(part);
-                }
-            } else {
-                getSegments().add(path);
-            }
+            getSegments().addAll(CompiledPath.compile(path).getSegmentExpressions());
         }
     }
 
@@ -68,7 +58,7 @@ public class AtlasPath {
             SegmentContext c = new SegmentContext();
             segmentPath += PATH_SEPARATOR + s;
             c.setPathUtil(this);
-            c.setSegment(s);
+            c.setCompiledSegment(CompiledPath.segment(s));
             c.setSegmentIndex(index);
             c.setSegmentPath(segmentPath);
             if (previousContext != null) {
@@ -108,12 +98,7 @@ public class AtlasPath {
     }
 
     public static String removeCollectionIndexes(String path) {
-        AtlasPath pathUtil = new AtlasPath(path);
-        String cleanedPath = "";
-        for (String s : pathUtil.getSegments()) {
-            cleanedPath += PATH_SEPARATOR + removeCollectionIndex(s);
-        }
-        return cleanedPath;
+        return CompiledPath.compile(path).removeCollectionIndexes();
     }
 
     public static String removeCollectionIndex(String segment) {
@@ -213,34 +198,7 @@ public class AtlasPath {
     }
 
     public static String cleanPathSegment(String pathSeg) {
-        String pathSegment = pathSeg;
-        if (pathSegment == null) {
-            return null;
-        }
-
-        // strip namespace if there is one
-        if (pathSegment.contains(":")) {
-            pathSegment = pathSegment.substring(pathSegment.indexOf(":") + 1);
-        }
-
-        // strip leading @ symbol if there is one
-        if (pathSegment.startsWith("@")) {
-            pathSegment = pathSegment.substring(1);
-        }
-
-        if (pathSegment.contains(PATH_ARRAY_START) && pathSegment.endsWith(PATH_ARRAY_END)) {
-            return pathSegment.substring(0, pathSegment.indexOf(PATH_ARRAY_START, 0));
-        }
-
-        if (pathSegment.contains(PATH_LIST_START) && pathSegment.endsWith(PATH_LIST_END)) {
-            return pathSegment.substring(0, pathSegment.indexOf(PATH_LIST_START, 0));
-        }
-
-        if (pathSegment.contains(PATH_MAP_START) && pathSegment.endsWith(PATH_MAP_END)) {
-            return pathSegment.substring(0, pathSegment.indexOf(PATH_MAP_START, 0));
-        }
-
-        return pathSegment;
+        return pathSeg == null ? null : CompiledPath.segment(pathSeg).getName();
     }
 
     public static String getAttribute(String pathSeg) {
@@ -248,19 +206,7 @@ public class AtlasPath {
     }
 
     public static Boolean isCollectionSegment(String pathSegment) {
-        if (pathSegment == null) {
-            return false;
-        }
-
-        if (pathSegment.contains(PATH_ARRAY_START) && pathSegment.endsWith(PATH_ARRAY_END)) {
-            return true;
-        }
-
-        if (pathSegment.contains(PATH_LIST_START) && pathSegment.endsWith(PATH_LIST_END)) {
-            return true;
-        }
-
-        return pathSegment.contains(PATH_MAP_START) && pathSegment.endsWith(PATH_MAP_END);
+        return pathSegment != null && CompiledPath.segment(pathSegment).isCollection();
     }
 
     public static Boolean isAttributeSegment(String pathSegment) {
@@ -271,26 +217,8 @@ public class AtlasPath {
         if (pathSegment == null) {
             return null;
         }
-
-        if (pathSegment.contains(PATH_ARRAY_START) && pathSegment.endsWith(PATH_ARRAY_END)) {
-            int start = pathSegment.indexOf(PATH_ARRAY_START, 0) + 1;
-            String index = pathSegment.substring(start, pathSegment.indexOf(PATH_ARRAY_END, start));
-            if (index != null && index.length() > 0) {
-                return Integer.valueOf(index);
-            }
-            return null;
-        }
-
-        if (pathSegment.contains(PATH_LIST_START) && pathSegment.endsWith(PATH_LIST_END)) {
-            int start = pathSegment.indexOf(PATH_LIST_START, 0) + 1;
-            String index = pathSegment.substring(start, pathSegment.indexOf(PATH_LIST_END, start));
-            if (index != null && index.length() > 0) {
-                return Integer.valueOf(index);
-            }
-            return null;
-        }
-
-        return null;
+        CompiledPath.Segment segment = CompiledPath.segment(pathSegment);
+        return segment.hasCollectionIndex() ? segment.getCollectionIndex() : null;
     }
 
     public Integer getCollectionIndex(String segment) {
@@ -367,20 +295,22 @@ public class AtlasPath {
     }
 
     public static boolean isArraySegment(String segment) {
-        return isCollectionSegment(segment) && segment.contains(PATH_ARRAY_START);
+        return segment != null && CompiledPath.segment(segment).isArray();
     }
 
     public static boolean isListSegment(String segment) {
-        return isCollectionSegment(segment) && segment.contains(PATH_LIST_START);
+        return segment != null && CompiledPath.segment(segment).isList();
     }
 
     public static boolean isMapSegment(String segment) {
-        return isCollectionSegment(segment) && segment.contains(PATH_MAP_START);
+        return segment != null && CompiledPath.segment(segment).isMap();
     }
 
     public static class SegmentContext {
 
         protected String segment;
+        protected CompiledPath.Segment compiledSegment;
+        protected Integer collectionIndex;
         protected String segmentPath;
         protected int segmentIndex;
 
@@ -394,6 +324,34 @@ public class AtlasPath {
 
         public void setSegment(String segment) {
             this.segment = segment;
+            this.compiledSegment = null;
+        }
+
+        public CompiledPath.Segment getCompiledSegment() {
+            if (compiledSegment == null && segment != null) {
+                compiledSegment = CompiledPath.segment(segment);
+            }
+            return compiledSegment;
+        }
+
+        /**
+         * @return the collection index bound to this segment, or the one written in the segment
+         */
+        public int getCollectionIndex() {
+            if (collectionIndex != null) {
+                return collectionIndex;
+            }
+            CompiledPath.Segment s = getCompiledSegment();
+            return s == null ? 0 : s.getCollectionIndex();
+        }
+
+        public void setCollectionIndex(Integer collectionIndex) {
+            this.collectionIndex = collectionIndex;
+        }
+
+        public void setCompiledSegment(CompiledPath.Segment compiledSegment) {
+            this.compiledSegment = compiledSegment;
+            this.segment = compiledSegment == null ? null : compiledSegment.getExpression();
         }
 
         public String getSegmentPath() {
@@ -452,22 +410,10 @@ public class AtlasPath {
     }
 
     public static boolean isCollection(String path) {
-        return new AtlasPath(path).hasCollection();
+        return CompiledPath.compile(path).hasCollection();
     }
 
     public static String overwriteCollectionIndex(String path, int index) {
-        String newPath = "";
-        for (SegmentContext sg : new AtlasPath(path).getSegmentContexts(false)) {
-            String segment = sg.getSegment();
-            if (AtlasPath.isCollection(segment)) {
-                if (segment.contains(PATH_ARRAY_START) && segment.contains(PATH_ARRAY_END)) {
-                    segment = cleanPathSegment(segment) + PATH_ARRAY_START + index + PATH_ARRAY_END;
-                } else if (segment.contains(PATH_LIST_START) && segment.contains(PATH_LIST_END)) {
-                    segment = cleanPathSegment(segment) + PATH_LIST_START + index + PATH_LIST_END;
-                }
-            }
-            newPath += PATH_SEPARATOR + segment;
-        }
-        return newPath;
+        return CompiledPath.compile(path).overwriteCollectionIndex(index);
     }
 }
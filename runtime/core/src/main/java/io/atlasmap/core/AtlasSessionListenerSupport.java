@@ -0,0 +1,177 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.spi.AtlasModule;
+import io.atlasmap.spi.AtlasSessionListener;
+import io.atlasmap.spi.AtlasSessionListener.ModulePhase;
+import io.atlasmap.v2.Field;
+
+/**
+ * Holds the {@link AtlasSessionListener}s registered on a {@link DefaultAtlasContextFactory} and
+ * dispatches events to them. Listeners are kept in a copy-on-write array, so that checking
+ * {@link #hasListeners()} and dispatching doesn't allocate. A failing listener never fails the session.
+ */
+public class AtlasSessionListenerSupport {
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasSessionListenerSupport.class);
+    private static final AtlasSessionListener[] EMPTY = new AtlasSessionListener[0];
+
+    private volatile AtlasSessionListener[] listeners = EMPTY;
+
+    public synchronized void addListener(AtlasSessionListener listener) {
+        if (listener == null) {
+            return;
+        }
+        AtlasSessionListener[] current = listeners;
+        AtlasSessionListener[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = listener;
+        listeners = updated;
+    }
+
+    public synchronized boolean removeListener(AtlasSessionListener listener) {
+        List<AtlasSessionListener> updated = new ArrayList<>(Arrays.asList(listeners));
+        boolean removed = updated.remove(listener);
+        if (removed) {
+            listeners = updated.isEmpty() ? EMPTY : updated.toArray(new AtlasSessionListener[updated.size()]);
+        }
+        return removed;
+    }
+
+    public synchronized void removeAllListeners() {
+        listeners = EMPTY;
+    }
+
+    public List<AtlasSessionListener> getListeners() {
+        return Collections.unmodifiableList(Arrays.asList(listeners));
+    }
+
+    public boolean hasListeners() {
+        return listeners.length != 0;
+    }
+
+    public void fireSessionStart(AtlasSession session) {
+        for (AtlasSessionListener l : listeners) {
+            try {
+                l.onSessionStart(session);
+            } catch (RuntimeException e) {
+                warn(l, e);
+            }
+        }
+    }
+
+    public void fireSessionEnd(AtlasSession session, long elapsedNanos) {
+        for (AtlasSessionListener l : listeners) {
+            try {
+                l.onSessionEnd(session, elapsedNanos);
+            } catch (RuntimeException e) {
+                warn(l, e);
+            }
+        }
+    }
+
+    public void fireValidation(AtlasSession session, long elapsedNanos) {
+        for (AtlasSessionListener l : listeners) {
+            try {
+                l.onValidation(session, elapsedNanos);
+            } catch (RuntimeException e) {
+                warn(l, e);
+            }
+        }
+    }
+
+    public void fireModuleExecution(AtlasSession session, AtlasModule module, ModulePhase phase,
+            long elapsedNanos) {
+        for (AtlasSessionListener l : listeners) {
+            try {
+                l.onModuleExecution(session, module, phase, elapsedNanos);
+            } catch (RuntimeException e) {
+                warn(l, e);
+            }
+        }
+    }
+
+    public void fireFieldRead(AtlasSession session, Field sourceField, long elapsedNanos) {
+        for (AtlasSessionListener l : listeners) {
+            try {
+                l.onFieldRead(session, sourceField, elapsedNanos);
+            } catch (RuntimeException e) {
+                warn(l, e);
+            }
+        }
+    }
+
+    public void fireFieldWrite(AtlasSession session, Field sourceField, Field targetField, long elapsedNanos) {
+        for (AtlasSessionListener l : listeners) {
+            try {
+                l.onFieldWrite(session, sourceField, targetField, elapsedNanos);
+            } catch (RuntimeException e) {
+                warn(l, e);
+            }
+        }
+    }
+
+    public void fireConversionFailure(AtlasSession session, Field sourceField, Field targetField,
+            AtlasConversionException e) {
+        for (AtlasSessionListener l : listeners) {
+            try {
+                l.onConversionFailure(session, sourceField, targetField, e);
+            } catch (RuntimeException re) {
+                warn(l, re);
+            }
+        }
+    }
+
+    /**
+     * Notifies a conversion failure to the listeners registered on the factory which created the
+     * session's context. This is meant to be called by modules where they catch
+     * {@link AtlasConversionException}.
+     *
+     * @param session session
+     * @param sourceField source field, or null if it's not known
+     * @param targetField target field, or null if the failure happened while reading the source
+     * @param e the conversion failure
+     */
+    public static void notifyConversionFailure(AtlasSession session, Field sourceField, Field targetField,
+            AtlasConversionException e) {
+        AtlasContext context = session != null ? session.getAtlasContext() : null;
+        if (context == null || !(context.getContextFactory() instanceof DefaultAtlasContextFactory)) {
+            return;
+        }
+        AtlasSessionListenerSupport support = ((DefaultAtlasContextFactory) context.getContextFactory())
+                .getSessionListenerSupport();
+        if (support != null && support.hasListeners()) {
+            support.fireConversionFailure(session, sourceField, targetField, e);
+        }
+    }
+
+    private void warn(AtlasSessionListener listener, RuntimeException e) {
+        LOG.warn("AtlasSessionListener {} failed: {}", listener.getClass().getName(), e.getMessage());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(e.getMessage(), e);
+        }
+    }
+}
@@ -37,6 +37,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.atlasmap.api.AtlasSession;
+import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.v2.Audit;
 import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.Validation;
@@ -265,13 +266,75 @@ public class AtlasUtil {
 
     public static void addAudit(AtlasSession session, String docId, String message, String path, AuditStatus status,
             String value) {
+        if (!isAuditEnabled(session, status)) {
+            return;
+        }
         Audit audit = new Audit();
         audit.setDocId(docId);
         audit.setMessage(message);
         audit.setPath(path);
         audit.setStatus(status);
         audit.setValue(value);
-        session.getAudits().getAudit().add(audit);
+        auditsOf(session).add(audit);
+    }
+
+    /**
+     * Adds an audit whose message is formatted only when it's read, see {@link DeferredAudit}.
+     * Nothing is allocated but the varargs array if the audit level of the session filters the
+     * status out. The arguments are kept as is until then, so they should be immutable values.
+     */
+    public static void addAudit(AtlasSession session, String docId, String path, String value, AuditStatus status,
+            String format, Object... args) {
+        if (!isAuditEnabled(session, status)) {
+            return;
+        }
+        Audit audit = new DeferredAudit(format, args);
+        audit.setDocId(docId);
+        audit.setPath(path);
+        audit.setStatus(status);
+        audit.setValue(value);
+        auditsOf(session).add(audit);
+    }
+
+    private static List<Audit> auditsOf(AtlasSession session) {
+        // DefaultAtlasSession formats the deferred messages when the audits are read from outside
+        return session instanceof DefaultAtlasSession ? ((DefaultAtlasSession) session).audits().getAudit()
+                : session.getAudits().getAudit();
+    }
+
+    /**
+     * Whether an audit with the specified status would be recorded in the session. Errors are
+     * always recorded since they abort the processing, other statuses are recorded only if they're
+     * at or above the audit level of the session, see {@link AtlasInternalSession#getAuditLevel()}.
+     *
+     * @param session session
+     * @param status audit status
+     * @return true if the audit would be recorded
+     */
+    public static boolean isAuditEnabled(AtlasSession session, AuditStatus status) {
+        if (status == AuditStatus.ERROR || !(session instanceof AtlasInternalSession)) {
+            return true;
+        }
+        AuditStatus level = ((AtlasInternalSession) session).getAuditLevel();
+        return level == null || auditRank(status) >= auditRank(level);
+    }
+
+    private static int auditRank(AuditStatus status) {
+        if (status == null) {
+            return 0;
+        }
+        switch (status) {
+        case INFO:
+            return 1;
+        case WARN:
+            return 2;
+        case ERROR:
+            return 3;
+        case NONE:
+            return 4;
+        default:
+            return 0;
+        }
     }
 
     public static void addAudit(AtlasSession session, Validation validation) {
@@ -0,0 +1,322 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.atlasmap.api.AtlasConstants;
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasWarmUpResult;
+import io.atlasmap.spi.AtlasModule;
+import io.atlasmap.spi.AtlasModuleInfo;
+import io.atlasmap.spi.AtlasModuleMode;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.Audits;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
+import io.atlasmap.v2.ConstantField;
+import io.atlasmap.v2.DataSource;
+import io.atlasmap.v2.DataSourceType;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.Mappings;
+import io.atlasmap.v2.PropertyField;
+import io.atlasmap.v2.SimpleField;
+
+/**
+ * Warm-up of a {@link DefaultAtlasContext}. A source document is synthesized for each source
+ * DataSource by mapping a sample value to every source field of the mapping definition with the
+ * same module in target mode, so that it's read back the way the module would read a real one.
+ * Session latencies are then tracked per window of {@link #WINDOW_SIZE} sessions, and considered
+ * stabilized once the median of {@link #STABLE_WINDOWS} consecutive windows has moved by less than
+ * {@link #TOLERANCE}.
+ */
+final class AtlasWarmUp {
+
+    static final int WINDOW_SIZE = 20;
+    static final int STABLE_WINDOWS = 3;
+    static final double TOLERANCE = 0.1;
+
+    private static final Logger LOG = LoggerFactory.getLogger(AtlasWarmUp.class);
+
+    private final long[] window = new long[WINDOW_SIZE];
+    private int iterations;
+    private int failedIterations;
+    private long firstLatency;
+    private long previousMedian = -1L;
+    private int stableWindows;
+
+    /**
+     * Records the latency of a warm-up session.
+     *
+     * @param nanos session latency
+     * @param failed whether the session failed or ended up with error audits
+     * @return true once the latency has stabilized
+     */
+    boolean record(long nanos, boolean failed) {
+        if (iterations == 0) {
+            firstLatency = nanos;
+        }
+        window[iterations++ % WINDOW_SIZE] = nanos;
+        if (failed) {
+            failedIterations++;
+        }
+        if (iterations % WINDOW_SIZE == 0) {
+            long median = median();
+            if (previousMedian >= 0 && Math.abs(median - previousMedian) <= previousMedian * TOLERANCE) {
+                stableWindows++;
+            } else {
+                stableWindows = 0;
+            }
+            previousMedian = median;
+        }
+        return isStabilized();
+    }
+
+    boolean isStabilized() {
+        return stableWindows >= STABLE_WINDOWS;
+    }
+
+    AtlasWarmUpResult toResult() {
+        return new AtlasWarmUpResult(iterations, failedIterations, isStabilized(), firstLatency, median());
+    }
+
+    /**
+     * @return median latency of the last {@link #WINDOW_SIZE} sessions
+     */
+    private long median() {
+        if (iterations == 0) {
+            return 0L;
+        }
+        long[] sorted = Arrays.copyOf(window, Math.min(iterations, WINDOW_SIZE));
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    /**
+     * Synthesizes a source document for each source DataSource of the mapping definition. A
+     * DataSource whose document can't be synthesized is left out, and the warm-up sessions process
+     * the mappings of it without a document.
+     *
+     * @param context context to warm up
+     * @param mapping mapping definition
+     * @return source documents keyed by document ID
+     */
+    static Map<String, Object> createSourceDocuments(DefaultAtlasContext context, AtlasMapping mapping) {
+        Map<String, Object> answer = new LinkedHashMap<>();
+        if (mapping == null || mapping.getDataSource() == null) {
+            return answer;
+        }
+        for (DataSource ds : mapping.getDataSource()) {
+            if (ds.getDataSourceType() != DataSourceType.SOURCE) {
+                continue;
+            }
+            String docId = ds.getId();
+            if (docId == null || docId.isEmpty()) {
+                docId = AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID;
+            }
+            if (answer.containsKey(docId)) {
+                continue;
+            }
+            try {
+                Object document = createSourceDocument(context, mapping, ds, docId);
+                if (document != null) {
+                    answer.put(docId, document);
+                }
+            } catch (Exception e) {
+                LOG.warn("Unable to synthesize a warm-up document for the source DataSource '{}': {}", docId,
+                        e.getMessage());
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug(e.getMessage(), e);
+                }
+            }
+        }
+        return answer;
+    }
+
+    private static Object createSourceDocument(DefaultAtlasContext context, AtlasMapping mapping, DataSource ds,
+            String docId) throws Exception {
+        DefaultAtlasContextFactory factory = context.getDefaultAtlasContextFactory();
+        AtlasModuleInfo moduleInfo = factory.getModuleInfoRegistry().lookupByUri(ds.getUri());
+        if (moduleInfo == null) {
+            return null;
+        }
+        AtlasModule module = moduleInfo.getModuleClass().newInstance();
+        if (module.listSupportedModes() == null || !module.listSupportedModes().contains(AtlasModuleMode.TARGET)) {
+            return null;
+        }
+        module.setConversionService(factory.getConversionService());
+        module.setFieldActionService(factory.getFieldActionService());
+        module.setUri(ds.getUri());
+        module.setMode(AtlasModuleMode.TARGET);
+        module.setDocId(docId);
+        module.init();
+        try {
+            Map<String, Field> sampleFields = new LinkedHashMap<>();
+            if (mapping.getMappings() != null) {
+                collectSampleFields(module, mapping.getMappings().getMapping(), docId, sampleFields);
+            }
+            if (sampleFields.isEmpty()) {
+                return null;
+            }
+
+            // the module writes the source fields as the target fields of a mapping definition of its own
+            DataSource targetDataSource = copy(ds);
+            targetDataSource.setDataSourceType(DataSourceType.TARGET);
+            AtlasMapping sampleMapping = new AtlasMapping();
+            sampleMapping.setName(mapping.getName());
+            sampleMapping.getDataSource().add(targetDataSource);
+            sampleMapping.setMappings(new Mappings());
+            for (Field field : sampleFields.values()) {
+                Mapping m = new Mapping();
+                m.getOutputField().add(field);
+                sampleMapping.getMappings().getMapping().add(m);
+            }
+
+            DefaultAtlasSession session = new DefaultAtlasSession(sampleMapping);
+            session.setAtlasContext(context);
+            session.setAudits(new Audits());
+            module.processPreTargetExecution(session);
+            if (session.getFieldWriter(docId) == null) {
+                return null;
+            }
+            for (Field field : sampleFields.values()) {
+                SimpleField sample = new SimpleField();
+                sample.setFieldType(field.getFieldType() != null ? field.getFieldType() : FieldType.STRING);
+                sample.setValue(sampleValue(field.getFieldType()));
+                session.head().setSourceField(sample).setTargetField(field).setCollectionIndex(OptionalInt.of(0));
+                try {
+                    module.processTargetFieldMapping(session);
+                } catch (Exception e) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Unable to write a warm-up value to '{}' of the source DataSource '{}'",
+                                field.getPath(), docId, e);
+                    }
+                }
+                session.head().unset();
+            }
+            module.processPostTargetExecution(session);
+            return session.getTargetDocumentMap().get(docId);
+        } finally {
+            module.destroy();
+        }
+    }
+
+    private static void collectSampleFields(AtlasModule module, List<BaseMapping> mappings, String docId,
+            Map<String, Field> sampleFields) throws AtlasException {
+        for (BaseMapping baseMapping : mappings) {
+            if (baseMapping instanceof Collection) {
+                Collection collection = (Collection) baseMapping;
+                if (collection.getMappings() != null) {
+                    collectSampleFields(module, collection.getMappings().getMapping(), docId, sampleFields);
+                }
+                continue;
+            }
+            if (!(baseMapping instanceof Mapping)) {
+                continue;
+            }
+            for (Field field : ((Mapping) baseMapping).getInputField()) {
+                if (field instanceof ConstantField || field instanceof PropertyField || field.getPath() == null
+                        || sampleFields.containsKey(field.getPath())) {
+                    continue;
+                }
+                String fieldDocId = field.getDocId();
+                if (fieldDocId == null || fieldDocId.isEmpty()) {
+                    fieldDocId = AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID;
+                }
+                if (!docId.equals(fieldDocId) || sampleValue(field.getFieldType()) == null
+                        || !module.isSupportedField(field)) {
+                    continue;
+                }
+                Field target = module.cloneField(field);
+                target.setActions(null);
+                target.setValue(null);
+                sampleFields.put(field.getPath(), target);
+            }
+        }
+    }
+
+    static Object sampleValue(FieldType type) {
+        if (type == null) {
+            return "1";
+        }
+        switch (type) {
+        case BOOLEAN:
+            return Boolean.TRUE;
+        case BYTE:
+            return (byte) 1;
+        case CHAR:
+            return '1';
+        case DECIMAL:
+            return BigDecimal.ONE;
+        case DOUBLE:
+            return 1d;
+        case FLOAT:
+            return 1f;
+        case INTEGER:
+        case NUMBER:
+            return 1;
+        case LONG:
+            return 1L;
+        case SHORT:
+            return (short) 1;
+        case STRING:
+            return "1";
+        default:
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(T object) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        // resolve with the loader of the original, module model classes may not be visible from here
+        ClassLoader loader = object.getClass().getClassLoader();
+        try (InputStream in = new ByteArrayInputStream(bytes.toByteArray());
+                ObjectInputStream objects = new ObjectInputStream(in) {
+                    @Override
+                    protected Class<?> resolveClass(ObjectStreamClass desc)
+                            throws IOException, ClassNotFoundException {
+                        try {
+                            return Class.forName(desc.getName(), false, loader);
+                        } catch (ClassNotFoundException e) {
+                            return super.resolveClass(desc);
+                        }
+                    }
+                }) {
+            return (T) objects.readObject();
+        }
+    }
+}
@@ -18,6 +18,7 @@ package io.atlasmap.core;
 import java.util.Arrays;
 import java.util.List;
 
+import javax.management.openmbean.OpenDataException;
 import javax.management.openmbean.TabularData;
 
 import org.slf4j.Logger;
@@ -28,6 +29,8 @@ import io.atlasmap.api.AtlasConversionService;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasFieldActionService;
 import io.atlasmap.mxbean.AtlasModuleMXBean;
+import io.atlasmap.spi.AtlasCollectionFieldReader;
+import io.atlasmap.spi.AtlasFieldReader;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.spi.AtlasModule;
 import io.atlasmap.spi.AtlasModuleDetail;
@@ -47,6 +50,7 @@ public abstract class BaseAtlasModule implements AtlasModule, AtlasModuleMXBean
     private AtlasModuleMode atlasModuleMode = AtlasModuleMode.UNSET;
     private String docId;
     private String uri;
+    private final AtlasModuleStatistics statistics = new AtlasModuleStatistics();
 
     @Override
     public void init() {
@@ -91,6 +95,37 @@ public abstract class BaseAtlasModule implements AtlasModule, AtlasModuleMXBean
         targetField.setValue(targetValue);
     }
 
+    /**
+     * Reads the source field in the session head. If its path addresses every item of a collection
+     * and its first action reduces a collection, the items are handed to the action as a lazily
+     * read sequence rather than being read into a collection first, see
+     * {@link AtlasCollectionFieldReader}.
+     *
+     * @param session session
+     * @param reader source field reader
+     * @throws AtlasException if the field can't be read
+     */
+    protected void readSourceValue(AtlasInternalSession session, AtlasFieldReader reader) throws AtlasException {
+        Field sourceField = session.head().getSourceField();
+        if (reader instanceof AtlasCollectionFieldReader && isCollectionRead(session, sourceField)) {
+            sourceField.setValue(((AtlasCollectionFieldReader) reader).readCollection(session));
+            return;
+        }
+        reader.read(session);
+    }
+
+    protected boolean isCollectionRead(AtlasInternalSession session, Field sourceField) {
+        if (sourceField == null || sourceField.getActions() == null || sourceField.getActions().getActions() == null
+                || sourceField.getActions().getActions().isEmpty() || getFieldActionService() == null) {
+            return false;
+        }
+        if (!CompiledPath.compile(sourceField.getPath()).hasUnindexedCollection()
+                || session.head().getCollectionIndex().isPresent()) {
+            return false;
+        }
+        return getFieldActionService().isCollectionAction(sourceField.getActions().getActions().get(0));
+    }
+
     protected boolean isDocIdMatched(Field field) {
         String fieldDocId = field.getDocId();
         if ((atlasModuleMode == AtlasModuleMode.SOURCE && AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID.equals(docId))
@@ -113,12 +148,12 @@ public abstract class BaseAtlasModule implements AtlasModule, AtlasModuleMXBean
 
     @Override
     public Boolean isStatisticsSupported() {
-        return false;
+        return true;
     }
 
     @Override
     public Boolean isStatisticsEnabled() {
-        return false;
+        return statistics.isEnabled();
     }
 
     @Override
@@ -166,6 +201,10 @@ public abstract class BaseAtlasModule implements AtlasModule, AtlasModuleMXBean
         this.atlasFieldActionService = atlasFieldActionService;
     }
 
+    public AtlasModuleStatistics getStatistics() {
+        return statistics;
+    }
+
     public boolean isAutomaticallyProcessOutputFieldActions() {
         return automaticallyProcessOutputFieldActions;
     }
@@ -215,61 +254,62 @@ public abstract class BaseAtlasModule implements AtlasModule, AtlasModuleMXBean
 
     @Override
     public long getSourceErrorCount() {
-        return 0L;
+        return statistics.getSource().getErrorCount();
     }
 
     @Override
     public long getSourceCount() {
-        return 0L;
+        return statistics.getSource().getCount();
     }
 
     @Override
     public long getSourceMaxExecutionTime() {
-        return 0L;
+        return statistics.getSource().getMaxExecutionTime();
     }
 
     @Override
     public long getSourceMinExecutionTime() {
-        return 0L;
+        return statistics.getSource().getMinExecutionTime();
     }
 
     @Override
     public long getSourceSuccessCount() {
-        return 0L;
+        return statistics.getSource().getSuccessCount();
     }
 
     @Override
     public long getSourceTotalExecutionTime() {
-        return 0L;
+        return statistics.getSource().getTotalExecutionTime();
     }
 
     @Override
     public long getTargetCount() {
-        return 0L;
+        return statistics.getTarget().getCount();
     }
 
+    @Override
     public long getTargetErrorCount() {
-        return 0L;
+        return statistics.getTarget().getErrorCount();
     }
 
     @Override
     public long getTargetMaxExecutionTime() {
-        return 0L;
+        return statistics.getTarget().getMaxExecutionTime();
     }
 
     @Override
     public long getTargetMinExecutionTime() {
-        return 0L;
+        return statistics.getTarget().getMinExecutionTime();
     }
 
     @Override
     public long getTargetSuccessCount() {
-        return 0L;
+        return statistics.getTarget().getSuccessCount();
     }
 
     @Override
     public long getTargetTotalExecutionTime() {
-        return 0L;
+        return statistics.getTarget().getTotalExecutionTime();
     }
 
     @Override
@@ -283,13 +323,16 @@ public abstract class BaseAtlasModule implements AtlasModule, AtlasModuleMXBean
     }
 
     @Override
-    public TabularData readAndResetStatistics() {
-        return null;
+    public TabularData readAndResetStatistics() throws OpenDataException {
+        return statistics.readAndReset();
     }
 
     @Override
     public void setStatisticsEnabled(boolean enabled) {
-        LOG.warn("Statistics is not yet implemented");
+        statistics.setEnabled(enabled);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("{}: statistics {}", getDocId(), enabled ? "enabled" : "disabled");
+        }
     }
 
     @Override
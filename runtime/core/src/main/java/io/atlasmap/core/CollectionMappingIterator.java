@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.Iterator;
+import java.util.OptionalInt;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
+import io.atlasmap.v2.Mapping;
+
+/**
+ * Lazily expands a collection mapping into one item per source collection item. An item is the
+ * inner mapping itself, used as a template, along with the collection index it's bound to, so
+ * nothing is cloned nor written back into the collection mapping and the memory used doesn't
+ * depend on the collection size. The size of a source collection is resolved only once the
+ * iteration reaches its inner mapping.
+ */
+class CollectionMappingIterator {
+
+    @FunctionalInterface
+    interface CollectionSizeResolver {
+        int resolve(Mapping mapping) throws AtlasException;
+    }
+
+    private final Iterator<BaseMapping> mappings;
+    private final CollectionSizeResolver sizeResolver;
+    private Mapping mapping;
+    private int size;
+    private int index;
+
+    CollectionMappingIterator(Collection collection, CollectionSizeResolver sizeResolver) {
+        this.mappings = collection.getMappings().getMapping().iterator();
+        this.sizeResolver = sizeResolver;
+    }
+
+    /**
+     * Moves to the next item.
+     *
+     * @return false if there's no more item
+     * @throws AtlasException if the size of a source collection can't be resolved
+     */
+    boolean next() throws AtlasException {
+        if (mapping != null && ++index < size) {
+            return true;
+        }
+        while (mappings.hasNext()) {
+            mapping = (Mapping) mappings.next();
+            size = sizeResolver.resolve(mapping);
+            index = 0;
+            if (size > 0) {
+                return true;
+            }
+        }
+        mapping = null;
+        return false;
+    }
+
+    Mapping getMapping() {
+        return mapping;
+    }
+
+    OptionalInt getCollectionIndex() {
+        return mapping != null ? OptionalInt.of(index) : OptionalInt.empty();
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import io.atlasmap.core.CompiledPath.Segment;
+
+/**
+ * Walks a source document along a field path whose array and list segments don't have an index,
+ * e.g. {@code /orders<>/lines<>/amount}, and yields the value of every matching item one at a time.
+ * Nested collections are flattened depth first, and only one item per collection level is held at
+ * a time so that the memory used doesn't depend on the collection size. Items which don't have a
+ * value are skipped.
+ *
+ * @param <N> document node type
+ */
+public abstract class CollectionValueIterator<N> implements Iterator<Object> {
+
+    private final CompiledPath path;
+    private final Deque<Frame<N>> frames = new ArrayDeque<>();
+    private N next;
+    private boolean nextResolved;
+
+    /**
+     * @param path field path
+     * @param firstSegment index of the first segment to resolve against the root node
+     * @param root root node, or null if the document doesn't have any value
+     */
+    protected CollectionValueIterator(CompiledPath path, int firstSegment, N root) {
+        this.path = path;
+        if (root != null) {
+            frames.push(new Frame<>(Collections.singletonList(root).iterator(), firstSegment));
+        }
+    }
+
+    /**
+     * Resolves a segment which is not an array or list segment without an index.
+     *
+     * @param parent parent node
+     * @param segment segment
+     * @return child node, or null if it doesn't exist
+     */
+    protected abstract N child(N parent, Segment segment);
+
+    /**
+     * Resolves the items of an array or list segment without an index.
+     *
+     * @param parent parent node
+     * @param segment collection segment
+     * @return items, or null if the collection doesn't exist
+     */
+    protected abstract Iterator<N> items(N parent, Segment segment);
+
+    /**
+     * Reads the value of a node the path leads to.
+     *
+     * @param leaf leaf node
+     * @return value
+     */
+    protected abstract Object value(N leaf);
+
+    @Override
+    public boolean hasNext() {
+        if (!nextResolved) {
+            next = advance();
+            nextResolved = true;
+        }
+        return next != null;
+    }
+
+    @Override
+    public Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        nextResolved = false;
+        N leaf = next;
+        next = null;
+        return value(leaf);
+    }
+
+    private N advance() {
+        while (!frames.isEmpty()) {
+            Frame<N> frame = frames.peek();
+            if (!frame.items.hasNext()) {
+                frames.pop();
+                continue;
+            }
+            N node = frame.items.next();
+            int i = frame.segmentIndex;
+            boolean descended = false;
+            while (node != null && i < path.size()) {
+                Segment segment = path.getSegment(i++);
+                if ((segment.isArray() || segment.isList()) && !segment.hasCollectionIndex()) {
+                    Iterator<N> items = items(node, segment);
+                    if (items != null) {
+                        frames.push(new Frame<>(items, i));
+                    }
+                    descended = true;
+                    break;
+                }
+                node = child(node, segment);
+            }
+            if (!descended && node != null) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    private static final class Frame<N> {
+        private final Iterator<N> items;
+        private final int segmentIndex;
+
+        private Frame(Iterator<N> items, int segmentIndex) {
+            this.items = items;
+            this.segmentIndex = segmentIndex;
+        }
+    }
+}
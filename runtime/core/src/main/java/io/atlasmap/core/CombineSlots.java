@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+
+/**
+ * Positions of the source fields of {@link MappingType#COMBINE} mappings sorted by their index,
+ * computed once per mapping definition so that combining doesn't sort the values per session.
+ */
+final class CombineSlots {
+
+    private CombineSlots() {
+    }
+
+    /**
+     * @param mapping mapping definition
+     * @return the slots of each combine mapping, compared by identity
+     */
+    static Map<Mapping, int[]> findCombineSlots(AtlasMapping mapping) {
+        Map<Mapping, int[]> answer = new IdentityHashMap<>();
+        if (mapping != null && mapping.getMappings() != null) {
+            collectCombineSlots(mapping.getMappings().getMapping(), answer);
+        }
+        return answer;
+    }
+
+    /**
+     * Sorts the source fields by index. Fields without a zero or positive index are left out, and
+     * fields with the same index keep their order so that the last one wins as it did with a map.
+     *
+     * @param sourceFields source fields of a combine mapping
+     * @return positions in {@code sourceFields}
+     */
+    static int[] slotsOf(List<Field> sourceFields) {
+        int[] answer = new int[sourceFields.size()];
+        int count = 0;
+        for (int i = 0; i < sourceFields.size(); i++) {
+            Integer index = sourceFields.get(i).getIndex();
+            if (index == null || index < 0) {
+                continue;
+            }
+            // insertion sort, combine mappings have a handful of source fields
+            int j = count++;
+            while (j > 0 && sourceFields.get(answer[j - 1]).getIndex() > index) {
+                answer[j] = answer[j - 1];
+                j--;
+            }
+            answer[j] = i;
+        }
+        if (count == answer.length) {
+            return answer;
+        }
+        int[] trimmed = new int[count];
+        System.arraycopy(answer, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    private static void collectCombineSlots(List<BaseMapping> mappings, Map<Mapping, int[]> answer) {
+        for (BaseMapping baseMapping : mappings) {
+            if (baseMapping instanceof Collection) {
+                Collection collection = (Collection) baseMapping;
+                if (collection.getMappings() != null) {
+                    collectCombineSlots(collection.getMappings().getMapping(), answer);
+                }
+            } else if (baseMapping instanceof Mapping
+                    && ((Mapping) baseMapping).getMappingType() == MappingType.COMBINE) {
+                Mapping combine = (Mapping) baseMapping;
+                answer.put(combine, slotsOf(combine.getInputField()));
+            }
+        }
+    }
+}
@@ -0,0 +1,482 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.OptionalInt;
+
+import io.atlasmap.core.AtlasPath.SegmentContext;
+
+/**
+ * Immutable, pre-parsed form of a field path. Segment names are interned and collection
+ * kind, collection index, attribute and namespace information is computed once, so that
+ * per-field code doesn't have to scan the path string again. Instances are shared through
+ * a bounded concurrent cache, so that the paths of the mapping definitions stay cached even if a lot
+ * of distinct indexed paths go through it. Obtain them with {@link #compile(String)}.
+ */
+public final class CompiledPath {
+
+    public static final int COLLECTION_NONE = 0;
+    public static final int COLLECTION_ARRAY = 1;
+    public static final int COLLECTION_LIST = 2;
+    public static final int COLLECTION_MAP = 3;
+
+    static final int MAX_CACHE_SIZE = 8192;
+
+    private static final BoundedCache<String, CompiledPath> PATH_CACHE = new BoundedCache<>(MAX_CACHE_SIZE);
+    private static final BoundedCache<String, Segment> SEGMENT_CACHE = new BoundedCache<>(MAX_CACHE_SIZE);
+    private static final CompiledPath NULL_PATH = new CompiledPath(null, new Segment[0]);
+
+    private final String path;
+    private final Segment[] segments;
+    private final String[] segmentPaths;
+    private final List<String> expressions;
+    private final boolean collection;
+    private final boolean indexedCollection;
+    private final boolean unindexedCollection;
+    private volatile String collectionIndexesRemoved;
+
+    private CompiledPath(String path, Segment[] segments) {
+        this.path = path;
+        this.segments = segments;
+        this.segmentPaths = new String[segments.length];
+        String[] exprs = new String[segments.length];
+        StringBuilder buf = new StringBuilder();
+        boolean hasCollection = false;
+        boolean hasIndexedCollection = false;
+        boolean hasUnindexedCollection = false;
+        for (int i = 0; i < segments.length; i++) {
+            Segment s = segments[i];
+            exprs[i] = s.expression;
+            buf.append(AtlasPath.PATH_SEPARATOR).append(s.expression);
+            segmentPaths[i] = buf.toString();
+            if (s.isCollection()) {
+                hasCollection = true;
+                hasIndexedCollection |= s.collectionType != COLLECTION_MAP && s.indexed;
+                hasUnindexedCollection |= s.collectionType != COLLECTION_MAP && !s.indexed;
+            }
+        }
+        this.expressions = Collections.unmodifiableList(Arrays.asList(exprs));
+        this.collection = hasCollection;
+        this.indexedCollection = hasIndexedCollection;
+        this.unindexedCollection = hasUnindexedCollection;
+    }
+
+    /**
+     * Returns the compiled form of the path, parsing it only if it's not in the cache yet.
+     *
+     * @param path path
+     * @return compiled path, never null
+     */
+    public static CompiledPath compile(String path) {
+        if (path == null) {
+            return NULL_PATH;
+        }
+        CompiledPath answer = PATH_CACHE.get(path);
+        if (answer == null) {
+            answer = parse(path);
+            PATH_CACHE.put(path, answer);
+        }
+        return answer;
+    }
+
+    /**
+     * Returns the compiled form of a single path segment.
+     *
+     * @param expression segment expression, e.g. {@code ns:order<3>}
+     * @return compiled segment, or null if the expression is null
+     */
+    public static Segment segment(String expression) {
+        if (expression == null) {
+            return null;
+        }
+        Segment answer = SEGMENT_CACHE.get(expression);
+        if (answer == null) {
+            answer = new Segment(expression);
+            SEGMENT_CACHE.put(answer.expression, answer);
+        }
+        return answer;
+    }
+
+    static void clearCache() {
+        PATH_CACHE.clear();
+        SEGMENT_CACHE.clear();
+    }
+
+    static int getCacheSize() {
+        return PATH_CACHE.size();
+    }
+
+    private static CompiledPath parse(String path) {
+        if (path.isEmpty()) {
+            return new CompiledPath(path, new Segment[0]);
+        }
+        int start = path.startsWith(AtlasPath.PATH_SEPARATOR) ? 1 : 0;
+        int count = 1;
+        for (int i = start; i < path.length(); i++) {
+            if (path.charAt(i) == '/') {
+                count++;
+            }
+        }
+        Segment[] segments = new Segment[count];
+        int n = 0;
+        for (int i = start; i <= path.length(); i++) {
+            if (i == path.length() || path.charAt(i) == '/') {
+                segments[n++] = segment(path.substring(start, i));
+                start = i + 1;
+            }
+        }
+        return new CompiledPath(path, segments);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int size() {
+        return segments.length;
+    }
+
+    public Segment getSegment(int index) {
+        return segments[index];
+    }
+
+    public Segment getLastSegment() {
+        return segments.length == 0 ? null : segments[segments.length - 1];
+    }
+
+    /**
+     * @return the raw segment expressions, e.g. {@code [orders, order<3>, id]}
+     */
+    public List<String> getSegmentExpressions() {
+        return expressions;
+    }
+
+    /**
+     * @param index segment position
+     * @return the path from the root down to and including the segment, e.g. {@code /orders/order<3>}
+     */
+    public String getSegmentPath(int index) {
+        return segmentPaths[index];
+    }
+
+    public boolean hasParent() {
+        return segments.length > 1;
+    }
+
+    public boolean hasCollection() {
+        return collection;
+    }
+
+    public boolean isIndexedCollection() {
+        return indexedCollection;
+    }
+
+    /**
+     * @return true if an array or list segment doesn't have an index, e.g. {@code /orders<>/id}
+     */
+    public boolean hasUnindexedCollection() {
+        return unindexedCollection;
+    }
+
+    /**
+     * Builds a new path string with every array and list segment pointing to the specified index.
+     *
+     * @param index collection index
+     * @return path string
+     */
+    public String overwriteCollectionIndex(int index) {
+        StringBuilder buf = new StringBuilder();
+        for (Segment s : segments) {
+            buf.append(AtlasPath.PATH_SEPARATOR);
+            if (s.collectionType == COLLECTION_ARRAY) {
+                buf.append(s.name).append(AtlasPath.PATH_ARRAY_START).append(index).append(AtlasPath.PATH_ARRAY_END);
+            } else if (s.collectionType == COLLECTION_LIST) {
+                buf.append(s.name).append(AtlasPath.PATH_LIST_START).append(index).append(AtlasPath.PATH_LIST_END);
+            } else {
+                buf.append(s.expression);
+            }
+        }
+        return buf.toString();
+    }
+
+    public String removeCollectionIndexes() {
+        String answer = collectionIndexesRemoved;
+        if (answer == null) {
+            StringBuilder buf = new StringBuilder();
+            for (Segment s : segments) {
+                buf.append(AtlasPath.PATH_SEPARATOR).append(s.indexRemoved);
+            }
+            answer = buf.toString();
+            collectionIndexesRemoved = answer;
+        }
+        return answer;
+    }
+
+    /**
+     * Builds a {@link SegmentContext} chain without the string concatenation done by
+     * {@link AtlasPath#getSegmentContexts(boolean)}. The returned contexts are not shared.
+     *
+     * @param includeLeadingSlashSegment whether to add a root segment first
+     * @return segment contexts
+     */
+    public List<SegmentContext> getSegmentContexts(boolean includeLeadingSlashSegment) {
+        return getSegmentContexts(includeLeadingSlashSegment, OptionalInt.empty());
+    }
+
+    /**
+     * Builds a {@link SegmentContext} chain with array and list segments resolved to the specified
+     * collection index, see {@link Segment#resolveCollectionIndex(OptionalInt)}.
+     *
+     * @param includeLeadingSlashSegment whether to add a root segment first
+     * @param collectionIndex loop index bound by a collection mapping
+     * @return segment contexts
+     */
+    public List<SegmentContext> getSegmentContexts(boolean includeLeadingSlashSegment, OptionalInt collectionIndex) {
+        List<SegmentContext> contexts = new LinkedList<>();
+        SegmentContext previous = null;
+        int index = 0;
+        if (includeLeadingSlashSegment) {
+            previous = new SegmentContext();
+            previous.setCompiledSegment(segment(""));
+            previous.setSegmentIndex(index++);
+            previous.setSegmentPath(AtlasPath.PATH_SEPARATOR);
+            contexts.add(previous);
+        }
+        for (int i = 0; i < segments.length; i++) {
+            SegmentContext c = new SegmentContext();
+            c.setCompiledSegment(segments[i]);
+            if (collectionIndex.isPresent() && (segments[i].isArray() || segments[i].isList())) {
+                c.setCollectionIndex(collectionIndex.getAsInt());
+            }
+            c.setSegmentIndex(index++);
+            c.setSegmentPath(segmentPaths[i]);
+            if (previous != null) {
+                c.setPrev(previous);
+                previous.setNext(c);
+            }
+            contexts.add(c);
+            previous = c;
+        }
+        return contexts;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    /**
+     * A single compiled path segment.
+     */
+    public static final class Segment {
+        private final String expression;
+        private final String name;
+        private final String qualifiedName;
+        private final String namespace;
+        private final String indexRemoved;
+        private final int collectionType;
+        private final int index;
+        private final boolean indexed;
+        private final boolean attribute;
+
+        Segment(String expr) {
+            this.expression = expr.intern();
+            this.attribute = expr.startsWith("@");
+            this.collectionType = collectionTypeOf(expr);
+
+            String ns = null;
+            int colon = expr.indexOf(':');
+            if (colon >= 0) {
+                ns = expr.substring(0, colon);
+                if (ns.startsWith("@")) {
+                    ns = ns.substring(1);
+                }
+                ns = ns.intern();
+            }
+            this.namespace = ns;
+
+            int idx = 0;
+            boolean hasIndex = false;
+            if (collectionType == COLLECTION_ARRAY || collectionType == COLLECTION_LIST) {
+                char open = collectionType == COLLECTION_ARRAY ? '[' : '<';
+                char close = collectionType == COLLECTION_ARRAY ? ']' : '>';
+                int start = expr.indexOf(open) + 1;
+                int end = expr.indexOf(close, start);
+                if (end > start) {
+                    try {
+                        idx = Integer.parseInt(expr.substring(start, end));
+                        hasIndex = true;
+                    } catch (NumberFormatException e) {
+                        hasIndex = false;
+                    }
+                }
+            }
+            this.index = idx;
+            this.indexed = hasIndex;
+
+            int suffix = collectionType == COLLECTION_NONE ? -1 : expr.indexOf(bracketOf(collectionType));
+            this.qualifiedName = (suffix < 0 ? expr : expr.substring(0, suffix)).intern();
+            this.name = cleanName(expr).intern();
+            this.indexRemoved = AtlasPath.removeCollectionIndex(expr).intern();
+        }
+
+        private static int collectionTypeOf(String expr) {
+            if (expr.endsWith(AtlasPath.PATH_ARRAY_END) && expr.contains(AtlasPath.PATH_ARRAY_START)) {
+                return COLLECTION_ARRAY;
+            }
+            if (expr.endsWith(AtlasPath.PATH_LIST_END) && expr.contains(AtlasPath.PATH_LIST_START)) {
+                return COLLECTION_LIST;
+            }
+            if (expr.endsWith(AtlasPath.PATH_MAP_END) && expr.contains(AtlasPath.PATH_MAP_START)) {
+                return COLLECTION_MAP;
+            }
+            return COLLECTION_NONE;
+        }
+
+        private static String bracketOf(int collectionType) {
+            switch (collectionType) {
+            case COLLECTION_ARRAY:
+                return AtlasPath.PATH_ARRAY_START;
+            case COLLECTION_LIST:
+                return AtlasPath.PATH_LIST_START;
+            default:
+                return AtlasPath.PATH_MAP_START;
+            }
+        }
+
+        private static String cleanName(String expr) {
+            String answer = expr;
+            int colon = answer.indexOf(':');
+            if (colon >= 0) {
+                answer = answer.substring(colon + 1);
+            }
+            if (answer.startsWith("@")) {
+                answer = answer.substring(1);
+            }
+            int type = collectionTypeOf(answer);
+            if (type != COLLECTION_NONE) {
+                answer = answer.substring(0, answer.indexOf(bracketOf(type)));
+            }
+            return answer;
+        }
+
+        /**
+         * @return the segment as written in the path, e.g. {@code ns:order<3>}
+         */
+        public String getExpression() {
+            return expression;
+        }
+
+        /**
+         * @return the segment name without namespace, attribute marker and collection suffix, e.g. {@code order}
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the segment expression without collection suffix, e.g. {@code ns:order}
+         */
+        public String getQualifiedName() {
+            return qualifiedName;
+        }
+
+        public String getNamespace() {
+            return namespace;
+        }
+
+        public boolean hasNamespace() {
+            return namespace != null;
+        }
+
+        public boolean isAttribute() {
+            return attribute;
+        }
+
+        public int getCollectionType() {
+            return collectionType;
+        }
+
+        public boolean isCollection() {
+            return collectionType != COLLECTION_NONE;
+        }
+
+        public boolean isArray() {
+            return collectionType == COLLECTION_ARRAY;
+        }
+
+        public boolean isList() {
+            return collectionType == COLLECTION_LIST;
+        }
+
+        public boolean isMap() {
+            return collectionType == COLLECTION_MAP;
+        }
+
+        /**
+         * @return true if this is an array or list segment with a numeric index
+         */
+        public boolean hasCollectionIndex() {
+            return indexed;
+        }
+
+        /**
+         * @return collection index, only meaningful if {@link #hasCollectionIndex()} is true
+         */
+        public int getCollectionIndex() {
+            return index;
+        }
+
+        /**
+         * Resolves the collection index of an array or list segment, taking the loop index bound
+         * by a collection mapping over the one written in the path. This is what lets a single
+         * path such as {@code /orders<>/id} address every item without being rewritten.
+         *
+         * @param boundIndex loop index bound by a collection mapping
+         * @return resolved collection index
+         */
+        public int resolveCollectionIndex(OptionalInt boundIndex) {
+            if (boundIndex.isPresent() && (collectionType == COLLECTION_ARRAY || collectionType == COLLECTION_LIST)) {
+                return boundIndex.getAsInt();
+            }
+            return index;
+        }
+
+        /**
+         * @return true if {@link #resolveCollectionIndex(OptionalInt)} yields an index for the bound index
+         */
+        public boolean hasCollectionIndex(OptionalInt boundIndex) {
+            return indexed || (boundIndex.isPresent() && (collectionType == COLLECTION_ARRAY
+                    || collectionType == COLLECTION_LIST));
+        }
+
+        /**
+         * @return the segment expression with the collection index removed, e.g. {@code order<>}
+         */
+        public String getIndexRemovedExpression() {
+            return indexRemoved;
+        }
+
+        @Override
+        public String toString() {
+            return expression;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.api.AtlasConversionService;
+import io.atlasmap.spi.AtlasPropertyStrategy;
+import io.atlasmap.spi.AtlasPropertyType;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
+import io.atlasmap.v2.ConstantField;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+import io.atlasmap.v2.Property;
+import io.atlasmap.v2.PropertyField;
+
+/**
+ * Pre-evaluates the constant sources of a mapping definition. The value of a {@link ConstantField},
+ * or of a {@link PropertyField} backed by a mapping defined property, can't change from a session to
+ * another, so it's converted to the target field type once and the folded field is used as the
+ * source field instead of invoking the module. A mapping defined property is still resolved by the
+ * module when a runtime property of the same name overrides it.
+ */
+class ConstantFolder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConstantFolder.class);
+
+    private final AtlasConversionService conversionService;
+    private final AtlasPropertyStrategy propertyStrategy;
+
+    ConstantFolder(AtlasConversionService conversionService, AtlasPropertyStrategy propertyStrategy) {
+        this.conversionService = conversionService;
+        this.propertyStrategy = propertyStrategy;
+    }
+
+    /**
+     * Folds the constant sources of the MAP and LOOKUP mappings.
+     *
+     * @param mapping mapping definition
+     * @return the folded fields keyed by the source field they replace, compared by identity
+     */
+    Map<Field, Field> fold(AtlasMapping mapping) {
+        Map<Field, Field> answer = new IdentityHashMap<>();
+        if (conversionService == null || mapping == null || mapping.getMappings() == null) {
+            return Collections.emptyMap();
+        }
+        fold(mapping, mapping.getMappings().getMapping(), answer);
+        return answer.isEmpty() ? Collections.emptyMap() : answer;
+    }
+
+    private void fold(AtlasMapping atlasMapping, List<BaseMapping> mappings, Map<Field, Field> answer) {
+        for (BaseMapping baseMapping : mappings) {
+            if (baseMapping instanceof Collection) {
+                Collection collection = (Collection) baseMapping;
+                if (collection.getMappings() != null) {
+                    fold(atlasMapping, collection.getMappings().getMapping(), answer);
+                }
+                continue;
+            }
+            if (!(baseMapping instanceof Mapping)) {
+                continue;
+            }
+            Mapping mapping = (Mapping) baseMapping;
+            if ((mapping.getMappingType() != MappingType.MAP && mapping.getMappingType() != MappingType.LOOKUP)
+                    || mapping.getInputField().size() != 1 || mapping.getOutputField().size() != 1) {
+                continue;
+            }
+            Field source = mapping.getInputField().get(0);
+            Field folded = null;
+            if (source instanceof ConstantField) {
+                folded = foldConstant((ConstantField) source);
+            } else if (source instanceof PropertyField) {
+                folded = foldProperty(atlasMapping, (PropertyField) source);
+            }
+            if (folded != null) {
+                convertToTargetType(folded, mapping.getOutputField().get(0));
+                answer.put(source, folded);
+            }
+        }
+    }
+
+    private Field foldConstant(ConstantField constant) {
+        if (constant.getValue() == null) {
+            return null;
+        }
+        ConstantField folded = new ConstantField();
+        copy(constant, folded);
+        folded.setValue(constant.getValue());
+        if (folded.getFieldType() == null) {
+            folded.setFieldType(conversionService.fieldTypeFromClass(constant.getValue().getClass()));
+        }
+        return folded;
+    }
+
+    private Field foldProperty(AtlasMapping atlasMapping, PropertyField propertyField) {
+        if (!isMappingDefinedPropertyFinal() || propertyField.getName() == null
+                || atlasMapping.getProperties() == null) {
+            return null;
+        }
+        DefaultAtlasPropertyStrategy strategy = (DefaultAtlasPropertyStrategy) propertyStrategy;
+        for (Property prop : atlasMapping.getProperties().getProperty()) {
+            if (!propertyField.getName().equals(prop.getName())) {
+                continue;
+            }
+            PropertyField folded = new PropertyField();
+            copy(propertyField, folded);
+            folded.setName(propertyField.getName());
+            FieldType type = propertyField.getFieldType() != null ? propertyField.getFieldType() : prop.getFieldType();
+            AtlasConversionService propertyConversion = strategy.getAtlasConversionService();
+            if (propertyConversion != null && type != null) {
+                try {
+                    folded.setValue(propertyConversion.convertType(prop.getValue(), FieldType.STRING, type));
+                } catch (AtlasConversionException e) {
+                    // leave it to the module so that the failure is reported at runtime as before
+                    return null;
+                }
+            } else {
+                folded.setValue(prop.getValue());
+            }
+            if (folded.getFieldType() == null && folded.getValue() != null) {
+                folded.setFieldType(conversionService.fieldTypeFromClass(folded.getValue().getClass()));
+            }
+            return folded;
+        }
+        return null;
+    }
+
+    /**
+     * A mapping defined property is final if it's only overridden by runtime properties, which
+     * are checked for each session, see {@link #isOverridden(Field, Map)}.
+     */
+    private boolean isMappingDefinedPropertyFinal() {
+        if (propertyStrategy == null || propertyStrategy.getClass() != DefaultAtlasPropertyStrategy.class) {
+            return false;
+        }
+        DefaultAtlasPropertyStrategy strategy = (DefaultAtlasPropertyStrategy) propertyStrategy;
+        List<AtlasPropertyType> order = strategy.getPropertyOrder();
+        if (!strategy.isMappingDefinedPropertiesEnabled() || order == null) {
+            return false;
+        }
+        int index = order.indexOf(AtlasPropertyType.MAPPING_DEFINED_PROPERTIES);
+        if (index < 0) {
+            return false;
+        }
+        for (AtlasPropertyType type : order.subList(index + 1, order.size())) {
+            if (type != AtlasPropertyType.RUNTIME_PROPERTIES) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void convertToTargetType(Field folded, Field target) {
+        FieldType targetType = target.getFieldType();
+        if (folded.getValue() == null || targetType == null || targetType == FieldType.COMPLEX
+                || targetType.equals(folded.getFieldType())) {
+            return;
+        }
+        try {
+            folded.setValue(conversionService.convertType(folded.getValue(), folded.getFormat(), targetType,
+                    target.getFormat()));
+            folded.setFieldType(targetType);
+        } catch (AtlasConversionException e) {
+            // the target module reports it for each session as before
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Constant source '{}' can't be converted to {}: {}", folded.getPath(), targetType,
+                        e.getMessage());
+            }
+        }
+    }
+
+    private void copy(Field from, Field to) {
+        to.setDocId(from.getDocId());
+        to.setPath(from.getPath());
+        to.setIndex(from.getIndex());
+        to.setFormat(from.getFormat());
+        to.setFieldType(from.getFieldType());
+    }
+
+    /**
+     * Whether the folded field doesn't apply to the session since a runtime property overrides it.
+     *
+     * @param folded folded field
+     * @param runtimeProperties session properties
+     * @return true if the module needs to resolve the source field
+     */
+    static boolean isOverridden(Field folded, Map<String, Object> runtimeProperties) {
+        return folded instanceof PropertyField && runtimeProperties != null
+                && runtimeProperties.containsKey(((PropertyField) folded).getName());
+    }
+}
@@ -126,6 +126,62 @@ public class DefaultAtlasCombineStrategy implements AtlasCombineStrategy {
         return combinedString;
     }
 
+    @Override
+    public String combineValues(int[] indexes, String[] values, int count, String delimiter) {
+        if (count == 0) {
+            return null;
+        }
+        if (count == 1) {
+            // same as values.get(0) on a single entry map
+            return indexes[0] == 0 ? values[0] : null;
+        }
+
+        String actualDelimiter = delimiter != null ? delimiter : getDelimiter();
+        if (actualDelimiter == null) {
+            actualDelimiter = DEFAULT_COMBINE_DELIMITER;
+        }
+        int maxItems = getLimit() != null ? getLimit() : DEFAULT_COMBINE_LIMIT;
+        int last = indexes[count - 1];
+        int capacity = actualDelimiter.length() * Math.min(last, maxItems);
+        for (int i = 0; i < count; i++) {
+            capacity += values[i] != null ? values[i].length() : 0;
+        }
+
+        StringBuilder combined = new StringBuilder(capacity);
+        int slot = 0;
+        int items = 0;
+        for (int i = 0; i <= last; i++) {
+            String value = null;
+            if (slot < count && indexes[slot] == i) {
+                value = values[slot++];
+            }
+            if (i == 0) {
+                if (value == null) {
+                    continue;
+                }
+                appendValue(combined, value);
+            } else if (value != null) {
+                appendValue(combined.append(actualDelimiter), value);
+            } else if (!disableAddDelimiterOnNull) {
+                combined.append(actualDelimiter);
+            }
+
+            items++;
+            if (items >= maxItems) {
+                break;
+            }
+        }
+        return combined.toString();
+    }
+
+    private void appendValue(StringBuilder combined, String value) {
+        if (isDisableAutoTrim()) {
+            combined.append(value);
+        } else {
+            combined.append(value.trim());
+        }
+    }
+
     protected static Map<Integer, String> sortByKey(Map<Integer, String> map) {
         TreeMap<Integer, String> treeMap = new TreeMap<>((key1, key2) -> {
             if (key1 == null && key2 == null) {
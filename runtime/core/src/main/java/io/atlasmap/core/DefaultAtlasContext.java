@@ -15,21 +15,37 @@
  */
 package io.atlasmap.core;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.management.ManagementFactory;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.net.URI;
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Date;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.TimeZone;
+import java.util.OptionalInt;
+import java.util.Set;
 import java.util.UUID;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.TabularData;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -38,17 +54,25 @@ import io.atlasmap.api.AtlasConstants;
 import io.atlasmap.api.AtlasContext;
 import io.atlasmap.api.AtlasContextFactory;
 import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.api.AtlasConversionService;
 import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasFieldActionService;
 import io.atlasmap.api.AtlasSession;
+import io.atlasmap.api.AtlasWarmUpResult;
+import io.atlasmap.core.AtlasMappingProfiler.Category;
 import io.atlasmap.core.AtlasMappingService.AtlasMappingFormat;
 import io.atlasmap.mxbean.AtlasContextMXBean;
+import io.atlasmap.mxbean.AtlasModuleMXBean;
 import io.atlasmap.spi.AtlasModule;
 import io.atlasmap.spi.AtlasModuleInfo;
 import io.atlasmap.spi.AtlasModuleInfoRegistry;
 import io.atlasmap.spi.AtlasModuleMode;
+import io.atlasmap.spi.AtlasSeparateStrategy;
+import io.atlasmap.spi.AtlasSessionListener.ModulePhase;
 import io.atlasmap.spi.FieldDirection;
 import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Audit;
 import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.Audits;
 import io.atlasmap.v2.BaseMapping;
@@ -72,15 +96,27 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
     public static final String PROPERTIES_DOCUMENT_ID = "io.atlasmap.core.DefaultAtlasContext.properties.docId";
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultAtlasContext.class);
+    private static final DateTimeFormatter CREATED_DATE_TIME_FORMATTER = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd'T'HH:mm:ssZ");
+    private static volatile CreatedDateTime lastCreatedDateTime = new CreatedDateTime(Long.MIN_VALUE, null, null);
     private ObjectName jmxObjectName;
     private final UUID uuid;
     private DefaultAtlasContextFactory factory;
-    private AtlasMapping mappingDefinition;
     private AtlasMappingFormat atlasMappingFormat;
     private URI atlasMappingUri;
-    private Map<String, AtlasModule> sourceModules = new HashMap<>();
-    private Map<String, AtlasModule> targetModules = new HashMap<>();
-    private Map<String, LookupTable> lookupTables = new HashMap<>();
+    // everything process() needs from the mapping definition, swapped as a whole on reload
+    private volatile ContextState state;
+    // replaced states still pinned by a session, see swapState()
+    private final Set<ContextState> retiredStates = ConcurrentHashMap.newKeySet();
+    private final ReferenceQueue<DefaultAtlasSession> collectedSessions = new ReferenceQueue<>();
+    private long mappingLastModified;
+    private ScheduledExecutorService mappingWatcher;
+    private final AtlasMappingProfiler profiler = new AtlasMappingProfiler();
+    private volatile boolean profilingEnabled;
+    private volatile AuditStatus auditLevel = AuditStatus.ALL;
+    private volatile BlockingQueue<DefaultAtlasSession> sessionPool;
+    private boolean registered;
+    private volatile boolean closed;
 
     public DefaultAtlasContext(URI atlasMappingUri) throws AtlasException {
         this(DefaultAtlasContextFactory.getInstance(), atlasMappingUri, AtlasMappingFormat.XML);
@@ -96,28 +132,213 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         this.uuid = UUID.randomUUID();
         this.atlasMappingUri = atlasMappingUri;
         this.atlasMappingFormat = format;
+        this.state = new ContextState(null, new HashMap<>(), new HashMap<>(), new HashMap<>(), null);
     }
 
     public DefaultAtlasContext(DefaultAtlasContextFactory factory, AtlasMapping mapping) throws AtlasException {
         this.factory = factory;
         this.uuid = UUID.randomUUID();
-        this.mappingDefinition = mapping;
+        this.state = new ContextState(mapping, new HashMap<>(), new HashMap<>(), new HashMap<>(), null);
     }
 
     /**
-     * TODO: For dynamic re-load. This needs lock()
+     * Loads the mapping definition from the mapping URI if any, initializes the modules for it and
+     * swaps them in. This is also the reload path, see {@link #reload()}.
      *
-     * @throws AtlasException
+     * @throws AtlasException if the mapping can't be loaded or a module can't be initialized, in
+     *             which case the current mapping definition is kept
      */
-    protected void init() throws AtlasException {
-
-        registerJmx(this);
+    protected synchronized void init() throws AtlasException {
+        register();
 
+        AtlasMapping mapping = this.state.mapping;
+        long lastModified = 0L;
         if (this.atlasMappingUri != null) {
-            this.mappingDefinition = factory.getMappingService().loadMapping(this.atlasMappingUri, atlasMappingFormat);
+            lastModified = getMappingLastModified();
+            mapping = factory.getMappingService().loadMapping(this.atlasMappingUri, atlasMappingFormat);
+        }
+        swapState(createState(mapping));
+        this.mappingLastModified = lastModified;
+    }
+
+    /**
+     * Reloads the mapping definition from the mapping URI and swaps it in. Sessions being processed
+     * keep the mapping definition and modules they were created with, and the sessions created
+     * afterwards get the new ones. {@link #process(AtlasSession)} doesn't take any lock.
+     *
+     * @throws AtlasException if the mapping can't be loaded or a module can't be initialized, in
+     *             which case the current mapping definition is kept
+     */
+    public void reload() throws AtlasException {
+        init();
+    }
+
+    /**
+     * Swaps in the specified mapping definition in the same way as {@link #reload()}. The mapping
+     * URI is no longer used afterwards.
+     *
+     * @param mapping mapping definition
+     * @throws AtlasException if a module can't be initialized, in which case the current mapping
+     *             definition is kept
+     */
+    public synchronized void reload(AtlasMapping mapping) throws AtlasException {
+        if (mapping == null) {
+            throw new AtlasException("AtlasMapping must be specified");
+        }
+        register();
+        this.atlasMappingUri = null;
+        swapState(createState(mapping));
+    }
+
+    /**
+     * Polls the mapping URI for modifications and reloads the mapping definition when it changes.
+     * Only {@code file:} URIs are supported. A mapping which fails to load is logged and the current
+     * one is kept.
+     *
+     * @param interval polling interval
+     * @param unit time unit of the interval
+     * @throws AtlasException if the mapping URI is not a file
+     */
+    public synchronized void startMappingWatch(long interval, TimeUnit unit) throws AtlasException {
+        if (this.atlasMappingUri == null || !"file".equals(this.atlasMappingUri.getScheme())) {
+            throw new AtlasException(String.format("Cannot watch mapping URI '%s', only file URI is supported",
+                    this.atlasMappingUri));
+        }
+        stopMappingWatch();
+        this.mappingWatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "atlasmap-mapping-watch-" + uuid);
+            t.setDaemon(true);
+            return t;
+        });
+        this.mappingWatcher.scheduleWithFixedDelay(this::reloadIfModified, interval, interval, unit);
+    }
+
+    public synchronized void stopMappingWatch() {
+        if (this.mappingWatcher != null) {
+            this.mappingWatcher.shutdownNow();
+            this.mappingWatcher = null;
+        }
+    }
+
+    public synchronized boolean isMappingWatched() {
+        return this.mappingWatcher != null;
+    }
+
+    /**
+     * Reloads the mapping definition if the mapping file was modified since it was last loaded.
+     *
+     * @return true if the mapping definition was reloaded
+     */
+    public synchronized boolean reloadIfModified() {
+        if (this.atlasMappingUri == null || !"file".equals(this.atlasMappingUri.getScheme())) {
+            return false;
+        }
+        long lastModified = getMappingLastModified();
+        if (lastModified == 0L || lastModified == this.mappingLastModified) {
+            return false;
+        }
+        try {
+            init();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Reloaded mapping '{}' for AtlasContext {}", atlasMappingUri, getUuid());
+            }
+            return true;
+        } catch (Throwable t) {
+            // don't retry until the file is modified again
+            this.mappingLastModified = lastModified;
+            LOG.error("Failed to reload mapping '{}', keeping the current one: {}", atlasMappingUri,
+                    t.getMessage());
+            LOG.debug(t.getMessage(), t);
+            return false;
         }
+    }
+
+    private void register() throws AtlasException {
+        if (closed) {
+            throw new AtlasException(String.format("AtlasContext %s is closed", getUuid()));
+        }
+        if (registered) {
+            return;
+        }
+        registered = true;
+        if (factory != null) {
+            factory.registerContext(this);
+        }
+        if (factory == null || factory.isContextJmxEnabled()) {
+            registerJmx(this);
+        }
+    }
+
+    /**
+     * Unregisters this context and its modules from JMX and from the factory, and destroys the
+     * modules. Sessions can't be created nor processed afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        stopMappingWatch();
+        this.sessionPool = null;
+        ContextState current = this.state;
+        unregisterModulesJmx(current);
+        current.destroy();
+        for (ContextState retired : retiredStates) {
+            retired.destroy();
+        }
+        retiredStates.clear();
+        unregisterJmx();
+        if (factory != null) {
+            factory.unregisterContext(this);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Closed AtlasContext {}", getUuid());
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private static void destroyModule(AtlasModule module) {
+        try {
+            module.destroy();
+        } catch (Throwable t) {
+            LOG.warn("Failed to destroy {} module '{}': {}", module.getMode(), module.getDocId(), t.getMessage());
+        }
+    }
+
+    private void unregisterJmx() {
+        ObjectName name = getJmxObjectName();
+        if (name == null) {
+            return;
+        }
+        try {
+            if (ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Unregistered AtlasContext {} from JMX", getUuid());
+            }
+        } catch (Throwable t) {
+            LOG.warn("Failed to unregister AtlasContext {} from JMX", getUuid());
+        }
+        setJmxObjectName(null);
+    }
+
+    private long getMappingLastModified() {
+        if (this.atlasMappingUri == null || !"file".equals(this.atlasMappingUri.getScheme())) {
+            return 0L;
+        }
+        return new File(this.atlasMappingUri).lastModified();
+    }
+
+    private ContextState createState(AtlasMapping mapping) throws AtlasException {
+        Map<String, AtlasModule> sourceModules = new HashMap<>();
+        Map<String, AtlasModule> targetModules = new HashMap<>();
+        Map<String, LookupTable> lookupTables = new HashMap<>();
 
-        sourceModules.clear();
         ConstantModule constant = new ConstantModule();
         constant.setConversionService(factory.getConversionService());
         constant.setFieldActionService(factory.getFieldActionService());
@@ -127,18 +348,19 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         propSource.setConversionService(factory.getConversionService());
         propSource.setFieldActionService(factory.getFieldActionService());
         sourceModules.put(PROPERTIES_DOCUMENT_ID, propSource);
-        targetModules.clear();
+        if (profilingEnabled) {
+            applyProfiling(constant, true);
+            applyProfiling(propSource, true);
+        }
 
-        lookupTables.clear();
-        if (mappingDefinition.getLookupTables() != null
-                && mappingDefinition.getLookupTables().getLookupTable() != null) {
-            for (LookupTable table : mappingDefinition.getLookupTables().getLookupTable()) {
+        if (mapping.getLookupTables() != null && mapping.getLookupTables().getLookupTable() != null) {
+            for (LookupTable table : mapping.getLookupTables().getLookupTable()) {
                 lookupTables.put(table.getName(), table);
             }
         }
 
         AtlasModuleInfoRegistry moduleInfoRegistry = factory.getModuleInfoRegistry();
-        for (DataSource ds : mappingDefinition.getDataSource()) {
+        for (DataSource ds : mapping.getDataSource()) {
             AtlasModuleInfo moduleInfo = moduleInfoRegistry.lookupByUri(ds.getUri());
             if (moduleInfo == null) {
                 LOG.error("Cannot find module info for the DataSource uri '{}'", ds.getUri());
@@ -171,13 +393,16 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                 module.setUri(ds.getUri());
                 if (ds.getDataSourceType() == DataSourceType.SOURCE) {
                     module.setMode(AtlasModuleMode.SOURCE);
-                    getSourceModules().put(docId, module);
+                    sourceModules.put(docId, module);
                 } else if (ds.getDataSourceType() == DataSourceType.TARGET) {
                     module.setMode(AtlasModuleMode.TARGET);
-                    getTargetModules().put(docId, module);
+                    targetModules.put(docId, module);
                 }
                 module.setDocId(docId);
                 module.init();
+                if (profilingEnabled) {
+                    applyProfiling(module, true);
+                }
             } catch (Throwable t) {
                 LOG.error("Unable to initialize {} module: {}", ds.getDataSourceType(), moduleInfo.toString());
                 LOG.error(t.getMessage(), t);
@@ -185,13 +410,70 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
                         moduleInfo.toString()), t);
             }
         }
+        if (factory.getPropertyStrategy() instanceof DefaultAtlasPropertyStrategy) {
+            ((DefaultAtlasPropertyStrategy) factory.getPropertyStrategy()).indexMappingDefinedProperties(mapping);
+        }
+        Map<Field, Field> foldedSourceFields = new ConstantFolder(factory.getConversionService(),
+                factory.getPropertyStrategy()).fold(mapping);
+        return new ContextState(mapping, sourceModules, targetModules, lookupTables, foldedSourceFields);
+    }
+
+    /**
+     * Swaps in the new state. Sessions created before a reload keep running with the modules of
+     * the replaced state, its modules are destroyed once no session is pinned to it anymore, see
+     * {@link #bindState(DefaultAtlasSession)}.
+     */
+    private void swapState(ContextState newState) {
+        ContextState previous = this.state;
+        unregisterModulesJmx(previous);
+        this.state = newState;
+        for (AtlasModule module : newState.sourceModules.values()) {
+            registerModuleJmx(module);
+        }
+        for (AtlasModule module : newState.targetModules.values()) {
+            registerModuleJmx(module);
+        }
+        releaseCollectedSessions();
+        retiredStates.removeIf(ContextState::isDestroyed);
+        if (!previous.retire()) {
+            retiredStates.add(previous);
+        }
+    }
+
+    /**
+     * Pins the session to the current mapping definition and modules. They're kept for the session
+     * even if the mapping definition is reloaded, until the session is bound to another state or
+     * garbage collected.
+     */
+    private ContextState bindState(DefaultAtlasSession session) throws AtlasException {
+        releaseCollectedSessions();
+        while (true) {
+            ContextState current = this.state;
+            SessionPin pin = current.pin(session, collectedSessions);
+            if (pin != null) {
+                session.setContextStatePin(pin);
+                return current;
+            }
+            if (current == this.state) {
+                // only the current state of a closed context is destroyed
+                throw new AtlasException(String.format("AtlasContext %s is closed", getUuid()));
+            }
+        }
+    }
+
+    private void releaseCollectedSessions() {
+        Reference<? extends DefaultAtlasSession> collected;
+        while ((collected = collectedSessions.poll()) != null) {
+            ((SessionPin) collected).release();
+        }
     }
 
     protected void registerJmx(DefaultAtlasContext context) {
         try {
             setJmxObjectName(new ObjectName(
                     getDefaultAtlasContextFactory().getJmxObjectName() + ",context=Contexts,uuid=" + uuid.toString()));
-            ManagementFactory.getPlatformMBeanServer().registerMBean(this, getJmxObjectName());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new WeakAtlasContextMXBean(this),
+                    getJmxObjectName());
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Registered AtlasContext {} with JMX", context.getUuid());
             }
@@ -201,6 +483,51 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         }
     }
 
+    protected void registerModuleJmx(AtlasModule module) {
+        if (getJmxObjectName() == null || !(module instanceof AtlasModuleMXBean)) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(module, getModuleJmxObjectName(module));
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Registered {} module '{}' with JMX", module.getMode(), module.getDocId());
+            }
+        } catch (Throwable t) {
+            LOG.warn("Failed to register {} module '{}' with JMX", module.getMode(), module.getDocId());
+            LOG.warn(t.getMessage(), t);
+        }
+    }
+
+    protected void unregisterModulesJmx() {
+        unregisterModulesJmx(this.state);
+    }
+
+    private void unregisterModulesJmx(ContextState target) {
+        if (getJmxObjectName() == null || target == null) {
+            return;
+        }
+        List<AtlasModule> modules = new ArrayList<>(target.sourceModules.values());
+        modules.addAll(target.targetModules.values());
+        for (AtlasModule module : modules) {
+            if (!(module instanceof AtlasModuleMXBean)) {
+                continue;
+            }
+            try {
+                ObjectName name = getModuleJmxObjectName(module);
+                if (ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                    ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+                }
+            } catch (Throwable t) {
+                LOG.warn("Failed to unregister {} module '{}' from JMX", module.getMode(), module.getDocId());
+            }
+        }
+    }
+
+    private ObjectName getModuleJmxObjectName(AtlasModule module) throws MalformedObjectNameException {
+        return new ObjectName(getJmxObjectName() + ",modules=" + module.getMode() + ",docId="
+                + ObjectName.quote(module.getDocId()));
+    }
+
     /**
      * Process session lifecycle
      *
@@ -214,16 +541,48 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             throw new AtlasException("Cannot execute AtlasSession created by the other AtlasContext");
         }
 
+        if (closed) {
+            throw new AtlasException(String.format("AtlasContext %s is closed", getUuid()));
+        }
+
         DefaultAtlasSession session = (DefaultAtlasSession) userSession;
+        AtlasSessionListenerSupport listeners = getSessionListenerSupport();
+        if (listeners == null || !listeners.hasListeners()) {
+            processSession(session);
+            return;
+        }
+
+        long start = System.nanoTime();
+        listeners.fireSessionStart(session);
+        try {
+            processSession(session);
+        } finally {
+            listeners.fireSessionEnd(session, System.nanoTime() - start);
+        }
+    }
+
+    private void processSession(DefaultAtlasSession session) throws AtlasException {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Begin process {}", (session == null ? null : session.toString()));
         }
+        ContextState current = bindIfUnbound(session);
 
         session.head().unset();
-        session.getAudits().getAudit().clear();
+        SourceValueCache sourceValueCache = session.getSourceValueCache();
+        if (sourceValueCache != null) {
+            sourceValueCache.clear();
+        }
+        session.audits().getAudit().clear();
         session.getValidations().getValidation().clear();
 
-        processValidation(session);
+        AtlasSessionListenerSupport listeners = getSessionListenerSupport();
+        if (listeners != null && listeners.hasListeners()) {
+            long start = System.nanoTime();
+            processValidation(session);
+            listeners.fireValidation(session, System.nanoTime() - start);
+        } else {
+            processValidation(session);
+        }
         for (Validation v : session.getValidations().getValidation()) {
             AtlasUtil.addAudit(session, v);
         }
@@ -234,11 +593,11 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             return;
         }
 
-        for (AtlasModule module : getSourceModules().values()) {
-            module.processPreSourceExecution(session);
+        for (AtlasModule module : current.sourceModules.values()) {
+            executeModulePhase(session, module, ModulePhase.PRE_SOURCE_EXECUTION);
         }
-        for (AtlasModule module : getTargetModules().values()) {
-            module.processPreTargetExecution(session);
+        for (AtlasModule module : current.targetModules.values()) {
+            executeModulePhase(session, module, ModulePhase.PRE_TARGET_EXECUTION);
         }
 
         if (session.hasErrors()) {
@@ -248,43 +607,40 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             return;
         }
 
-        for (BaseMapping baseMapping : session.getMapping().getMappings().getMapping()) {
-            for (Mapping mapping : extractCollectionMappings(session, baseMapping)) {
-                session.head().setMapping(mapping).setLookupTable(lookupTables.get(mapping.getLookupTableName()));
-
-                if (mapping.getOutputField() == null || mapping.getOutputField().isEmpty()) {
-                    AtlasUtil.addAudit(session, null,
-                            String.format("Mapping does not contain at least one output field: alias=%s desc=%s",
-                                    mapping.getAlias(), mapping.getDescription()),
-                            null, AuditStatus.WARN, null);
-                    continue;
-                }
-
-                if (mapping.getInputField() == null || mapping.getInputField().isEmpty()) {
-                    AtlasUtil.addAudit(session, null,
-                            String.format("Mapping does not contain at least one source field: alias=%s desc=%s",
-                                    mapping.getAlias(), mapping.getDescription()),
-                            null, AuditStatus.WARN, null);
+        AtlasMappingProfiler activeProfiler = profilingEnabled ? profiler : null;
+        boolean sampled = activeProfiler != null && activeProfiler.beginSession();
+        try {
+            int index = 0;
+            for (BaseMapping baseMapping : session.getMapping().getMappings().getMapping()) {
+                if (sampled) {
+                    long bytes = activeProfiler.getAllocatedBytes();
+                    long start = System.nanoTime();
+                    processMapping(session, baseMapping);
+                    activeProfiler.record(Category.MAPPING, getProfileName(index, baseMapping),
+                            System.nanoTime() - start, activeProfiler.getAllocatedBytes() - bytes);
                 } else {
-                    processSourceFieldMappings(session, mapping.getInputField());
+                    processMapping(session, baseMapping);
                 }
-
-                processTargetFieldMappings(session, mapping);
+                index++;
+            }
+        } finally {
+            if (sampled) {
+                activeProfiler.endSession();
             }
         }
 
-        for (AtlasModule module : getSourceModules().values()) {
-            module.processPostValidation(session);
+        for (AtlasModule module : current.sourceModules.values()) {
+            executeModulePhase(session, module, ModulePhase.POST_VALIDATION);
         }
-        for (AtlasModule module : getTargetModules().values()) {
-            module.processPostValidation(session);
+        for (AtlasModule module : current.targetModules.values()) {
+            executeModulePhase(session, module, ModulePhase.POST_VALIDATION);
         }
 
-        for (AtlasModule module : getSourceModules().values()) {
-            module.processPostSourceExecution(session);
+        for (AtlasModule module : current.sourceModules.values()) {
+            executeModulePhase(session, module, ModulePhase.POST_SOURCE_EXECUTION);
         }
-        for (AtlasModule module : getTargetModules().values()) {
-            module.processPostTargetExecution(session);
+        for (AtlasModule module : current.targetModules.values()) {
+            executeModulePhase(session, module, ModulePhase.POST_TARGET_EXECUTION);
         }
 
         if (LOG.isDebugEnabled()) {
@@ -292,81 +648,126 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         }
     }
 
-    private List<Mapping> extractCollectionMappings(DefaultAtlasSession session, BaseMapping baseMapping)
+    private void executeModulePhase(DefaultAtlasSession session, AtlasModule module, ModulePhase phase)
             throws AtlasException {
-        if (LOG.isDebugEnabled()) {
-            LOG.debug("Generating Source Mappings from mapping: {}", baseMapping);
+        AtlasSessionListenerSupport listeners = getSessionListenerSupport();
+        if (listeners == null || !listeners.hasListeners()) {
+            doExecuteModulePhase(session, module, phase);
+            return;
         }
-        if (!baseMapping.getMappingType().equals(MappingType.COLLECTION)) {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("Mapping is not a collection mapping, not cloning: {}", baseMapping);
-            }
-            return Arrays.asList((Mapping) baseMapping);
-        }
-        List<Mapping> mappings = new LinkedList<>();
-        for (BaseMapping m : ((Collection) baseMapping).getMappings().getMapping()) {
-            Mapping mapping = (Mapping) m;
-            Field sourceField = mapping.getInputField().get(0);
-            boolean sourceIsCollection = AtlasPath.isCollection(sourceField.getPath());
-            if (!sourceIsCollection) {
-                // this is a input non-collection to output collection, ie: contact.firstName ->
-                // contact[].firstName
-                // this will be expanded later by generateOutputMappings, for input processing,
-                // just copy it over
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Internal mapping's source field is not a collection, not cloning: {}", mapping);
-                }
+        long start = System.nanoTime();
+        try {
+            doExecuteModulePhase(session, module, phase);
+        } finally {
+            listeners.fireModuleExecution(session, module, phase, System.nanoTime() - start);
+        }
+    }
+
+    private void doExecuteModulePhase(DefaultAtlasSession session, AtlasModule module, ModulePhase phase)
+            throws AtlasException {
+        switch (phase) {
+        case PRE_VALIDATION:
+            module.processPreValidation(session);
+            break;
+        case PRE_SOURCE_EXECUTION:
+            module.processPreSourceExecution(session);
+            break;
+        case PRE_TARGET_EXECUTION:
+            module.processPreTargetExecution(session);
+            break;
+        case POST_VALIDATION:
+            module.processPostValidation(session);
+            break;
+        case POST_SOURCE_EXECUTION:
+            module.processPostSourceExecution(session);
+            break;
+        case POST_TARGET_EXECUTION:
+            module.processPostTargetExecution(session);
+            break;
+        default:
+            throw new AtlasException(String.format("Unsupported module phase '%s'", phase));
+        }
+    }
 
-                // this is a output collection such as contact<>.firstName, but input is non
-                // collection such as contact.firstName
-                // so just set the output collection field path to be contact<0>.firstName,
-                // which will cause at least one
-                // output object to be created for our copied firstName value
-                for (Field f : mapping.getOutputField()) {
-                    f.setPath(AtlasPath.overwriteCollectionIndex(f.getPath(), 0));
+    private void processMapping(DefaultAtlasSession session, BaseMapping baseMapping) throws AtlasException {
+        if (!MappingType.COLLECTION.equals(baseMapping.getMappingType())) {
+            processMappingItem(session, (Mapping) baseMapping, OptionalInt.empty());
+            return;
+        }
+        // inner mappings are processed once for each source collection item as a template whose
+        // array and list path segments are resolved by the field readers and writers to the
+        // collection index bound in the session head
+        CollectionMappingIterator items = new CollectionMappingIterator((Collection) baseMapping,
+                m -> getSourceCollectionSize(session, m));
+        while (items.next()) {
+            Mapping mapping = items.getMapping();
+            // don't carry over the value read for the previous item if this item doesn't have one
+            for (Field f : mapping.getInputField()) {
+                if (AtlasPath.isCollection(f.getPath())) {
+                    f.setValue(null);
                 }
-                mappings.add(mapping);
-                continue;
             }
+            processMappingItem(session, mapping, items.getCollectionIndex());
+        }
+    }
 
-            AtlasModule module = resolveModule(FieldDirection.SOURCE, sourceField);
-            int sourceCollectionSize = module.getCollectionSize(session, sourceField);
+    private int getSourceCollectionSize(DefaultAtlasSession session, Mapping mapping) throws AtlasException {
+        Field sourceField = mapping.getInputField().get(0);
+        if (!AtlasPath.isCollection(sourceField.getPath())) {
+            // this is a input non-collection to output collection, ie: contact.firstName ->
+            // contact<>.firstName, so process it once with the output collection index bound to 0,
+            // which will cause at least one output object to be created for our copied firstName value
             if (LOG.isDebugEnabled()) {
-                LOG.debug("Internal mapping's source field is a collection. Cloning it for each item ({} clones): {}",
-                        sourceCollectionSize, mapping);
-            }
-            for (int i = 0; i < sourceCollectionSize; i++) {
-                Mapping cloneMapping = (Mapping) AtlasModelFactory.cloneMapping(mapping, false);
-                for (Field f : mapping.getInputField()) {
-                    Field clonedField = module.cloneField(f);
-                    clonedField.setPath(AtlasPath.overwriteCollectionIndex(clonedField.getPath(), i));
-                    cloneMapping.getInputField().add(clonedField);
-                }
-                for (Field f : mapping.getOutputField()) {
-                    Field clonedField = module.cloneField(f);
-                    if (AtlasPath.isCollection(clonedField.getPath())) {
-                        clonedField.setPath(AtlasPath.overwriteCollectionIndex(clonedField.getPath(), i));
-                    }
-                    cloneMapping.getOutputField().add(clonedField);
-                }
-                mappings.add(cloneMapping);
+                LOG.debug("Internal mapping's source field is not a collection, binding index 0: {}", mapping);
             }
+            return 1;
         }
+
+        AtlasModule module = resolveModule(session, FieldDirection.SOURCE, sourceField);
+        int sourceCollectionSize = module.getCollectionSize(session, sourceField);
         if (LOG.isDebugEnabled()) {
-            LOG.debug("Generated {} mappings from mapping: {}", mappings.size(), baseMapping);
+            LOG.debug("Internal mapping's source field is a collection. Processing it for each item ({} items): {}",
+                    sourceCollectionSize, mapping);
         }
-        ((Collection) baseMapping).getMappings().getMapping().clear();
-        ((Collection) baseMapping).getMappings().getMapping().addAll(mappings);
+        return sourceCollectionSize;
+    }
 
-        return mappings;
+    private void processMappingItem(DefaultAtlasSession session, Mapping mapping, OptionalInt collectionIndex)
+            throws AtlasException {
+        session.head().setCollectionIndex(collectionIndex);
+        session.head().setMapping(mapping)
+                .setLookupTable(stateOf(session).lookupTables.get(mapping.getLookupTableName()));
+
+        if (mapping.getOutputField() == null || mapping.getOutputField().isEmpty()) {
+            AtlasUtil.addAudit(session, null, null, null, AuditStatus.WARN,
+                    "Mapping does not contain at least one output field: alias=%s desc=%s",
+                    mapping.getAlias(), mapping.getDescription());
+            return;
+        }
+
+        if (mapping.getInputField() == null || mapping.getInputField().isEmpty()) {
+            AtlasUtil.addAudit(session, null, null, null, AuditStatus.WARN,
+                    "Mapping does not contain at least one source field: alias=%s desc=%s",
+                    mapping.getAlias(), mapping.getDescription());
+        } else {
+            processSourceFieldMappings(session, mapping.getInputField());
+        }
+
+        processTargetFieldMappings(session, mapping);
     }
 
-    private AtlasModule resolveModule(FieldDirection direction, Field field) {
+    private String getProfileName(int index, BaseMapping baseMapping) {
+        String alias = baseMapping.getAlias();
+        return "mapping[" + index + "]" + (alias != null && !alias.isEmpty() ? " " + alias : "");
+    }
+
+    private AtlasModule resolveModule(DefaultAtlasSession session, FieldDirection direction, Field field) {
+        ContextState current = stateOf(session);
         if (direction == FieldDirection.SOURCE && field instanceof ConstantField) {
-            return sourceModules.get(CONSTANTS_DOCUMENT_ID);
+            return current.sourceModules.get(CONSTANTS_DOCUMENT_ID);
         }
         if (direction == FieldDirection.SOURCE && field instanceof PropertyField) {
-            return sourceModules.get(PROPERTIES_DOCUMENT_ID);
+            return current.sourceModules.get(PROPERTIES_DOCUMENT_ID);
         }
 
         String docId = field.getDocId();
@@ -374,29 +775,49 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             docId = direction == FieldDirection.SOURCE ? AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID
                     : AtlasConstants.DEFAULT_TARGET_DOCUMENT_ID;
         }
-        return direction == FieldDirection.SOURCE ? sourceModules.get(docId) : targetModules.get(docId);
+        return direction == FieldDirection.SOURCE ? current.sourceModules.get(docId)
+                : current.targetModules.get(docId);
     }
 
     private void processSourceFieldMappings(DefaultAtlasSession session, List<Field> sourceFields)
             throws AtlasException {
+        ContextState current = stateOf(session);
         for (Field sourceField : sourceFields) {
+            Field folded = current.foldedSourceFields.get(sourceField);
+            if (folded != null && !ConstantFolder.isOverridden(folded, session.getProperties())) {
+                // pre-evaluated constant, see ConstantFolder
+                session.head().setSourceField(folded);
+                continue;
+            }
             session.head().setSourceField(sourceField);
-            AtlasModule module = resolveModule(FieldDirection.SOURCE, sourceField);
+            AtlasModule module = resolveModule(session, FieldDirection.SOURCE, sourceField);
             if (module == null) {
-                AtlasUtil.addAudit(session, sourceField.getDocId(),
-                        String.format("Module not found for docId '%s'", sourceField.getDocId()), sourceField.getPath(),
-                        AuditStatus.ERROR, null);
+                AtlasUtil.addAudit(session, sourceField.getDocId(), sourceField.getPath(), null, AuditStatus.ERROR,
+                        "Module not found for docId '%s'", sourceField.getDocId());
                 return;
             }
             if (!module.isSupportedField(sourceField)) {
-                AtlasUtil.addAudit(session, sourceField.getDocId(),
-                        String.format("Unsupported source field type '%s' for DataSource '%s'",
-                                sourceField.getClass().getName(), module.getUri()),
-                        sourceField.getPath(), AuditStatus.ERROR, null);
+                AtlasUtil.addAudit(session, sourceField.getDocId(), sourceField.getPath(), null, AuditStatus.ERROR,
+                        "Unsupported source field type '%s' for DataSource '%s'",
+                        sourceField.getClass().getName(), module.getUri());
                 return;
             }
 
-            module.processSourceFieldMapping(session);
+            if (!current.sharedSourceFields.contains(sourceField)) {
+                executeSourceFieldMapping(session, module);
+                continue;
+            }
+            // the same source value is referenced by another mapping, read it only once per session
+            SourceValueCache cache = session.getSourceValueCache();
+            SourceValueCache.Key key = cache.keyOf(sourceField, session.head().getCollectionIndex());
+            if (cache.apply(key, sourceField)) {
+                continue;
+            }
+            int auditCount = session.audits().getAudit().size();
+            executeSourceFieldMapping(session, module);
+            if (!hasErrorsSince(session, auditCount)) {
+                cache.put(key, sourceField);
+            }
         }
     }
 
@@ -412,23 +833,23 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         case LOOKUP:
         case MAP:
             targetField = targetFields.get(0);
-            module = resolveModule(FieldDirection.TARGET, targetField);
+            module = resolveModule(session, FieldDirection.TARGET, targetField);
             if (!auditTargetFieldType(session, module, targetField)) {
                 return;
             }
             session.head().setTargetField(targetField);
-            module.processTargetFieldMapping(session);
+            executeTargetFieldMapping(session, module);
             return;
 
         case COMBINE:
             targetField = targetFields.get(0);
-            module = resolveModule(FieldDirection.TARGET, targetField);
+            module = resolveModule(session, FieldDirection.TARGET, targetField);
             if (!auditTargetFieldType(session, module, targetField)) {
                 return;
             }
             Field sourceField = processCombineField(session, mapping, sourceFields, targetField);
             session.head().setSourceField(sourceField).setTargetField(targetField);
-            module.processTargetFieldMapping(session);
+            executeTargetFieldMapping(session, module);
             return;
 
         case SEPARATE:
@@ -436,58 +857,143 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             if ((sourceFieldsep.getFieldType() != null && !FieldType.STRING.equals(sourceFieldsep.getFieldType())
                     || (sourceFieldsep.getValue() == null
                             || !sourceFieldsep.getValue().getClass().isAssignableFrom(String.class)))) {
-                AtlasUtil.addAudit(session, sourceFieldsep.getDocId(),
-                        String.format("Separate requires String field type for sourceField.path=%s",
-                                sourceFieldsep.getPath()),
-                        sourceFieldsep.getPath(), AuditStatus.WARN, null);
+                AtlasUtil.addAudit(session, sourceFieldsep.getDocId(), sourceFieldsep.getPath(), null,
+                        AuditStatus.WARN, "Separate requires String field type for sourceField.path=%s",
+                        sourceFieldsep.getPath());
                 return;
             }
-            List<Field> separatedFields = processSeparateField(session, mapping, sourceFields.get(0));
+            // only the indexes mapped to the target fields are extracted, see AtlasSeparateStrategy#separateValueAt()
+            String separateSourceValue = getSeparateSourceValue(session, sourceFieldsep);
+            AtlasSeparateStrategy separateStrategy = session.getAtlasContext().getContextFactory()
+                    .getSeparateStrategy();
             for (Field f : targetFields) {
                 targetField = f;
-                module = resolveModule(FieldDirection.TARGET, targetField);
+                module = resolveModule(session, FieldDirection.TARGET, targetField);
                 if (!auditTargetFieldType(session, module, targetField)) {
                     continue;
                 }
                 if (targetField.getIndex() == null || targetField.getIndex() < 0) {
-                    AtlasUtil.addAudit(session, targetField.getDocId(), String.format(
+                    AtlasUtil.addAudit(session, targetField.getDocId(), targetField.getPath(), null, AuditStatus.WARN,
                             "Separate requires zero or positive Index value to be set on targetField targetField.path=%s",
-                            targetField.getPath()), targetField.getPath(), AuditStatus.WARN, null);
+                            targetField.getPath());
                     continue;
                 }
-                if (separatedFields.size() <= targetField.getIndex()) {
-                    String errorMessage = String.format(
+                String separatedValue = separateStrategy.separateValueAt(separateSourceValue, mapping.getDelimiter(),
+                        targetField.getIndex());
+                if (separatedValue == null) {
+                    List<String> separatedValues = separateValue(session, mapping, separateSourceValue);
+                    AtlasUtil.addAudit(session, targetField.getDocId(), targetField.getPath(), null, AuditStatus.WARN,
                             "Separate returned fewer segments count=%s when targetField.path=%s requested index=%s",
-                            separatedFields.size(), targetField.getPath(), targetField.getIndex());
-                    AtlasUtil.addAudit(session, targetField.getDocId(), errorMessage, targetField.getPath(),
-                            AuditStatus.WARN, null);
+                            separatedValues != null ? separatedValues.size() : 0, targetField.getPath(),
+                            targetField.getIndex());
                     break;
                 }
-                session.head().setSourceField(separatedFields.get(targetField.getIndex())).setTargetField(targetField);
-                module.processTargetFieldMapping(session);
+                session.head().setSourceField(createSeparatedField(sourceFieldsep, separatedValue))
+                        .setTargetField(targetField);
+                executeTargetFieldMapping(session, module);
             }
             return;
 
         default:
-            AtlasUtil.addAudit(session, null,
-                    String.format("Unsupported mappingType=%s detected", mapping.getMappingType()), null,
-                    AuditStatus.ERROR, null);
+            AtlasUtil.addAudit(session, null, null, null, AuditStatus.ERROR, "Unsupported mappingType=%s detected",
+                    mapping.getMappingType());
         }
     }
 
+    private void executeSourceFieldMapping(DefaultAtlasSession session, AtlasModule module) throws AtlasException {
+        executeFieldMapping(session, module, FieldDirection.SOURCE);
+    }
+
+    private void executeTargetFieldMapping(DefaultAtlasSession session, AtlasModule module) throws AtlasException {
+        executeFieldMapping(session, module, FieldDirection.TARGET);
+    }
+
+    private void executeFieldMapping(DefaultAtlasSession session, AtlasModule module, FieldDirection direction)
+            throws AtlasException {
+        AtlasModuleStatistics statistics = getEnabledStatistics(module);
+        AtlasMappingProfiler activeProfiler = profilingEnabled && profiler.isSampling() ? profiler : null;
+        AtlasSessionListenerSupport listeners = getSessionListenerSupport();
+        if (listeners != null && !listeners.hasListeners()) {
+            listeners = null;
+        }
+        if (statistics == null && activeProfiler == null && listeners == null) {
+            if (direction == FieldDirection.SOURCE) {
+                module.processSourceFieldMapping(session);
+            } else {
+                module.processTargetFieldMapping(session);
+            }
+            return;
+        }
+
+        String fieldName = null;
+        long bytes = 0L;
+        if (activeProfiler != null) {
+            Field field = direction == FieldDirection.SOURCE ? session.head().getSourceField()
+                    : session.head().getTargetField();
+            fieldName = field.getDocId() + ":" + field.getPath();
+            activeProfiler.setCurrentField(fieldName);
+            bytes = activeProfiler.getAllocatedBytes();
+        }
+        int auditCount = session.audits().getAudit().size();
+        boolean success = false;
+        long start = System.nanoTime();
+        try {
+            if (direction == FieldDirection.SOURCE) {
+                module.processSourceFieldMapping(session);
+            } else {
+                module.processTargetFieldMapping(session);
+            }
+            success = !hasErrorsSince(session, auditCount);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            if (statistics != null) {
+                (direction == FieldDirection.SOURCE ? statistics.getSource() : statistics.getTarget())
+                        .record(elapsed, success);
+            }
+            if (activeProfiler != null) {
+                activeProfiler.record(direction == FieldDirection.SOURCE ? Category.SOURCE : Category.TARGET,
+                        fieldName, elapsed, activeProfiler.getAllocatedBytes() - bytes);
+                activeProfiler.setCurrentField(null);
+            }
+            if (listeners != null) {
+                if (direction == FieldDirection.SOURCE) {
+                    listeners.fireFieldRead(session, session.head().getSourceField(), elapsed);
+                } else {
+                    listeners.fireFieldWrite(session, session.head().getSourceField(),
+                            session.head().getTargetField(), elapsed);
+                }
+            }
+        }
+    }
+
+    private AtlasModuleStatistics getEnabledStatistics(AtlasModule module) {
+        if (!(module instanceof BaseAtlasModule)) {
+            return null;
+        }
+        AtlasModuleStatistics statistics = ((BaseAtlasModule) module).getStatistics();
+        return statistics.isEnabled() ? statistics : null;
+    }
+
+    private boolean hasErrorsSince(DefaultAtlasSession session, int auditCount) {
+        List<Audit> audits = session.audits().getAudit();
+        for (int i = auditCount; i < audits.size(); i++) {
+            if (audits.get(i).getStatus() == AuditStatus.ERROR) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean auditTargetFieldType(DefaultAtlasSession session, AtlasModule module, Field field) {
         if (module == null) {
-            AtlasUtil.addAudit(session, field.getDocId(), String
-                    .format("Module not found for field type='%s', path='%s'", field.getFieldType(), field.getPath()),
-                    field.getPath(), AuditStatus.ERROR, null);
+            AtlasUtil.addAudit(session, field.getDocId(), field.getPath(), null, AuditStatus.ERROR,
+                    "Module not found for field type='%s', path='%s'", field.getFieldType(), field.getPath());
             return false;
         }
         if (!module.isSupportedField(field)) {
-            AtlasUtil
-                    .addAudit(session, field.getDocId(),
-                            String.format("Unsupported target field type '%s' for DataSource '%s'",
-                                    field.getClass().getName(), module.getUri()),
-                            field.getPath(), AuditStatus.ERROR, null);
+            AtlasUtil.addAudit(session, field.getDocId(), field.getPath(), null, AuditStatus.ERROR,
+                    "Unsupported target field type '%s' for DataSource '%s'", field.getClass().getName(),
+                    module.getUri());
             return false;
         }
         return true;
@@ -495,46 +1001,54 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
 
     private Field processCombineField(DefaultAtlasSession session, Mapping mapping, List<Field> sourceFields,
             Field targetField) throws AtlasException {
-        Map<Integer, String> combineValues = null;
+        int indexedCount = 0;
         for (Field sourceField : sourceFields) {
             if (sourceField.getIndex() == null || sourceField.getIndex() < 0) {
-                AtlasUtil.addAudit(session, targetField.getDocId(), String.format(
+                AtlasUtil.addAudit(session, targetField.getDocId(), targetField.getPath(), null, AuditStatus.WARN,
                         "Combine requires zero or positive Index value to be set on all sourceFields sourceField.path=%s",
-                        sourceField.getPath()), targetField.getPath(), AuditStatus.WARN, null);
+                        sourceField.getPath());
                 continue;
             }
+            indexedCount++;
+        }
 
-            if (combineValues == null) {
-                // We need to support a sorted map w/ null values
-                combineValues = new HashMap<Integer, String>();
-            }
-
-            if ((sourceField.getFieldType() != null) || (sourceField.getValue() != null)) {
-                String sourceValue;
-                try {
-                    sourceValue = (String) factory.getConversionService().convertType(sourceField.getValue(),
-                            sourceField.getFormat(), FieldType.STRING, null);
-                } catch (AtlasConversionException e) {
-                    AtlasUtil.addAudit(session, targetField.getDocId(),
-                            String.format("Suitable converter for sourceField.path=%s hasn't been found",
-                                    sourceField.getPath()),
-                            targetField.getPath(), AuditStatus.WARN, null);
-
-                    sourceValue = sourceField.getValue() != null ? sourceField.getValue().toString() : null;
-                }
-                combineValues.put(sourceField.getIndex(), sourceValue);
+        int[] slots = stateOf(session).combineSlots.get(mapping);
+        if (slots == null || slots.length != indexedCount) {
+            // not a part of the mapping definition the context was initialized with
+            slots = CombineSlots.slotsOf(sourceFields);
+        }
+        int[] indexes = new int[slots.length];
+        String[] values = new String[slots.length];
+        int count = 0;
+        for (int slot : slots) {
+            Field sourceField = sourceFields.get(slot);
+            if (sourceField.getFieldType() == null && sourceField.getValue() == null) {
                 continue;
             }
+            String sourceValue;
+            try {
+                sourceValue = (String) factory.getConversionService().convertType(sourceField.getValue(),
+                        sourceField.getFormat(), FieldType.STRING, null);
+            } catch (AtlasConversionException e) {
+                AtlasUtil.addAudit(session, targetField.getDocId(), targetField.getPath(), null,
+                        AuditStatus.WARN, "Suitable converter for sourceField.path=%s hasn't been found",
+                        sourceField.getPath());
+                fireConversionFailure(session, sourceField, targetField, e);
+
+                sourceValue = sourceField.getValue() != null ? sourceField.getValue().toString() : null;
+            }
+            int index = sourceField.getIndex();
+            if (count > 0 && indexes[count - 1] == index) {
+                // the latter source field wins for the same index
+                values[count - 1] = sourceValue;
+            } else {
+                indexes[count] = index;
+                values[count++] = sourceValue;
+            }
         }
 
-        String combinedValue = null;
-        if (mapping.getDelimiter() != null) {
-            combinedValue = session.getAtlasContext().getContextFactory().getCombineStrategy()
-                    .combineValues(combineValues, mapping.getDelimiter());
-        } else {
-            combinedValue = session.getAtlasContext().getContextFactory().getCombineStrategy()
-                    .combineValues(combineValues);
-        }
+        String combinedValue = session.getAtlasContext().getContextFactory().getCombineStrategy()
+                .combineValues(indexes, values, count, mapping.getDelimiter());
 
         Field answer = AtlasModelFactory.cloneFieldToSimpleField(sourceFields.get(0));
         if (combinedValue == null || combinedValue.trim().isEmpty()) {
@@ -550,36 +1064,46 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             throws AtlasException {
         List<Field> answer = new ArrayList<>();
 
-        String sourceValue;
+        String sourceValue = getSeparateSourceValue(session, sourceField);
+        List<String> separatedValues = separateValue(session, mapping, sourceValue);
+        if (separatedValues == null || separatedValues.isEmpty()) {
+            LOG.debug(String.format("Empty string for Separate mapping sourceField.path=%s", sourceField.getPath()));
+        } else {
+            for (String separatedValue : separatedValues) {
+                answer.add(createSeparatedField(sourceField, separatedValue));
+            }
+        }
+        return answer;
+    }
+
+    private String getSeparateSourceValue(DefaultAtlasSession session, Field sourceField) throws AtlasException {
         try {
-            sourceValue = (String) factory.getConversionService().convertType(sourceField.getValue(),
+            return (String) factory.getConversionService().convertType(sourceField.getValue(),
                     sourceField.getFormat(), FieldType.STRING, null);
         } catch (AtlasConversionException e) {
-            AtlasUtil.addAudit(session, sourceField.getDocId(), String
-                    .format("Suitable converter for sourceField.path=%s hasn't been found", sourceField.getPath()),
-                    sourceField.getPath(), AuditStatus.WARN, null);
-            sourceValue = sourceField.getValue().toString();
+            AtlasUtil.addAudit(session, sourceField.getDocId(), sourceField.getPath(), null, AuditStatus.WARN,
+                    "Suitable converter for sourceField.path=%s hasn't been found", sourceField.getPath());
+            fireConversionFailure(session, sourceField, null, e);
+            return sourceField.getValue().toString();
         }
-        List<String> separatedValues = null;
+    }
+
+    private List<String> separateValue(DefaultAtlasSession session, Mapping mapping, String sourceValue)
+            throws AtlasException {
         if (mapping.getDelimiter() != null) {
-            separatedValues = session.getAtlasContext().getContextFactory().getSeparateStrategy()
+            return session.getAtlasContext().getContextFactory().getSeparateStrategy()
                     .separateValue(sourceValue, mapping.getDelimiter());
         } else {
-            separatedValues = session.getAtlasContext().getContextFactory().getSeparateStrategy()
+            return session.getAtlasContext().getContextFactory().getSeparateStrategy()
                     .separateValue(sourceValue);
         }
+    }
 
-        if (separatedValues == null || separatedValues.isEmpty()) {
-            LOG.debug(String.format("Empty string for Separate mapping sourceField.path=%s", sourceField.getPath()));
-        } else {
-            for (String separatedValue : separatedValues) {
-                SimpleField simpleField = AtlasModelFactory.cloneFieldToSimpleField(sourceField);
-                simpleField.setValue(separatedValue);
-                simpleField.setFieldType(FieldType.STRING);
-                answer.add(simpleField);
-            }
-        }
-        return answer;
+    private SimpleField createSeparatedField(Field sourceField, String separatedValue) {
+        SimpleField simpleField = AtlasModelFactory.cloneFieldToSimpleField(sourceField);
+        simpleField.setValue(separatedValue);
+        simpleField.setFieldType(FieldType.STRING);
+        return simpleField;
     }
 
     @Override
@@ -605,11 +1129,12 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
             LOG.debug("Detected {} core validation notices", validations.size());
         }
 
-        for (AtlasModule module : getSourceModules().values()) {
-            module.processPreValidation(session);
+        ContextState current = bindIfUnbound(session);
+        for (AtlasModule module : current.sourceModules.values()) {
+            executeModulePhase(session, module, ModulePhase.PRE_VALIDATION);
         }
-        for (AtlasModule module : getTargetModules().values()) {
-            module.processPreValidation(session);
+        for (AtlasModule module : current.targetModules.values()) {
+            executeModulePhase(session, module, ModulePhase.PRE_VALIDATION);
         }
 
         if (LOG.isDebugEnabled()) {
@@ -617,6 +1142,60 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
         }
     }
 
+    private void fireConversionFailure(AtlasSession session, Field sourceField, Field targetField,
+            AtlasConversionException e) {
+        AtlasSessionListenerSupport listeners = getSessionListenerSupport();
+        if (listeners != null && listeners.hasListeners()) {
+            listeners.fireConversionFailure(session, sourceField, targetField, e);
+        }
+    }
+
+    /**
+     * Processes sessions over synthesized source documents, see {@link AtlasWarmUp}. Warm-up sessions
+     * don't notify the session listeners, but they're recorded by the profiler and the module
+     * statistics if enabled.
+     */
+    @Override
+    public AtlasWarmUpResult warmUp(int maxIterations) throws AtlasException {
+        if (maxIterations < 1) {
+            throw new IllegalArgumentException("maxIterations must be positive: " + maxIterations);
+        }
+        if (closed) {
+            throw new AtlasException(String.format("AtlasContext %s is closed", getUuid()));
+        }
+        if (this.state.mapping == null && atlasMappingUri != null) {
+            initIfNecessary();
+        }
+        Map<String, Object> sourceDocuments = AtlasWarmUp.createSourceDocuments(this, this.state.mapping);
+        AtlasWarmUp warmUp = new AtlasWarmUp();
+        for (int i = 0; i < maxIterations && !warmUp.isStabilized(); i++) {
+            DefaultAtlasSession session = (DefaultAtlasSession) createSession();
+            sourceDocuments.forEach(session::setSourceDocument);
+            long start = System.nanoTime();
+            boolean failed;
+            try {
+                processSession(session);
+                failed = session.hasErrors();
+            } catch (AtlasException | RuntimeException e) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Warm-up session failed", e);
+                }
+                failed = true;
+            }
+            warmUp.record(System.nanoTime() - start, failed);
+            recycleSession(session);
+        }
+        AtlasWarmUpResult result = warmUp.toResult();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("AtlasContext {} warmed up: {}", getUuid(), result);
+        }
+        return result;
+    }
+
+    private AtlasSessionListenerSupport getSessionListenerSupport() {
+        return factory != null ? factory.getSessionListenerSupport() : null;
+    }
+
     protected DefaultAtlasContextFactory getDefaultAtlasContextFactory() {
         return this.factory;
     }
@@ -627,62 +1206,260 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
     }
 
     public AtlasMapping getMapping() {
-        return mappingDefinition;
+        return this.state.mapping;
     }
 
     @Override
     public AtlasSession createSession() throws AtlasException {
-        if (mappingDefinition == null && atlasMappingUri != null) {
-            init();
+        if (closed) {
+            throw new AtlasException(String.format("AtlasContext %s is closed", getUuid()));
         }
-        return doCreateSession();
+        if (this.state.mapping == null && atlasMappingUri != null) {
+            initIfNecessary();
+        }
+        if (factory != null) {
+            factory.touchContext(this);
+        }
+        AtlasSession pooled = pollSession();
+        return pooled != null ? pooled : doCreateSession();
     }
 
     public AtlasSession createSession(AtlasMapping mappingDefinition) throws AtlasException {
-        this.atlasMappingUri = null;
-        this.mappingDefinition = mappingDefinition;
-        init();
+        reload(mappingDefinition);
         return doCreateSession();
     }
 
-    private AtlasSession doCreateSession() {
-        AtlasSession session = new DefaultAtlasSession(mappingDefinition);
-        session.setAtlasContext(this);
-        session.setAudits(new Audits());
-        session.setValidations(new Validations());
-        setDefaultSessionProperties(session);
-        return session;
+    private synchronized void initIfNecessary() throws AtlasException {
+        if (this.state.mapping == null) {
+            init();
+        }
+    }
+
+    private AtlasSession doCreateSession() throws AtlasException {
+        while (true) {
+            ContextState current = this.state;
+            DefaultAtlasSession session = new DefaultAtlasSession(current.mapping);
+            session.setAtlasContext(this);
+            // the session sticks to the current mapping definition and modules even if it's reloaded
+            if (bindState(session) == current) {
+                session.setAudits(new Audits());
+                session.setValidations(new Validations());
+                setDefaultSessionProperties(session);
+                return session;
+            }
+            // reloaded in between
+            session.setContextStatePin(null);
+        }
+    }
+
+    /**
+     * Returns the mapping definition and modules the session sticks to. A session which was not
+     * created by this context is bound to the current ones when it's processed first.
+     */
+    private ContextState bindIfUnbound(DefaultAtlasSession session) throws AtlasException {
+        ContextState answer = session.getContextState();
+        return answer != null ? answer : bindState(session);
+    }
+
+    /**
+     * Returns the mapping definition and modules of a session being processed, see
+     * {@link #bindIfUnbound(DefaultAtlasSession)}.
+     */
+    private ContextState stateOf(DefaultAtlasSession session) {
+        return session.getContextState();
+    }
+
+    /**
+     * Returns a session to the session pool once it's been processed so that the next
+     * {@link #createSession()} can reuse it. The session is reset and must not be used by the caller
+     * afterwards. It's simply dropped if the pool is disabled or full, or the mapping definition was
+     * reloaded since the session was created.
+     *
+     * @param session session to recycle
+     * @return true if the session was pooled
+     */
+    public boolean recycleSession(AtlasSession session) {
+        BlockingQueue<DefaultAtlasSession> pool = this.sessionPool;
+        if (pool == null || !(session instanceof DefaultAtlasSession) || session.getAtlasContext() != this) {
+            return false;
+        }
+        DefaultAtlasSession recycled = (DefaultAtlasSession) session;
+        if (recycled.getContextState() != this.state) {
+            recycled.setContextStatePin(null);
+            return false;
+        }
+        recycled.reset();
+        return pool.offer(recycled);
+    }
+
+    private AtlasSession pollSession() {
+        BlockingQueue<DefaultAtlasSession> pool = this.sessionPool;
+        if (pool == null) {
+            return null;
+        }
+        ContextState current = this.state;
+        DefaultAtlasSession session;
+        while ((session = pool.poll()) != null) {
+            if (session.getContextState() == current) {
+                session.setAuditLevel(this.auditLevel);
+                setDefaultSessionProperties(session);
+                return session;
+            }
+            session.setContextStatePin(null);
+        }
+        return null;
+    }
+
+    public int getSessionPoolSize() {
+        BlockingQueue<DefaultAtlasSession> pool = this.sessionPool;
+        return pool != null ? pool.size() + pool.remainingCapacity() : 0;
+    }
+
+    /**
+     * Sets the maximum number of idle sessions kept for reuse, see {@link #recycleSession(AtlasSession)}.
+     * 0 disables the pool, which is the default.
+     *
+     * @param size maximum number of pooled sessions
+     */
+    public synchronized void setSessionPoolSize(int size) {
+        this.sessionPool = size > 0 ? new ArrayBlockingQueue<>(size) : null;
     }
 
     protected void setDefaultSessionProperties(AtlasSession session) {
-        Date date = new Date();
-        DateFormat df = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ");
-        df.setTimeZone(TimeZone.getDefault());
-        session.getProperties().put("Atlas.CreatedDateTimeTZ", df.format(date));
+        session.getProperties().put("Atlas.CreatedDateTimeTZ", formatCreatedDateTime());
+    }
+
+    /**
+     * Formats the current time for the Atlas.CreatedDateTimeTZ property. The formatted text only
+     * changes once a second, so it's cached and shared across sessions.
+     */
+    static String formatCreatedDateTime() {
+        long now = System.currentTimeMillis() / 1000L;
+        ZoneId zone = ZoneId.systemDefault();
+        CreatedDateTime last = lastCreatedDateTime;
+        if (last.epochSecond == now && zone.equals(last.zone)) {
+            return last.text;
+        }
+        String text = CREATED_DATE_TIME_FORMATTER.format(Instant.ofEpochSecond(now).atZone(zone));
+        lastCreatedDateTime = new CreatedDateTime(now, zone, text);
+        return text;
     }
 
     public Map<String, AtlasModule> getSourceModules() {
-        return sourceModules;
+        return this.state.sourceModules;
     }
 
-    public void setSourceModules(Map<String, AtlasModule> sourceModules) {
-        this.sourceModules = sourceModules;
+    public synchronized void setSourceModules(Map<String, AtlasModule> sourceModules) {
+        ContextState current = this.state;
+        this.state = new ContextState(current.mapping, sourceModules, current.targetModules, current.lookupTables,
+                current.foldedSourceFields);
     }
 
     public Map<String, AtlasModule> getTargetModules() {
-        return targetModules;
+        return this.state.targetModules;
     }
 
-    public void setTargetModules(Map<String, AtlasModule> targetModules) {
-        this.targetModules = targetModules;
+    public synchronized void setTargetModules(Map<String, AtlasModule> targetModules) {
+        ContextState current = this.state;
+        this.state = new ContextState(current.mapping, current.sourceModules, targetModules, current.lookupTables,
+                current.foldedSourceFields);
     }
 
     public Map<String, LookupTable> getLookupTables() {
-        return lookupTables;
+        return this.state.lookupTables;
+    }
+
+    public synchronized void setLookupTables(Map<String, LookupTable> lookupTables) {
+        ContextState current = this.state;
+        this.state = new ContextState(current.mapping, current.sourceModules, current.targetModules, lookupTables,
+                current.foldedSourceFields);
+    }
+
+    public AtlasMappingProfiler getProfiler() {
+        return this.profiler;
+    }
+
+    @Override
+    public boolean isProfilingEnabled() {
+        return this.profilingEnabled;
+    }
+
+    /**
+     * Enables or disables the mapping profiler. While enabled, modules get profiling decorators of
+     * the conversion and field action services so that conversions and action chains can be measured
+     * as well. Collected data is kept until {@link #resetProfiling()} is invoked.
+     */
+    @Override
+    public synchronized void setProfilingEnabled(boolean enabled) {
+        if (this.profilingEnabled == enabled) {
+            return;
+        }
+        ContextState current = this.state;
+        List<AtlasModule> modules = new ArrayList<>(current.sourceModules.values());
+        modules.addAll(current.targetModules.values());
+        for (AtlasModule module : modules) {
+            applyProfiling(module, enabled);
+        }
+        this.profilingEnabled = enabled;
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Mapping profiling {} for AtlasContext {}", enabled ? "enabled" : "disabled", getUuid());
+        }
+    }
+
+    @Override
+    public AuditStatus getAuditLevel() {
+        return this.auditLevel;
+    }
+
+    /**
+     * Sets the lowest status of the audits recorded in the sessions created afterwards. Raising it
+     * to {@link AuditStatus#ERROR} avoids creating WARN and INFO audits nobody reads, errors are
+     * always recorded.
+     */
+    @Override
+    public void setAuditLevel(AuditStatus auditLevel) {
+        this.auditLevel = auditLevel != null ? auditLevel : AuditStatus.ALL;
+    }
+
+    @Override
+    public int getProfilingSampleRate() {
+        return profiler.getSampleRate();
+    }
+
+    @Override
+    public void setProfilingSampleRate(int sampleRate) {
+        profiler.setSampleRate(sampleRate);
+    }
+
+    @Override
+    public TabularData readProfilingReport() throws OpenDataException {
+        return profiler.toTabularData();
     }
 
-    public void setLookupTables(Map<String, LookupTable> lookupTables) {
-        this.lookupTables = lookupTables;
+    @Override
+    public void writeProfilingReport(String fileName) throws IOException {
+        profiler.writeJsonReport(new File(fileName));
+    }
+
+    @Override
+    public void resetProfiling() {
+        profiler.reset();
+    }
+
+    private void applyProfiling(AtlasModule module, boolean enabled) {
+        AtlasConversionService conversionService = module.getConversionService();
+        AtlasFieldActionService fieldActionService = module.getFieldActionService();
+        if (enabled) {
+            module.setConversionService(profiler.wrap(conversionService));
+            module.setFieldActionService(profiler.wrap(fieldActionService));
+            return;
+        }
+        if (conversionService instanceof ProfilingConversionService) {
+            module.setConversionService(((ProfilingConversionService) conversionService).getDelegate());
+        }
+        if (fieldActionService instanceof ProfilingFieldActionService) {
+            module.setFieldActionService(((ProfilingFieldActionService) fieldActionService).getDelegate());
+        }
     }
 
     protected void setJmxObjectName(ObjectName jmxObjectName) {
@@ -705,7 +1482,8 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
 
     @Override
     public String getMappingName() {
-        return (mappingDefinition != null ? mappingDefinition.getName() : null);
+        AtlasMapping mapping = this.state.mapping;
+        return (mapping != null ? mapping.getName() : null);
     }
 
     protected void setMappingUri(URI atlasMappingUri) {
@@ -731,6 +1509,139 @@ public class DefaultAtlasContext implements AtlasContext, AtlasContextMXBean {
     public String toString() {
         return "DefaultAtlasContext [jmxObjectName=" + jmxObjectName + ", uuid=" + uuid + ", factory=" + factory
                 + ", mappingName=" + getMappingName() + ", mappingUri=" + getMappingUri() + ", sourceModules="
-                + sourceModules + ", targetModules=" + targetModules + "]";
+                + getSourceModules() + ", targetModules=" + getTargetModules() + "]";
+    }
+
+    private static final class CreatedDateTime {
+        private final long epochSecond;
+        private final ZoneId zone;
+        private final String text;
+
+        private CreatedDateTime(long epochSecond, ZoneId zone, String text) {
+            this.epochSecond = epochSecond;
+            this.zone = zone;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Mapping definition and the modules initialized for it. The maps are populated before the
+     * state is published and never modified afterwards, so that they can be read without locking.
+     * Sessions are pinned to the state they're bound to, so that the modules of a retired state
+     * are destroyed once the last of them is released. The pin count is set to -1 once they are.
+     */
+    static final class ContextState {
+        private final AtlasMapping mapping;
+        private final Map<String, AtlasModule> sourceModules;
+        private final Map<String, AtlasModule> targetModules;
+        private final Map<String, LookupTable> lookupTables;
+        private final Set<Field> sharedSourceFields;
+        private final Map<Field, Field> foldedSourceFields;
+        private final Map<Mapping, int[]> combineSlots;
+        private final AtomicInteger pinCount = new AtomicInteger();
+        // keeps the pins reachable until they're released
+        private final Set<SessionPin> pins = ConcurrentHashMap.newKeySet();
+        private volatile boolean retired;
+
+        ContextState(AtlasMapping mapping, Map<String, AtlasModule> sourceModules,
+                Map<String, AtlasModule> targetModules, Map<String, LookupTable> lookupTables,
+                Map<Field, Field> foldedSourceFields) {
+            this.mapping = mapping;
+            this.sourceModules = sourceModules != null ? sourceModules : new HashMap<>();
+            this.targetModules = targetModules != null ? targetModules : new HashMap<>();
+            this.lookupTables = lookupTables != null ? lookupTables : new HashMap<>();
+            this.sharedSourceFields = SourceValueCache.findSharedSourceFields(mapping);
+            this.foldedSourceFields = foldedSourceFields != null ? foldedSourceFields : Collections.emptyMap();
+            this.combineSlots = CombineSlots.findCombineSlots(mapping);
+        }
+
+        /**
+         * @return the pin, or null if the modules were already destroyed
+         */
+        SessionPin pin(DefaultAtlasSession session, ReferenceQueue<DefaultAtlasSession> queue) {
+            while (true) {
+                int count = pinCount.get();
+                if (count < 0) {
+                    return null;
+                }
+                if (pinCount.compareAndSet(count, count + 1)) {
+                    SessionPin pin = new SessionPin(session, queue, this);
+                    pins.add(pin);
+                    return pin;
+                }
+            }
+        }
+
+        private void unpin(SessionPin pin) {
+            pins.remove(pin);
+            if (pinCount.decrementAndGet() == 0 && retired && pinCount.compareAndSet(0, -1)) {
+                destroyModules();
+            }
+        }
+
+        /**
+         * Destroys the modules once no session is pinned to this state anymore.
+         *
+         * @return true if the modules were destroyed right away
+         */
+        boolean retire() {
+            retired = true;
+            if (pinCount.compareAndSet(0, -1)) {
+                destroyModules();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Destroys the modules even if sessions are still pinned to this state, when the context is
+         * closed.
+         */
+        void destroy() {
+            retired = true;
+            if (pinCount.getAndSet(-1) >= 0) {
+                pins.clear();
+                destroyModules();
+            }
+        }
+
+        boolean isDestroyed() {
+            return pinCount.get() < 0;
+        }
+
+        private void destroyModules() {
+            for (AtlasModule module : sourceModules.values()) {
+                destroyModule(module);
+            }
+            for (AtlasModule module : targetModules.values()) {
+                destroyModule(module);
+            }
+        }
+    }
+
+    /**
+     * Pin of a session to the state it's bound to, released when the session is bound to another
+     * state or when it's garbage collected.
+     */
+    static final class SessionPin extends PhantomReference<DefaultAtlasSession> {
+        private final ContextState state;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private SessionPin(DefaultAtlasSession session, ReferenceQueue<DefaultAtlasSession> queue,
+                ContextState state) {
+            super(session, queue);
+            this.state = state;
+        }
+
+        ContextState getState() {
+            return state;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                clear();
+                state.unpin(this);
+            }
+        }
     }
 }
@@ -17,6 +17,7 @@ package io.atlasmap.core;
 
 import java.io.File;
 import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.net.URI;
 import java.net.URL;
@@ -25,12 +26,16 @@ import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
+import javax.management.MBeanServer;
 import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
 
@@ -52,6 +57,7 @@ import io.atlasmap.spi.AtlasModuleInfo;
 import io.atlasmap.spi.AtlasModuleInfoRegistry;
 import io.atlasmap.spi.AtlasPropertyStrategy;
 import io.atlasmap.spi.AtlasSeparateStrategy;
+import io.atlasmap.spi.AtlasSessionListener;
 import io.atlasmap.v2.AtlasMapping;
 
 public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasContextFactoryMXBean {
@@ -71,6 +77,13 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
     private AtlasValidationService atlasValidationService = new DefaultAtlasValidationService();
     private AtlasModuleInfoRegistry moduleInfoRegistry;
     private Map<String, String> properties = null;
+    private final AtlasSessionListenerSupport sessionListenerSupport = new AtlasSessionListenerSupport();
+    // live contexts in access order, so that the least recently used one is evicted first, held
+    // weakly so that the contexts which are never closed can still be garbage collected
+    private final Map<String, WeakReference<DefaultAtlasContext>> contexts = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong evictedContextCount = new AtomicLong();
+    private volatile int maxContexts;
+    private volatile boolean contextJmxEnabled = true;
 
     public DefaultAtlasContextFactory() {
     }
@@ -126,6 +139,24 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
     @Override
     public void destroy() {
 
+        List<DefaultAtlasContext> live = new ArrayList<>();
+        List<String> collected = new ArrayList<>();
+        synchronized (contexts) {
+            for (Map.Entry<String, WeakReference<DefaultAtlasContext>> entry : contexts.entrySet()) {
+                DefaultAtlasContext context = entry.getValue().get();
+                if (context != null) {
+                    live.add(context);
+                } else {
+                    collected.add(entry.getKey());
+                }
+            }
+            contexts.clear();
+        }
+        for (DefaultAtlasContext context : live) {
+            context.close();
+        }
+        unregisterCollectedJmx(collected);
+
         unloadModules();
 
         try {
@@ -146,6 +177,7 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
         this.atlasPropertyStrategy = null;
         this.moduleInfoRegistry = null;
         this.threadName = null;
+        this.sessionListenerSupport.removeAllListeners();
         factory = null;
     }
 
@@ -185,6 +217,146 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
         return context;
     }
 
+    /**
+     * Tracks a live context. If the maximum number of live contexts is exceeded, the least recently
+     * used contexts are evicted, see {@link #setMaxContexts(int)}.
+     *
+     * @param context context
+     */
+    void registerContext(DefaultAtlasContext context) {
+        List<DefaultAtlasContext> evicted;
+        List<String> collected = new ArrayList<>();
+        synchronized (contexts) {
+            Iterator<Map.Entry<String, WeakReference<DefaultAtlasContext>>> it = contexts.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, WeakReference<DefaultAtlasContext>> entry = it.next();
+                if (entry.getValue().get() == null) {
+                    collected.add(entry.getKey());
+                    it.remove();
+                }
+            }
+            contexts.put(context.getUuid(), new WeakReference<>(context));
+            evicted = evictContexts();
+        }
+        unregisterCollectedJmx(collected);
+        releaseEvicted(evicted);
+    }
+
+    /**
+     * Unregisters the MBeans of the contexts which were garbage collected without being closed, the
+     * context MBean only holds its context weakly, see {@link WeakAtlasContextMXBean}.
+     */
+    private void unregisterCollectedJmx(List<String> collected) {
+        if (collected.isEmpty() || getJmxObjectName() == null) {
+            return;
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (String contextUuid : collected) {
+            try {
+                ObjectName pattern = new ObjectName(
+                        getJmxObjectName() + ",context=Contexts,uuid=" + contextUuid + ",*");
+                for (ObjectName name : server.queryNames(pattern, null)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (Exception e) {
+                LOG.warn("Failed to unregister garbage collected AtlasContext {} from JMX", contextUuid);
+            }
+        }
+    }
+
+    void touchContext(DefaultAtlasContext context) {
+        if (maxContexts <= 0) {
+            return;
+        }
+        synchronized (contexts) {
+            contexts.get(context.getUuid());
+        }
+    }
+
+    void unregisterContext(DefaultAtlasContext context) {
+        synchronized (contexts) {
+            contexts.remove(context.getUuid());
+        }
+    }
+
+    private List<DefaultAtlasContext> evictContexts() {
+        List<DefaultAtlasContext> evicted = new ArrayList<>();
+        int max = this.maxContexts;
+        if (max <= 0) {
+            return evicted;
+        }
+        Iterator<WeakReference<DefaultAtlasContext>> it = contexts.values().iterator();
+        while (contexts.size() > max && it.hasNext()) {
+            DefaultAtlasContext context = it.next().get();
+            if (context != null) {
+                evicted.add(context);
+            }
+            it.remove();
+        }
+        return evicted;
+    }
+
+    private void releaseEvicted(List<DefaultAtlasContext> evicted) {
+        for (DefaultAtlasContext context : evicted) {
+            evictedContextCount.incrementAndGet();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Evicting least recently used AtlasContext {}", context.getUuid());
+            }
+            context.close();
+        }
+    }
+
+    @Override
+    public int getContextCount() {
+        synchronized (contexts) {
+            return contexts.size();
+        }
+    }
+
+    @Override
+    public int getMaxContexts() {
+        return maxContexts;
+    }
+
+    /**
+     * Sets the maximum number of live contexts tracked by this factory. When it's exceeded, the least
+     * recently used context is evicted: it's closed, so that its modules are destroyed and sessions
+     * can't be created nor processed with it anymore. 0 or negative means no limit.
+     *
+     * @param maxContexts the maximum number of live contexts
+     */
+    @Override
+    public void setMaxContexts(int maxContexts) {
+        this.maxContexts = maxContexts;
+        List<DefaultAtlasContext> evicted;
+        synchronized (contexts) {
+            evicted = evictContexts();
+        }
+        releaseEvicted(evicted);
+    }
+
+    @Override
+    public long getEvictedContextCount() {
+        return evictedContextCount.get();
+    }
+
+    @Override
+    public boolean isContextJmxEnabled() {
+        return contextJmxEnabled;
+    }
+
+    /**
+     * Whether each context and its modules are registered with JMX. Disable it when contexts are
+     * created dynamically in a large number, only the aggregated numbers are then available through
+     * this factory MBean.
+     *
+     * @param enabled true to register each context with JMX
+     */
+    @Override
+    public void setContextJmxEnabled(boolean enabled) {
+        this.contextJmxEnabled = enabled;
+    }
+
     @Override
     public String getClassName() {
         return this.getClass().getName();
@@ -275,6 +447,18 @@ public class DefaultAtlasContextFactory implements AtlasContextFactory, AtlasCon
         this.atlasValidationService = atlasValidationService;
     }
 
+    public void addSessionListener(AtlasSessionListener listener) {
+        this.sessionListenerSupport.addListener(listener);
+    }
+
+    public boolean removeSessionListener(AtlasSessionListener listener) {
+        return this.sessionListenerSupport.removeListener(listener);
+    }
+
+    public AtlasSessionListenerSupport getSessionListenerSupport() {
+        return this.sessionListenerSupport;
+    }
+
     protected void loadModules(String moduleClassProperty, Class<?> moduleInterface) {
         Class<?> moduleClass = null;
         String moduleClassName = null;
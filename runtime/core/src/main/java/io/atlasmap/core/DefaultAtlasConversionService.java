@@ -23,6 +23,7 @@ import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -39,6 +40,10 @@ import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasConversionService;
 import io.atlasmap.api.AtlasConverter;
 import io.atlasmap.spi.AtlasConversionInfo;
+import io.atlasmap.spi.AtlasConverterMethod;
+import io.atlasmap.spi.AtlasPrimitiveConverter;
+import io.atlasmap.spi.AtlasPrimitiveValue;
+import io.atlasmap.spi.AtlasPrimitiveValueConverter;
 import io.atlasmap.v2.FieldType;
 
 public class DefaultAtlasConversionService implements AtlasConversionService {
@@ -57,6 +62,7 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
 
     private Map<ConverterKey, ConverterMethodHolder> converterMethods = null;
     private Map<ConverterKey, ConverterMethodHolder> customConverterMethods = null;
+    private Map<FieldType, Map<FieldType, AtlasPrimitiveValueConverter>> primitiveValueConverters = null;
 
     // Used as the lookup key in the converter methods map
     private class ConverterKey {
@@ -83,12 +89,13 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
         }
     }
 
-    // used to hold converter and method for future reflection use
+    // used to hold converter and method for future reflection use, or the generated invoker if any
     private class ConverterMethodHolder {
         private AtlasConverter<?> converter;
         private Method method;
         private boolean staticMethod;
         private boolean containsFormat;
+        private AtlasConverterMethod.Invoker invoker;
 
         public ConverterMethodHolder(AtlasConverter<?> converter, Method method, boolean staticMethod,
                 boolean containsFormat) {
@@ -98,6 +105,13 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
             this.containsFormat = containsFormat;
         }
 
+        public ConverterMethodHolder(AtlasConverter<?> converter, AtlasConverterMethod.Invoker invoker,
+                boolean containsFormat) {
+            this.converter = converter;
+            this.invoker = invoker;
+            this.containsFormat = containsFormat;
+        }
+
         public AtlasConverter<?> getConverter() {
             return converter;
         }
@@ -161,6 +175,10 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
         // used to load up methods first;
         Map<ConverterKey, ConverterMethodHolder> methodsLoadMap = new LinkedHashMap<>();
         Map<ConverterKey, ConverterMethodHolder> customMethodsLoadMap = new LinkedHashMap<>();
+        List<AtlasPrimitiveValueConverter> primitiveLoadList = new ArrayList<>();
+        List<AtlasPrimitiveValueConverter> customPrimitiveLoadList = new ArrayList<>();
+        Map<String, List<AtlasConverterMethod>> generatedMethods = GeneratedRegistries
+                .getConverterMethods(classLoader);
 
         for (final AtlasConverter<?> atlasConverter : converterServiceLoader) {
             if (LOG.isDebugEnabled()) {
@@ -168,6 +186,24 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
             }
 
             boolean inbuiltConverter = atlasConverter.getClass().getPackage().getName().startsWith("io.atlasmap");
+            if (atlasConverter instanceof AtlasPrimitiveConverter) {
+                List<AtlasPrimitiveValueConverter> primitives = ((AtlasPrimitiveConverter<?>) atlasConverter)
+                        .getPrimitiveValueConverters();
+                (inbuiltConverter ? primitiveLoadList : customPrimitiveLoadList).addAll(primitives);
+            }
+
+            Map<ConverterKey, ConverterMethodHolder> loadMap = inbuiltConverter ? methodsLoadMap
+                    : customMethodsLoadMap;
+            List<AtlasConverterMethod> generated = generatedMethods.get(atlasConverter.getClass().getName());
+            if (generated != null) {
+                // listed by the registry generated at build time, no need to scan the methods
+                for (AtlasConverterMethod method : generated) {
+                    addConverterMethod(loadMap, inbuiltConverter,
+                            new ConverterKey(method.getSourceClassName(), method.getTargetClassName()),
+                            new ConverterMethodHolder(atlasConverter, method.getInvoker(), method.isContainsFormat()));
+                }
+                continue;
+            }
 
             Class<?> klass = atlasConverter.getClass();
             // collect all the specific conversion methods on the class
@@ -189,21 +225,7 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
                         boolean staticMethod = Modifier.isStatic(method.getModifiers());
                         ConverterMethodHolder methodHolder = new ConverterMethodHolder(atlasConverter, method,
                                 staticMethod, containsFormat);
-                        if (inbuiltConverter) {
-                            if (!methodsLoadMap.containsKey(coordinate)) {
-                                methodsLoadMap.put(coordinate, methodHolder);
-                            } else {
-                                LOG.warn("Converter between " + sourceClassName + " and "
-                                        + method.getReturnType().getCanonicalName() + " aleady exists.");
-                            }
-                        } else {
-                            if (!customMethodsLoadMap.containsKey(coordinate)) {
-                                customMethodsLoadMap.put(coordinate, methodHolder);
-                            } else {
-                                LOG.warn("Custom converter between " + sourceClassName + " and "
-                                        + method.getReturnType().getCanonicalName() + " aleady exists.");
-                            }
-                        }
+                        addConverterMethod(loadMap, inbuiltConverter, coordinate, methodHolder);
                     }
                 }
                 // move to the upper class in the hierarchy in search for more methods
@@ -218,6 +240,34 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
         if (!methodsLoadMap.isEmpty()) {
             customConverterMethods = Collections.unmodifiableMap(customMethodsLoadMap);
         }
+
+        Map<FieldType, Map<FieldType, AtlasPrimitiveValueConverter>> primitiveLoadMap = new EnumMap<>(
+                FieldType.class);
+        for (AtlasPrimitiveValueConverter converter : primitiveLoadList) {
+            // a custom converter method takes precedence over the inbuilt primitive conversion
+            ConverterKey coordinate = new ConverterKey(
+                    classFromFieldType(converter.getSourceType()).getCanonicalName(),
+                    classFromFieldType(converter.getTargetType()).getCanonicalName());
+            if (!customMethodsLoadMap.containsKey(coordinate)) {
+                primitiveLoadMap.computeIfAbsent(converter.getSourceType(), k -> new EnumMap<>(FieldType.class))
+                        .put(converter.getTargetType(), converter);
+            }
+        }
+        for (AtlasPrimitiveValueConverter converter : customPrimitiveLoadList) {
+            primitiveLoadMap.computeIfAbsent(converter.getSourceType(), k -> new EnumMap<>(FieldType.class))
+                    .put(converter.getTargetType(), converter);
+        }
+        primitiveValueConverters = primitiveLoadMap;
+    }
+
+    private void addConverterMethod(Map<ConverterKey, ConverterMethodHolder> loadMap, boolean inbuiltConverter,
+            ConverterKey coordinate, ConverterMethodHolder methodHolder) {
+        if (!loadMap.containsKey(coordinate)) {
+            loadMap.put(coordinate, methodHolder);
+        } else {
+            LOG.warn((inbuiltConverter ? "Converter" : "Custom converter") + " between " + coordinate.sourceClassName
+                    + " and " + coordinate.targetClassName + " aleady exists.");
+        }
     }
 
     private static <R> Predicate<R> not(Predicate<R> predicate) {
@@ -226,49 +276,8 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
 
     @Override
     public Object copyPrimitive(Object sourceValue) {
-
-        if (sourceValue == null) {
-            return null;
-        }
-
-        Class<?> clazz = sourceValue.getClass();
-        if (clazz == null) {
-            return clazz;
-        } else if (boolean.class.getName().equals(clazz.getName())) {
-            return Boolean.valueOf((boolean) sourceValue);
-        } else if (Boolean.class.getName().equals(clazz.getName())) {
-            return Boolean.valueOf((Boolean) sourceValue);
-        } else if (byte.class.getName().equals(clazz.getName())) {
-            return Byte.valueOf((byte) sourceValue);
-        } else if (Byte.class.getName().equals(clazz.getName())) {
-            return Byte.valueOf((Byte) sourceValue);
-        } else if (char.class.getName().equals(clazz.getName())) {
-            return Character.valueOf((char) sourceValue);
-        } else if (Character.class.getName().equals(clazz.getName())) {
-            return Character.valueOf((Character) sourceValue);
-        } else if (double.class.getName().equals(clazz.getName())) {
-            return Double.valueOf((double) sourceValue);
-        } else if (Double.class.getName().equals(clazz.getName())) {
-            return Double.valueOf((Double) sourceValue);
-        } else if (float.class.getName().equals(clazz.getName())) {
-            return Float.valueOf((float) sourceValue);
-        } else if (Float.class.getName().equals(clazz.getName())) {
-            return Float.valueOf((Float) sourceValue);
-        } else if (int.class.getName().equals(clazz.getName())) {
-            return Integer.valueOf((int) sourceValue);
-        } else if (Integer.class.getName().equals(clazz.getName())) {
-            return Integer.valueOf((Integer) sourceValue);
-        } else if (long.class.getName().equals(clazz.getName())) {
-            return Long.valueOf((long) sourceValue);
-        } else if (Long.class.getName().equals(clazz.getName())) {
-            return Long.valueOf((Long) sourceValue);
-        } else if (short.class.getName().equals(clazz.getName())) {
-            return Short.valueOf((short) sourceValue);
-        } else if (Short.class.getName().equals(clazz.getName())) {
-            return Short.valueOf((Short) sourceValue);
-        }
-
-        // can't count on java copy
+        // boxed primitives and String are immutable, and any other object can't be copied reliably,
+        // so the value itself is the copy
         return sourceValue;
     }
 
@@ -312,7 +321,13 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
             // try the inbuilt defaults
             methodHolder = converterMethods.get(converterKey);
         }
-        if (methodHolder != null) {
+        if (methodHolder != null && methodHolder.invoker != null) {
+            try {
+                return methodHolder.invoker.convert(methodHolder.converter, sourceValue, sourceFormat, targetFormat);
+            } catch (Exception e) {
+                throw new AtlasConversionException("Invoking type convertor failed: " + e, e);
+            }
+        } else if (methodHolder != null) {
             try {
                 Object target = methodHolder.staticMethod ? null : methodHolder.converter;
                 if (methodHolder.containsFormat) {
@@ -329,6 +344,53 @@ public class DefaultAtlasConversionService implements AtlasConversionService {
         }
     }
 
+    @Override
+    public boolean convertPrimitive(AtlasPrimitiveValue source, FieldType targetType, AtlasPrimitiveValue target)
+            throws AtlasConversionException {
+        if (source == null || source.getType() == null || targetType == null || target == null) {
+            return false;
+        }
+        FieldType sourceType = source.getType();
+        if (sourceType == FieldType.STRING && source.getString() == null) {
+            return false;
+        }
+        if (sourceType == targetType) {
+            if (source != target) {
+                copy(source, target);
+            }
+            return true;
+        }
+        Map<FieldType, AtlasPrimitiveValueConverter> converters = primitiveValueConverters.get(sourceType);
+        AtlasPrimitiveValueConverter converter = converters != null ? converters.get(targetType) : null;
+        if (converter == null) {
+            return false;
+        }
+        converter.convert(source, target);
+        return true;
+    }
+
+    private static void copy(AtlasPrimitiveValue source, AtlasPrimitiveValue target) {
+        switch (source.getType()) {
+        case INTEGER:
+            target.setInteger(source.getInteger());
+            break;
+        case LONG:
+            target.setLong(source.getLong());
+            break;
+        case SHORT:
+            target.setShort(source.getShort());
+            break;
+        case DOUBLE:
+            target.setDouble(source.getDouble());
+            break;
+        case FLOAT:
+            target.setFloat(source.getFloat());
+            break;
+        default:
+            target.setString(source.getString());
+        }
+    }
+
     @Override
     public Boolean isPrimitive(String className) {
         if (className == null) {
@@ -6,7 +6,9 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
 
 import org.slf4j.Logger;
@@ -17,10 +19,12 @@ import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasFieldAction;
 import io.atlasmap.api.AtlasFieldActionService;
 import io.atlasmap.spi.AtlasFieldActionInfo;
+import io.atlasmap.spi.AtlasFieldActionMethod;
 import io.atlasmap.v2.Action;
 import io.atlasmap.v2.ActionDetail;
 import io.atlasmap.v2.ActionDetails;
 import io.atlasmap.v2.Actions;
+import io.atlasmap.v2.CollectionType;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldType;
 import io.atlasmap.v2.Properties;
@@ -32,6 +36,7 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultAtlasFieldActionService.class);
     private ActionDetails actionDetails = new ActionDetails();
     private AtlasConversionService conversionService = null;
+    private Map<ActionDetail, AtlasFieldActionMethod.Invoker> actionInvokers = new IdentityHashMap<>();
 
     public DefaultAtlasFieldActionService(AtlasConversionService conversionService) {
         this.conversionService = conversionService;
@@ -44,12 +49,22 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
     protected void loadFieldActions() {
         ClassLoader classLoader = this.getClass().getClassLoader();
         final ServiceLoader<AtlasFieldAction> fieldActionServiceLoader = ServiceLoader.load(AtlasFieldAction.class, classLoader);
+        Map<String, List<AtlasFieldActionMethod>> generatedMethods = GeneratedRegistries.getFieldActionMethods(classLoader);
         for (final AtlasFieldAction atlasFieldAction : fieldActionServiceLoader) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Loading FieldAction class: " + atlasFieldAction.getClass().getCanonicalName());
             }
 
             Class<?> clazz = atlasFieldAction.getClass();
+            List<AtlasFieldActionMethod> generated = generatedMethods.get(clazz.getName());
+            if (generated != null) {
+                // listed by the registry generated at build time, no need to scan the methods
+                for (AtlasFieldActionMethod method : generated) {
+                    loadGeneratedFieldAction(clazz, method);
+                }
+                continue;
+            }
+
             Method[] methods = clazz.getMethods();
             for (Method method : methods) {
                 AtlasFieldActionInfo annotation = method.getAnnotation(AtlasFieldActionInfo.class);
@@ -82,6 +97,39 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
         }
     }
 
+    private void loadGeneratedFieldAction(Class<?> clazz, AtlasFieldActionMethod method) {
+        ActionDetail det = new ActionDetail();
+        det.setClassName(clazz.getName());
+        det.setMethod(method.getMethodName());
+        det.setName(method.getName());
+        det.setSourceType(method.getSourceType());
+        det.setTargetType(method.getTargetType());
+        det.setSourceCollectionType(method.getSourceCollectionType());
+        det.setTargetCollectionType(method.getTargetCollectionType());
+
+        if (method.getParameterNames() == null) {
+            LOG.error(String.format("Error detecting parameters for field action=%s msg=%s", method.getName(),
+                    "io.atlasmap.v2." + method.getName()));
+        } else if (method.getParameterNames().length > 0) {
+            Properties props = new Properties();
+            for (int i = 0; i < method.getParameterNames().length; i++) {
+                Property prop = new Property();
+                prop.setName(method.getParameterNames()[i]);
+                prop.setFieldType(getConversionService().fieldTypeFromClass(method.getParameterTypes()[i]));
+                props.getProperty().add(prop);
+            }
+            det.setParameters(props);
+        }
+
+        if (method.getInvoker() != null) {
+            actionInvokers.put(det, method.getInvoker());
+        }
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Loaded FieldAction: " + det.getName());
+        }
+        listActionDetails().add(det);
+    }
+
     @Override
     public List<ActionDetail> listActionDetails() {
         return actionDetails.getActionDetail();
@@ -163,6 +211,16 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
         return tmpField.getValue();
     }
 
+    @Override
+    public boolean isCollectionAction(Action action) {
+        return action != null && isCollectionAction(findActionDetail(action.getDisplayName(), null));
+    }
+
+    protected boolean isCollectionAction(ActionDetail actionDetail) {
+        return actionDetail != null && actionDetail.getSourceCollectionType() != null
+                && !CollectionType.NONE.equals(actionDetail.getSourceCollectionType());
+    }
+
     protected Field internalProcessActions(Actions actions, Object sourceObject, FieldType targetType) throws AtlasException {
 
         Field processedField = new SimpleField();
@@ -188,7 +246,9 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
         FieldType currentType = sourceType;
         for(Action action : actions.getActions()) {
             ActionDetail detail = findActionDetail(action.getDisplayName(), currentType);
-            if(!detail.getSourceType().equals(currentType) && !FieldType.ALL.equals(detail.getSourceType())) {
+            // a collection action takes the collection as is and converts the items by itself
+            if(!detail.getSourceType().equals(currentType) && !FieldType.ALL.equals(detail.getSourceType())
+                    && !isCollectionAction(detail)) {
                 tmpSourceObject = getConversionService().convertType(sourceObject, currentType, detail.getSourceType());
             }
 
@@ -202,14 +262,25 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
 
     protected Object processAction(Action action, ActionDetail actionDetail, Object sourceObject) throws AtlasException {
         Object targetObject = null;
-        if(actionDetail != null) {
+        AtlasFieldActionMethod.Invoker invoker = actionDetail != null ? actionInvokers.get(actionDetail) : null;
+        if (invoker != null) {
+            try {
+                return invoker.process(action, sourceObject);
+            } catch (Exception e) {
+                throw new AtlasException(String.format("Error processing action %s", actionDetail.getName()), e);
+            }
+        } else if(actionDetail != null) {
             Object actionObject = null;
             try {
                 Class<?> actionClazz = Class.forName(actionDetail.getClassName());
                 actionObject = actionClazz.newInstance();
 
                 Method method =  null;
-                if(actionDetail.getSourceType() != null) {
+                if(actionDetail.getMethod() == null) {
+                    LOG.warn(String.format("No method is specified for action %s in actionClass=%s", actionDetail.getName(), actionDetail.getClassName()));
+                } else if(isCollectionAction(actionDetail)) {
+                    method = actionClazz.getMethod(actionDetail.getMethod(), Action.class, Object.class);
+                } else if(actionDetail.getSourceType() != null) {
                     switch(actionDetail.getSourceType()) {
                     case BOOLEAN: method = actionClazz.getMethod(actionDetail.getMethod(), Action.class, Boolean.class); break;
                     case BYTE: method = actionClazz.getMethod(actionDetail.getMethod(), Action.class, Byte.class); break;
@@ -219,6 +290,7 @@ public class DefaultAtlasFieldActionService implements AtlasFieldActionService {
                     case FLOAT: method = actionClazz.getMethod(actionDetail.getMethod(), Action.class, Float.class); break;
                     case INTEGER: method = actionClazz.getMethod(actionDetail.getMethod(), Action.class, Integer.class); break;
                     case LONG: method = actionClazz.getMethod(actionDetail.getMethod(), Action.class, Long.class); break;
+                    case NUMBER: method = actionClazz.getMethod(actionDetail.getMethod(), Action.class, Number.class); break;
                     case SHORT: method = actionClazz.getMethod(actionDetail.getMethod(), Action.class, Short.class); break;
                     case STRING: method = actionClazz.getMethod(actionDetail.getMethod(), Action.class, String.class); break;
                     case ALL: method = actionClazz.getMethod(actionDetail.getMethod(), Action.class, Object.class); break;
@@ -15,10 +15,16 @@
  */
 package io.atlasmap.core;
 
+import java.lang.ref.WeakReference;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,6 +40,13 @@ import io.atlasmap.v2.FieldType;
 import io.atlasmap.v2.Property;
 import io.atlasmap.v2.PropertyField;
 
+/**
+ * Resolves a {@link PropertyField} from environment variables, Java system properties, mapping
+ * defined properties and runtime properties in the configured order. Environment variables and
+ * system properties are snapshotted on first use, invoke {@link #refresh()} to pick up the changes
+ * made afterwards. Mapping defined properties are indexed by name once per mapping definition, along
+ * with their converted values.
+ */
 public class DefaultAtlasPropertyStrategy implements AtlasPropertyStrategy {
     private static final Logger LOG = LoggerFactory.getLogger(DefaultAtlasPropertyStrategy.class);
 
@@ -48,6 +61,13 @@ public class DefaultAtlasPropertyStrategy implements AtlasPropertyStrategy {
 
     private AtlasConversionService atlasConversionService = null;
 
+    private volatile Map<String, String> environmentSnapshot;
+    private volatile Map<String, String> systemPropertySnapshot;
+    // the indexes don't reference their mapping definition, so that the entries are dropped along
+    // with the mapping definitions
+    private final Map<AtlasMapping, MappingDefinedProperties> mappingDefinedIndexes = new WeakHashMap<>();
+    private volatile LastMappingDefinedIndex lastMappingDefinedIndex;
+
     @Override
     public void processPropertyField(AtlasMapping atlasMapping, PropertyField propertyField,
             Map<String, Object> runtimeProperties) throws AtlasUnsupportedException, AtlasConversionException {
@@ -87,17 +107,13 @@ public class DefaultAtlasPropertyStrategy implements AtlasPropertyStrategy {
             return;
         }
 
-        try {
-            if (System.getenv(propertyField.getName()) != null) {
-                propertyField.setValue(System.getenv(propertyField.getName()));
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug(String.format("Assigned environment variable for property field name=%s value=%s",
-                            propertyField.getName(), propertyField.getValue()));
-                }
+        String value = getEnvironmentSnapshot().get(propertyField.getName());
+        if (value != null) {
+            propertyField.setValue(value);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug(String.format("Assigned environment variable for property field name=%s value=%s",
+                        propertyField.getName(), propertyField.getValue()));
             }
-        } catch (SecurityException e) {
-            LOG.error(String.format("SecurityException while processing environment variable for propertyField=%s",
-                    AtlasModelFactory.toString(propertyField)), e);
         }
     }
 
@@ -107,17 +123,13 @@ public class DefaultAtlasPropertyStrategy implements AtlasPropertyStrategy {
             return;
         }
 
-        try {
-            if (System.getProperty(propertyField.getName()) != null) {
-                propertyField.setValue(System.getProperty(propertyField.getName()));
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug(String.format("Assigned Java system property for property field name=%s value=%s",
-                            propertyField.getName(), propertyField.getValue()));
-                }
+        String value = getSystemPropertySnapshot().get(propertyField.getName());
+        if (value != null) {
+            propertyField.setValue(value);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug(String.format("Assigned Java system property for property field name=%s value=%s",
+                        propertyField.getName(), propertyField.getValue()));
             }
-        } catch (SecurityException e) {
-            LOG.error(String.format("SecurityException while processing Java system property for propertyField=%s",
-                    AtlasModelFactory.toString(propertyField)), e);
         }
     }
 
@@ -134,29 +146,20 @@ public class DefaultAtlasPropertyStrategy implements AtlasPropertyStrategy {
             return;
         }
 
-        for (Property prop : atlasMapping.getProperties().getProperty()) {
-            if (propertyField.getName().equals(prop.getName())) {
-                if (getAtlasConversionService() != null
-                        && (propertyField.getFieldType() != null || prop.getFieldType() != null)) {
-                    propertyField.setValue(getAtlasConversionService().convertType(prop.getValue(), FieldType.STRING,
-                            (propertyField.getFieldType() != null ? propertyField.getFieldType()
-                                    : prop.getFieldType())));
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug(
-                                String.format("Assigned Mapping defined property for property field name=%s value=%s",
-                                        propertyField.getName(), propertyField.getValue()));
-                    }
-                    return;
-                } else {
-                    propertyField.setValue(prop.getValue());
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug(
-                                String.format("Assigned Mapping defined property for property field name=%s value=%s",
-                                        propertyField.getName(), propertyField.getValue()));
-                    }
-                    return;
-                }
-            }
+        MappingDefinedProperty prop = indexMappingDefinedProperties(atlasMapping).get(propertyField.getName());
+        if (prop == null) {
+            return;
+        }
+        FieldType type = propertyField.getFieldType() != null ? propertyField.getFieldType()
+                : prop.property.getFieldType();
+        if (getAtlasConversionService() != null && type != null) {
+            propertyField.setValue(prop.getValue(getAtlasConversionService(), type));
+        } else {
+            propertyField.setValue(prop.property.getValue());
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(String.format("Assigned Mapping defined property for property field name=%s value=%s",
+                    propertyField.getName(), propertyField.getValue()));
         }
     }
 
@@ -171,28 +174,89 @@ public class DefaultAtlasPropertyStrategy implements AtlasPropertyStrategy {
             return;
         }
 
-        for (String key : runtimeProperties.keySet()) {
-            if (propertyField.getName().equals(key)) {
-                if (getAtlasConversionService() != null && propertyField.getFieldType() != null) {
-                    propertyField.setValue(getAtlasConversionService().convertType(runtimeProperties.get(key),
-                            getAtlasConversionService().fieldTypeFromClass(runtimeProperties.get(key).getClass()),
-                            propertyField.getFieldType()));
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug(
-                                String.format("Assigned Runtime defined property for property field name=%s value=%s",
-                                        propertyField.getName(), propertyField.getValue()));
-                    }
-                    return;
-                } else {
-                    propertyField.setValue(runtimeProperties.get(key));
-                    if (LOG.isDebugEnabled()) {
-                        LOG.debug(
-                                String.format("Assigned Runtime defined property for property field name=%s value=%s",
-                                        propertyField.getName(), propertyField.getValue()));
-                    }
-                    return;
+        String name = propertyField.getName();
+        Object value = runtimeProperties.get(name);
+        if (value == null && !runtimeProperties.containsKey(name)) {
+            return;
+        }
+        if (value != null && getAtlasConversionService() != null && propertyField.getFieldType() != null) {
+            propertyField.setValue(getAtlasConversionService().convertType(value,
+                    getAtlasConversionService().fieldTypeFromClass(value.getClass()), propertyField.getFieldType()));
+        } else {
+            propertyField.setValue(value);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(String.format("Assigned Runtime defined property for property field name=%s value=%s",
+                    propertyField.getName(), propertyField.getValue()));
+        }
+    }
+
+    /**
+     * Takes a new snapshot of environment variables and Java system properties, and drops the
+     * converted values of mapping defined properties.
+     */
+    public void refresh() {
+        this.environmentSnapshot = null;
+        this.systemPropertySnapshot = null;
+        synchronized (mappingDefinedIndexes) {
+            mappingDefinedIndexes.clear();
+            lastMappingDefinedIndex = null;
+        }
+    }
+
+    private Map<String, String> getEnvironmentSnapshot() {
+        Map<String, String> answer = this.environmentSnapshot;
+        if (answer == null) {
+            try {
+                answer = new HashMap<>(System.getenv());
+            } catch (SecurityException e) {
+                LOG.error("SecurityException while taking a snapshot of environment variables", e);
+                answer = Collections.emptyMap();
+            }
+            this.environmentSnapshot = answer;
+        }
+        return answer;
+    }
+
+    private Map<String, String> getSystemPropertySnapshot() {
+        Map<String, String> answer = this.systemPropertySnapshot;
+        if (answer == null) {
+            try {
+                Properties props = System.getProperties();
+                answer = new HashMap<>();
+                for (String name : props.stringPropertyNames()) {
+                    answer.put(name, props.getProperty(name));
                 }
+            } catch (SecurityException e) {
+                LOG.error("SecurityException while taking a snapshot of Java system properties", e);
+                answer = Collections.emptyMap();
             }
+            this.systemPropertySnapshot = answer;
+        }
+        return answer;
+    }
+
+    /**
+     * Indexes the mapping defined properties by name. The first property wins if the name is
+     * duplicated. The index is kept as long as the mapping definition is alive, so that invoking
+     * this at context initialization moves the work out of the sessions.
+     *
+     * @param atlasMapping mapping definition
+     * @return the index
+     */
+    public MappingDefinedProperties indexMappingDefinedProperties(AtlasMapping atlasMapping) {
+        LastMappingDefinedIndex last = this.lastMappingDefinedIndex;
+        if (last != null && last.get() == atlasMapping) {
+            return last.index;
+        }
+        synchronized (mappingDefinedIndexes) {
+            MappingDefinedProperties answer = mappingDefinedIndexes.get(atlasMapping);
+            if (answer == null) {
+                answer = new MappingDefinedProperties(atlasMapping, getAtlasConversionService());
+                mappingDefinedIndexes.put(atlasMapping, answer);
+            }
+            this.lastMappingDefinedIndex = new LastMappingDefinedIndex(atlasMapping, answer);
+            return answer;
         }
     }
 
@@ -261,6 +325,79 @@ public class DefaultAtlasPropertyStrategy implements AtlasPropertyStrategy {
 
     public void setAtlasConversionService(AtlasConversionService atlasConversionService) {
         this.atlasConversionService = atlasConversionService;
+        refresh();
+    }
+
+    /**
+     * Mapping defined properties of a mapping definition indexed by name.
+     */
+    public static final class MappingDefinedProperties {
+        private final Map<String, MappingDefinedProperty> properties = new HashMap<>();
+
+        private MappingDefinedProperties(AtlasMapping mapping, AtlasConversionService conversionService) {
+            if (mapping.getProperties() == null || mapping.getProperties().getProperty() == null) {
+                return;
+            }
+            for (Property prop : mapping.getProperties().getProperty()) {
+                if (prop.getName() == null || properties.containsKey(prop.getName())) {
+                    continue;
+                }
+                MappingDefinedProperty entry = new MappingDefinedProperty(prop);
+                if (conversionService != null && prop.getFieldType() != null) {
+                    try {
+                        entry.getValue(conversionService, prop.getFieldType());
+                    } catch (AtlasConversionException e) {
+                        // reported when the property is actually used
+                        if (LOG.isDebugEnabled()) {
+                            LOG.debug(String.format("Unable to convert mapping defined property name=%s value=%s",
+                                    prop.getName(), prop.getValue()), e);
+                        }
+                    }
+                }
+                properties.put(prop.getName(), entry);
+            }
+        }
+
+        MappingDefinedProperty get(String name) {
+            return properties.get(name);
+        }
+
+        public int size() {
+            return properties.size();
+        }
+    }
+
+    /**
+     * Index of the mapping definition resolved last, which doesn't keep the mapping definition alive.
+     * Compared by identity as the mapping definition doesn't implement equals().
+     */
+    private static final class LastMappingDefinedIndex extends WeakReference<AtlasMapping> {
+        private final MappingDefinedProperties index;
+
+        private LastMappingDefinedIndex(AtlasMapping mapping, MappingDefinedProperties index) {
+            super(mapping);
+            this.index = index;
+        }
+    }
+
+    static final class MappingDefinedProperty {
+        private final Property property;
+        private final Map<FieldType, Object> convertedValues = new ConcurrentHashMap<>();
+
+        private MappingDefinedProperty(Property property) {
+            this.property = property;
+        }
+
+        Object getValue(AtlasConversionService conversionService, FieldType type) throws AtlasConversionException {
+            Object answer = convertedValues.get(type);
+            if (answer == null) {
+                answer = conversionService.convertType(property.getValue(), FieldType.STRING, type);
+                if (answer != null) {
+                    convertedValues.put(type, answer);
+                }
+            }
+            return answer;
+        }
     }
 
 }
@@ -16,7 +16,6 @@
 package io.atlasmap.core;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import io.atlasmap.spi.AtlasSeparateStrategy;
@@ -61,13 +60,23 @@ public class DefaultAtlasSeparateStrategy implements AtlasSeparateStrategy {
 
     @Override
     public List<String> separateValue(String value, String delimiter, Integer limit) {
-        List<String> values = new ArrayList<String>();
         if (value == null || value.isEmpty()) {
-            return values;
+            return new ArrayList<String>();
         }
 
-        values.addAll(Arrays.asList(((String) value).split((delimiter == null ? DEFAULT_SEPARATE_DELIMITER : delimiter),
-                (limit == null ? DEFAULT_SEPARATE_LIMIT : limit))));
-        return values;
+        return AtlasFormatCache.split(value, (delimiter == null ? DEFAULT_SEPARATE_DELIMITER : delimiter),
+                (limit == null ? DEFAULT_SEPARATE_LIMIT : limit));
+    }
+
+    @Override
+    public String separateValueAt(String value, String delimiter, int index) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+
+        String regex = delimiter != null ? delimiter : getDelimiter();
+        Integer limit = getLimit();
+        return AtlasFormatCache.split(value, (regex == null ? DEFAULT_SEPARATE_DELIMITER : regex),
+                (limit == null ? DEFAULT_SEPARATE_LIMIT : limit), index);
     }
 }
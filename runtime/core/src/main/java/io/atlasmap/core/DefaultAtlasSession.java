@@ -18,6 +18,7 @@ package io.atlasmap.core;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.OptionalInt;
 import java.util.concurrent.ConcurrentHashMap;
 
 import io.atlasmap.api.AtlasConstants;
@@ -46,6 +47,9 @@ public class DefaultAtlasSession implements AtlasInternalSession {
     private Map<String, AtlasFieldReader> fieldReaderMap = new HashMap<>();
     private Map<String, AtlasFieldWriter> fieldWriterMap = new HashMap<>();
     private Head head = new HeadImpl();
+    private AuditStatus auditLevel;
+    private DefaultAtlasContext.SessionPin contextStatePin;
+    private final SourceValueCache sourceValueCache = new SourceValueCache();
 
     public DefaultAtlasSession(AtlasMapping mapping) {
         initialize();
@@ -59,6 +63,31 @@ public class DefaultAtlasSession implements AtlasInternalSession {
         head.unset();
     }
 
+    /**
+     * Clears the documents, field readers and writers, properties, audits and validations so that
+     * the session can be reused for another message without reallocating its internal collections.
+     * The mapping definition and the context are kept.
+     */
+    public void reset() {
+        sourceMap.clear();
+        targetMap.clear();
+        fieldReaderMap.clear();
+        fieldWriterMap.clear();
+        sourceValueCache.clear();
+        properties.clear();
+        if (audits == null) {
+            audits = new Audits();
+        } else {
+            audits.getAudit().clear();
+        }
+        if (validations == null) {
+            validations = new Validations();
+        } else {
+            validations.getValidation().clear();
+        }
+        head.unset();
+    }
+
     @Override
     public AtlasContext getAtlasContext() {
         return atlasContext;
@@ -66,10 +95,45 @@ public class DefaultAtlasSession implements AtlasInternalSession {
 
     @Override
     public void setAtlasContext(AtlasContext atlasContext) {
+        if (this.atlasContext != atlasContext) {
+            setContextStatePin(null);
+        }
         this.atlasContext = atlasContext;
+        if (atlasContext instanceof DefaultAtlasContext) {
+            this.auditLevel = ((DefaultAtlasContext) atlasContext).getAuditLevel();
+        }
         head.unset();
     }
 
+    DefaultAtlasContext.ContextState getContextState() {
+        DefaultAtlasContext.SessionPin pin = this.contextStatePin;
+        return pin != null ? pin.getState() : null;
+    }
+
+    /**
+     * Binds the session to the state of the pin and releases the previous one, if any.
+     */
+    void setContextStatePin(DefaultAtlasContext.SessionPin pin) {
+        DefaultAtlasContext.SessionPin previous = this.contextStatePin;
+        this.contextStatePin = pin;
+        if (previous != null) {
+            previous.release();
+        }
+    }
+
+    SourceValueCache getSourceValueCache() {
+        return sourceValueCache;
+    }
+
+    @Override
+    public AuditStatus getAuditLevel() {
+        return auditLevel;
+    }
+
+    public void setAuditLevel(AuditStatus auditLevel) {
+        this.auditLevel = auditLevel;
+    }
+
     @Override
     public AtlasMapping getMapping() {
         return mapping;
@@ -85,8 +149,27 @@ public class DefaultAtlasSession implements AtlasInternalSession {
         this.validations = validations;
     }
 
+    /**
+     * Formats the messages of the {@link DeferredAudit}s first, since JAXB reads the message field
+     * of an {@link Audit} directly when the audits are marshalled.
+     */
     @Override
     public Audits getAudits() {
+        if (this.audits != null) {
+            for (Audit audit : this.audits.getAudit()) {
+                if (audit instanceof DeferredAudit) {
+                    audit.getMessage();
+                }
+            }
+        }
+        return this.audits;
+    }
+
+    /**
+     * Same as {@link #getAudits()} without formatting the deferred messages, for the processing
+     * which only adds audits or reads their status.
+     */
+    Audits audits() {
         return this.audits;
     }
 
@@ -108,13 +191,12 @@ public class DefaultAtlasSession implements AtlasInternalSession {
         if (sourceMap.containsKey(docId)) {
             return sourceMap.get(docId);
         } else if (sourceMap.size() == 1 && sourceMap.containsKey(AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID)) {
-            AtlasUtil.addAudit(this, null, String.format(
-                    "There's no source document with docId='%s', returning default", docId),
-                    null, AuditStatus.WARN, null);
+            AtlasUtil.addAudit(this, null, null, null, AuditStatus.WARN,
+                    "There's no source document with docId='%s', returning default", docId);
             return getDefaultSourceDocument();
         }
-        AtlasUtil.addAudit(this, null, String.format(
-                "There's no source document with docId='%s'", docId), null, AuditStatus.WARN, null);
+        AtlasUtil.addAudit(this, null, null, null, AuditStatus.WARN, "There's no source document with docId='%s'",
+                docId);
         return null;
     }
 
@@ -144,13 +226,12 @@ public class DefaultAtlasSession implements AtlasInternalSession {
         if (targetMap.containsKey(docId)) {
             return targetMap.get(docId);
         } else if (targetMap.size() == 1 && targetMap.containsKey(AtlasConstants.DEFAULT_TARGET_DOCUMENT_ID)) {
-            AtlasUtil.addAudit(this, null, String.format(
-                    "There's no target document with docId='%s', returning default", docId),
-                    null, AuditStatus.WARN, null);
+            AtlasUtil.addAudit(this, null, null, null, AuditStatus.WARN,
+                    "There's no target document with docId='%s', returning default", docId);
             return getDefaultTargetDocument();
         }
-        AtlasUtil.addAudit(this, null, String.format(
-                "There's no target document with docId='%s'", docId), null, AuditStatus.WARN, null);
+        AtlasUtil.addAudit(this, null, null, null, AuditStatus.WARN, "There's no target document with docId='%s'",
+                docId);
         return null;
     }
 
@@ -275,7 +356,7 @@ public class DefaultAtlasSession implements AtlasInternalSession {
     @Override
     public Integer errorCount() {
         int e = 0;
-        for (Audit audit : getAudits().getAudit()) {
+        for (Audit audit : audits().getAudit()) {
             if (AuditStatus.ERROR.equals(audit.getStatus())) {
                 e++;
             }
@@ -285,7 +366,7 @@ public class DefaultAtlasSession implements AtlasInternalSession {
 
     @Override
     public boolean hasErrors() {
-        for (Audit audit : getAudits().getAudit()) {
+        for (Audit audit : audits().getAudit()) {
             if (AuditStatus.ERROR.equals(audit.getStatus())) {
                 return true;
             }
@@ -295,7 +376,7 @@ public class DefaultAtlasSession implements AtlasInternalSession {
 
     @Override
     public boolean hasWarns() {
-        for (Audit audit : getAudits().getAudit()) {
+        for (Audit audit : audits().getAudit()) {
             if (AuditStatus.WARN.equals(audit.getStatus())) {
                 return true;
             }
@@ -306,7 +387,7 @@ public class DefaultAtlasSession implements AtlasInternalSession {
     @Override
     public Integer warnCount() {
         int w = 0;
-        for (Audit audit : getAudits().getAudit()) {
+        for (Audit audit : audits().getAudit()) {
             if (AuditStatus.WARN.equals(audit.getStatus())) {
                 w++;
             }
@@ -319,6 +400,7 @@ public class DefaultAtlasSession implements AtlasInternalSession {
         private LookupTable lookupTable;
         private Field sourceField;
         private Field targetField;
+        private OptionalInt collectionIndex = OptionalInt.empty();
 
         @Override
         public Mapping getMapping() {
@@ -340,6 +422,11 @@ public class DefaultAtlasSession implements AtlasInternalSession {
             return this.targetField;
         }
 
+        @Override
+        public OptionalInt getCollectionIndex() {
+            return this.collectionIndex;
+        }
+
         @Override
         public Head setMapping(Mapping mapping) {
             this.mapping = mapping;
@@ -364,12 +451,19 @@ public class DefaultAtlasSession implements AtlasInternalSession {
             return this;
         }
 
+        @Override
+        public Head setCollectionIndex(OptionalInt index) {
+            this.collectionIndex = index != null ? index : OptionalInt.empty();
+            return this;
+        }
+
         @Override
         public Head unset() {
             this.mapping = null;
             this.lookupTable = null;
             this.sourceField = null;
             this.targetField = null;
+            this.collectionIndex = OptionalInt.empty();
             return this;
         }
 
@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.io.ObjectStreamException;
+
+import io.atlasmap.v2.Audit;
+
+/**
+ * An {@link Audit} which keeps the message format and its arguments, and formats the message
+ * with {@link String#format(String, Object...)} only once it's read. Most audits recorded while
+ * processing are never rendered, so this saves the formatting cost on those.
+ */
+public class DeferredAudit extends Audit {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient String format;
+    private transient Object[] args;
+
+    public DeferredAudit(String format, Object... args) {
+        this.format = format;
+        this.args = args;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public Object[] getArgs() {
+        return args;
+    }
+
+    @Override
+    public String getMessage() {
+        if (format != null) {
+            message = args == null || args.length == 0 ? format : String.format(format, args);
+            format = null;
+            args = null;
+        }
+        return message;
+    }
+
+    @Override
+    public void setMessage(String value) {
+        format = null;
+        args = null;
+        message = value;
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+
+    private Object writeReplace() throws ObjectStreamException {
+        // the arguments aren't necessarily serializable, format the message before Audit fields get written
+        getMessage();
+        return this;
+    }
+}
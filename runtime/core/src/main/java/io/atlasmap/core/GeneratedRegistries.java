@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.atlasmap.spi.AtlasConverterMethod;
+import io.atlasmap.spi.AtlasFieldActionMethod;
+import io.atlasmap.spi.AtlasGeneratedRegistry;
+
+/**
+ * Merges the {@link AtlasGeneratedRegistry} instances available to a class loader. A converter or
+ * field action class which isn't listed by any of them is scanned reflectively as before.
+ */
+final class GeneratedRegistries {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GeneratedRegistries.class);
+
+    private GeneratedRegistries() {
+    }
+
+    /**
+     * @param classLoader class loader to look the registries up from
+     * @return converter methods keyed by converter class name
+     */
+    static Map<String, List<AtlasConverterMethod>> getConverterMethods(ClassLoader classLoader) {
+        return merge(classLoader, AtlasGeneratedRegistry::getConverterMethods);
+    }
+
+    /**
+     * @param classLoader class loader to look the registries up from
+     * @return field action methods keyed by field action class name
+     */
+    static Map<String, List<AtlasFieldActionMethod>> getFieldActionMethods(ClassLoader classLoader) {
+        return merge(classLoader, AtlasGeneratedRegistry::getFieldActionMethods);
+    }
+
+    private static <T> Map<String, List<T>> merge(ClassLoader classLoader,
+            Function<AtlasGeneratedRegistry, Map<String, List<T>>> getter) {
+        Map<String, List<T>> answer = new HashMap<>();
+        try {
+            for (AtlasGeneratedRegistry registry : ServiceLoader.load(AtlasGeneratedRegistry.class, classLoader)) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Loading generated registry : " + registry.getClass().getName());
+                }
+                // the first registry listing a class wins, as the first converter method does
+                getter.apply(registry).forEach(answer::putIfAbsent);
+            }
+        } catch (ServiceConfigurationError e) {
+            LOG.warn("Failed to load generated registry, the remaining classes are scanned reflectively: "
+                    + e.getMessage(), e);
+        }
+        return answer;
+    }
+}
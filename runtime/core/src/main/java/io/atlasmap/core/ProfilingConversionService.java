@@ -0,0 +1,167 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.Optional;
+
+import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.api.AtlasConversionService;
+import io.atlasmap.api.AtlasConverter;
+import io.atlasmap.core.AtlasMappingProfiler.Category;
+import io.atlasmap.spi.AtlasPrimitiveValue;
+import io.atlasmap.v2.FieldType;
+
+/**
+ * {@link AtlasConversionService} decorator which records {@code convertType()} and {@code convertPrimitive()}
+ * calls made while the current thread is processing a sampled session.
+ */
+class ProfilingConversionService implements AtlasConversionService {
+
+    private final AtlasConversionService delegate;
+    private final AtlasMappingProfiler profiler;
+
+    ProfilingConversionService(AtlasConversionService delegate, AtlasMappingProfiler profiler) {
+        this.delegate = delegate;
+        this.profiler = profiler;
+    }
+
+    AtlasConversionService getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public Optional<AtlasConverter<?>> findMatchingConverter(FieldType source, FieldType target) {
+        return delegate.findMatchingConverter(source, target);
+    }
+
+    @Override
+    public Optional<AtlasConverter<?>> findMatchingConverter(String sourceClassName, String targetClassName) {
+        return delegate.findMatchingConverter(sourceClassName, targetClassName);
+    }
+
+    @Override
+    public Object copyPrimitive(Object sourceValue) {
+        return delegate.copyPrimitive(sourceValue);
+    }
+
+    @Override
+    public Object convertType(Object sourceValue, FieldType origSourceType, FieldType targetType)
+            throws AtlasConversionException {
+        if (!profiler.isSampling()) {
+            return delegate.convertType(sourceValue, origSourceType, targetType);
+        }
+        long bytes = profiler.getAllocatedBytes();
+        long start = System.nanoTime();
+        try {
+            return delegate.convertType(sourceValue, origSourceType, targetType);
+        } finally {
+            record(start, bytes);
+        }
+    }
+
+    @Override
+    public Object convertType(Object sourceValue, String sourceFormat, FieldType targetType, String targetFormat)
+            throws AtlasConversionException {
+        if (!profiler.isSampling()) {
+            return delegate.convertType(sourceValue, sourceFormat, targetType, targetFormat);
+        }
+        long bytes = profiler.getAllocatedBytes();
+        long start = System.nanoTime();
+        try {
+            return delegate.convertType(sourceValue, sourceFormat, targetType, targetFormat);
+        } finally {
+            record(start, bytes);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public Object convertType(Object sourceValue, String sourceFormat, Class targetType, String targetFormat)
+            throws AtlasConversionException {
+        if (!profiler.isSampling()) {
+            return delegate.convertType(sourceValue, sourceFormat, targetType, targetFormat);
+        }
+        long bytes = profiler.getAllocatedBytes();
+        long start = System.nanoTime();
+        try {
+            return delegate.convertType(sourceValue, sourceFormat, targetType, targetFormat);
+        } finally {
+            record(start, bytes);
+        }
+    }
+
+    @Override
+    public boolean convertPrimitive(AtlasPrimitiveValue source, FieldType targetType, AtlasPrimitiveValue target)
+            throws AtlasConversionException {
+        if (!profiler.isSampling()) {
+            return delegate.convertPrimitive(source, targetType, target);
+        }
+        long bytes = profiler.getAllocatedBytes();
+        long start = System.nanoTime();
+        try {
+            return delegate.convertPrimitive(source, targetType, target);
+        } finally {
+            record(start, bytes);
+        }
+    }
+
+    @Override
+    public Class<?> boxOrUnboxPrimitive(Class<?> clazz) {
+        return delegate.boxOrUnboxPrimitive(clazz);
+    }
+
+    @Override
+    public Class<?> classFromFieldType(FieldType fieldType) {
+        return delegate.classFromFieldType(fieldType);
+    }
+
+    @Override
+    public FieldType fieldTypeFromClass(Class<?> clazz) {
+        return delegate.fieldTypeFromClass(clazz);
+    }
+
+    @Override
+    public FieldType fieldTypeFromClass(String className) {
+        return delegate.fieldTypeFromClass(className);
+    }
+
+    @Override
+    public Boolean isPrimitive(String className) {
+        return delegate.isPrimitive(className);
+    }
+
+    @Override
+    public Boolean isPrimitive(Class<?> clazz) {
+        return delegate.isPrimitive(clazz);
+    }
+
+    @Override
+    public Boolean isPrimitive(FieldType fieldType) {
+        return delegate.isPrimitive(fieldType);
+    }
+
+    @Override
+    public Boolean isBoxedPrimitive(Class<?> clazz) {
+        return delegate.isBoxedPrimitive(clazz);
+    }
+
+    private void record(long start, long bytes) {
+        long elapsed = System.nanoTime() - start;
+        String field = profiler.getCurrentField();
+        profiler.record(Category.CONVERSION, field != null ? field : "<unknown>", elapsed,
+                profiler.getAllocatedBytes() - bytes);
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.List;
+
+import io.atlasmap.api.AtlasException;
+import io.atlasmap.api.AtlasFieldActionService;
+import io.atlasmap.core.AtlasMappingProfiler.Category;
+import io.atlasmap.v2.Action;
+import io.atlasmap.v2.ActionDetail;
+import io.atlasmap.v2.Actions;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldType;
+
+/**
+ * {@link AtlasFieldActionService} decorator which records action chains executed while
+ * the current thread is processing a sampled session.
+ */
+class ProfilingFieldActionService implements AtlasFieldActionService {
+
+    private final AtlasFieldActionService delegate;
+    private final AtlasMappingProfiler profiler;
+
+    ProfilingFieldActionService(AtlasFieldActionService delegate, AtlasMappingProfiler profiler) {
+        this.delegate = delegate;
+        this.profiler = profiler;
+    }
+
+    AtlasFieldActionService getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public List<ActionDetail> listActionDetails() {
+        return delegate.listActionDetails();
+    }
+
+    @Override
+    public void processActions(Actions actions, Field field) throws AtlasException {
+        if (!profiler.isSampling()) {
+            delegate.processActions(actions, field);
+            return;
+        }
+        long bytes = profiler.getAllocatedBytes();
+        long start = System.nanoTime();
+        try {
+            delegate.processActions(actions, field);
+        } finally {
+            record(start, bytes, field.getDocId() + ":" + field.getPath());
+        }
+    }
+
+    @Override
+    public Object processActions(Actions actions, Object sourceValue, FieldType targetType) throws AtlasException {
+        if (!profiler.isSampling()) {
+            return delegate.processActions(actions, sourceValue, targetType);
+        }
+        long bytes = profiler.getAllocatedBytes();
+        long start = System.nanoTime();
+        try {
+            return delegate.processActions(actions, sourceValue, targetType);
+        } finally {
+            String field = profiler.getCurrentField();
+            record(start, bytes, field != null ? field : "<unknown>");
+        }
+    }
+
+    @Override
+    public boolean isCollectionAction(Action action) {
+        return delegate.isCollectionAction(action);
+    }
+
+    private void record(long start, long bytes, String name) {
+        long elapsed = System.nanoTime() - start;
+        profiler.record(Category.ACTIONS, name, elapsed, profiler.getAllocatedBytes() - bytes);
+    }
+}
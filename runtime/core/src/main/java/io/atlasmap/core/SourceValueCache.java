@@ -0,0 +1,186 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.Set;
+
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
+import io.atlasmap.v2.ConstantField;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.PropertyField;
+
+/**
+ * Values read from the source documents for the source fields which are referenced by more than
+ * one mapping, so that each distinct (docId, path, type, format) is read only once per session.
+ * The cache belongs to a session and is cleared every time the session is processed.
+ */
+class SourceValueCache {
+
+    private final Map<Key, CachedValue> values = new HashMap<>();
+
+    /**
+     * Collects the source fields of the mapping definition whose value can be shared with another
+     * source field. Fields with actions are excluded as the actions are applied while reading.
+     *
+     * @param mapping mapping definition
+     * @return the shared source fields, compared by identity
+     */
+    static Set<Field> findSharedSourceFields(AtlasMapping mapping) {
+        Map<Key, Field> first = new HashMap<>();
+        Set<Field> answer = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (mapping == null || mapping.getMappings() == null) {
+            return answer;
+        }
+        collectSharedSourceFields(mapping.getMappings().getMapping(), first, answer);
+        return answer;
+    }
+
+    private static void collectSharedSourceFields(List<BaseMapping> mappings, Map<Key, Field> first,
+            Set<Field> answer) {
+        for (BaseMapping baseMapping : mappings) {
+            if (baseMapping instanceof Collection) {
+                Collection collection = (Collection) baseMapping;
+                if (collection.getMappings() != null) {
+                    collectSharedSourceFields(collection.getMappings().getMapping(), first, answer);
+                }
+                continue;
+            }
+            if (!(baseMapping instanceof Mapping)) {
+                continue;
+            }
+            for (Field field : ((Mapping) baseMapping).getInputField()) {
+                if (!isCacheable(field)) {
+                    continue;
+                }
+                Field previous = first.putIfAbsent(new Key(field, -1), field);
+                if (previous != null && previous != field) {
+                    answer.add(previous);
+                    answer.add(field);
+                }
+            }
+        }
+    }
+
+    private static boolean isCacheable(Field field) {
+        if (field instanceof ConstantField || field instanceof PropertyField || field.getPath() == null) {
+            return false;
+        }
+        return field.getActions() == null || field.getActions().getActions() == null
+                || field.getActions().getActions().isEmpty();
+    }
+
+    /**
+     * Takes the key before the field is read, as the reader may set the field type.
+     *
+     * @param field source field
+     * @param collectionIndex collection index bound to the field
+     * @return cache key
+     */
+    Key keyOf(Field field, OptionalInt collectionIndex) {
+        return new Key(field, collectionIndex.orElse(-1));
+    }
+
+    /**
+     * Applies the cached value to the field if the same source value was already read.
+     *
+     * @param key cache key
+     * @param field source field
+     * @return true if the cached value was applied
+     */
+    boolean apply(Key key, Field field) {
+        CachedValue cached = values.get(key);
+        if (cached == null) {
+            return false;
+        }
+        field.setValue(cached.value);
+        field.setFieldType(cached.fieldType);
+        return true;
+    }
+
+    void put(Key key, Field field) {
+        values.put(key, new CachedValue(field.getValue(), field.getFieldType()));
+    }
+
+    void clear() {
+        values.clear();
+    }
+
+    static final class Key {
+        private final Class<?> fieldClass;
+        private final String docId;
+        private final String path;
+        private final FieldType fieldType;
+        private final String format;
+        private final int collectionIndex;
+        private final int hash;
+
+        Key(Field field, int collectionIndex) {
+            this.fieldClass = field.getClass();
+            this.docId = field.getDocId();
+            this.path = field.getPath();
+            this.fieldType = field.getFieldType();
+            this.format = field.getFormat();
+            this.collectionIndex = collectionIndex;
+            // by hand rather than Objects.hash(), which allocates an array and boxes the index
+            int h = fieldClass.hashCode();
+            h = 31 * h + Objects.hashCode(docId);
+            h = 31 * h + Objects.hashCode(path);
+            h = 31 * h + Objects.hashCode(fieldType);
+            h = 31 * h + Objects.hashCode(format);
+            this.hash = 31 * h + collectionIndex;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return collectionIndex == other.collectionIndex && fieldClass == other.fieldClass
+                    && fieldType == other.fieldType && Objects.equals(path, other.path)
+                    && Objects.equals(docId, other.docId) && Objects.equals(format, other.format);
+        }
+    }
+
+    private static final class CachedValue {
+        private final Object value;
+        private final FieldType fieldType;
+
+        private CachedValue(Object value, FieldType fieldType) {
+            this.value = value;
+            this.fieldType = fieldType;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.TabularData;
+
+import io.atlasmap.mxbean.AtlasContextMXBean;
+import io.atlasmap.v2.AuditStatus;
+
+/**
+ * The MBean registered for a {@link DefaultAtlasContext}. The MBean server holds it strongly, so it
+ * only holds the context weakly, so that a context which is never closed can still be garbage
+ * collected. {@link DefaultAtlasContextFactory} unregisters it once the context is collected.
+ */
+final class WeakAtlasContextMXBean implements AtlasContextMXBean {
+
+    private final String uuid;
+    private final String className;
+    private final String version;
+    private final WeakReference<DefaultAtlasContext> context;
+
+    WeakAtlasContextMXBean(DefaultAtlasContext context) {
+        this.uuid = context.getUuid();
+        this.className = context.getClassName();
+        this.version = context.getVersion();
+        this.context = new WeakReference<>(context);
+    }
+
+    private DefaultAtlasContext context() {
+        DefaultAtlasContext answer = context.get();
+        if (answer == null) {
+            throw new IllegalStateException(String.format("AtlasContext %s was garbage collected", uuid));
+        }
+        return answer;
+    }
+
+    @Override
+    public String getUuid() {
+        return uuid;
+    }
+
+    @Override
+    public String getMappingName() {
+        return context().getMappingName();
+    }
+
+    @Override
+    public String getMappingUri() {
+        return context().getMappingUri();
+    }
+
+    @Override
+    public String getClassName() {
+        return className;
+    }
+
+    @Override
+    public String getThreadName() {
+        return context().getThreadName();
+    }
+
+    @Override
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public boolean isProfilingEnabled() {
+        return context().isProfilingEnabled();
+    }
+
+    @Override
+    public void setProfilingEnabled(boolean enabled) {
+        context().setProfilingEnabled(enabled);
+    }
+
+    @Override
+    public int getProfilingSampleRate() {
+        return context().getProfilingSampleRate();
+    }
+
+    @Override
+    public void setProfilingSampleRate(int sampleRate) {
+        context().setProfilingSampleRate(sampleRate);
+    }
+
+    @Override
+    public TabularData readProfilingReport() throws OpenDataException {
+        return context().readProfilingReport();
+    }
+
+    @Override
+    public void writeProfilingReport(String fileName) throws IOException {
+        context().writeProfilingReport(fileName);
+    }
+
+    @Override
+    public void resetProfiling() {
+        context().resetProfiling();
+    }
+
+    @Override
+    public AuditStatus getAuditLevel() {
+        return context().getAuditLevel();
+    }
+
+    @Override
+    public void setAuditLevel(AuditStatus auditLevel) {
+        context().setAuditLevel(auditLevel);
+    }
+}
@@ -17,6 +17,8 @@ package io.atlasmap.actions;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -64,7 +66,7 @@ public class NumberFieldActionsTest {
 
     @Test
     public void testAdd() {
-        assertEquals(BigDecimal.valueOf(10.0), NumberFieldActions.add(new Add(), new BigDecimal[] { BigDecimal.valueOf(1), BigDecimal.valueOf(2), BigDecimal.valueOf(3), BigDecimal.valueOf(4) }));
+        assertEquals(BigDecimal.valueOf(10), NumberFieldActions.add(new Add(), new BigDecimal[] { BigDecimal.valueOf(1), BigDecimal.valueOf(2), BigDecimal.valueOf(3), BigDecimal.valueOf(4) }));
         assertEquals(10.0, NumberFieldActions.add(new Add(), new double[] { 1.0, 2.0, 3.0, 4.0 }));
         assertEquals(10L, NumberFieldActions.add(new Add(), new int[] { 1, 2, 3, 4 }));
         assertEquals(10L, NumberFieldActions.add(new Add(), Arrays.asList(1, 2, 3, 4)));
@@ -371,7 +373,7 @@ public class NumberFieldActionsTest {
 
     @Test
     public void testSubtract() {
-        assertEquals(BigDecimal.valueOf(-8.0), NumberFieldActions.subtract(new Subtract(), new BigDecimal[] { BigDecimal.valueOf(1), BigDecimal.valueOf(2), BigDecimal.valueOf(3), BigDecimal.valueOf(4) }));
+        assertEquals(BigDecimal.valueOf(-8), NumberFieldActions.subtract(new Subtract(), new BigDecimal[] { BigDecimal.valueOf(1), BigDecimal.valueOf(2), BigDecimal.valueOf(3), BigDecimal.valueOf(4) }));
         assertEquals(-8.0, NumberFieldActions.subtract(new Subtract(), new double[] { 1.0, 2.0, 3.0, 4.0 }));
         assertEquals(-8L, NumberFieldActions.subtract(new Subtract(), new int[] { 1, 2, 3, 4 }));
         assertEquals(-8L, NumberFieldActions.subtract(new Subtract(), Arrays.asList(1, 2, 3, 4)));
@@ -417,7 +419,7 @@ public class NumberFieldActionsTest {
         assertNotNull(new NumberFieldActions());
         assertEquals(0, NumberFieldActions.multiply(new Multiply(), null));
 
-        assertEquals(new BigDecimal("24.0000"), NumberFieldActions.multiply(new Add(), new BigDecimal[] { BigDecimal.valueOf(1), BigDecimal.valueOf(2), BigDecimal.valueOf(3), BigDecimal.valueOf(4) }));
+        assertEquals(BigDecimal.valueOf(24), NumberFieldActions.multiply(new Add(), new BigDecimal[] { BigDecimal.valueOf(1), BigDecimal.valueOf(2), BigDecimal.valueOf(3), BigDecimal.valueOf(4) }));
         assertEquals(24.0, NumberFieldActions.multiply(new Multiply(), new double[] { 1.0, 2.0, 3.0, 4.0 }));
         assertEquals(24.0, NumberFieldActions.multiply(new Multiply(), new float[] { 1.0f, 2.0f, 3.0f, 4.0f }));
         assertEquals(24L, NumberFieldActions.multiply(new Multiply(), new int[] { 1, 2, 3, 4 }));
@@ -442,4 +444,77 @@ public class NumberFieldActionsTest {
         assertEquals(24L, NumberFieldActions.multiply(new Multiply(), new Object()));
     }
 
+    @Test
+    public void testPrimitiveArrays() {
+        assertEquals(10L, NumberFieldActions.add(new Add(), new long[] { 1L, 2L, 3L, 4L }));
+        assertEquals(10L, NumberFieldActions.add(new Add(), new byte[] { 1, 2, 3, 4 }));
+        assertEquals(10.0, NumberFieldActions.add(new Add(), new float[] { 1.0f, 2.0f, 3.0f, 4.0f }));
+        assertEquals(0L, NumberFieldActions.add(new Add(), new double[0]));
+        assertEquals(2.5, NumberFieldActions.average(new Average(), new long[] { 1L, 2L, 3L, 4L }));
+        assertTrue(Double.isNaN(NumberFieldActions.average(new Average(), new int[0]).doubleValue()));
+
+        assertEquals(4L, NumberFieldActions.maximum(new Maximum(), new long[] { 1L, 4L, 3L, 2L }));
+        assertEquals((byte) 4, NumberFieldActions.maximum(new Maximum(), new byte[] { 1, 4, 3, 2 }));
+        assertEquals(4.0f, NumberFieldActions.maximum(new Maximum(), new float[] { 1.0f, 4.0f, 3.0f, 2.0f }));
+        assertEquals(Long.MAX_VALUE, NumberFieldActions.maximum(new Maximum(), new long[] { Long.MAX_VALUE - 1, Long.MAX_VALUE }));
+        assertNull(NumberFieldActions.maximum(new Maximum(), new double[0]));
+        assertEquals(1L, NumberFieldActions.minimum(new Minimum(), new long[] { 4L, 1L, 3L, 2L }));
+        assertEquals(1.0f, NumberFieldActions.minimum(new Minimum(), new float[] { 4.0f, 1.0f, 3.0f, 2.0f }));
+        assertNull(NumberFieldActions.minimum(new Minimum(), new int[0]));
+
+        assertEquals(1, NumberFieldActions.subtract(new Subtract(), new int[] { 1 }));
+        assertEquals((byte) 1, NumberFieldActions.subtract(new Subtract(), new byte[] { 1 }));
+        assertEquals(1.0f, NumberFieldActions.subtract(new Subtract(), new float[] { 1.0f }));
+        assertEquals(-1.0, NumberFieldActions.subtract(new Subtract(), new float[] { 1.0f, 2.0f }));
+        assertNull(NumberFieldActions.subtract(new Subtract(), new long[0]));
+        assertEquals(4, NumberFieldActions.divide(new Divide(), new int[] { 4 }));
+        assertEquals(2.0, NumberFieldActions.divide(new Divide(), new long[] { 4L, 2L }));
+        assertEquals(1L, NumberFieldActions.multiply(new Multiply(), new double[0]));
+    }
+
+    @Test
+    public void testMixedCollections() {
+        assertEquals(7.5, NumberFieldActions.add(new Add(), Arrays.asList(1, 2L, 4.5f)));
+        assertEquals(BigDecimal.valueOf(7.5), NumberFieldActions.add(new Add(), Arrays.asList(1, BigDecimal.valueOf(2), 4.5)));
+        assertEquals(2.5, NumberFieldActions.average(new Average(), Arrays.asList(1, BigDecimal.valueOf(2), 4.5)));
+        assertEquals(-5.5, NumberFieldActions.subtract(new Subtract(), Arrays.asList(1, 2L, 4.5f)));
+        assertEquals(BigDecimal.valueOf(-5.5), NumberFieldActions.subtract(new Subtract(), Arrays.asList(1, BigDecimal.valueOf(2), 4.5)));
+        assertEquals(2, NumberFieldActions.subtract(new Subtract(), Arrays.asList(2)));
+        assertEquals(9.0, NumberFieldActions.multiply(new Multiply(), Arrays.asList(1, 2L, 4.5f)));
+    }
+
+    @Test
+    public void testHighScaleBigDecimal() {
+        BigDecimal tenth = new BigDecimal("0.1000000000000000000001");
+        BigDecimal fifth = new BigDecimal("0.2000000000000000000002");
+        assertEquals(new BigDecimal("0.3000000000000000000003"),
+                NumberFieldActions.add(new Add(), Arrays.asList(tenth, fifth)));
+        assertEquals(new BigDecimal("1.3000000000000000000003"),
+                NumberFieldActions.add(new Add(), Arrays.asList(1, tenth, fifth)));
+        assertEquals(new BigDecimal("-0.1000000000000000000001"),
+                NumberFieldActions.subtract(new Subtract(), Arrays.asList(tenth, fifth)));
+        assertEquals(tenth.multiply(fifth),
+                NumberFieldActions.multiply(new Multiply(), Arrays.asList(tenth, fifth)));
+        assertEquals(new BigDecimal("0.5"), NumberFieldActions.divide(new Divide(), Arrays.asList(tenth, fifth)));
+        assertEquals(new BigDecimal("9007199254740993.1000000000000000000001"),
+                NumberFieldActions.add(new Add(), Arrays.asList(9007199254740993L, tenth)));
+    }
+
+    @Test
+    public void testCompensatedSum() {
+        double[] values = new double[10001];
+        values[0] = 1.0;
+        Arrays.fill(values, 1, values.length, 1.0e-16);
+        assertEquals(1.0, NumberFieldActions.add(new Add(), values));
+
+        Add add = new Add();
+        add.setCompensated(true);
+        assertEquals(1.000000000001, NumberFieldActions.add(add, values).doubleValue(), 1.0e-15);
+        Average average = new Average();
+        average.setCompensated(true);
+        assertEquals(1.000000000001 / values.length,
+                NumberFieldActions.average(average, values).doubleValue(), 1.0e-18);
+        assertEquals(10.0, NumberFieldActions.add(add, Arrays.asList(1, 2.0, 3.0f, 4L)));
+    }
+
 }
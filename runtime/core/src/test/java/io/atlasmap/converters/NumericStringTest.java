@@ -0,0 +1,46 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.converters;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+public class NumericStringTest {
+
+    @Test
+    public void testClassify() {
+        for (String s : new String[] {"0", "123", "-123", "+7", "9223372036854775807", "-9223372036854775808",
+            "-000000000000000000000009223372036854775807", "00000000000000000000000"}) {
+            assertEquals(s, NumericString.INTEGER, NumericString.classify(s));
+            assertEquals(s, Long.parseLong(s), NumericString.parseLong(s));
+        }
+        for (String s : new String[] {"9223372036854775808", "-9223372036854775809", "123456789012345678901234",
+            "0009999999999999999999"}) {
+            assertEquals(s, NumericString.BIG_INTEGER, NumericString.classify(s));
+        }
+        for (String s : new String[] {"1.0", "-1.", ".5", "1e3", "1.5E-7", "+2.5e+10"}) {
+            assertEquals(s, NumericString.DECIMAL, NumericString.classify(s));
+            new BigDecimal(s);
+        }
+        for (String s : new String[] {"", "-", "+", ".", "1a", " 1", "1 ", "1e", "1e+", "1.2.3", "e5", "NaN",
+            "Infinity", "0x10", "1d", "1e9999999999", "١٢"}) {
+            assertEquals(s, NumericString.OTHER, NumericString.classify(s));
+        }
+    }
+}
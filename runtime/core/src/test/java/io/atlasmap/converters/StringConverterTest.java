@@ -262,6 +262,21 @@ public class StringConverterTest {
         assertEquals(0, i, 0.0);
     }
 
+    @Test
+    public void convertToIntegerAndLongFromDecimal() throws Exception {
+        assertEquals(Integer.valueOf(123), converter.convertToInteger("123.00"));
+        assertEquals(Integer.valueOf(1000), converter.convertToInteger("1e3"));
+        assertEquals(Integer.valueOf(5), converter.convertToInteger("+5"));
+        assertEquals(Long.valueOf(Long.MIN_VALUE), converter.convertToLong("-9223372036854775808"));
+        assertEquals(Long.valueOf(-12), converter.convertToLong("-12.0"));
+        assertEquals(Integer.valueOf(12), converter.convertToInteger("\u0661\u0662"));
+    }
+
+    @Test(expected = AtlasConversionException.class)
+    public void convertToIntegerFraction() throws Exception {
+        converter.convertToInteger("1.5");
+    }
+
     @Test
     public void convertToIntegerNull() throws Exception {
         Integer i = converter.convertToInteger(null);
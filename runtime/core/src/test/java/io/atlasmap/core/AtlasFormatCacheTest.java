@@ -0,0 +1,102 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+public class AtlasFormatCacheTest {
+
+    @Test
+    public void testCache() {
+        AtlasFormatCache.clearCache();
+        assertSame(AtlasFormatCache.dateTimeFormatter("yyyy-MM-dd"), AtlasFormatCache.dateTimeFormatter("yyyy-MM-dd"));
+        assertSame(AtlasFormatCache.pattern("\\s+"), AtlasFormatCache.pattern("\\s+"));
+        assertSame(AtlasFormatCache.tokens("yes|no", '|'), AtlasFormatCache.tokens("yes|no", '|'));
+        assertEquals(3, AtlasFormatCache.getCacheSize());
+        Pattern hot = AtlasFormatCache.pattern("\\s+");
+        for (int i = 0; i < AtlasFormatCache.MAX_CACHE_SIZE * 2; i++) {
+            AtlasFormatCache.pattern("a{" + i + "}");
+            assertSame(hot, AtlasFormatCache.pattern("\\s+"));
+        }
+        assertTrue(AtlasFormatCache.getCacheSize() <= AtlasFormatCache.MAX_CACHE_SIZE + 2);
+    }
+
+    @Test
+    public void testTokens() {
+        for (String format : Arrays.asList("true|false", "yes|", "|no", "a|b|c", "||", "single", "")) {
+            assertArrayEquals(format, format.split("\\|"), AtlasFormatCache.tokens(format, '|'));
+        }
+    }
+
+    @Test
+    public void testIsLiteral() {
+        assertTrue(AtlasFormatCache.isLiteral("abc"));
+        assertTrue(AtlasFormatCache.isLiteral(", "));
+        assertFalse(AtlasFormatCache.isLiteral("\\s"));
+        assertFalse(AtlasFormatCache.isLiteral("a.c"));
+        assertFalse(AtlasFormatCache.isLiteral("a|b"));
+    }
+
+    @Test
+    public void testReplace() {
+        String input = "foo bar foo baz foo";
+        for (String regex : Arrays.asList("", "foo", "o", "ba.", "x", "foo bar foo baz foo")) {
+            for (String replacement : Arrays.asList("", "qux", "$0!", "\\$")) {
+                assertEquals(input.replaceAll(regex, replacement),
+                        AtlasFormatCache.replaceAll(input, regex, replacement));
+                assertEquals(input.replaceFirst(regex, replacement),
+                        AtlasFormatCache.replaceFirst(input, regex, replacement));
+            }
+        }
+    }
+
+    @Test
+    public void testSplit() {
+        for (String input : Arrays.asList("a,b,c", ",a,,b,", "abc", ",", ",,", "", "a, b, c", "a,b,c,,,")) {
+            for (String regex : Arrays.asList(",", ", ", "\\s*,\\s*", "b")) {
+                for (int limit : new int[] {-1, 0, 1, 2, 512}) {
+                    assertEquals(input + " " + regex + " " + limit, Arrays.asList(input.split(regex, limit)),
+                            AtlasFormatCache.split(input, regex, limit));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSplitIndex() {
+        for (String input : Arrays.asList("a,b,c", ",a,,b,", "abc", ",", "", " a  b\tc\n", "a b ", "  ", "a,, b")) {
+            for (String regex : Arrays.asList(",", ", ", "\\s", "\\s+", "\\s*,\\s*")) {
+                for (int limit : new int[] {-1, 0, 1, 2, 3, 512}) {
+                    String[] expected = input.split(regex, limit);
+                    for (int index = -1; index <= expected.length + 1; index++) {
+                        assertEquals(input + " " + regex + " " + limit + " " + index,
+                                index >= 0 && index < expected.length ? expected[index] : null,
+                                AtlasFormatCache.split(input, regex, limit, index));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.atlasmap.api.AtlasConversionService;
+import io.atlasmap.core.AtlasMappingProfiler.Category;
+import io.atlasmap.core.AtlasMappingProfiler.Entry;
+import io.atlasmap.v2.FieldType;
+
+public class AtlasMappingProfilerTest {
+
+    @Test
+    public void testSampling() {
+        AtlasMappingProfiler profiler = new AtlasMappingProfiler();
+        profiler.setSampleRate(3);
+        assertTrue(profiler.beginSession());
+        assertTrue(profiler.isSampling());
+        profiler.endSession();
+        assertFalse(profiler.isSampling());
+        assertFalse(profiler.beginSession());
+        assertFalse(profiler.beginSession());
+        assertTrue(profiler.beginSession());
+        profiler.endSession();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSampleRate() {
+        new AtlasMappingProfiler().setSampleRate(0);
+    }
+
+    @Test
+    public void testRanking() throws Exception {
+        AtlasMappingProfiler profiler = new AtlasMappingProfiler();
+        profiler.record(Category.SOURCE, "fast", 10L, 0L);
+        profiler.record(Category.SOURCE, "slow", 1000L, 64L);
+        profiler.record(Category.SOURCE, "slow", 3000L, 64L);
+        List<Entry> ranked = profiler.getRankedEntries();
+        assertEquals(2, ranked.size());
+        assertEquals("slow", ranked.get(0).getName());
+        assertEquals(2L, ranked.get(0).getCount());
+        assertEquals(2000L, ranked.get(0).getAverageTime());
+        assertEquals(3000L, ranked.get(0).getMaxTime());
+        assertEquals(128L, ranked.get(0).getTotalAllocatedBytes());
+
+        TabularData data = profiler.toTabularData();
+        CompositeData first = data.get(new Object[] { 1 });
+        assertEquals("slow", first.get("name"));
+        assertEquals("SOURCE", first.get("category"));
+
+        profiler.reset();
+        assertTrue(profiler.getRankedEntries().isEmpty());
+    }
+
+    @Test
+    public void testWriteJsonReport() throws Exception {
+        AtlasMappingProfiler profiler = new AtlasMappingProfiler();
+        profiler.record(Category.MAPPING, "mapping[0]", 100L, 0L);
+        File file = File.createTempFile("atlas-profile", ".json");
+        file.deleteOnExit();
+        profiler.writeJsonReport(file);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> report = new ObjectMapper().readValue(Files.readAllBytes(file.toPath()), Map.class);
+        List<?> entries = (List<?>) report.get("entries");
+        assertEquals(1, entries.size());
+        assertEquals("mapping[0]", ((Map<?, ?>) entries.get(0)).get("name"));
+    }
+
+    @Test
+    public void testConversionServiceWrapper() throws Exception {
+        AtlasMappingProfiler profiler = new AtlasMappingProfiler();
+        AtlasConversionService service = profiler.wrap(DefaultAtlasConversionService.getInstance());
+        assertTrue(service instanceof ProfilingConversionService);
+        assertSame(service, profiler.wrap(service));
+
+        service.convertType("1", FieldType.STRING, FieldType.INTEGER);
+        assertTrue(profiler.getRankedEntries().isEmpty());
+
+        profiler.beginSession();
+        profiler.setCurrentField("docId:/foo");
+        assertEquals(1, service.convertType("1", FieldType.STRING, FieldType.INTEGER));
+        profiler.endSession();
+        List<Entry> entries = profiler.getRankedEntries();
+        assertEquals(1, entries.size());
+        assertNotNull(entries.get(0));
+        assertEquals(Category.CONVERSION, entries.get(0).getCategory());
+        assertEquals("docId:/foo", entries.get(0).getName());
+    }
+}
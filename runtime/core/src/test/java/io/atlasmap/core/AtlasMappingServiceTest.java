@@ -1,15 +1,26 @@
 package io.atlasmap.core;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileReader;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.net.URI;
 import java.net.URL;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 
 import javax.xml.bind.JAXBContext;
@@ -22,6 +33,7 @@ import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasValidationException;
 import io.atlasmap.core.AtlasMappingService.AtlasMappingFormat;
 import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.Json;
 import io.atlasmap.v2.Mapping;
 import io.atlasmap.v2.Mappings;
 
@@ -226,4 +238,102 @@ public class AtlasMappingServiceTest {
         File file = Paths.get("target" + File.separator + "generated-test-sources" + File.separator + "atlasmapping.xml").toFile();
         atlasMappingService.saveMappingAsXmlFile(atlasMapping, file);
     }
+
+    @Test
+    public void testJAXBContextCreatedLazily() throws Exception {
+        AtlasMappingService atlasMappingService = new AtlasMappingService();
+        assertFalse(atlasMappingService.isJAXBContextCreated());
+
+        File file = Paths.get("src" + File.separator + "test" + File.separator + "resources" + File.separator + "atlasmapping.json").toFile();
+        assertNotNull(atlasMappingService.loadMapping(file, AtlasMappingFormat.JSON));
+        assertFalse(atlasMappingService.isJAXBContextCreated());
+
+        file = Paths.get("src" + File.separator + "test" + File.separator + "resources" + File.separator + "atlasmapping.xml").toFile();
+        AtlasMapping first = atlasMappingService.loadMapping(file);
+        assertTrue(atlasMappingService.isJAXBContextCreated());
+        // the second load reuses the pooled unmarshaller
+        AtlasMapping second = atlasMappingService.loadMapping(file);
+        assertEquals(first.getName(), second.getName());
+    }
+
+    @Test
+    public void testJAXBContextShared() {
+        List<String> modulePackages = new ArrayList<>();
+        modulePackages.add("io.atlasmap.v2");
+        assertSame(new AtlasMappingService().getJAXBContext(),
+                new AtlasMappingService(modulePackages).getJAXBContext());
+    }
+
+    @Test
+    public void testSaveAndLoadMappingBinary() throws Exception {
+        File file = Paths.get("src" + File.separator + "test" + File.separator + "resources" + File.separator + "atlasmapping.xml").toFile();
+        AtlasMapping expected = atlasMappingService.loadMapping(file);
+
+        File binary = Paths.get("target" + File.separator + "generated-test-sources" + File.separator + "atlasmapping.bin").toFile();
+        binary.getParentFile().mkdirs();
+        atlasMappingService.saveMappingAsFile(expected, binary, AtlasMappingFormat.BINARY);
+        AtlasMapping actual = atlasMappingService.loadMapping(binary, AtlasMappingFormat.BINARY);
+        assertEquals(Json.mapper().writeValueAsString(expected), Json.mapper().writeValueAsString(actual));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        atlasMappingService.writeMappingAsBinary(expected, out);
+        actual = atlasMappingService.loadMapping(new ByteArrayInputStream(out.toByteArray()), AtlasMappingFormat.BINARY);
+        assertEquals(Json.mapper().writeValueAsString(expected), Json.mapper().writeValueAsString(actual));
+    }
+
+    @Test(expected = AtlasValidationException.class)
+    public void testLoadMappingBinaryNotBinary() throws Exception {
+        File file = Paths.get("src" + File.separator + "test" + File.separator + "resources" + File.separator + "atlasmapping.xml").toFile();
+        atlasMappingService.loadMapping(file, AtlasMappingFormat.BINARY);
+    }
+
+    @Test(expected = AtlasValidationException.class)
+    public void testLoadMappingBinaryClassNotAllowed() throws Exception {
+        atlasMappingService.loadMapping(binaryMappingOf(new HashSet<String>()), AtlasMappingFormat.BINARY);
+    }
+
+    @Test
+    public void testLoadMappingBinaryNonModelClassNotAllowed() throws Exception {
+        try {
+            atlasMappingService.loadMapping(binaryMappingOf(new AtlasException("not a model class")),
+                    AtlasMappingFormat.BINARY);
+            fail("AtlasValidationException expected");
+        } catch (AtlasValidationException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("not allowed"));
+        }
+    }
+
+    @Test
+    public void testLoadMappingBinaryTooDeep() throws Exception {
+        List<Object> deep = new ArrayList<>();
+        List<Object> current = deep;
+        for (int i = 0; i < AtlasMappingBinaryFormat.MAX_DEPTH; i++) {
+            List<Object> nested = new ArrayList<>();
+            current.add(nested);
+            current = nested;
+        }
+        try {
+            atlasMappingService.loadMapping(binaryMappingOf(deep), AtlasMappingFormat.BINARY);
+            fail("AtlasValidationException expected");
+        } catch (AtlasValidationException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("REJECTED"));
+        }
+    }
+
+    private ByteArrayInputStream binaryMappingOf(Object content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(AtlasMappingBinaryFormat.MAGIC);
+        data.writeShort(AtlasMappingBinaryFormat.FORMAT_VERSION);
+        data.writeUTF(AtlasMappingBinaryFormat.getAtlasVersion());
+        ObjectOutputStream objects = new ObjectOutputStream(data);
+        objects.writeObject(content);
+        objects.flush();
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    @Test(expected = AtlasValidationException.class)
+    public void testLoadMappingBinaryReader() throws Exception {
+        atlasMappingService.loadMapping(new BufferedReader(new FileReader("pom.xml")), AtlasMappingFormat.BINARY);
+    }
 }
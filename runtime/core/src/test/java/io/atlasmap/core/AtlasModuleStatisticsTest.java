@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.junit.Test;
+
+import io.atlasmap.core.AtlasModuleStatistics.ExecutionStatistics;
+
+public class AtlasModuleStatisticsTest {
+
+    @Test
+    public void testRecord() {
+        AtlasModuleStatistics stats = new AtlasModuleStatistics();
+        ExecutionStatistics source = stats.getSource();
+        source.record(100L, true);
+        source.record(5000L, true);
+        source.record(2000L, false);
+        assertEquals(3L, source.getCount());
+        assertEquals(2L, source.getSuccessCount());
+        assertEquals(1L, source.getErrorCount());
+        assertEquals(100L, source.getMinExecutionTime());
+        assertEquals(5000L, source.getMaxExecutionTime());
+        assertEquals(7100L, source.getTotalExecutionTime());
+        assertEquals(0L, stats.getTarget().getCount());
+        assertEquals(0L, stats.getTarget().getMinExecutionTime());
+    }
+
+    @Test
+    public void testPercentile() {
+        ExecutionStatistics stats = new ExecutionStatistics();
+        for (int i = 0; i < 99; i++) {
+            stats.record(500L, true);
+        }
+        stats.record(1_000_000L, true);
+        assertTrue(stats.getPercentileExecutionTime(0.5) < 1024L);
+        assertEquals(1_000_000L, stats.getPercentileExecutionTime(1.0));
+    }
+
+    @Test
+    public void testBucketOf() {
+        assertEquals(0, ExecutionStatistics.bucketOf(0L));
+        assertEquals(0, ExecutionStatistics.bucketOf(1023L));
+        assertEquals(1, ExecutionStatistics.bucketOf(1024L));
+        assertEquals(ExecutionStatistics.HISTOGRAM_BUCKETS - 1, ExecutionStatistics.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testReadAndReset() throws Exception {
+        AtlasModuleStatistics stats = new AtlasModuleStatistics();
+        stats.getSource().record(10L, true);
+        stats.getTarget().record(20L, false);
+        stats.getTarget().record(30L, true);
+        TabularData data = stats.readAndReset();
+        assertNotNull(data);
+        assertEquals(2, data.size());
+        CompositeData target = data.get(new Object[] { AtlasModuleStatistics.DIRECTION_TARGET });
+        assertEquals(2L, target.get("count"));
+        assertEquals(1L, target.get("errorCount"));
+        assertEquals(20L, target.get("minExecutionTime"));
+        assertEquals(30L, target.get("maxExecutionTime"));
+        assertEquals(0L, stats.getSource().getCount());
+        assertEquals(0L, stats.getTarget().getTotalExecutionTime());
+    }
+
+    @Test
+    public void testEnabled() {
+        AtlasModuleStatistics stats = new AtlasModuleStatistics();
+        assertFalse(stats.isEnabled());
+        stats.setEnabled(true);
+        assertTrue(stats.isEnabled());
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasConversionException;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.spi.AtlasSessionListener;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.SimpleField;
+
+public class AtlasSessionListenerSupportTest {
+
+    @Test
+    public void testAddRemove() {
+        AtlasSessionListenerSupport support = new AtlasSessionListenerSupport();
+        assertFalse(support.hasListeners());
+        AtlasSessionListener listener = new AtlasSessionListener() { };
+        support.addListener(listener);
+        support.addListener(null);
+        assertTrue(support.hasListeners());
+        assertEquals(1, support.getListeners().size());
+        assertTrue(support.removeListener(listener));
+        assertFalse(support.removeListener(listener));
+        assertFalse(support.hasListeners());
+    }
+
+    @Test
+    public void testFailingListenerIsIsolated() {
+        AtlasSessionListenerSupport support = new AtlasSessionListenerSupport();
+        List<String> events = new ArrayList<>();
+        support.addListener(new AtlasSessionListener() {
+            @Override
+            public void onSessionStart(AtlasSession session) {
+                throw new IllegalStateException("expected");
+            }
+        });
+        support.addListener(new AtlasSessionListener() {
+            @Override
+            public void onSessionStart(AtlasSession session) {
+                events.add("start");
+            }
+        });
+        support.fireSessionStart(null);
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    public void testNotifyConversionFailure() {
+        DefaultAtlasContextFactory factory = mock(DefaultAtlasContextFactory.class);
+        AtlasSessionListenerSupport support = new AtlasSessionListenerSupport();
+        when(factory.getSessionListenerSupport()).thenReturn(support);
+        AtlasContext context = mock(AtlasContext.class);
+        when(context.getContextFactory()).thenReturn(factory);
+        AtlasSession session = mock(AtlasSession.class);
+        when(session.getAtlasContext()).thenReturn(context);
+
+        List<Field> failed = new ArrayList<>();
+        support.addListener(new AtlasSessionListener() {
+            @Override
+            public void onConversionFailure(AtlasSession session, Field sourceField, Field targetField,
+                    AtlasConversionException e) {
+                failed.add(targetField);
+            }
+        });
+        Field target = new SimpleField();
+        AtlasSessionListenerSupport.notifyConversionFailure(session, null, target,
+                new AtlasConversionException("expected"));
+        AtlasSessionListenerSupport.notifyConversionFailure(null, null, target,
+                new AtlasConversionException("ignored"));
+        assertEquals(1, failed.size());
+        assertEquals(target, failed.get(0));
+    }
+}
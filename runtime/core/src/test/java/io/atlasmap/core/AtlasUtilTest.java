@@ -35,6 +35,8 @@ import java.util.stream.Collectors;
 
 import org.junit.Test;
 
+import io.atlasmap.v2.Audit;
+import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.ValidationStatus;
 
 public class AtlasUtilTest {
@@ -262,4 +264,31 @@ public class AtlasUtilTest {
         assertNotNull(AtlasUtil.toAuditStatus(ValidationStatus.ALL));
         assertNotNull(AtlasUtil.toAuditStatus(ValidationStatus.NONE));
     }
+
+    @Test
+    public void testAddAuditBelowAuditLevel() {
+        DefaultAtlasSession session = new DefaultAtlasSession(null);
+        session.setAuditLevel(AuditStatus.ERROR);
+        AtlasUtil.addAudit(session, "docId", "path", null, AuditStatus.WARN, "skipped %s", "warn");
+        AtlasUtil.addAudit(session, "docId", "skipped", "path", AuditStatus.INFO, null);
+        assertTrue(session.getAudits().getAudit().isEmpty());
+
+        AtlasUtil.addAudit(session, "docId", "path", "value", AuditStatus.ERROR, "failed %s=%s", "path", 1);
+        assertEquals(1, session.getAudits().getAudit().size());
+        Audit audit = session.getAudits().getAudit().get(0);
+        assertEquals("docId", audit.getDocId());
+        assertEquals("path", audit.getPath());
+        assertEquals("value", audit.getValue());
+        assertEquals("failed path=1", audit.getMessage());
+        assertTrue(session.hasErrors());
+
+        session.setAuditLevel(AuditStatus.WARN);
+        assertTrue(AtlasUtil.isAuditEnabled(session, AuditStatus.WARN));
+        assertFalse(AtlasUtil.isAuditEnabled(session, AuditStatus.INFO));
+        session.setAuditLevel(AuditStatus.NONE);
+        assertFalse(AtlasUtil.isAuditEnabled(session, AuditStatus.WARN));
+        assertTrue(AtlasUtil.isAuditEnabled(session, AuditStatus.ERROR));
+        session.setAuditLevel(null);
+        assertTrue(AtlasUtil.isAuditEnabled(session, AuditStatus.INFO));
+    }
 }
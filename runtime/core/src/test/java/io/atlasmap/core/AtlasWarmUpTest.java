@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.atlasmap.api.AtlasWarmUpResult;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.FieldType;
+
+public class AtlasWarmUpTest {
+
+    @Test
+    public void testStabilized() {
+        AtlasWarmUp warmUp = new AtlasWarmUp();
+        assertFalse(warmUp.record(50_000L, false));
+        for (int i = 1; i < AtlasWarmUp.WINDOW_SIZE; i++) {
+            assertFalse(warmUp.record(10_000L, false));
+        }
+        int windows = 1;
+        boolean stabilized = false;
+        while (!stabilized) {
+            for (int i = 0; i < AtlasWarmUp.WINDOW_SIZE; i++) {
+                stabilized = warmUp.record(i % 2 == 0 ? 1_000L : 1_050L, false);
+            }
+            windows++;
+        }
+        // the first window doesn't count, the second one differs from it
+        assertEquals(AtlasWarmUp.STABLE_WINDOWS + 2, windows);
+        AtlasWarmUpResult result = warmUp.toResult();
+        assertTrue(result.isStabilized());
+        assertEquals(windows * AtlasWarmUp.WINDOW_SIZE, result.getIterations());
+        assertEquals(50_000L, result.getFirstLatency());
+        assertEquals(1_050L, result.getLatency());
+        assertEquals(0, result.getFailedIterations());
+    }
+
+    @Test
+    public void testNotStabilized() {
+        AtlasWarmUp warmUp = new AtlasWarmUp();
+        long latency = 100_000L;
+        for (int i = 0; i < AtlasWarmUp.WINDOW_SIZE * 10; i++) {
+            if (i % AtlasWarmUp.WINDOW_SIZE == 0) {
+                latency /= 2;
+            }
+            assertFalse(warmUp.record(latency, i % 3 == 0));
+        }
+        AtlasWarmUpResult result = warmUp.toResult();
+        assertFalse(result.isStabilized());
+        assertEquals(AtlasWarmUp.WINDOW_SIZE * 10, result.getIterations());
+        assertEquals(AtlasWarmUp.WINDOW_SIZE * 10 / 3 + 1, result.getFailedIterations());
+        assertEquals(latency, result.getLatency());
+    }
+
+    @Test
+    public void testPartialWindow() {
+        AtlasWarmUp warmUp = new AtlasWarmUp();
+        assertEquals(0L, warmUp.toResult().getLatency());
+        warmUp.record(300L, false);
+        warmUp.record(100L, false);
+        warmUp.record(200L, false);
+        assertEquals(200L, warmUp.toResult().getLatency());
+    }
+
+    @Test
+    public void testSampleValue() {
+        assertEquals("1", AtlasWarmUp.sampleValue(FieldType.STRING));
+        assertEquals("1", AtlasWarmUp.sampleValue(null));
+        assertEquals(1, AtlasWarmUp.sampleValue(FieldType.INTEGER));
+        assertEquals(1L, AtlasWarmUp.sampleValue(FieldType.LONG));
+        assertEquals(Boolean.TRUE, AtlasWarmUp.sampleValue(FieldType.BOOLEAN));
+        assertNull(AtlasWarmUp.sampleValue(FieldType.COMPLEX));
+        assertNull(AtlasWarmUp.sampleValue(FieldType.DATE_TIME));
+    }
+
+    @Test
+    public void testNoSourceDocument() throws Exception {
+        AtlasMapping mapping = AtlasTestData.generateAtlasMapping();
+        DefaultAtlasContext context = new DefaultAtlasContext(DefaultAtlasContextFactory.getInstance(), mapping);
+        assertTrue(AtlasWarmUp.createSourceDocuments(context, mapping).isEmpty());
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import org.junit.Test;
+
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+import io.atlasmap.v2.Mappings;
+
+public class CollectionMappingIteratorTest {
+
+    @Test
+    public void testNext() throws Exception {
+        Mapping first = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        Mapping empty = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        Mapping last = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        Collection collection = createCollection(first, empty, last);
+        Map<Mapping, Integer> sizes = new HashMap<>();
+        sizes.put(first, 2);
+        sizes.put(empty, 0);
+        sizes.put(last, 1);
+        List<Mapping> resolved = new ArrayList<>();
+
+        CollectionMappingIterator items = new CollectionMappingIterator(collection, m -> {
+            resolved.add(m);
+            return sizes.get(m);
+        });
+        assertTrue(resolved.isEmpty());
+        assertFalse(items.getCollectionIndex().isPresent());
+
+        assertTrue(items.next());
+        assertSame(first, items.getMapping());
+        assertEquals(OptionalInt.of(0), items.getCollectionIndex());
+        assertEquals(1, resolved.size());
+        assertTrue(items.next());
+        assertSame(first, items.getMapping());
+        assertEquals(OptionalInt.of(1), items.getCollectionIndex());
+        assertEquals(1, resolved.size());
+
+        assertTrue(items.next());
+        assertSame(last, items.getMapping());
+        assertEquals(OptionalInt.of(0), items.getCollectionIndex());
+        assertEquals(3, resolved.size());
+
+        assertFalse(items.next());
+        assertNull(items.getMapping());
+        assertFalse(items.next());
+
+        List<BaseMapping> mappings = collection.getMappings().getMapping();
+        assertEquals(3, mappings.size());
+        assertSame(first, mappings.get(0));
+        assertSame(empty, mappings.get(1));
+        assertSame(last, mappings.get(2));
+    }
+
+    @Test
+    public void testEmptyCollection() throws Exception {
+        CollectionMappingIterator items = new CollectionMappingIterator(createCollection(), m -> 1);
+        assertFalse(items.next());
+    }
+
+    private Collection createCollection(Mapping... mappings) {
+        Collection collection = new Collection();
+        collection.setMappingType(MappingType.COLLECTION);
+        collection.setMappings(new Mappings());
+        for (Mapping m : mappings) {
+            collection.getMappings().getMapping().add(m);
+        }
+        return collection;
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+import io.atlasmap.v2.SimpleField;
+
+public class CombineSlotsTest {
+
+    @Test
+    public void testSlotsOf() {
+        List<Field> fields = Arrays.asList(field(2), field(null), field(0), field(2), field(-1), field(1));
+        assertArrayEquals(new int[] { 2, 5, 0, 3 }, CombineSlots.slotsOf(fields));
+    }
+
+    @Test
+    public void testFindCombineSlots() {
+        AtlasMapping atlasMapping = AtlasModelFactory.createAtlasMapping();
+        Mapping combine = (Mapping) AtlasModelFactory.createMapping(MappingType.COMBINE);
+        combine.getInputField().add(field(1));
+        combine.getInputField().add(field(0));
+        Mapping map = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        map.getInputField().add(field(null));
+        atlasMapping.getMappings().getMapping().add(combine);
+        atlasMapping.getMappings().getMapping().add(map);
+
+        Map<Mapping, int[]> slots = CombineSlots.findCombineSlots(atlasMapping);
+        assertEquals(1, slots.size());
+        assertArrayEquals(new int[] { 1, 0 }, slots.get(combine));
+        assertTrue(CombineSlots.findCombineSlots(null).isEmpty());
+    }
+
+    private static Field field(Integer index) {
+        SimpleField field = new SimpleField();
+        field.setIndex(index);
+        return field;
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
+
+import org.junit.Test;
+
+import io.atlasmap.core.AtlasPath.SegmentContext;
+import io.atlasmap.core.CompiledPath.Segment;
+
+public class CompiledPathTest {
+
+    @Test
+    public void testCompile() {
+        CompiledPath path = CompiledPath.compile("/orders/order<3>/ns:contact/@id");
+        assertSame(path, CompiledPath.compile("/orders/order<3>/ns:contact/@id"));
+        assertEquals(4, path.size());
+        assertEquals(Arrays.asList("orders", "order<3>", "ns:contact", "@id"), path.getSegmentExpressions());
+        assertEquals("/orders/order<3>/ns:contact", path.getSegmentPath(2));
+        assertTrue(path.hasParent());
+        assertTrue(path.hasCollection());
+        assertTrue(path.isIndexedCollection());
+        assertFalse(path.hasUnindexedCollection());
+        assertEquals("id", path.getLastSegment().getName());
+
+        path = CompiledPath.compile("/orders<>/lines[]/amount");
+        assertTrue(path.hasUnindexedCollection());
+        assertFalse(path.isIndexedCollection());
+        assertFalse(CompiledPath.compile("/orders{}/amount").hasUnindexedCollection());
+    }
+
+    @Test
+    public void testCompileMatchesAtlasPath() {
+        for (String p : new String[] { "", "/", "foo", "/foo/bar", "foo/bar[]", "/a//b", "/a/b/" }) {
+            assertEquals(p, new AtlasPath(p).getSegments(), CompiledPath.compile(p).getSegmentExpressions());
+        }
+        assertEquals(0, CompiledPath.compile(null).size());
+        assertNull(CompiledPath.compile(null).getLastSegment());
+    }
+
+    @Test
+    public void testSegment() {
+        Segment s = CompiledPath.segment("ns:order<12>");
+        assertEquals("ns:order<12>", s.getExpression());
+        assertEquals("order", s.getName());
+        assertEquals("ns:order", s.getQualifiedName());
+        assertEquals("ns", s.getNamespace());
+        assertEquals("ns:order<>", s.getIndexRemovedExpression());
+        assertEquals(CompiledPath.COLLECTION_LIST, s.getCollectionType());
+        assertTrue(s.isList());
+        assertTrue(s.hasCollectionIndex());
+        assertEquals(12, s.getCollectionIndex());
+        assertFalse(s.isAttribute());
+
+        s = CompiledPath.segment("@ns:id");
+        assertTrue(s.isAttribute());
+        assertEquals("ns", s.getNamespace());
+        assertEquals("id", s.getName());
+        assertFalse(s.isCollection());
+
+        s = CompiledPath.segment("items[]");
+        assertTrue(s.isArray());
+        assertFalse(s.hasCollectionIndex());
+
+        s = CompiledPath.segment("map{key}");
+        assertTrue(s.isMap());
+        assertFalse(s.hasCollectionIndex());
+        assertNull(CompiledPath.segment(null));
+        assertSame(CompiledPath.segment("foo").getName(), CompiledPath.segment(new String("foo")).getName());
+    }
+
+    @Test
+    public void testOverwriteCollectionIndex() {
+        CompiledPath path = CompiledPath.compile("/orders[]/order<2>/ids{}/id");
+        assertEquals("/orders[5]/order<5>/ids{}/id", path.overwriteCollectionIndex(5));
+        assertEquals("/orders[]/order<>/ids{}/id", path.removeCollectionIndexes());
+        assertEquals("", CompiledPath.compile("").overwriteCollectionIndex(1));
+        assertFalse(CompiledPath.compile("/foo/bar").hasCollection());
+    }
+
+    @Test
+    public void testSegmentContexts() {
+        List<SegmentContext> contexts = CompiledPath.compile("/orders/order<1>").getSegmentContexts(true);
+        assertEquals(3, contexts.size());
+        assertEquals("/", contexts.get(0).getSegmentPath());
+        assertEquals("/orders", contexts.get(1).getSegmentPath());
+        assertEquals("/orders/order<1>", contexts.get(2).getSegmentPath());
+        assertEquals("order<1>", contexts.get(2).getSegment());
+        assertEquals(1, contexts.get(2).getCompiledSegment().getCollectionIndex());
+        assertSame(contexts.get(1), contexts.get(2).getPrev());
+        assertNull(contexts.get(2).getNext());
+    }
+
+    @Test
+    public void testBoundCollectionIndex() {
+        CompiledPath path = CompiledPath.compile("/orders<>/items[]/ids{}/id");
+        OptionalInt bound = OptionalInt.of(2);
+        assertEquals(2, path.getSegment(0).resolveCollectionIndex(bound));
+        assertEquals(2, path.getSegment(1).resolveCollectionIndex(bound));
+        assertFalse(path.getSegment(2).hasCollectionIndex(bound));
+        assertFalse(path.getSegment(0).hasCollectionIndex(OptionalInt.empty()));
+        assertEquals(4, CompiledPath.segment("order<4>").resolveCollectionIndex(OptionalInt.empty()));
+
+        List<SegmentContext> contexts = path.getSegmentContexts(false, bound);
+        assertEquals(2, contexts.get(0).getCollectionIndex());
+        assertEquals(2, contexts.get(1).getCollectionIndex());
+        assertEquals("orders<>", contexts.get(0).getSegment());
+        assertEquals(0, path.getSegmentContexts(false).get(0).getCollectionIndex());
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        CompiledPath.clearCache();
+        for (int i = 0; i < CompiledPath.MAX_CACHE_SIZE + 10; i++) {
+            CompiledPath.compile("/orders<" + i + ">/id");
+        }
+        assertTrue(CompiledPath.getCacheSize() <= CompiledPath.MAX_CACHE_SIZE);
+    }
+
+    @Test
+    public void testCacheKeepsHotPaths() {
+        CompiledPath.clearCache();
+        CompiledPath hot = CompiledPath.compile("/orders<>/id");
+        for (int i = 0; i < CompiledPath.MAX_CACHE_SIZE * 2; i++) {
+            CompiledPath.compile("/orders<" + i + ">/id");
+            assertSame(hot, CompiledPath.compile("/orders<>/id"));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.atlasmap.spi.AtlasPropertyType;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.ConstantField;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+import io.atlasmap.v2.Properties;
+import io.atlasmap.v2.Property;
+import io.atlasmap.v2.PropertyField;
+import io.atlasmap.v2.SimpleField;
+
+public class ConstantFolderTest {
+
+    private DefaultAtlasPropertyStrategy propertyStrategy;
+    private ConstantFolder folder;
+    private AtlasMapping mapping;
+
+    @Before
+    public void setUp() {
+        propertyStrategy = new DefaultAtlasPropertyStrategy();
+        propertyStrategy.setAtlasConversionService(DefaultAtlasConversionService.getInstance());
+        folder = new ConstantFolder(DefaultAtlasConversionService.getInstance(), propertyStrategy);
+        mapping = AtlasTestData.generateAtlasMapping();
+        mapping.setProperties(new Properties());
+        Property prop = new Property();
+        prop.setName("prop-int");
+        prop.setValue("123");
+        prop.setFieldType(FieldType.INTEGER);
+        mapping.getProperties().getProperty().add(prop);
+    }
+
+    @Test
+    public void testFoldConstant() {
+        ConstantField constant = new ConstantField();
+        constant.setPath("/constant");
+        constant.setValue("42");
+        addMapping(constant, FieldType.LONG);
+
+        Field folded = folder.fold(mapping).get(constant);
+        assertNotNull(folded);
+        assertEquals(42L, folded.getValue());
+        assertEquals(FieldType.LONG, folded.getFieldType());
+        assertEquals("/constant", folded.getPath());
+        assertNull(constant.getFieldType());
+        assertEquals("42", constant.getValue());
+    }
+
+    @Test
+    public void testFoldConstantUnconvertible() {
+        ConstantField constant = new ConstantField();
+        constant.setValue("not a number");
+        addMapping(constant, FieldType.INTEGER);
+
+        Field folded = folder.fold(mapping).get(constant);
+        assertEquals("not a number", folded.getValue());
+        assertEquals(FieldType.STRING, folded.getFieldType());
+    }
+
+    @Test
+    public void testFoldMappingDefinedProperty() {
+        PropertyField property = new PropertyField();
+        property.setName("prop-int");
+        addMapping(property, FieldType.STRING);
+
+        Field folded = folder.fold(mapping).get(property);
+        assertNotNull(folded);
+        assertEquals("123", folded.getValue());
+        assertEquals(FieldType.STRING, folded.getFieldType());
+        assertFalse(ConstantFolder.isOverridden(folded, Collections.emptyMap()));
+        assertTrue(ConstantFolder.isOverridden(folded, Collections.singletonMap("prop-int", "456")));
+    }
+
+    @Test
+    public void testNoFold() {
+        PropertyField undefined = new PropertyField();
+        undefined.setName("undefined");
+        addMapping(undefined, FieldType.STRING);
+        SimpleField simple = new SimpleField();
+        simple.setPath("/simple");
+        addMapping(simple, FieldType.STRING);
+        Mapping combine = (Mapping) AtlasModelFactory.createMapping(MappingType.COMBINE);
+        ConstantField combined = new ConstantField();
+        combined.setValue("foo");
+        combine.getInputField().add(combined);
+        combine.getOutputField().add(new SimpleField());
+        mapping.getMappings().getMapping().add(combine);
+        assertTrue(folder.fold(mapping).isEmpty());
+    }
+
+    @Test
+    public void testNoFoldOverriddenBySystemProperty() {
+        propertyStrategy.setPropertyOrder(Arrays.asList(AtlasPropertyType.MAPPING_DEFINED_PROPERTIES,
+                AtlasPropertyType.JAVA_SYSTEM_PROPERTIES));
+        PropertyField property = new PropertyField();
+        property.setName("prop-int");
+        addMapping(property, FieldType.STRING);
+        Map<Field, Field> folded = folder.fold(mapping);
+        assertTrue(folded.isEmpty());
+    }
+
+    private void addMapping(Field source, FieldType targetType) {
+        Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        m.getInputField().add(source);
+        SimpleField target = new SimpleField();
+        target.setPath("/target");
+        target.setFieldType(targetType);
+        m.getOutputField().add(target);
+        mapping.getMappings().getMapping().add(m);
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import io.atlasmap.api.AtlasConversionService;
+import io.atlasmap.converters.IntegerConverter;
+import io.atlasmap.spi.AtlasConversionInfo;
+import io.atlasmap.spi.AtlasConverterMethod;
+import io.atlasmap.spi.AtlasFieldActionInfo;
+import io.atlasmap.spi.AtlasFieldActionMethod;
+import io.atlasmap.v2.Capitalize;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Properties;
+import io.atlasmap.v2.Property;
+
+public class CoreAtlasRegistryTest {
+
+    private CoreAtlasRegistry registry = new CoreAtlasRegistry();
+    private AtlasConversionService conversionService = DefaultAtlasConversionService.getInstance();
+
+    @Test
+    public void testConverterMethodsMatchScan() throws Exception {
+        assertFalse(registry.getConverterMethods().isEmpty());
+        for (Map.Entry<String, List<AtlasConverterMethod>> entry : registry.getConverterMethods().entrySet()) {
+            List<String> scanned = new ArrayList<>();
+            Class<?> klass = Class.forName(entry.getKey());
+            while (klass != Object.class) {
+                for (Method method : klass.getDeclaredMethods()) {
+                    if (method.isAnnotationPresent(AtlasConversionInfo.class) && method.getParameterCount() > 0) {
+                        boolean containsFormat = method.getParameterCount() == 3
+                                && method.getParameterTypes()[1] == String.class
+                                && method.getParameterTypes()[2] == String.class;
+                        scanned.add(method.getParameterTypes()[0].getCanonicalName() + " -> "
+                                + method.getReturnType().getCanonicalName() + " " + containsFormat);
+                    }
+                }
+                klass = klass.getSuperclass();
+            }
+            List<String> generated = new ArrayList<>();
+            for (AtlasConverterMethod method : entry.getValue()) {
+                assertNotNull(method.getInvoker());
+                generated.add(method.getSourceClassName() + " -> " + method.getTargetClassName() + " "
+                        + method.isContainsFormat());
+            }
+            Collections.sort(scanned);
+            Collections.sort(generated);
+            assertEquals(entry.getKey(), scanned, generated);
+        }
+    }
+
+    @Test
+    public void testConverterInvoker() throws Exception {
+        IntegerConverter converter = new IntegerConverter();
+        for (AtlasConverterMethod method : registry.getConverterMethods().get(IntegerConverter.class.getName())) {
+            if ("java.lang.Long".equals(method.getTargetClassName())) {
+                assertEquals(Long.valueOf(3L), method.getInvoker().convert(converter, 3, null, null));
+                return;
+            }
+        }
+        throw new AssertionError("Integer to Long converter method not found");
+    }
+
+    @Test
+    public void testFieldActionMethodsMatchScan() throws Exception {
+        DefaultAtlasFieldActionService fieldActionService = new DefaultAtlasFieldActionService(conversionService);
+        assertFalse(registry.getFieldActionMethods().isEmpty());
+        for (Map.Entry<String, List<AtlasFieldActionMethod>> entry : registry.getFieldActionMethods().entrySet()) {
+            List<String> scanned = new ArrayList<>();
+            for (Method method : Class.forName(entry.getKey()).getMethods()) {
+                AtlasFieldActionInfo info = method.getAnnotation(AtlasFieldActionInfo.class);
+                if (info != null) {
+                    Properties props = null;
+                    try {
+                        props = fieldActionService.detectFieldActionParameters("io.atlasmap.v2." + info.name());
+                    } catch (ClassNotFoundException e) {
+                        props = null;
+                    }
+                    List<String> params = new ArrayList<>();
+                    if (props != null) {
+                        for (Property prop : props.getProperty()) {
+                            params.add(prop.getName() + ":" + prop.getFieldType());
+                        }
+                    }
+                    scanned.add(describe(method.getName(), info.name(), info.sourceType(), info.targetType(), params));
+                }
+            }
+            List<String> generated = new ArrayList<>();
+            for (AtlasFieldActionMethod method : entry.getValue()) {
+                List<String> params = new ArrayList<>();
+                if (method.getParameterNames() != null) {
+                    for (int i = 0; i < method.getParameterNames().length; i++) {
+                        params.add(method.getParameterNames()[i] + ":"
+                                + conversionService.fieldTypeFromClass(method.getParameterTypes()[i]));
+                    }
+                }
+                generated.add(describe(method.getMethodName(), method.getName(), method.getSourceType(),
+                        method.getTargetType(), params));
+            }
+            Collections.sort(scanned);
+            Collections.sort(generated);
+            assertEquals(entry.getKey(), scanned, generated);
+        }
+    }
+
+    @Test
+    public void testFieldActionInvoker() throws Exception {
+        for (AtlasFieldActionMethod method : registry.getFieldActionMethods()
+                .get("io.atlasmap.actions.StringSimpleFieldActions")) {
+            if ("Capitalize".equals(method.getName())) {
+                assertNotNull(method.getInvoker());
+                assertEquals("Foo", method.getInvoker().process(new Capitalize(), "foo"));
+                return;
+            }
+        }
+        throw new AssertionError("Capitalize field action method not found");
+    }
+
+    private static String describe(String methodName, String name, FieldType sourceType, FieldType targetType,
+            List<String> params) {
+        Collections.sort(params);
+        return String.format("%s %s %s->%s %s", methodName, name, sourceType, targetType, params);
+    }
+}
@@ -255,4 +255,39 @@ public class DefaultAtlasCombineStrategyTest {
         assertEquals(null, cMap.get(4));
         assertEquals("f", cMap.get(5));
     }
+
+    @Test
+    public void testCombineSortedValues() {
+        DefaultAtlasCombineStrategy strategy = (DefaultAtlasCombineStrategy) combine;
+        int[][] indexSets = new int[][] { {}, {0}, {2}, {0, 1, 2}, {1, 3}, {0, 2, 5}, {0, 1, 2, 3, 4, 5} };
+        String[] samples = new String[] { " a ", "b", null, "c ", "", " d" };
+        for (boolean trim : new boolean[] { false, true }) {
+            strategy.setDisableAutoTrim(!trim);
+            for (boolean delimiterOnNull : new boolean[] { false, true }) {
+                strategy.setDisableAddDelimiterOnNull(!delimiterOnNull);
+                for (Integer limit : new Integer[] { null, 1, 2, 3 }) {
+                    strategy.setLimit(limit);
+                    for (int[] indexes : indexSets) {
+                        String[] values = new String[indexes.length];
+                        Map<Integer, String> map = new HashMap<>();
+                        for (int i = 0; i < indexes.length; i++) {
+                            values[i] = samples[indexes[i]];
+                            map.put(indexes[i], values[i]);
+                        }
+                        String message = trim + " " + delimiterOnNull + " " + limit + " " + map;
+                        assertEquals(message, strategy.combineValues(map),
+                                strategy.combineValues(indexes, values, indexes.length, null));
+                        assertEquals(message, strategy.combineValues(map, "-"),
+                                strategy.combineValues(indexes, values, indexes.length, "-"));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCombineSortedValuesCount() {
+        assertEquals("a b", combine.combineValues(new int[] { 0, 1, 2 }, new String[] { "a", "b", "c" }, 2, null));
+        assertNull(combine.combineValues(new int[4], new String[4], 0, null));
+    }
 }
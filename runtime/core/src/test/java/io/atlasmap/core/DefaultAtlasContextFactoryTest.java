@@ -20,8 +20,11 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
 import java.net.URI;
 import java.nio.file.Paths;
 import java.util.HashMap;
@@ -29,11 +32,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
+import javax.management.ObjectName;
+
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.atlasmap.api.AtlasContext;
 import io.atlasmap.api.AtlasConversionService;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasFieldActionService;
@@ -263,6 +269,66 @@ public class DefaultAtlasContextFactoryTest {
         assertNotNull(factory.getSupportedDataFormats(MockModule.class));
     }
 
+    @Test
+    public void testMaxContexts() throws AtlasException {
+        factory = new DefaultAtlasContextFactory();
+        factory.init();
+        factory.setContextJmxEnabled(false);
+        factory.setMaxContexts(2);
+        DefaultAtlasContext first = (DefaultAtlasContext) factory.createContext(AtlasTestData.generateAtlasMapping());
+        DefaultAtlasContext second = (DefaultAtlasContext) factory.createContext(AtlasTestData.generateAtlasMapping());
+        assertNull(first.getJmxObjectName());
+        first.createSession();
+        DefaultAtlasContext third = (DefaultAtlasContext) factory.createContext(AtlasTestData.generateAtlasMapping());
+        assertEquals(2, factory.getContextCount());
+        assertEquals(1L, factory.getEvictedContextCount());
+        assertFalse(first.isClosed());
+        assertTrue(second.isClosed());
+        assertFalse(third.isClosed());
+
+        third.close();
+        assertEquals(1, factory.getContextCount());
+        factory.destroy();
+        assertTrue(first.isClosed());
+    }
+
+    @Test
+    public void testUnreferencedContextIsNotRetained() throws Exception {
+        factory = new DefaultAtlasContextFactory();
+        factory.init();
+        factory.setContextJmxEnabled(false);
+        WeakReference<AtlasContext> context = new WeakReference<>(
+                factory.createContext(AtlasTestData.generateAtlasMapping()));
+        for (int i = 0; i < 50 && context.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(context.get());
+        factory.destroy();
+    }
+
+    @Test
+    public void testUnreferencedContextIsNotRetainedByJmx() throws Exception {
+        factory = new DefaultAtlasContextFactory();
+        factory.init();
+        DefaultAtlasContext created = (DefaultAtlasContext) factory.createContext(AtlasTestData.generateAtlasMapping());
+        ObjectName name = created.getJmxObjectName();
+        assertNotNull(name);
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        WeakReference<AtlasContext> context = new WeakReference<>(created);
+        created = null;
+        for (int i = 0; i < 50 && context.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(context.get());
+
+        // the MBean of the collected context is unregistered when the next one is registered
+        factory.createContext(AtlasTestData.generateAtlasMapping());
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        factory.destroy();
+    }
+
     @AtlasModuleDetail(name = "ConstantModule", uri = "", modes = { "SOURCE" }, dataFormats = { "xml", "json" }, configPackages = { "io.atlasmap.core" })
     private class MockModule implements AtlasModule {
 
@@ -18,31 +18,47 @@ package io.atlasmap.core;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.ReferenceQueue;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.ObjectName;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import io.atlasmap.api.AtlasConstants;
 import io.atlasmap.api.AtlasContext;
 import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasSession;
+import io.atlasmap.api.AtlasWarmUpResult;
 import io.atlasmap.core.AtlasMappingService.AtlasMappingFormat;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.spi.AtlasInternalSession.Head;
 import io.atlasmap.spi.AtlasModule;
+import io.atlasmap.spi.AtlasSessionListener;
 import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.AtlasModelFactory;
 import io.atlasmap.v2.Audit;
@@ -88,6 +104,111 @@ public class DefaultAtlasContextTest extends BaseDefaultAtlasContextTest {
                 session.getAudits().getAudit().stream().filter(a -> a.getStatus() == AuditStatus.ERROR).count());
     }
 
+    @Test
+    public void mapWithStatisticsTest() throws AtlasException {
+        Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        mapping.getMappings().getMapping().add(m);
+        populateSourceField(m, FieldType.STRING, "foo");
+        prepareTargetField(m, "/target");
+        context.process(session);
+        assertEquals(0L, sourceModule.getSourceCount());
+        assertEquals(0L, targetModule.getTargetCount());
+
+        sourceModule.setStatisticsEnabled(true);
+        targetModule.setStatisticsEnabled(true);
+        context.process(session);
+        assertFalse(printAudit(session), session.hasErrors());
+        assertEquals(1L, sourceModule.getSourceCount());
+        assertEquals(1L, sourceModule.getSourceSuccessCount());
+        assertEquals(1L, targetModule.getTargetCount());
+        assertEquals(1L, targetModule.getTargetSuccessCount());
+        assertTrue(targetModule.getTargetTotalExecutionTime() >= targetModule.getTargetMaxExecutionTime());
+    }
+
+    @Test
+    public void mapWithProfilingTest() throws AtlasException {
+        Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        m.setAlias("profiled");
+        mapping.getMappings().getMapping().add(m);
+        populateSourceField(m, FieldType.STRING, "foo");
+        prepareTargetField(m, "/target");
+        context.setProfilingEnabled(true);
+        assertTrue(targetModule.getConversionService() instanceof ProfilingConversionService);
+        context.process(session);
+        assertFalse(printAudit(session), session.hasErrors());
+        assertEquals("foo", writer.targets.get("/target"));
+        List<AtlasMappingProfiler.Entry> entries = context.getProfiler().getRankedEntries();
+        assertTrue(entries.stream().anyMatch(e -> e.getCategory() == AtlasMappingProfiler.Category.MAPPING
+                && "mapping[0] profiled".equals(e.getName())));
+        assertTrue(entries.stream().anyMatch(e -> e.getCategory() == AtlasMappingProfiler.Category.SOURCE
+                && "null:/testPathfoo".equals(e.getName())));
+        assertTrue(entries.stream().anyMatch(e -> e.getCategory() == AtlasMappingProfiler.Category.TARGET
+                && "null:/target".equals(e.getName())));
+
+        context.setProfilingEnabled(false);
+        assertFalse(targetModule.getConversionService() instanceof ProfilingConversionService);
+        context.resetProfiling();
+        context.process(session);
+        assertTrue(context.getProfiler().getRankedEntries().isEmpty());
+    }
+
+    @Test
+    public void mapWithSessionListenerTest() throws AtlasException {
+        Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        mapping.getMappings().getMapping().add(m);
+        populateSourceField(m, FieldType.STRING, "foo");
+        prepareTargetField(m, "/target");
+        List<String> events = new ArrayList<>();
+        AtlasSessionListener listener = new AtlasSessionListener() {
+            @Override
+            public void onSessionStart(AtlasSession session) {
+                events.add("start");
+            }
+
+            @Override
+            public void onSessionEnd(AtlasSession session, long elapsedNanos) {
+                events.add("end");
+            }
+
+            @Override
+            public void onValidation(AtlasSession session, long elapsedNanos) {
+                events.add("validation");
+            }
+
+            @Override
+            public void onModuleExecution(AtlasSession session, AtlasModule module, ModulePhase phase,
+                    long elapsedNanos) {
+                events.add(phase.name());
+            }
+
+            @Override
+            public void onFieldRead(AtlasSession session, Field sourceField, long elapsedNanos) {
+                events.add("read:" + sourceField.getPath());
+            }
+
+            @Override
+            public void onFieldWrite(AtlasSession session, Field sourceField, Field targetField,
+                    long elapsedNanos) {
+                events.add("write:" + targetField.getPath());
+            }
+        };
+        DefaultAtlasContextFactory factory = (DefaultAtlasContextFactory) context.getContextFactory();
+        factory.addSessionListener(listener);
+        try {
+            context.process(session);
+        } finally {
+            factory.removeSessionListener(listener);
+        }
+        assertFalse(printAudit(session), session.hasErrors());
+        assertEquals("start", events.get(0));
+        assertEquals("end", events.get(events.size() - 1));
+        assertTrue(events.contains("validation"));
+        assertTrue(events.contains("PRE_VALIDATION"));
+        assertTrue(events.contains("PRE_SOURCE_EXECUTION"));
+        assertTrue(events.contains("POST_TARGET_EXECUTION"));
+        assertTrue(events.indexOf("read:/testPathfoo") < events.indexOf("write:/target"));
+    }
+
     @Test
     public void combineNonStringFieldsTest() throws AtlasException {
         Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.COMBINE);
@@ -307,6 +428,7 @@ public class DefaultAtlasContextTest extends BaseDefaultAtlasContextTest {
     public void testProcess() throws AtlasException {
         DefaultAtlasSession session = mock(DefaultAtlasSession.class);
         when(session.getAtlasContext()).thenReturn(context);
+        when(session.getContextState()).thenReturn(((DefaultAtlasSession) context.createSession()).getContextState());
 
         Head head = mock(Head.class);
         when(session.head()).thenReturn(head);
@@ -316,6 +438,7 @@ public class DefaultAtlasContextTest extends BaseDefaultAtlasContextTest {
         when(head.getSourceField()).thenReturn(headField);
         Audits audits = mock(Audits.class);
         when(session.getAudits()).thenReturn(audits);
+        when(session.audits()).thenReturn(audits);
         Validations validations = mock(Validations.class);
         when(session.getValidations()).thenReturn(validations);
         AtlasMapping mapping = mock(AtlasMapping.class);
@@ -416,4 +539,223 @@ public class DefaultAtlasContextTest extends BaseDefaultAtlasContextTest {
         when(separateStrategy.separateValue(any(String.class))).thenReturn(new ArrayList<String>());
         assertEquals(0, context.processSeparateField(session, mapping, mockField).size());
     }
+
+    @Test
+    public void testReload() throws AtlasException {
+        DefaultAtlasSession oldSession = (DefaultAtlasSession) session;
+        AtlasMapping reloaded = AtlasTestData.generateAtlasMapping();
+        reloaded.setName("reloaded");
+        context.reload(reloaded);
+        assertSame(reloaded, context.getMapping());
+        assertEquals("reloaded", context.getMappingName());
+        assertFalse(context.getSourceModules().containsValue(sourceModule));
+
+        DefaultAtlasSession newSession = (DefaultAtlasSession) context.createSession();
+        assertSame(reloaded, newSession.getMapping());
+        assertSame(mapping, oldSession.getMapping());
+        assertNotSame(oldSession.getContextState(), newSession.getContextState());
+
+        // the session created before the reload still runs with the modules it was created with
+        Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        mapping.getMappings().getMapping().add(m);
+        populateSourceField(m, FieldType.STRING, "foo");
+        prepareTargetField(m, "/target");
+        context.process(oldSession);
+        assertFalse(printAudit(oldSession), oldSession.hasErrors());
+        assertEquals("foo", writer.targets.get("/target"));
+    }
+
+    @Test
+    public void testReloadKeepsModulesOfPinnedSessions() throws Exception {
+        DefaultAtlasSession oldSession = (DefaultAtlasSession) session;
+        context.reload(AtlasTestData.generateAtlasMapping());
+        context.reload(AtlasTestData.generateAtlasMapping());
+        verify(sourceModule, never()).destroy();
+
+        // the session created before both reloads still runs with the modules it was created with
+        Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        mapping.getMappings().getMapping().add(m);
+        populateSourceField(m, FieldType.STRING, "foo");
+        prepareTargetField(m, "/target");
+        context.process(oldSession);
+        assertFalse(printAudit(oldSession), oldSession.hasErrors());
+        assertEquals("foo", writer.targets.get("/target"));
+        verify(sourceModule, never()).destroy();
+
+        DefaultAtlasContext.ContextState oldState = oldSession.getContextState();
+        oldSession.setAtlasContext(null);
+        assertTrue(oldState.isDestroyed());
+        verify(sourceModule).destroy();
+        verify(targetModule).destroy();
+    }
+
+    @Test
+    public void testReloadDestroysModulesOfCollectedSessions() throws Exception {
+        DefaultAtlasContext.ContextState oldState = ((DefaultAtlasSession) session).getContextState();
+        session = null;
+        context.reload(AtlasTestData.generateAtlasMapping());
+        for (int i = 0; i < 100 && !oldState.isDestroyed(); i++) {
+            System.gc();
+            Thread.sleep(10);
+            // collected sessions are released when a session is created
+            context.createSession();
+        }
+        assertTrue(oldState.isDestroyed());
+        verify(sourceModule).destroy();
+        verify(targetModule).destroy();
+    }
+
+    @Test
+    public void testRetiredStateIsDestroyedOnceUnpinned() {
+        DefaultAtlasContext.ContextState state = new DefaultAtlasContext.ContextState(null, null, null, null, null);
+        ReferenceQueue<DefaultAtlasSession> queue = new ReferenceQueue<>();
+        DefaultAtlasContext.SessionPin first = state.pin(new DefaultAtlasSession(null), queue);
+        DefaultAtlasContext.SessionPin second = state.pin(new DefaultAtlasSession(null), queue);
+        assertFalse(state.retire());
+        first.release();
+        first.release();
+        assertFalse(state.isDestroyed());
+        second.release();
+        assertTrue(state.isDestroyed());
+        assertNull(state.pin(new DefaultAtlasSession(null), queue));
+    }
+
+    @Test
+    public void testReloadIfModified() throws Exception {
+        File file = File.createTempFile("atlasmapping", ".xml");
+        file.deleteOnExit();
+        Files.copy(Paths.get("src", "test", "resources", "atlasmapping.xml"), file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+        DefaultAtlasContext fileContext = new DefaultAtlasContext(DefaultAtlasContextFactory.getInstance(),
+                file.toURI());
+        fileContext.init();
+        AtlasMapping loaded = fileContext.getMapping();
+        assertNotNull(loaded);
+        assertFalse(fileContext.reloadIfModified());
+
+        assertTrue(file.setLastModified(file.lastModified() + 2000L));
+        assertTrue(fileContext.reloadIfModified());
+        AtlasMapping reloaded = fileContext.getMapping();
+        assertNotSame(loaded, reloaded);
+
+        Files.write(file.toPath(), "not a mapping".getBytes(StandardCharsets.UTF_8));
+        assertTrue(file.setLastModified(file.lastModified() + 4000L));
+        assertFalse(fileContext.reloadIfModified());
+        assertSame(reloaded, fileContext.getMapping());
+    }
+
+    @Test
+    public void testMappingWatch() throws Exception {
+        File file = Paths.get("src", "test", "resources", "atlasmapping.xml").toFile();
+        DefaultAtlasContext fileContext = new DefaultAtlasContext(DefaultAtlasContextFactory.getInstance(),
+                file.toURI());
+        fileContext.startMappingWatch(1, TimeUnit.HOURS);
+        assertTrue(fileContext.isMappingWatched());
+        fileContext.stopMappingWatch();
+        assertFalse(fileContext.isMappingWatched());
+    }
+
+    @Test(expected = AtlasException.class)
+    public void testMappingWatchWithoutFile() throws AtlasException {
+        context.startMappingWatch(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        DefaultAtlasContextFactory factory = DefaultAtlasContextFactory.getInstance();
+        DefaultAtlasContext closeable = (DefaultAtlasContext) factory.createContext(
+                AtlasTestData.generateAtlasMapping());
+        ObjectName name = closeable.getJmxObjectName();
+        assertNotNull(name);
+        assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        int count = factory.getContextCount();
+
+        closeable.close();
+        assertTrue(closeable.isClosed());
+        assertNull(closeable.getJmxObjectName());
+        assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        assertEquals(count - 1, factory.getContextCount());
+        try {
+            closeable.createSession();
+            Assert.fail("AtlasException expected");
+        } catch (AtlasException e) {
+            assertTrue(e.getMessage().contains("closed"));
+        }
+    }
+
+    @Test
+    public void testSessionPool() throws AtlasException {
+        assertFalse(context.recycleSession(session));
+        context.setSessionPoolSize(1);
+        assertEquals(1, context.getSessionPoolSize());
+        session.getProperties().put("foo", "bar");
+        assertTrue(context.recycleSession(session));
+        AtlasSession reused = context.createSession();
+        assertSame(session, reused);
+        assertNull(reused.getProperties().get("foo"));
+        assertNotNull(reused.getProperties().get("Atlas.CreatedDateTimeTZ"));
+
+        AtlasSession other = context.createSession();
+        assertNotSame(session, other);
+        assertTrue(context.recycleSession(reused));
+        assertFalse(context.recycleSession(other));
+        context.reload(AtlasTestData.generateAtlasMapping());
+        assertNotSame(session, context.createSession());
+    }
+
+    @Test
+    public void testFormatCreatedDateTime() {
+        String formatted = DefaultAtlasContext.formatCreatedDateTime();
+        assertTrue(formatted, formatted.matches("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}[+-]\\d{4}"));
+    }
+
+    @Test
+    public void testSharedSourceFieldIsReadOnce() throws AtlasException {
+        Mapping m1 = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        populateSourceField(m1, FieldType.STRING, "foo");
+        prepareTargetField(m1, "/target1");
+        Mapping m2 = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        populateSourceField(m2, FieldType.STRING, "foo");
+        prepareTargetField(m2, "/target2");
+        mapping.getMappings().getMapping().add(m1);
+        mapping.getMappings().getMapping().add(m2);
+
+        DefaultAtlasContext shared = new DefaultAtlasContext(DefaultAtlasContextFactory.getInstance(), mapping);
+        shared.getSourceModules().put(AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID, sourceModule);
+        shared.getTargetModules().put(AtlasConstants.DEFAULT_TARGET_DOCUMENT_ID, targetModule);
+        AtlasInternalSession sharedSession = (AtlasInternalSession) shared.createSession();
+        sharedSession.setFieldReader(AtlasConstants.DEFAULT_SOURCE_DOCUMENT_ID, reader);
+        sharedSession.setFieldWriter(AtlasConstants.DEFAULT_TARGET_DOCUMENT_ID, writer);
+        shared.process(sharedSession);
+        assertFalse(printAudit(sharedSession), sharedSession.hasErrors());
+        assertEquals("foo", writer.targets.get("/target1"));
+        assertEquals("foo", writer.targets.get("/target2"));
+        verify(sourceModule, times(1)).processSourceFieldMapping(any());
+
+        // the cache is scoped to a session processing
+        shared.process(sharedSession);
+        verify(sourceModule, times(2)).processSourceFieldMapping(any());
+    }
+
+    @Test
+    public void testWarmUp() throws AtlasException {
+        Mapping m = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        mapping.getMappings().getMapping().add(m);
+        populateSourceField(m, FieldType.STRING, "foo");
+        prepareTargetField(m, "/target");
+        AtlasWarmUpResult result = context.warmUp(1000);
+        assertTrue(result.toString(), result.getIterations() > 0);
+        assertTrue(result.toString(), result.getIterations() <= 1000);
+        assertEquals(result.toString(), 0, result.getFailedIterations());
+        assertEquals("foo", writer.targets.get("/target"));
+
+        result = context.warmUp(5);
+        assertEquals(5, result.getIterations());
+        assertFalse(result.isStabilized());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWarmUpWithoutIteration() throws AtlasException {
+        context.warmUp(0);
+    }
 }
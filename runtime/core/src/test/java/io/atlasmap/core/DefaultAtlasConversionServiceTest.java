@@ -37,6 +37,7 @@ import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasConversionService;
 import io.atlasmap.api.AtlasConverter;
 import io.atlasmap.spi.AtlasPrimitiveConverter;
+import io.atlasmap.spi.AtlasPrimitiveValue;
 import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.FieldType;
 
@@ -448,4 +449,79 @@ public class DefaultAtlasConversionServiceTest {
         assertNotNull(service.convertType(1, FieldType.INTEGER, FieldType.DECIMAL));
     }
 
+    @Test
+    public void testConvertPrimitive() throws AtlasConversionException {
+        AtlasPrimitiveValue source = new AtlasPrimitiveValue();
+        AtlasPrimitiveValue target = new AtlasPrimitiveValue();
+        source.setLong(42L);
+        assertTrue(service.convertPrimitive(source, FieldType.INTEGER, target));
+        assertEquals(FieldType.INTEGER, target.getType());
+        assertEquals(42, target.getInteger());
+
+        source.setDouble(1.5d);
+        assertTrue(service.convertPrimitive(source, FieldType.FLOAT, target));
+        assertEquals(FieldType.FLOAT, target.getType());
+        assertEquals(1.5f, target.getFloat(), 0.0f);
+
+        source.setString("-9223372036854775808");
+        assertTrue(service.convertPrimitive(source, FieldType.LONG, target));
+        assertEquals(Long.MIN_VALUE, target.getLong());
+
+        source.setShort((short) 7);
+        assertTrue(service.convertPrimitive(source, FieldType.SHORT, target));
+        assertEquals(Short.valueOf((short) 7), target.box());
+
+        // in place
+        source.setInteger(3);
+        assertTrue(service.convertPrimitive(source, FieldType.DOUBLE, source));
+        assertEquals(Double.valueOf(3.0d), source.box());
+
+        source.setInteger(1);
+        assertFalse(service.convertPrimitive(source, FieldType.BOOLEAN, target));
+        source.clear();
+        assertFalse(service.convertPrimitive(source, FieldType.INTEGER, target));
+    }
+
+    @Test(expected = AtlasConversionException.class)
+    public void testConvertPrimitiveRange() throws AtlasConversionException {
+        AtlasPrimitiveValue value = new AtlasPrimitiveValue();
+        value.setLong(Long.MAX_VALUE);
+        service.convertPrimitive(value, FieldType.INTEGER, value);
+    }
+
+    @Test
+    public void testConvertPrimitiveMatchesConvertType() throws AtlasConversionException {
+        AtlasPrimitiveValue value = new AtlasPrimitiveValue();
+        Object[] sources = new Object[] { 1, Integer.MAX_VALUE, 2L, Long.MIN_VALUE, (short) -3, 4.25d, 1e300d,
+                Float.MAX_VALUE, -0.5f, "12", "12.0", "1e3" };
+        FieldType[] targets = new FieldType[] { FieldType.INTEGER, FieldType.LONG, FieldType.SHORT,
+                FieldType.DOUBLE, FieldType.FLOAT };
+        for (Object source : sources) {
+            FieldType sourceType = service.fieldTypeFromClass(source.getClass());
+            for (FieldType targetType : targets) {
+                Object expected;
+                try {
+                    expected = service.convertType(source, sourceType, targetType);
+                } catch (AtlasConversionException e) {
+                    expected = e.getClass();
+                }
+                Object actual;
+                try {
+                    assertTrue(value.set(source));
+                    assertTrue(service.convertPrimitive(value, targetType, value));
+                    actual = value.box();
+                } catch (AtlasConversionException e) {
+                    actual = e.getClass();
+                }
+                assertEquals(source + " -> " + targetType, expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void testCopyPrimitiveIdentity() {
+        Double value = 3.5d;
+        assertSame(value, service.copyPrimitive(value));
+    }
+
 }
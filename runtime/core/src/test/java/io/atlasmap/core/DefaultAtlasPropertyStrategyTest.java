@@ -22,6 +22,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.lang.ref.WeakReference;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -33,6 +34,7 @@ import org.junit.Test;
 import io.atlasmap.spi.AtlasPropertyType;
 import io.atlasmap.v2.AtlasMapping;
 import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.FieldType;
 import io.atlasmap.v2.PropertyField;
 
 public class DefaultAtlasPropertyStrategyTest {
@@ -391,4 +393,69 @@ public class DefaultAtlasPropertyStrategyTest {
         assertNotNull(propStrategy.getAtlasConversionService());
     }
 
+    @Test
+    public void testSystemPropertySnapshotAndRefresh() throws Exception {
+        String name = "atlasmap.test.property.strategy.snapshot";
+        PropertyField propField = AtlasModelFactory.createPropertyField();
+        propField.setName(name);
+        HashMap<String, Object> runtimeProperties = new HashMap<>();
+        propStrategy.processPropertyField(null, propField, runtimeProperties);
+        assertNull(propField.getValue());
+
+        System.setProperty(name, "foo");
+        try {
+            propStrategy.processPropertyField(null, propField, runtimeProperties);
+            assertNull(propField.getValue());
+
+            propStrategy.refresh();
+            propStrategy.processPropertyField(null, propField, runtimeProperties);
+            assertEquals("foo", propField.getValue());
+        } finally {
+            System.clearProperty(name);
+        }
+    }
+
+    @Test
+    public void testIndexDoesNotRetainMapping() throws Exception {
+        AtlasMapping mapping = AtlasTestData.generateAtlasMapping();
+        propStrategy.indexMappingDefinedProperties(mapping);
+        WeakReference<AtlasMapping> reference = new WeakReference<>(mapping);
+        mapping = null;
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(reference.get());
+    }
+
+    @Test
+    public void testIndexMappingDefinedProperties() throws Exception {
+        AtlasMapping mapping = AtlasTestData.generateAtlasMapping();
+        DefaultAtlasPropertyStrategy.MappingDefinedProperties index = propStrategy
+                .indexMappingDefinedProperties(mapping);
+        assertTrue(index == propStrategy.indexMappingDefinedProperties(mapping));
+        assertTrue(index != propStrategy.indexMappingDefinedProperties(AtlasTestData.generateAtlasMapping()));
+        assertTrue(index == propStrategy.indexMappingDefinedProperties(mapping));
+        assertEquals("whatup", index.get("dupe-string").getValue(DefaultAtlasConversionService.getInstance(),
+                FieldType.STRING));
+
+        PropertyField propField = AtlasModelFactory.createPropertyField();
+        propField.setName("prop-int");
+        propStrategy.setRuntimePropertiesEnabled(false);
+        propStrategy.processPropertyField(mapping, propField, new HashMap<>());
+        assertEquals(Integer.MIN_VALUE, propField.getValue());
+    }
+
+    @Test
+    public void testRuntimePropertyNullValue() throws Exception {
+        PropertyField propField = AtlasModelFactory.createPropertyField();
+        propField.setName("nullvalue");
+        propField.setFieldType(FieldType.STRING);
+        propField.setValue("foo");
+        HashMap<String, Object> runtimeProperties = new HashMap<>();
+        runtimeProperties.put("nullvalue", null);
+        propStrategy.processPropertyField(null, propField, runtimeProperties);
+        assertNull(propField.getValue());
+    }
+
 }
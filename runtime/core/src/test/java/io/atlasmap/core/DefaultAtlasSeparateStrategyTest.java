@@ -154,4 +154,19 @@ public class DefaultAtlasSeparateStrategyTest {
         assertNotNull(values);
         assertTrue(values.isEmpty());
     }
+
+    @Test
+    public void testSeparateValueAt() {
+        assertEquals("a", separate.separateValueAt("a  b c", null, 0));
+        assertEquals("c", separate.separateValueAt("a  b c", null, 2));
+        assertNull(separate.separateValueAt("a  b c", null, 3));
+        assertEquals("", separate.separateValueAt("a::c", ":", 1));
+        assertEquals("c", separate.separateValueAt("a::c", ":", 2));
+        assertNull(separate.separateValueAt("", null, 0));
+        assertNull(separate.separateValueAt(null, null, 0));
+
+        separate.setLimit(2);
+        assertEquals("b c", separate.separateValueAt("a b c", null, 1));
+        assertNull(separate.separateValueAt("a b c", null, 2));
+    }
 }
@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.net.URI;
@@ -316,4 +317,24 @@ public class DefaultAtlasSessionTest {
         assertNotNull(head.unset());
 
     }
+
+    @Test
+    public void testReset() {
+        Audits audits = session.getAudits();
+        Validations validations = session.getValidations();
+        session.setDefaultSourceDocument("source");
+        session.setDefaultTargetDocument("target");
+        session.getProperties().put("foo", "bar");
+        audits.getAudit().add(new Audit());
+        validations.getValidation().add(new Validation());
+        session.reset();
+        assertNull(session.getDefaultSourceDocument());
+        assertNull(session.getDefaultTargetDocument());
+        assertTrue(session.getProperties().isEmpty());
+        assertSame(audits, session.getAudits());
+        assertTrue(audits.getAudit().isEmpty());
+        assertSame(validations, session.getValidations());
+        assertTrue(validations.getValidation().isEmpty());
+        assertNotNull(session.getMapping());
+    }
 }
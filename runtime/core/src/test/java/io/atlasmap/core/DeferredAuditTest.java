@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.namespace.QName;
+import javax.xml.transform.stream.StreamSource;
+
+import org.junit.Test;
+
+import io.atlasmap.v2.Audit;
+import io.atlasmap.v2.AuditStatus;
+import io.atlasmap.v2.Audits;
+
+public class DeferredAuditTest {
+
+    @Test
+    public void testGetMessage() {
+        DeferredAudit audit = new DeferredAudit("Module not found for docId '%s'", "foo");
+        assertEquals("Module not found for docId '%s'", audit.getFormat());
+        assertEquals("Module not found for docId 'foo'", audit.getMessage());
+        assertNull(audit.getFormat());
+        assertNull(audit.getArgs());
+        assertEquals("Module not found for docId 'foo'", audit.getMessage());
+
+        audit = new DeferredAudit("100%");
+        assertEquals("100%", audit.getMessage());
+        audit.setMessage("overridden");
+        assertEquals("overridden", audit.getMessage());
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new DeferredAudit("value=%s", 1));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Audit read = (Audit) in.readObject();
+            assertEquals("value=1", read.getMessage());
+        }
+    }
+
+    @Test
+    public void testJaxbMarshalling() throws Exception {
+        DefaultAtlasSession session = new DefaultAtlasSession(null);
+        AtlasUtil.addAudit(session, "docId", "/path", null, AuditStatus.WARN, "value=%s", 1);
+        Audits audits = session.getAudits();
+        JAXBContext context = JAXBContext.newInstance(Audits.class);
+        StringWriter xml = new StringWriter();
+        context.createMarshaller().marshal(
+                new JAXBElement<>(new QName("http://atlasmap.io/v2", "Audits"), Audits.class, audits), xml);
+
+        Audits read = context.createUnmarshaller()
+                .unmarshal(new StreamSource(new StringReader(xml.toString())), Audits.class).getValue();
+        assertEquals(xml.toString(), "value=1", read.getAudit().get(0).getMessage());
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.OptionalInt;
+import java.util.Set;
+
+import org.junit.Test;
+
+import io.atlasmap.v2.Actions;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+import io.atlasmap.v2.SimpleField;
+import io.atlasmap.v2.Uppercase;
+
+public class SourceValueCacheTest {
+
+    @Test
+    public void testFindSharedSourceFields() {
+        AtlasMapping mapping = AtlasTestData.generateAtlasMapping();
+        Field first = addMapping(mapping, "/foo");
+        Field second = addMapping(mapping, "/foo");
+        Field unique = addMapping(mapping, "/bar");
+        Field withActions = addMapping(mapping, "/foo");
+        withActions.setActions(new Actions());
+        withActions.getActions().getActions().add(new Uppercase());
+
+        Set<Field> shared = SourceValueCache.findSharedSourceFields(mapping);
+        assertEquals(2, shared.size());
+        assertTrue(shared.contains(first));
+        assertTrue(shared.contains(second));
+        assertFalse(shared.contains(unique));
+        assertFalse(shared.contains(withActions));
+    }
+
+    @Test
+    public void testApply() {
+        SourceValueCache cache = new SourceValueCache();
+        Field read = createField("/foo");
+        SourceValueCache.Key key = cache.keyOf(read, OptionalInt.of(1));
+        assertFalse(cache.apply(key, read));
+        read.setValue("value");
+        cache.put(key, read);
+
+        Field other = createField("/foo");
+        assertTrue(cache.apply(cache.keyOf(other, OptionalInt.of(1)), other));
+        assertEquals("value", other.getValue());
+        assertFalse(cache.apply(cache.keyOf(other, OptionalInt.of(2)), other));
+        assertFalse(cache.apply(cache.keyOf(other, OptionalInt.empty()), other));
+        cache.clear();
+        assertFalse(cache.apply(key, other));
+    }
+
+    private Field addMapping(AtlasMapping atlasMapping, String path) {
+        Mapping mapping = (Mapping) AtlasModelFactory.createMapping(MappingType.MAP);
+        Field field = createField(path);
+        mapping.getInputField().add(field);
+        atlasMapping.getMappings().getMapping().add(mapping);
+        return field;
+    }
+
+    private Field createField(String path) {
+        Field field = new SimpleField();
+        field.setPath(path);
+        field.setFieldType(FieldType.STRING);
+        return field;
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.json.v2.AtlasJsonModelFactory;
+import io.atlasmap.json.v2.JsonField;
+import io.atlasmap.v2.Action;
+import io.atlasmap.v2.Actions;
+import io.atlasmap.v2.Add;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.Average;
+import io.atlasmap.v2.DataSource;
+import io.atlasmap.v2.DataSourceType;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+
+public class CollectionFieldActionTest {
+
+    private static final String SOURCE = "{ \"orders\" : [ { \"lines\" : [ { \"amount\" : 1 }, { \"amount\" : 2 } ] },"
+            + " { \"lines\" : [ { \"amount\" : 3.5 } ] }, { \"lines\" : [] } ] }";
+
+    @Test
+    public void testSourceCollectionIsStreamedIntoAction() throws Exception {
+        AtlasMapping atlasMapping = AtlasModelFactory.createAtlasMapping();
+        atlasMapping.getDataSource().add(createDataSource("source", DataSourceType.SOURCE));
+        atlasMapping.getDataSource().add(createDataSource("target", DataSourceType.TARGET));
+        atlasMapping.getMappings().getMapping().add(createMapping("/total", new Add()));
+        atlasMapping.getMappings().getMapping().add(createMapping("/average", new Average()));
+
+        AtlasContext context = DefaultAtlasContextFactory.getInstance().createContext(atlasMapping);
+        AtlasSession session = context.createSession();
+        session.setSourceDocument("source", SOURCE);
+        context.process(session);
+        assertFalse(session.getAudits().getAudit().toString(), session.hasErrors());
+
+        JsonNode target = new ObjectMapper().readTree((String) session.getTargetDocument("target"));
+        assertEquals(6.5, target.get("total").asDouble(), 0.0);
+        assertEquals(6.5 / 3, target.get("average").asDouble(), 1e-9);
+    }
+
+    private DataSource createDataSource(String id, DataSourceType type) {
+        DataSource dataSource = new DataSource();
+        dataSource.setId(id);
+        dataSource.setUri(AtlasJsonModelFactory.URI_FORMAT);
+        dataSource.setDataSourceType(type);
+        return dataSource;
+    }
+
+    private Mapping createMapping(String targetPath, Action action) {
+        Mapping mapping = AtlasModelFactory.createMapping(MappingType.MAP);
+        JsonField source = AtlasJsonModelFactory.createJsonField();
+        source.setDocId("source");
+        source.setPath("/orders<>/lines<>/amount");
+        source.setActions(new Actions());
+        source.getActions().getActions().add(action);
+        mapping.getInputField().add(source);
+        JsonField target = AtlasJsonModelFactory.createJsonField();
+        target.setDocId("target");
+        target.setPath(targetPath);
+        mapping.getOutputField().add(target);
+        return mapping;
+    }
+}
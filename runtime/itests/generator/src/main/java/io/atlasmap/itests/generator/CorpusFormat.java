@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.itests.generator;
+
+import io.atlasmap.java.v2.AtlasJavaModelFactory;
+import io.atlasmap.java.v2.JavaField;
+import io.atlasmap.json.v2.AtlasJsonModelFactory;
+import io.atlasmap.v2.Field;
+import io.atlasmap.xml.v2.AtlasXmlModelFactory;
+
+public enum CorpusFormat {
+
+    JSON(AtlasJsonModelFactory.URI_FORMAT, null, "", "/items<>"),
+    XML(AtlasXmlModelFactory.URI_FORMAT, null, "/record", "/item<>"),
+    JAVA(String.format(AtlasJavaModelFactory.URI_FORMAT, GeneratedRecord.class.getName()),
+            GeneratedRecord.class.getName(), "", "/items<>");
+
+    public static final String CHILD_SEGMENT = "/child";
+    public static final String FIELD_PREFIX = "field";
+
+    private final String uri;
+    private final String docId;
+    private final String rootPath;
+    private final String collectionSegment;
+
+    CorpusFormat(String uri, String docId, String rootPath, String collectionSegment) {
+        this.uri = uri;
+        this.docId = docId;
+        this.rootPath = rootPath;
+        this.collectionSegment = collectionSegment;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public String getDocId() {
+        return docId;
+    }
+
+    public String getPath(CorpusShape shape, int fieldIndex) {
+        StringBuilder buf = new StringBuilder(rootPath);
+        for (int i = 0; i < shape.getCollectionDepth(); i++) {
+            buf.append(collectionSegment);
+        }
+        for (int i = 0; i < shape.levelOf(fieldIndex); i++) {
+            buf.append(CHILD_SEGMENT);
+        }
+        return buf.append('/').append(FIELD_PREFIX).append(shape.slotOf(fieldIndex)).toString();
+    }
+
+    public Field createField(String path) {
+        Field answer;
+        switch (this) {
+        case JAVA:
+            JavaField javaField = AtlasJavaModelFactory.createJavaField();
+            javaField.setDocId(docId);
+            answer = javaField;
+            break;
+        case XML:
+            answer = AtlasXmlModelFactory.createXmlField();
+            break;
+        default:
+            answer = AtlasJsonModelFactory.createJsonField();
+        }
+        answer.setPath(path);
+        return answer;
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.itests.generator;
+
+/**
+ * Shape of a generated mapping and its source documents.
+ * <p>
+ * {@code fieldCount} leaf fields are spread round robin over {@code nestingDepth + 1} levels of
+ * nested {@code child} objects, so that field {@code i} lives at level {@code i % (nestingDepth + 1)}
+ * under the name {@code field<i / (nestingDepth + 1)>}. The record holding them is wrapped into
+ * {@code collectionDepth} levels of collections of {@code collectionSize} items each.
+ */
+public class CorpusShape {
+
+    private int fieldCount = 10;
+    private int nestingDepth;
+    private int collectionDepth;
+    private int collectionSize = 1;
+    private int valueLength = 8;
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    public CorpusShape setFieldCount(int fieldCount) {
+        this.fieldCount = fieldCount;
+        return this;
+    }
+
+    public int getNestingDepth() {
+        return nestingDepth;
+    }
+
+    public CorpusShape setNestingDepth(int nestingDepth) {
+        this.nestingDepth = nestingDepth;
+        return this;
+    }
+
+    public int getCollectionDepth() {
+        return collectionDepth;
+    }
+
+    public CorpusShape setCollectionDepth(int collectionDepth) {
+        this.collectionDepth = collectionDepth;
+        return this;
+    }
+
+    public int getCollectionSize() {
+        return collectionSize;
+    }
+
+    public CorpusShape setCollectionSize(int collectionSize) {
+        this.collectionSize = collectionSize;
+        return this;
+    }
+
+    public int getValueLength() {
+        return valueLength;
+    }
+
+    public CorpusShape setValueLength(int valueLength) {
+        this.valueLength = valueLength;
+        return this;
+    }
+
+    public int getLevelCount() {
+        return nestingDepth + 1;
+    }
+
+    public int levelOf(int fieldIndex) {
+        return fieldIndex % getLevelCount();
+    }
+
+    public int slotOf(int fieldIndex) {
+        return fieldIndex / getLevelCount();
+    }
+
+    /**
+     * @return the number of records at the innermost collection level
+     */
+    public long getRecordCount() {
+        long answer = 1;
+        for (int i = 0; i < collectionDepth; i++) {
+            answer *= collectionSize;
+        }
+        return answer;
+    }
+
+    public void validate(CorpusFormat format) {
+        if (fieldCount < 1 || nestingDepth < 0 || collectionDepth < 0 || collectionSize < 0 || valueLength < 0) {
+            throw new IllegalArgumentException("Invalid corpus shape: " + this);
+        }
+        int slots = (fieldCount + nestingDepth) / getLevelCount();
+        if (format == CorpusFormat.JAVA && slots > GeneratedRecord.FIELD_COUNT) {
+            throw new IllegalArgumentException(String.format(
+                    "Java documents support at most %s fields per level, increase nestingDepth: %s",
+                    GeneratedRecord.FIELD_COUNT, this));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CorpusShape [fieldCount=" + fieldCount + ", nestingDepth=" + nestingDepth + ", collectionDepth="
+                + collectionDepth + ", collectionSize=" + collectionSize + ", valueLength=" + valueLength + "]";
+    }
+}
@@ -0,0 +1,262 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.itests.generator;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates JSON, XML and Java source documents matching a {@link CorpusShape}. JSON and XML
+ * are streamed to a {@link Writer} so that documents of hundreds of megabytes don't need to be
+ * held in memory twice. Values are deterministic: field {@code i} of the {@code r}-th record is
+ * {@link #valueOf(CorpusShape, int, long)}.
+ */
+public final class DocumentGenerator {
+
+    private DocumentGenerator() {
+    }
+
+    public static Object generate(CorpusShape shape, CorpusFormat format) {
+        switch (format) {
+        case JSON:
+            return generateJson(shape);
+        case XML:
+            return generateXml(shape);
+        case JAVA:
+            return generateJava(shape);
+        default:
+            throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+    }
+
+    public static String generateJson(CorpusShape shape) {
+        StringWriter writer = new StringWriter();
+        try {
+            writeJson(shape, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    public static void writeJson(CorpusShape shape, Writer writer) throws IOException {
+        shape.validate(CorpusFormat.JSON);
+        writeJsonContainer(shape, writer, 0, new long[1]);
+        writer.flush();
+    }
+
+    public static String generateXml(CorpusShape shape) {
+        StringWriter writer = new StringWriter();
+        try {
+            writeXml(shape, writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    public static void writeXml(CorpusShape shape, Writer writer) throws IOException {
+        shape.validate(CorpusFormat.XML);
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?><record>");
+        writeXmlContainer(shape, writer, 0, new long[1]);
+        writer.write("</record>");
+        writer.flush();
+    }
+
+    public static GeneratedRecord generateJava(CorpusShape shape) {
+        shape.validate(CorpusFormat.JAVA);
+        return createJavaContainer(shape, 0, new long[1]);
+    }
+
+    /**
+     * Measures the generated document size in characters without keeping it in memory.
+     */
+    public static long estimateSize(CorpusShape shape, CorpusFormat format) {
+        if (format == CorpusFormat.JAVA) {
+            throw new IllegalArgumentException("Size can only be estimated for JSON and XML documents");
+        }
+        CountingWriter writer = new CountingWriter();
+        try {
+            if (format == CorpusFormat.JSON) {
+                writeJson(shape, writer);
+            } else {
+                writeXml(shape, writer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.count;
+    }
+
+    /**
+     * Computes the collection size which makes the generated document roughly
+     * {@code targetSize} characters long, e.g. to produce 1 KB to 100 MB documents of the same
+     * shape. The shape must have at least one collection level.
+     */
+    public static int collectionSizeFor(CorpusShape shape, CorpusFormat format, long targetSize) {
+        if (shape.getCollectionDepth() < 1) {
+            throw new IllegalArgumentException("Document size can only be scaled with collections: " + shape);
+        }
+        int originalSize = shape.getCollectionSize();
+        try {
+            long one = estimateSize(shape.setCollectionSize(1), format);
+            long two = estimateSize(shape.setCollectionSize(2), format);
+            long perItem = Math.max(1, two - one);
+            double items = Math.max(1.0, (double) (targetSize - one + perItem) / perItem);
+            return (int) Math.max(1, Math.round(Math.pow(items, 1.0 / shape.getCollectionDepth())));
+        } finally {
+            shape.setCollectionSize(originalSize);
+        }
+    }
+
+    public static String valueOf(CorpusShape shape, int fieldIndex, long recordIndex) {
+        StringBuilder buf = new StringBuilder(Math.max(16, shape.getValueLength()));
+        buf.append('v').append(fieldIndex).append('-').append(recordIndex);
+        while (buf.length() < shape.getValueLength()) {
+            buf.append('x');
+        }
+        return buf.toString();
+    }
+
+    private static void writeJsonContainer(CorpusShape shape, Writer writer, int depth, long[] record)
+            throws IOException {
+        if (depth == shape.getCollectionDepth()) {
+            writeJsonLevel(shape, writer, 0, record[0]++);
+            return;
+        }
+        writer.write("{\"items\":[");
+        for (int i = 0; i < shape.getCollectionSize(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeJsonContainer(shape, writer, depth + 1, record);
+        }
+        writer.write("]}");
+    }
+
+    private static void writeJsonLevel(CorpusShape shape, Writer writer, int level, long record)
+            throws IOException {
+        writer.write('{');
+        boolean first = true;
+        for (int i = level; i < shape.getFieldCount(); i += shape.getLevelCount()) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writer.write('"');
+            writer.write(CorpusFormat.FIELD_PREFIX);
+            writer.write(Integer.toString(shape.slotOf(i)));
+            writer.write("\":\"");
+            writer.write(valueOf(shape, i, record));
+            writer.write('"');
+        }
+        if (level < shape.getNestingDepth()) {
+            if (!first) {
+                writer.write(',');
+            }
+            writer.write("\"child\":");
+            writeJsonLevel(shape, writer, level + 1, record);
+        }
+        writer.write('}');
+    }
+
+    private static void writeXmlContainer(CorpusShape shape, Writer writer, int depth, long[] record)
+            throws IOException {
+        if (depth == shape.getCollectionDepth()) {
+            writeXmlLevel(shape, writer, 0, record[0]++);
+            return;
+        }
+        for (int i = 0; i < shape.getCollectionSize(); i++) {
+            writer.write("<item>");
+            writeXmlContainer(shape, writer, depth + 1, record);
+            writer.write("</item>");
+        }
+    }
+
+    private static void writeXmlLevel(CorpusShape shape, Writer writer, int level, long record)
+            throws IOException {
+        for (int i = level; i < shape.getFieldCount(); i += shape.getLevelCount()) {
+            String name = CorpusFormat.FIELD_PREFIX + shape.slotOf(i);
+            writer.write('<');
+            writer.write(name);
+            writer.write('>');
+            writer.write(valueOf(shape, i, record));
+            writer.write("</");
+            writer.write(name);
+            writer.write('>');
+        }
+        if (level < shape.getNestingDepth()) {
+            writer.write("<child>");
+            writeXmlLevel(shape, writer, level + 1, record);
+            writer.write("</child>");
+        }
+    }
+
+    private static GeneratedRecord createJavaContainer(CorpusShape shape, int depth, long[] record) {
+        if (depth == shape.getCollectionDepth()) {
+            return createJavaLevel(shape, 0, record[0]++);
+        }
+        GeneratedRecord answer = new GeneratedRecord();
+        List<GeneratedRecord> items = new ArrayList<>(shape.getCollectionSize());
+        for (int i = 0; i < shape.getCollectionSize(); i++) {
+            items.add(createJavaContainer(shape, depth + 1, record));
+        }
+        answer.setItems(items);
+        return answer;
+    }
+
+    private static GeneratedRecord createJavaLevel(CorpusShape shape, int level, long record) {
+        GeneratedRecord answer = new GeneratedRecord();
+        for (int i = level; i < shape.getFieldCount(); i += shape.getLevelCount()) {
+            answer.setField(shape.slotOf(i), valueOf(shape, i, record));
+        }
+        if (level < shape.getNestingDepth()) {
+            answer.setChild(createJavaLevel(shape, level + 1, record));
+        }
+        return answer;
+    }
+
+    private static class CountingWriter extends Writer {
+        private long count;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(String str) {
+            count += str.length();
+        }
+
+        @Override
+        public void write(int c) {
+            count++;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.itests.generator;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Java source and target document for generated corpora. Java classes can't be shaped at
+ * runtime, so a record has a fixed number of String fields, a nested {@code child} record
+ * for deeper levels and {@code items} for collections.
+ */
+public class GeneratedRecord implements Serializable {
+
+    public static final int FIELD_COUNT = 10;
+    private static final long serialVersionUID = 3562381539421863724L;
+
+    private String field0;
+    private String field1;
+    private String field2;
+    private String field3;
+    private String field4;
+    private String field5;
+    private String field6;
+    private String field7;
+    private String field8;
+    private String field9;
+    private GeneratedRecord child;
+    private List<GeneratedRecord> items;
+
+    public String getField0() {
+        return field0;
+    }
+
+    public void setField0(String field0) {
+        this.field0 = field0;
+    }
+
+    public String getField1() {
+        return field1;
+    }
+
+    public void setField1(String field1) {
+        this.field1 = field1;
+    }
+
+    public String getField2() {
+        return field2;
+    }
+
+    public void setField2(String field2) {
+        this.field2 = field2;
+    }
+
+    public String getField3() {
+        return field3;
+    }
+
+    public void setField3(String field3) {
+        this.field3 = field3;
+    }
+
+    public String getField4() {
+        return field4;
+    }
+
+    public void setField4(String field4) {
+        this.field4 = field4;
+    }
+
+    public String getField5() {
+        return field5;
+    }
+
+    public void setField5(String field5) {
+        this.field5 = field5;
+    }
+
+    public String getField6() {
+        return field6;
+    }
+
+    public void setField6(String field6) {
+        this.field6 = field6;
+    }
+
+    public String getField7() {
+        return field7;
+    }
+
+    public void setField7(String field7) {
+        this.field7 = field7;
+    }
+
+    public String getField8() {
+        return field8;
+    }
+
+    public void setField8(String field8) {
+        this.field8 = field8;
+    }
+
+    public String getField9() {
+        return field9;
+    }
+
+    public void setField9(String field9) {
+        this.field9 = field9;
+    }
+
+    public GeneratedRecord getChild() {
+        return child;
+    }
+
+    public void setChild(GeneratedRecord child) {
+        this.child = child;
+    }
+
+    public List<GeneratedRecord> getItems() {
+        return items;
+    }
+
+    public void setItems(List<GeneratedRecord> items) {
+        this.items = items;
+    }
+
+    public String getField(int slot) {
+        switch (slot) {
+        case 0:
+            return field0;
+        case 1:
+            return field1;
+        case 2:
+            return field2;
+        case 3:
+            return field3;
+        case 4:
+            return field4;
+        case 5:
+            return field5;
+        case 6:
+            return field6;
+        case 7:
+            return field7;
+        case 8:
+            return field8;
+        case 9:
+            return field9;
+        default:
+            throw new IndexOutOfBoundsException("No such field: " + slot);
+        }
+    }
+
+    public void setField(int slot, String value) {
+        switch (slot) {
+        case 0:
+            field0 = value;
+            break;
+        case 1:
+            field1 = value;
+            break;
+        case 2:
+            field2 = value;
+            break;
+        case 3:
+            field3 = value;
+            break;
+        case 4:
+            field4 = value;
+            break;
+        case 5:
+            field5 = value;
+            break;
+        case 6:
+            field6 = value;
+            break;
+        case 7:
+            field7 = value;
+            break;
+        case 8:
+            field8 = value;
+            break;
+        case 9:
+            field9 = value;
+            break;
+        default:
+            throw new IndexOutOfBoundsException("No such field: " + slot);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.itests.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.AtlasModelFactory;
+import io.atlasmap.v2.BaseMapping;
+import io.atlasmap.v2.Collection;
+import io.atlasmap.v2.DataSource;
+import io.atlasmap.v2.DataSourceType;
+import io.atlasmap.v2.Field;
+import io.atlasmap.v2.FieldType;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.v2.MappingType;
+
+/**
+ * Generates {@link AtlasMapping} definitions which map every field of a {@link CorpusShape}
+ * from a source format to the same field of a target format.
+ */
+public final class MappingGenerator {
+
+    private MappingGenerator() {
+    }
+
+    public static AtlasMapping generate(CorpusShape shape, CorpusFormat source, CorpusFormat target) {
+        shape.validate(source);
+        shape.validate(target);
+        AtlasMapping answer = AtlasModelFactory.createAtlasMapping();
+        answer.setName(String.format("generated-%s-%s-%s", source, target, shape.getFieldCount()));
+        answer.getDataSource().add(createDataSource(source, DataSourceType.SOURCE));
+        answer.getDataSource().add(createDataSource(target, DataSourceType.TARGET));
+
+        List<BaseMapping> mappings = new ArrayList<>(shape.getFieldCount());
+        for (int i = 0; i < shape.getFieldCount(); i++) {
+            Mapping mapping = AtlasModelFactory.createMapping(MappingType.MAP);
+            mapping.getInputField().add(createField(source, shape, i));
+            mapping.getOutputField().add(createField(target, shape, i));
+            mappings.add(mapping);
+        }
+
+        if (shape.getCollectionDepth() > 0) {
+            Collection collection = AtlasModelFactory.createCollection();
+            collection.getMappings().getMapping().addAll(mappings);
+            answer.getMappings().getMapping().add(collection);
+        } else {
+            answer.getMappings().getMapping().addAll(mappings);
+        }
+        return answer;
+    }
+
+    public static List<String> generatePaths(CorpusShape shape, CorpusFormat format) {
+        List<String> answer = new ArrayList<>(shape.getFieldCount());
+        for (int i = 0; i < shape.getFieldCount(); i++) {
+            answer.add(format.getPath(shape, i));
+        }
+        return answer;
+    }
+
+    static DataSource createDataSource(CorpusFormat format, DataSourceType type) {
+        DataSource answer = new DataSource();
+        answer.setDataSourceType(type);
+        answer.setUri(format.getUri());
+        answer.setId(format.getDocId());
+        return answer;
+    }
+
+    static Field createField(CorpusFormat format, CorpusShape shape, int fieldIndex) {
+        Field answer = format.createField(format.getPath(shape, fieldIndex));
+        answer.setFieldType(FieldType.STRING);
+        return answer;
+    }
+}
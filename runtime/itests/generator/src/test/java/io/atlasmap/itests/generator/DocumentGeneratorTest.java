@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.itests.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class DocumentGeneratorTest {
+
+    @Test
+    public void testGenerateJson() {
+        CorpusShape shape = new CorpusShape().setFieldCount(3).setNestingDepth(1).setCollectionDepth(1)
+                .setCollectionSize(2).setValueLength(0);
+        assertEquals("{\"items\":[{\"field0\":\"v0-0\",\"field1\":\"v2-0\",\"child\":{\"field0\":\"v1-0\"}},"
+                + "{\"field0\":\"v0-1\",\"field1\":\"v2-1\",\"child\":{\"field0\":\"v1-1\"}}]}",
+                DocumentGenerator.generateJson(shape));
+    }
+
+    @Test
+    public void testGenerateXml() {
+        CorpusShape shape = new CorpusShape().setFieldCount(2).setNestingDepth(1).setValueLength(6);
+        assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<record><field0>v0-0xx</field0><child><field0>v1-0xx</field0></child></record>",
+                DocumentGenerator.generateXml(shape));
+    }
+
+    @Test
+    public void testGenerateJava() {
+        CorpusShape shape = new CorpusShape().setFieldCount(4).setNestingDepth(1).setCollectionDepth(2)
+                .setCollectionSize(3).setValueLength(0);
+        GeneratedRecord root = DocumentGenerator.generateJava(shape);
+        assertEquals(3, root.getItems().size());
+        GeneratedRecord last = root.getItems().get(2).getItems().get(2);
+        assertEquals("v0-8", last.getField0());
+        assertEquals("v2-8", last.getField1());
+        assertEquals("v3-8", last.getChild().getField1());
+        assertNull(last.getChild().getChild());
+    }
+
+    @Test
+    public void testCollectionSizeFor() {
+        CorpusShape shape = new CorpusShape().setFieldCount(20).setCollectionDepth(1);
+        for (long target : new long[] {1024L, 1024L * 1024L }) {
+            shape.setCollectionSize(DocumentGenerator.collectionSizeFor(shape, CorpusFormat.JSON, target));
+            long size = DocumentGenerator.estimateSize(shape, CorpusFormat.JSON);
+            assertTrue(size + " vs " + target, Math.abs(size - target) < target / 10 + 300);
+        }
+        assertEquals(DocumentGenerator.generateXml(shape).length(),
+                DocumentGenerator.estimateSize(shape, CorpusFormat.XML));
+    }
+}
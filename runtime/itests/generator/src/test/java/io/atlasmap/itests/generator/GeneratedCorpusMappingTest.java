@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.itests.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.core.DefaultAtlasContextFactory;
+import io.atlasmap.v2.Audit;
+
+public class GeneratedCorpusMappingTest {
+
+    @Test
+    public void testJsonToJson() throws Exception {
+        CorpusShape shape = new CorpusShape().setFieldCount(30).setNestingDepth(2);
+        String output = (String) process(shape, CorpusFormat.JSON, CorpusFormat.JSON);
+        assertTrue(output, output.contains("\"v29-0xxx\""));
+    }
+
+    @Test
+    public void testXmlToXmlCollection() throws Exception {
+        CorpusShape shape = new CorpusShape().setFieldCount(10).setCollectionDepth(1).setCollectionSize(5);
+        String output = (String) process(shape, CorpusFormat.XML, CorpusFormat.XML);
+        assertTrue(output, output.contains("<field9>v9-4xxxx</field9>"));
+    }
+
+    @Test
+    public void testJavaToJavaCollection() throws Exception {
+        CorpusShape shape = new CorpusShape().setFieldCount(6).setCollectionDepth(1).setCollectionSize(4);
+        GeneratedRecord output = (GeneratedRecord) process(shape, CorpusFormat.JAVA, CorpusFormat.JAVA);
+        assertEquals(4, output.getItems().size());
+        assertEquals("v5-3xxxx", output.getItems().get(3).getField5());
+    }
+
+    @Test
+    public void testJavaToJavaNested() throws Exception {
+        CorpusShape shape = new CorpusShape().setFieldCount(6).setNestingDepth(1);
+        GeneratedRecord output = (GeneratedRecord) process(shape, CorpusFormat.JAVA, CorpusFormat.JAVA);
+        assertEquals("v5-0xxxx", output.getChild().getField2());
+    }
+
+    @Test
+    public void testJsonToXml() throws Exception {
+        CorpusShape shape = new CorpusShape().setFieldCount(100).setNestingDepth(3);
+        String output = (String) process(shape, CorpusFormat.JSON, CorpusFormat.XML);
+        assertTrue(output, output.contains("<field24>v99-0xxx</field24>"));
+    }
+
+    private Object process(CorpusShape shape, CorpusFormat source, CorpusFormat target) throws Exception {
+        AtlasContext context = DefaultAtlasContextFactory.getInstance()
+                .createContext(MappingGenerator.generate(shape, source, target));
+        AtlasSession session = context.createSession();
+        session.setDefaultSourceDocument(DocumentGenerator.generate(shape, source));
+        context.process(session);
+        assertFalse(printAudit(session), session.hasErrors());
+        return session.getDefaultTargetDocument();
+    }
+
+    private String printAudit(AtlasSession session) {
+        StringBuilder buf = new StringBuilder("Audits: ");
+        for (Audit audit : session.getAudits().getAudit()) {
+            buf.append('[').append(audit.getStatus()).append(", message=").append(audit.getMessage())
+                    .append(", path=").append(audit.getPath()).append("] ");
+        }
+        return buf.toString();
+    }
+}
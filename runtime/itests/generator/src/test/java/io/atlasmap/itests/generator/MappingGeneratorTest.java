@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.itests.generator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import io.atlasmap.java.v2.JavaField;
+import io.atlasmap.json.v2.JsonField;
+import io.atlasmap.v2.AtlasMapping;
+import io.atlasmap.v2.Collection;
+import io.atlasmap.v2.Mapping;
+import io.atlasmap.xml.v2.XmlField;
+
+public class MappingGeneratorTest {
+
+    @Test
+    public void testGeneratePaths() {
+        CorpusShape shape = new CorpusShape().setFieldCount(5).setNestingDepth(1).setCollectionDepth(2);
+        List<String> json = MappingGenerator.generatePaths(shape, CorpusFormat.JSON);
+        assertEquals("/items<>/items<>/field0", json.get(0));
+        assertEquals("/items<>/items<>/child/field0", json.get(1));
+        assertEquals("/items<>/items<>/field2", json.get(4));
+        List<String> xml = MappingGenerator.generatePaths(shape, CorpusFormat.XML);
+        assertEquals("/record/item<>/item<>/child/field1", xml.get(3));
+    }
+
+    @Test
+    public void testGenerateFlat() {
+        AtlasMapping mapping = MappingGenerator.generate(new CorpusShape().setFieldCount(1000), CorpusFormat.JSON,
+                CorpusFormat.XML);
+        assertEquals(2, mapping.getDataSource().size());
+        assertEquals(1000, mapping.getMappings().getMapping().size());
+        Mapping m = (Mapping) mapping.getMappings().getMapping().get(999);
+        assertTrue(m.getInputField().get(0) instanceof JsonField);
+        assertTrue(m.getOutputField().get(0) instanceof XmlField);
+        assertEquals("/field999", m.getInputField().get(0).getPath());
+        assertEquals("/record/field999", m.getOutputField().get(0).getPath());
+    }
+
+    @Test
+    public void testGenerateCollection() {
+        AtlasMapping mapping = MappingGenerator.generate(
+                new CorpusShape().setFieldCount(20).setNestingDepth(1).setCollectionDepth(1), CorpusFormat.JAVA,
+                CorpusFormat.JAVA);
+        assertEquals(1, mapping.getMappings().getMapping().size());
+        Collection collection = (Collection) mapping.getMappings().getMapping().get(0);
+        assertEquals(20, collection.getMappings().getMapping().size());
+        Mapping m = (Mapping) collection.getMappings().getMapping().get(0);
+        JavaField source = (JavaField) m.getInputField().get(0);
+        assertEquals(GeneratedRecord.class.getName(), source.getDocId());
+        assertEquals(GeneratedRecord.class.getName(), mapping.getDataSource().get(0).getId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testJavaFieldLimit() {
+        MappingGenerator.generate(new CorpusShape().setFieldCount(11), CorpusFormat.JSON, CorpusFormat.JAVA);
+    }
+}
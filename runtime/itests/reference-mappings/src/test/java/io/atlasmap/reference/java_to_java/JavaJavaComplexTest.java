@@ -39,6 +39,8 @@ import io.atlasmap.java.test.TargetOrder;
 import io.atlasmap.java.test.TargetTestClass;
 import io.atlasmap.reference.AtlasMappingBaseTest;
 import io.atlasmap.reference.AtlasTestUtil;
+import io.atlasmap.v2.Collection;
+import io.atlasmap.v2.Mapping;
 
 public class JavaJavaComplexTest extends AtlasMappingBaseTest {
 
@@ -164,6 +166,34 @@ public class JavaJavaComplexTest extends AtlasMappingBaseTest {
         }
     }
 
+    @Test
+    public void testProcessCollectionListKeepsDefinition() throws Exception {
+        AtlasContext context = atlasContextFactory.createContext(
+                new File("src/test/resources/javaToJava/atlasmapping-collection-list-simple.xml").toURI());
+        for (int size : new int[] { 5, 3 }) {
+            TargetTestClass input = new TargetTestClass();
+            input.setContactList(new LinkedList<>());
+            for (int i = 0; i < size; i++) {
+                input.getContactList().add(new TargetContact());
+                input.getContactList().get(i).setFirstName("fname" + i);
+            }
+            AtlasSession session = context.createSession();
+            session.setSourceDocument("io.atlasmap.java.test.TargetTestClass", input);
+            context.process(session);
+
+            assertFalse(printAudit(session), session.hasErrors());
+            TargetTestClass object = (TargetTestClass) session.getDefaultTargetDocument();
+            assertEquals(size, object.getContactList().size());
+            assertEquals("fname" + (size - 1), object.getContactList().get(size - 1).getFirstName());
+
+            Collection collection = (Collection) session.getMapping().getMappings().getMapping().get(0);
+            assertEquals(2, collection.getMappings().getMapping().size());
+            Mapping mapping = (Mapping) collection.getMappings().getMapping().get(0);
+            assertEquals("/contactList<>/firstName", mapping.getInputField().get(0).getPath());
+            assertEquals("/contactList<>/firstName", mapping.getOutputField().get(0).getPath());
+        }
+    }
+
     @Test
     public void testProcessCollectionArraySimple() throws Exception {
         AtlasContext context = atlasContextFactory.createContext(
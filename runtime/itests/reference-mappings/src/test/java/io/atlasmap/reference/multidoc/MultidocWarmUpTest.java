@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.reference.multidoc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.junit.Test;
+
+import io.atlasmap.api.AtlasContext;
+import io.atlasmap.api.AtlasSession;
+import io.atlasmap.api.AtlasWarmUpResult;
+import io.atlasmap.java.test.SourceFlatPrimitiveClass;
+import io.atlasmap.reference.AtlasMappingBaseTest;
+import io.atlasmap.reference.AtlasTestUtil;
+
+public class MultidocWarmUpTest extends AtlasMappingBaseTest {
+
+    @Test
+    public void testWarmUpFlatPrimitive() throws Exception {
+        AtlasContext context = atlasContextFactory
+                .createContext(new File("src/test/resources/multidoc/atlasmapping-flatprimitive.xml").toURI());
+        AtlasWarmUpResult result = context.warmUp(2000);
+        assertTrue(result.toString(), result.getIterations() > 0);
+        assertTrue(result.toString(), result.getIterations() <= 2000);
+        assertEquals(result.toString(), 0, result.getFailedIterations());
+
+        // a real session after warming up
+        AtlasSession session = context.createSession();
+        session.setSourceDocument("SourceJava", new SourceFlatPrimitiveClass());
+        session.setSourceDocument("SourceJson",
+                AtlasTestUtil.loadFileAsString("src/test/resources/multidoc/atlas-json-flatprimitive-unrooted.json"));
+        session.setSourceDocument("SourceXml",
+                AtlasTestUtil.loadFileAsString("src/test/resources/multidoc/atlas-xml-flatprimitive-attribute.xml"));
+        context.process(session);
+        assertFalse(printAudit(session), session.hasErrors());
+        assertNotNull(session.getTargetDocument("TargetJson"));
+    }
+
+    @Test
+    public void testWarmUpComplex() throws Exception {
+        AtlasContext context = atlasContextFactory
+                .createContext(new File("src/test/resources/multidoc/atlasmapping-complex-simple.xml").toURI());
+        AtlasWarmUpResult result = context.warmUp(2000);
+        assertTrue(result.toString(), result.getIterations() > 0);
+        assertEquals(result.toString(), 0, result.getFailedIterations());
+    }
+}
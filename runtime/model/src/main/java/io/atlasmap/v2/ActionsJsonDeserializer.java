@@ -66,7 +66,7 @@ public class ActionsJsonDeserializer extends JsonDeserializer<Actions> {
             case "AbsoluteValue":
                 return new AbsoluteValue();
             case "Add":
-                return new Add();
+                return processAddJsonToken(jsonToken);
             case "AddDays":
                 return processAddDaysJsonToken(jsonToken);
             case "AddSeconds":
@@ -74,7 +74,7 @@ public class ActionsJsonDeserializer extends JsonDeserializer<Actions> {
             case "Append":
                 return processAppendJsonToken(jsonToken);
             case "Average":
-                return new Average();
+                return processAverageJsonToken(jsonToken);
             case "Camelize":
                 return new Camelize();
             case "Capitalize":
@@ -176,6 +176,33 @@ public class ActionsJsonDeserializer extends JsonDeserializer<Actions> {
         return null;
     }
 
+    protected Add processAddJsonToken(JsonParser jsonToken) throws IOException {
+        Add action = new Add();
+
+        if (JsonToken.END_ARRAY.equals(jsonToken.currentToken())
+                || JsonToken.END_OBJECT.equals(jsonToken.currentToken())) {
+            return action;
+        }
+
+        JsonToken nextToken = null;
+        do {
+            if (JsonToken.START_OBJECT.equals(jsonToken.currentToken())) {
+                jsonToken.nextToken();
+            }
+            switch (jsonToken.getCurrentName()) {
+            case ActionsJsonSerializer.COMPENSATED:
+                jsonToken.nextToken();
+                action.setCompensated(jsonToken.getValueAsBoolean());
+                break;
+            default:
+                break;
+            }
+
+            nextToken = jsonToken.nextToken();
+        } while (!JsonToken.END_ARRAY.equals(nextToken) && !JsonToken.END_OBJECT.equals(nextToken));
+        return action;
+    }
+
     protected AddDays processAddDaysJsonToken(JsonParser jsonToken) throws IOException {
         AddDays action = new AddDays();
 
@@ -257,6 +284,33 @@ public class ActionsJsonDeserializer extends JsonDeserializer<Actions> {
         return action;
     }
 
+    protected Average processAverageJsonToken(JsonParser jsonToken) throws IOException {
+        Average action = new Average();
+
+        if (JsonToken.END_ARRAY.equals(jsonToken.currentToken())
+                || JsonToken.END_OBJECT.equals(jsonToken.currentToken())) {
+            return action;
+        }
+
+        JsonToken nextToken = null;
+        do {
+            if (JsonToken.START_OBJECT.equals(jsonToken.currentToken())) {
+                jsonToken.nextToken();
+            }
+            switch (jsonToken.getCurrentName()) {
+            case ActionsJsonSerializer.COMPENSATED:
+                jsonToken.nextToken();
+                action.setCompensated(jsonToken.getValueAsBoolean());
+                break;
+            default:
+                break;
+            }
+
+            nextToken = jsonToken.nextToken();
+        } while (!JsonToken.END_ARRAY.equals(nextToken) && !JsonToken.END_OBJECT.equals(nextToken));
+        return action;
+    }
+
     protected Concatenate processConcatenateJsonToken(JsonParser jsonToken) throws IOException {
         Concatenate action = new Concatenate();
 
@@ -24,6 +24,7 @@ import com.fasterxml.jackson.databind.SerializerProvider;
 public class ActionsJsonSerializer extends JsonSerializer<Actions> {
 
     public static final String CLASS_NAME = "className";
+    public static final String COMPENSATED = "compensated";
     public static final String DATE_FORMAT = "dateFormat";
     public static final String DAYS = "days";
     public static final String DELIMITER = "delimiter";
@@ -61,6 +62,9 @@ public class ActionsJsonSerializer extends JsonSerializer<Actions> {
     protected void writeActionField(JsonGenerator gen, Action action) throws IOException {
 
         switch (action.getClass().getSimpleName()) {
+            case "Add":
+                writeAdd(gen, (Add) action);
+                break;
             case "AddDays":
                 writeAddDays(gen, (AddDays) action);
                 break;
@@ -70,6 +74,9 @@ public class ActionsJsonSerializer extends JsonSerializer<Actions> {
             case "Append":
                 writeAppend(gen, (Append) action);
                 break;
+            case "Average":
+                writeAverage(gen, (Average) action);
+                break;
             case "Concatenate":
                 writeConcatenate(gen, (Concatenate) action);
                 break;
@@ -141,6 +148,17 @@ public class ActionsJsonSerializer extends JsonSerializer<Actions> {
         }
     }
 
+    protected void writeAdd(JsonGenerator gen, Add action) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName("Add");
+        gen.writeStartObject();
+        if (action.isCompensated() != null) {
+            gen.writeBooleanField(COMPENSATED, action.isCompensated());
+        }
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+
     protected void writeAddDays(JsonGenerator gen, AddDays action) throws IOException {
         gen.writeStartObject();
         gen.writeFieldName("AddDays");
@@ -172,6 +190,17 @@ public class ActionsJsonSerializer extends JsonSerializer<Actions> {
         gen.writeEndObject();
     }
 
+    protected void writeAverage(JsonGenerator gen, Average action) throws IOException {
+        gen.writeStartObject();
+        gen.writeFieldName("Average");
+        gen.writeStartObject();
+        if (action.isCompensated() != null) {
+            gen.writeBooleanField(COMPENSATED, action.isCompensated());
+        }
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+
     protected void writeConcatenate(JsonGenerator gen, Concatenate action) throws IOException {
         gen.writeStartObject();
         gen.writeFieldName("Concatenate");
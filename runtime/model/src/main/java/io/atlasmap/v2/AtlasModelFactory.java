@@ -181,7 +181,9 @@ public class AtlasModelFactory {
             return new AbsoluteValue();
         }
         if (action instanceof Add) {
-            return new Add();
+            Add add = new Add();
+            add.setCompensated(((Add) action).isCompensated());
+            return add;
         }
         if (action instanceof AddDays) {
             AddDays addDays = new AddDays();
@@ -199,7 +201,9 @@ public class AtlasModelFactory {
             return append;
         }
         if (action instanceof Average) {
-            return new Average();
+            Average average = new Average();
+            average.setCompensated(((Average) action).isCompensated());
+            return average;
         }
         if (action instanceof Camelize) {
             return new Camelize();
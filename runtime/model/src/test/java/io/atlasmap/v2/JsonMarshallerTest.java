@@ -15,7 +15,11 @@
  */
 package io.atlasmap.v2;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.util.List;
@@ -24,7 +28,10 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 public class JsonMarshallerTest extends BaseMarshallerTest {
 
@@ -176,6 +183,31 @@ public class JsonMarshallerTest extends BaseMarshallerTest {
                 new File("target/junit/" + testName.getMethodName() + "/" + "atlasmapping.json"), AtlasMapping.class);
     }
 
+    @Test
+    public void testCompensatedActions() throws Exception {
+        Actions actions = new Actions();
+        Add add = new Add();
+        add.setCompensated(true);
+        actions.getActions().add(add);
+        actions.getActions().add(new Average());
+        actions.getActions().add(new Trim());
+
+        ObjectReader reader = mapper.readerFor(Actions.class).without(DeserializationFeature.UNWRAP_ROOT_VALUE);
+        Actions uActions = reader
+                .readValue(mapper.writer().without(SerializationFeature.WRAP_ROOT_VALUE).writeValueAsString(actions));
+        assertEquals(3, uActions.getActions().size());
+        assertTrue(((Add) uActions.getActions().get(0)).isCompensated());
+        assertNull(((Average) uActions.getActions().get(1)).isCompensated());
+        assertTrue(uActions.getActions().get(2) instanceof Trim);
+
+        uActions = reader.readValue("[ { \"Add\" : null }, { \"Average\" : { \"compensated\" : false } }, "
+                + "{ \"Trim\" : null } ]");
+        assertEquals(3, uActions.getActions().size());
+        assertNull(((Add) uActions.getActions().get(0)).isCompensated());
+        assertFalse(((Average) uActions.getActions().get(1)).isCompensated());
+        assertTrue(uActions.getActions().get(2) instanceof Trim);
+    }
+
     //
     // @Test
     // public void testMulitSourceMapping() throws Exception {
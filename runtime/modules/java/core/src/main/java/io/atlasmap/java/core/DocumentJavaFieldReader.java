@@ -1,25 +1,33 @@
 package io.atlasmap.java.core;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
 
 import org.slf4j.LoggerFactory;
 
 import io.atlasmap.api.AtlasConversionService;
 import io.atlasmap.api.AtlasException;
-import io.atlasmap.core.AtlasPath;
+import io.atlasmap.core.CollectionValueIterator;
+import io.atlasmap.core.CompiledPath;
+import io.atlasmap.core.CompiledPath.Segment;
 import io.atlasmap.java.inspect.ClassHelper;
 import io.atlasmap.java.inspect.JdkPackages;
 import io.atlasmap.java.inspect.StringUtil;
 import io.atlasmap.java.v2.JavaEnumField;
 import io.atlasmap.java.v2.JavaField;
-import io.atlasmap.spi.AtlasFieldReader;
+import io.atlasmap.spi.AtlasCollectionFieldReader;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.v2.Field;
 
-public class DocumentJavaFieldReader implements AtlasFieldReader {
+public class DocumentJavaFieldReader implements AtlasCollectionFieldReader {
     private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(DocumentJavaFieldReader.class);
 
     private AtlasConversionService conversionService;
@@ -29,10 +37,11 @@ public class DocumentJavaFieldReader implements AtlasFieldReader {
     public void read(AtlasInternalSession session) throws AtlasException {
         try {
             Field sourceField = session.head().getSourceField();
+            OptionalInt collectionIndex = session.head().getCollectionIndex();
             Method getter = null;
             if (sourceField.getFieldType() == null
                     && (sourceField instanceof JavaField || sourceField instanceof JavaEnumField)) {
-                getter = resolveGetMethod(sourceDocument, sourceField, false);
+                getter = resolveGetMethod(sourceDocument, sourceField, false, collectionIndex);
                 if (getter == null) {
                     LOG.warn("Unable to auto-detect sourceField type p=" + sourceField.getPath() + " d="
                             + sourceField.getDocId());
@@ -46,7 +55,7 @@ public class DocumentJavaFieldReader implements AtlasFieldReader {
                 }
             }
 
-            populateSourceFieldValue(sourceField, sourceDocument, getter);
+            populateSourceFieldValue(sourceField, sourceDocument, getter, collectionIndex);
 
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Processed input field sPath=" + sourceField.getPath() + " sV=" + sourceField.getValue()
@@ -57,14 +66,106 @@ public class DocumentJavaFieldReader implements AtlasFieldReader {
         }
     }
 
-    private void populateSourceFieldValue(Field field, Object source, Method m) throws Exception {
+    /**
+     * Reads every item of a source collection, e.g. {@code /orders<>/amount}, one at a time as they
+     * are iterated, without building a collection of them.
+     */
+    @Override
+    public Iterable<Object> readCollection(AtlasInternalSession session) throws AtlasException {
+        Field sourceField = session.head().getSourceField();
+        CompiledPath path = CompiledPath.compile(sourceField.getPath());
+        Object root = sourceDocument;
+        return () -> new CollectionValueIterator<Object>(path, 0, root) {
+            @Override
+            protected Object child(Object parent, Segment segment) {
+                Object answer = invokeGetter(parent, segment);
+                if (answer == null || !segment.hasCollectionIndex()) {
+                    return answer;
+                }
+                int index = segment.getCollectionIndex();
+                if (segment.isList() && answer instanceof List) {
+                    List<?> list = (List<?>) answer;
+                    return index < list.size() ? list.get(index) : null;
+                } else if (segment.isArray() && answer.getClass().isArray()) {
+                    return index < Array.getLength(answer) ? Array.get(answer, index) : null;
+                }
+                return answer;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            protected Iterator<Object> items(Object parent, Segment segment) {
+                Object collection = invokeGetter(parent, segment);
+                if (collection == null) {
+                    return null;
+                } else if (collection instanceof Collection) {
+                    return ((Collection<Object>) collection).iterator();
+                } else if (collection.getClass().isArray()) {
+                    return new ArrayIterator(collection);
+                }
+                return Collections.singletonList(collection).iterator();
+            }
+
+            @Override
+            protected Object value(Object leaf) {
+                // wrappers are immutable, the item is carried as read up to the target conversion
+                return leaf;
+            }
+        };
+    }
+
+    private static Object invokeGetter(Object parent, Segment segment) {
+        try {
+            for (String getter : ClassHelper.getterMethodNames(segment.getName())) {
+                try {
+                    Method getterMethod = ClassHelper.detectGetterMethod(parent.getClass(), getter);
+                    getterMethod.setAccessible(true);
+                    return getterMethod.invoke(parent);
+                } catch (NoSuchMethodException e) {
+                    // exhaust options
+                }
+            }
+            return parent.getClass().getField(segment.getName()).get(parent);
+        } catch (Exception e) {
+            throw new IllegalStateException(String.format("Unable to read %s from %s", segment,
+                    parent.getClass().getName()), e);
+        }
+    }
+
+    private static final class ArrayIterator implements Iterator<Object> {
+        private final Object array;
+        private final int length;
+        private int index;
+
+        private ArrayIterator(Object array) {
+            this.array = array;
+            this.length = Array.getLength(array);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < length;
+        }
+
+        @Override
+        public Object next() {
+            if (index >= length) {
+                throw new NoSuchElementException();
+            }
+            return Array.get(array, index++);
+        }
+    }
+
+    private void populateSourceFieldValue(Field field, Object source, Method m, OptionalInt collectionIndex)
+            throws Exception {
         Method getter = m;
         Object parentObject = source;
-        AtlasPath atlasPath = new AtlasPath(field.getPath());
-        if (atlasPath.hasParent()) {
-            parentObject = ClassHelper.parentObjectForPath(source, atlasPath, true);
+        CompiledPath path = CompiledPath.compile(field.getPath());
+        if (path.hasParent()) {
+            parentObject = ClassHelper.parentObjectForCompiledPath(source, path, true, collectionIndex);
         }
-        getter = (getter == null) ? resolveGetMethod(parentObject, field, (!parentObject.equals(source))) : getter;
+        getter = (getter == null)
+                ? resolveGetMethod(parentObject, field, (!parentObject.equals(source)), collectionIndex) : getter;
 
         Object sourceValue = null;
         if (getter != null) {
@@ -73,25 +174,22 @@ public class DocumentJavaFieldReader implements AtlasFieldReader {
 
         // TODO: support doing parent stuff at field level vs getter
         if (sourceValue == null) {
-            sourceValue = getValueFromMemberField(source, atlasPath.getLastSegment());
-        }
-
-        if (sourceValue != null && (conversionService.isPrimitive(sourceValue.getClass())
-                || conversionService.isBoxedPrimitive(sourceValue.getClass()))) {
-            sourceValue = conversionService.copyPrimitive(sourceValue);
+            sourceValue = getValueFromMemberField(source, path.getLastSegment().getExpression());
         }
 
+        // wrappers are immutable, the value is carried as read up to the target conversion, see
+        // TargetValueConverter
         field.setValue(sourceValue);
     }
 
-    private Method resolveGetMethod(Object sourceObject, Field field, boolean objectIsParent)
-            throws AtlasException {
+    private Method resolveGetMethod(Object sourceObject, Field field, boolean objectIsParent,
+            OptionalInt collectionIndex) throws AtlasException {
         Object parentObject = sourceObject;
-        AtlasPath atlasPath = new AtlasPath(field.getPath());
+        CompiledPath path = CompiledPath.compile(field.getPath());
         Method getter = null;
 
-        if (atlasPath.hasParent() && !objectIsParent) {
-            parentObject = ClassHelper.parentObjectForPath(sourceObject, atlasPath, true);
+        if (path.hasParent() && !objectIsParent) {
+            parentObject = ClassHelper.parentObjectForCompiledPath(sourceObject, path, true, collectionIndex);
         }
         if (parentObject == null) {
             return null;
@@ -111,7 +209,7 @@ public class DocumentJavaFieldReader implements AtlasFieldReader {
             }
 
             for (String m : Arrays.asList("get", "is")) {
-                String getterMethod = m + capitalizeFirstLetter(atlasPath.getLastSegment());
+                String getterMethod = m + capitalizeFirstLetter(path.getLastSegment().getExpression());
                 try {
                     getter = clazz.getMethod(getterMethod);
                     getter.setAccessible(true);
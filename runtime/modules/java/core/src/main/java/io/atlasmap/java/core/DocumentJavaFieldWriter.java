@@ -15,6 +15,8 @@ import org.slf4j.LoggerFactory;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.core.AtlasPath;
 import io.atlasmap.core.AtlasPath.SegmentContext;
+import io.atlasmap.core.CompiledPath;
+import io.atlasmap.core.CompiledPath.Segment;
 import io.atlasmap.core.DefaultAtlasConversionService;
 import io.atlasmap.java.inspect.ClassHelper;
 import io.atlasmap.java.v2.JavaEnumField;
@@ -56,10 +58,10 @@ public class DocumentJavaFieldWriter implements AtlasFieldWriter {
 
             processedPaths.add(targetField.getPath());
 
-            AtlasPath path = new AtlasPath(targetField.getPath());
+            CompiledPath path = CompiledPath.compile(targetField.getPath());
             Object parentObject = rootObject;
             boolean segmentIsComplexSegment = true;
-            for (SegmentContext segmentContext : path.getSegmentContexts(true)) {
+            for (SegmentContext segmentContext : path.getSegmentContexts(true, session.head().getCollectionIndex())) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Now processing segment: " + segmentContext);
                     LOG.debug("Parent object is currently: " + writeDocumentToString(false, parentObject));
@@ -110,7 +112,7 @@ public class DocumentJavaFieldWriter implements AtlasFieldWriter {
                     }
                     parentObject = childObject;
                 } else { // processing field value
-                    if (AtlasPath.isCollectionSegment(segmentContext.getSegment())) {
+                    if (segmentContext.getCompiledSegment().isCollection()) {
                         parentObject = findOrCreateOrExpandParentCollectionObject(targetField, parentObject, segmentContext);
                     }
                     Object value = converter.convert(session, lookupTable, sourceField, parentObject, targetField);
@@ -137,7 +139,7 @@ public class DocumentJavaFieldWriter implements AtlasFieldWriter {
             return null;
         }
 
-        String segment = segmentContext.getSegment();
+        Segment segment = segmentContext.getCompiledSegment();
         String parentSegment = segmentContext.getPrev() == null ? null : segmentContext.getPrev().getSegment();
         if (LOG.isDebugEnabled()) {
             LOG.debug("Looking for child object '" + segment + "' in parent '" + parentSegment + "': "
@@ -146,7 +148,7 @@ public class DocumentJavaFieldWriter implements AtlasFieldWriter {
 
         // find the child object on the given parent
         Object childObject = writerUtil.getObjectFromParent(field, parentObject, segmentContext);
-        if (childObject != null && AtlasPath.isCollectionSegment(segment)) {
+        if (childObject != null && segment.isCollection()) {
             if (!collectionHasRoomForIndex(childObject, segmentContext)) {
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Found child collection '" + segment + "' (" + childObject.getClass().getName()
@@ -174,12 +176,12 @@ public class DocumentJavaFieldWriter implements AtlasFieldWriter {
 
     private Object createParentObject(Field field, Object parentObject, SegmentContext segmentContext)
             throws AtlasException {
-        String segment = segmentContext.getSegment();
+        Segment segment = segmentContext.getCompiledSegment();
         if (LOG.isDebugEnabled()) {
             LOG.debug("Creating parent object: " + segmentContext);
         }
         Object childObject = null;
-        if (AtlasPath.isCollectionSegment(segment)) {
+        if (segment.isCollection()) {
             // first, let's see if we have the collection object at all
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Looking for collection wrapper child for " + segmentContext + " on parent: " + parentObject);
@@ -212,7 +214,7 @@ public class DocumentJavaFieldWriter implements AtlasFieldWriter {
 
     private Object findOrCreateOrExpandParentCollectionObject(Field field, Object parentObject,
             SegmentContext segmentContext) throws AtlasException {
-        String segment = segmentContext.getSegment();
+        Segment segment = segmentContext.getCompiledSegment();
         // first, let's see if we have the collection object at all
         if (LOG.isDebugEnabled()) {
             LOG.debug("Looking for collection wrapper child for " + segmentContext + " on parent: " + parentObject);
@@ -241,12 +243,12 @@ public class DocumentJavaFieldWriter implements AtlasFieldWriter {
     private Object expandCollectionToFitItem(Field field, Object obj, SegmentContext segmentContext,
             Object parentObject) throws AtlasException {
         Object collectionObject = obj;
-        String segment = segmentContext.getSegment();
+        Segment segment = segmentContext.getCompiledSegment();
         if (!collectionHasRoomForIndex(collectionObject, segmentContext)) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Collection is not large enough for segment '" + segment + "', expanding the collection.");
             }
-            int index = AtlasPath.indexOfSegment(segment);
+            int index = segmentContext.getCollectionIndex();
             if (collectionObject instanceof List) {
                 List list = (List) collectionObject;
                 while (list.size() < (index + 1)) {
@@ -276,13 +278,13 @@ public class DocumentJavaFieldWriter implements AtlasFieldWriter {
     private Object createCollectionWrapperObject(Field field, SegmentContext segmentContext, Object parentObject)
             throws AtlasException {
         // create the "List" part of List<Contact>
-        String segment = segmentContext.getSegment();
-        if (AtlasPath.isArraySegment(segment)) {
+        Segment segment = segmentContext.getCompiledSegment();
+        if (segment.isArray()) {
             return createObject(field, segmentContext, parentObject, true);
-        } else if (AtlasPath.isListSegment(segment)) {
+        } else if (segment.isList()) {
             // TODO: look up field level or document level default list impl
             return writerUtil.instantiateObject(LinkedList.class, segmentContext, false);
-        } else if (AtlasPath.isMapSegment(segment)) {
+        } else if (segment.isMap()) {
             // TODO: look up field level or document level default map impl
             return writerUtil.instantiateObject(HashMap.class, segmentContext, false);
         }
@@ -300,9 +302,11 @@ public class DocumentJavaFieldWriter implements AtlasFieldWriter {
             LOG.debug("Looking for configured class for field: " + field + ".");
         }
         String className = null;
-        if (field instanceof JavaField) {
+        // the class name configured on the field is the one of the field value, not of its parents
+        boolean fieldSegment = segmentContext.getNext() == null || segmentContext.getPrev() == null;
+        if (fieldSegment && field instanceof JavaField) {
             className = ((JavaField) field).getClassName();
-        } else if (field instanceof JavaEnumField) {
+        } else if (fieldSegment && field instanceof JavaEnumField) {
             className = ((JavaEnumField) field).getClassName();
         }
         if (className != null) {
@@ -331,7 +335,7 @@ public class DocumentJavaFieldWriter implements AtlasFieldWriter {
             Method m = null;
             try {
                 String methodName = "get"
-                        + JavaWriterUtil.capitalizeFirstLetter(AtlasPath.cleanPathSegment(segmentContext.getSegment()));
+                        + JavaWriterUtil.capitalizeFirstLetter(segmentContext.getCompiledSegment().getName());
                 m = ClassHelper.detectGetterMethod(parentObject.getClass(), methodName);
             } catch (NoSuchMethodException e) {
                 // it's ok, we didnt find a getter.
@@ -370,7 +374,7 @@ public class DocumentJavaFieldWriter implements AtlasFieldWriter {
         } else if (Collection.class.isAssignableFrom(answer)) {
             Class<?> oldClass = answer;
             answer = null;
-            String cleanedSegment = AtlasPath.cleanPathSegment(segmentContext.getSegment());
+            String cleanedSegment = segmentContext.getCompiledSegment().getName();
 
             // From return type of getter method
             if (clzType instanceof Class) {
@@ -442,21 +446,20 @@ public class DocumentJavaFieldWriter implements AtlasFieldWriter {
     }
 
     private Object getCollectionItem(Object collection, SegmentContext segmentContext) throws AtlasException {
-        String segment = segmentContext.getSegment();
-        int index = AtlasPath.indexOfSegment(segment);
-        if (AtlasPath.isArraySegment(segment)) {
+        Segment segment = segmentContext.getCompiledSegment();
+        int index = segmentContext.getCollectionIndex();
+        if (segment.isArray()) {
             return Array.get(collection, index);
-        } else if (AtlasPath.isListSegment(segment)) {
+        } else if (segment.isList()) {
             return ((List<?>) collection).get(index);
-        } else if (AtlasPath.isMapSegment(segment)) {
+        } else if (segment.isMap()) {
             throw new AtlasException("Maps are currently unhandled for segment: " + segment);
         }
         throw new AtlasException("Cannot determine collection type from segment: " + segment);
     }
 
     private boolean collectionHasRoomForIndex(Object collection, SegmentContext segmentContext) throws AtlasException {
-        String segment = segmentContext.getSegment();
-        int index = AtlasPath.indexOfSegment(segment);
+        int index = segmentContext.getCollectionIndex();
         int size = getCollectionSize(collection);
         boolean result = size > index;
         if (LOG.isDebugEnabled()) {
@@ -492,8 +495,7 @@ public class DocumentJavaFieldWriter implements AtlasFieldWriter {
         }
         boolean parentIsCollection = (parentObject instanceof Collection) || (parentObject.getClass().isArray());
         if (parentIsCollection) {
-            String segment = segmentContext.getSegment();
-            int index = AtlasPath.indexOfSegment(segment);
+            int index = segmentContext.getCollectionIndex();
             if (parentObject instanceof List) {
                 List list = (List) parentObject;
                 if (index >= list.size()) {
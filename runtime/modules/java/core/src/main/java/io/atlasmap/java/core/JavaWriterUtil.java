@@ -11,8 +11,8 @@ import org.slf4j.LoggerFactory;
 
 import io.atlasmap.api.AtlasConversionService;
 import io.atlasmap.api.AtlasException;
-import io.atlasmap.core.AtlasPath;
 import io.atlasmap.core.AtlasPath.SegmentContext;
+import io.atlasmap.core.CompiledPath;
 import io.atlasmap.java.inspect.ClassHelper;
 import io.atlasmap.java.inspect.JdkPackages;
 import io.atlasmap.java.inspect.StringUtil;
@@ -45,8 +45,8 @@ class JavaWriterUtil {
                 throw new AtlasException("Cannot instantiate object, class is abstract: " + clz.getName()
                         + ", segment: " + segmentContext);
             }
-            if (createWrapperArray && AtlasPath.isArraySegment(segmentContext.getSegment())) {
-                int size = AtlasPath.indexOfSegment(segmentContext.getSegment()) + 1;
+            if (createWrapperArray && segmentContext.getCompiledSegment().isArray()) {
+                int size = segmentContext.getCollectionIndex() + 1;
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Instantiating array of size " + size + " for class '" + clz.getName() + "', segment: "
                             + segmentContext);
@@ -91,7 +91,7 @@ class JavaWriterUtil {
 
         // clean up our segment from something like "@addressLine1" to "addressLine1".
         // collection segments like "orders[4]" will be cleaned to "orders"
-        String cleanedSegment = AtlasPath.cleanPathSegment(segmentContext.getSegment());
+        String cleanedSegment = segmentContext.getCompiledSegment().getName();
 
         // FIXME: this doesn't work if there isn't a getter but there is a private
         // member variable
@@ -159,8 +159,6 @@ class JavaWriterUtil {
                     + "\n\tparentObject: " + parentObject);
         }
 
-        AtlasPath pathUtil = new AtlasPath(javaField.getPath());
-
         try {
             Class<?> childClass = childObject == null ? null : childObject.getClass();
             Method targetMethod = resolveSetMethod(parentObject, segmentContext, childClass);
@@ -180,7 +178,8 @@ class JavaWriterUtil {
                 javaField.setValue(childObject);
             } else {
                 try {
-                    java.lang.reflect.Field field = targetObject.getClass().getField(pathUtil.getLastSegment());
+                    java.lang.reflect.Field field = targetObject.getClass()
+                            .getField(CompiledPath.compile(javaField.getPath()).getLastSegment().getExpression());
                     field.setAccessible(true);
                     field.set(targetObject, childObject);
                     javaField.setValue(field.get(targetObject));
@@ -199,7 +198,7 @@ class JavaWriterUtil {
 
     protected Method resolveSetMethod(Object sourceObject, SegmentContext segmentContext, Class<?> targetType)
             throws NoSuchMethodException, IllegalArgumentException, IllegalAccessException, InvocationTargetException {
-        String setterMethodName = "set" + capitalizeFirstLetter(AtlasPath.cleanPathSegment(segmentContext.getSegment()));
+        String setterMethodName = "set" + capitalizeFirstLetter(segmentContext.getCompiledSegment().getName());
 
         List<Class<?>> classTree = resolveMappableClasses(sourceObject.getClass());
 
@@ -11,14 +11,17 @@ import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasConversionService;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasFieldActionService;
-import io.atlasmap.core.AtlasPath;
+import io.atlasmap.core.AtlasSessionListenerSupport;
 import io.atlasmap.core.AtlasUtil;
+import io.atlasmap.core.CompiledPath;
 import io.atlasmap.java.inspect.ClassHelper;
 import io.atlasmap.java.inspect.JdkPackages;
 import io.atlasmap.java.inspect.StringUtil;
 import io.atlasmap.java.v2.JavaEnumField;
 import io.atlasmap.java.v2.JavaField;
 import io.atlasmap.spi.AtlasInternalSession;
+import io.atlasmap.spi.AtlasPrimitiveValue;
+import io.atlasmap.v2.Actions;
 import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldType;
@@ -27,6 +30,8 @@ import io.atlasmap.v2.LookupTable;
 
 public class TargetValueConverter {
     private static final Logger LOG = LoggerFactory.getLogger(TargetValueConverter.class);
+    private static final ThreadLocal<AtlasPrimitiveValue> PRIMITIVE_VALUE = ThreadLocal
+            .withInitial(AtlasPrimitiveValue::new);
 
     private AtlasConversionService conversionService = null;
 
@@ -48,9 +53,8 @@ public class TargetValueConverter {
 
         if (sourceValue == null) {
             // TODO: Finish targetValue = null processing
-            AtlasUtil.addAudit(session, targetField.getDocId(), String.format(
-                    "Null sourceValue for targetDocId=%s, targetPath=%s", targetField.getDocId(), targetField.getPath()),
-                    targetField.getPath(), AuditStatus.WARN, sourceValue != null ? sourceValue.toString() : null);
+            AtlasUtil.addAudit(session, targetField.getDocId(), targetField.getPath(), null, AuditStatus.WARN,
+                    "Null sourceValue for targetDocId=%s, targetPath=%s", targetField.getDocId(), targetField.getPath());
             return null;
         }
 
@@ -82,32 +86,58 @@ public class TargetValueConverter {
 
         if (sourceField instanceof JavaEnumField || targetField instanceof JavaEnumField) {
             if (!(sourceField instanceof JavaEnumField) || !(targetField instanceof JavaEnumField)) {
-                AtlasUtil.addAudit(session, targetField.getDocId(), String.format(
-                        "Value conversion between enum fields and non-enum fields is not yet supported: sourceType=%s targetType=%s targetPath=%s msg=%s",
-                        sourceType, targetType, targetField.getPath()),
-                        targetField.getPath(), AuditStatus.ERROR, sourceValue != null ? sourceValue.toString() : null);
+                AtlasUtil.addAudit(session, targetField.getDocId(), targetField.getPath(),
+                        sourceValue != null ? sourceValue.toString() : null, AuditStatus.ERROR,
+                        "Value conversion between enum fields and non-enum fields is not yet supported: sourceType=%s targetType=%s targetPath=%s",
+                        sourceType, targetType, targetField.getPath());
             }
             return populateEnumValue(session, lookupTable, (JavaEnumField) sourceField, (JavaEnumField) targetField);
         }
 
-        AtlasFieldActionService fieldActionService = session.getAtlasContext().getContextFactory().getFieldActionService();
         try {
-            targetValue = fieldActionService.processActions(targetField.getActions(), sourceValue, targetType);
-            if (targetValue != null) {
-                FieldType conversionInputType = conversionService.fieldTypeFromClass(targetValue.getClass());
-                targetValue = conversionService.convertType(targetValue, conversionInputType, targetType);
+            Actions actions = targetField.getActions();
+            if ((actions == null || actions.getActions() == null || actions.getActions().isEmpty())
+                    && targetType != FieldType.COMPLEX) {
+                // without actions the value is converted right away, so that the primitive fast path is used
+                FieldType conversionInputType = conversionService.fieldTypeFromClass(sourceValue.getClass());
+                targetValue = convertType(sourceValue, conversionInputType, targetType);
+            } else {
+                AtlasFieldActionService fieldActionService = session.getAtlasContext().getContextFactory()
+                        .getFieldActionService();
+                targetValue = fieldActionService.processActions(actions, sourceValue, targetType);
+                if (targetValue != null) {
+                    FieldType conversionInputType = conversionService.fieldTypeFromClass(targetValue.getClass());
+                    targetValue = convertType(targetValue, conversionInputType, targetType);
+                }
             }
         } catch (AtlasConversionException e) {
-            AtlasUtil.addAudit(session, targetField.getDocId(),
-                    String.format("Unable to auto-convert for sourceType=%s targetType=%s targetPath=%s msg=%s", sourceType, targetType,
-                            targetField.getPath(), e.getMessage()),
-                    targetField.getPath(), AuditStatus.ERROR, targetValue != null ? targetValue.toString() : null);
+            AtlasUtil.addAudit(session, targetField.getDocId(), targetField.getPath(),
+                    targetValue != null ? targetValue.toString() : null, AuditStatus.ERROR,
+                    "Unable to auto-convert for sourceType=%s targetType=%s targetPath=%s msg=%s", sourceType, targetType,
+                    targetField.getPath(), e.getMessage());
+            AtlasSessionListenerSupport.notifyConversionFailure(session, sourceField, targetField, e);
             return null;
         }
 
         return targetValue;
     }
 
+    private Object convertType(Object value, FieldType sourceType, FieldType targetType)
+            throws AtlasConversionException {
+        if (sourceType != null && targetType != null && sourceType != targetType) {
+            // numeric and String values are converted unboxed, only the result is boxed for the setter
+            AtlasPrimitiveValue primitive = PRIMITIVE_VALUE.get();
+            try {
+                if (primitive.set(value) && conversionService.convertPrimitive(primitive, targetType, primitive)) {
+                    return primitive.box();
+                }
+            } finally {
+                primitive.clear();
+            }
+        }
+        return conversionService.convertType(value, sourceType, targetType);
+    }
+
     @SuppressWarnings("unchecked")
     private Object populateEnumValue(AtlasInternalSession session, LookupTable lookupTable, JavaEnumField sourceField, JavaEnumField targetField) throws AtlasException {
         if (sourceField == null || sourceField.getValue() == null) {
@@ -141,18 +171,16 @@ public class TargetValueConverter {
         try {
             enumClass = Class.forName(targetField.getClassName());
         } catch (Exception e) {
-            AtlasUtil.addAudit(session, targetField.getDocId(),
-                    String.format("Could not find class for output field class '%s': %s", targetField.getClassName(), e.getMessage()),
-                    targetField.getPath(), AuditStatus.ERROR, targetValue);
+            AtlasUtil.addAudit(session, targetField.getDocId(), targetField.getPath(), targetValue, AuditStatus.ERROR,
+                    "Could not find class for output field class '%s': %s", targetField.getClassName(), e.getMessage());
             return null;
         }
 
         try {
             return Enum.valueOf(enumClass, targetValue);
         } catch (IllegalArgumentException e) {
-            AtlasUtil.addAudit(session, targetField.getDocId(),
-                    String.format("No enum entry found for value '%s': %s", targetValue, e.getMessage()),
-                    targetField.getPath(), AuditStatus.ERROR, targetValue);
+            AtlasUtil.addAudit(session, targetField.getDocId(), targetField.getPath(), targetValue, AuditStatus.ERROR,
+                    "No enum entry found for value '%s': %s", targetValue, e.getMessage());
             return null;
         }
     }
@@ -160,7 +188,7 @@ public class TargetValueConverter {
     protected Method resolveTargetSetMethod(Object sourceObject, Field field, Class<?> targetType)
             throws AtlasException {
 
-        AtlasPath atlasPath = new AtlasPath(field.getPath());
+        String lastSegment = CompiledPath.compile(field.getPath()).getLastSegment().getExpression();
         Object parentObject = sourceObject;
 
         List<Class<?>> classTree = resolveMappableClasses(parentObject.getClass());
@@ -171,7 +199,7 @@ public class TargetValueConverter {
                 try {
                     String setterMethodName = javaField.getSetMethod();
                     if (setterMethodName == null) {
-                        setterMethodName = "set" + capitalizeFirstLetter(atlasPath.getLastSegment());
+                        setterMethodName = "set" + capitalizeFirstLetter(lastSegment);
                     }
                     return ClassHelper.detectSetterMethod(clazz, setterMethodName, targetType);
                 } catch (NoSuchMethodException e) {
@@ -183,7 +211,7 @@ public class TargetValueConverter {
                     try {
                         String setterMethodName = javaField.getSetMethod();
                         if (setterMethodName == null) {
-                            setterMethodName = "set" + capitalizeFirstLetter(atlasPath.getLastSegment());
+                            setterMethodName = "set" + capitalizeFirstLetter(lastSegment);
                         }
                         return ClassHelper.detectSetterMethod(clazz, setterMethodName,
                                 conversionService.boxOrUnboxPrimitive(targetType));
@@ -195,7 +223,7 @@ public class TargetValueConverter {
         } else if (field instanceof JavaEnumField) {
             for (Class<?> clazz : classTree) {
                 try {
-                    String setterMethodName = "set" + capitalizeFirstLetter(atlasPath.getLastSegment());
+                    String setterMethodName = "set" + capitalizeFirstLetter(lastSegment);
                     return ClassHelper.detectSetterMethod(clazz, setterMethodName, targetType);
                 } catch (NoSuchMethodException e) {
                     // method does not exist
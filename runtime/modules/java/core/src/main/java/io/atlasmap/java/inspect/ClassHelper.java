@@ -20,9 +20,12 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.OptionalInt;
 
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.core.AtlasPath;
+import io.atlasmap.core.CompiledPath;
+import io.atlasmap.core.CompiledPath.Segment;
 
 public class ClassHelper {
 
@@ -132,28 +135,45 @@ public class ClassHelper {
 
     public static Object parentObjectForPath(Object targetObject, AtlasPath pathUtil, boolean skipCollectionWrapper)
             throws AtlasException {
+        if (targetObject == null) {
+            return null;
+        }
+        if (pathUtil == null) {
+            return targetObject;
+        }
+        return parentObjectForCompiledPath(targetObject, CompiledPath.compile(pathUtil.toString()),
+                skipCollectionWrapper);
+    }
+
+    public static Object parentObjectForCompiledPath(Object targetObject, CompiledPath path,
+            boolean skipCollectionWrapper) throws AtlasException {
+        return parentObjectForCompiledPath(targetObject, path, skipCollectionWrapper, OptionalInt.empty());
+    }
+
+    /**
+     * @param collectionIndex loop index bound by a collection mapping, or empty to use the indexes in the path
+     */
+    public static Object parentObjectForCompiledPath(Object targetObject, CompiledPath path,
+            boolean skipCollectionWrapper, OptionalInt collectionIndex) throws AtlasException {
         try {
             if (targetObject == null) {
                 return null;
             }
 
-            if (pathUtil == null) {
+            if (path == null) {
                 return targetObject;
             }
 
-            if (!pathUtil.hasParent() && !pathUtil.hasCollection()) {
+            if (!path.hasParent() && !path.hasCollection()) {
                 return targetObject;
             }
 
             Object parentObject = targetObject;
-            AtlasPath parentPath = pathUtil.getLastSegmentParentPath();
-
-            if (parentPath == null) {
-                parentPath = pathUtil;
-            }
+            int parentSegmentCount = path.hasParent() ? path.size() - 1 : path.size();
 
-            for (String segment : parentPath.getSegments()) {
-                List<String> getters = getterMethodNames(AtlasPath.cleanPathSegment(segment));
+            for (int i = 0; i < parentSegmentCount; i++) {
+                Segment segment = path.getSegment(i);
+                List<String> getters = getterMethodNames(segment.getName());
                 Method getterMethod = null;
                 for (String getter : getters) {
                     try {
@@ -172,12 +192,10 @@ public class ClassHelper {
                 parentObject = getterMethod.invoke(parentObject);
 
                 if (skipCollectionWrapper) {
-                    if (AtlasPath.isListSegment(segment) && pathUtil.isIndexedCollection()) {
-                        int index = AtlasPath.indexOfSegment(segment);
-                        parentObject = ((List<?>) parentObject).get(index);
-                    } else if (AtlasPath.isArraySegment(segment)) {
-                        int index = AtlasPath.indexOfSegment(segment);
-                        parentObject = Array.get(parentObject, index);
+                    if (segment.isList() && (path.isIndexedCollection() || collectionIndex.isPresent())) {
+                        parentObject = ((List<?>) parentObject).get(segment.resolveCollectionIndex(collectionIndex));
+                    } else if (segment.isArray()) {
+                        parentObject = Array.get(parentObject, segment.resolveCollectionIndex(collectionIndex));
                     }
                 }
             }
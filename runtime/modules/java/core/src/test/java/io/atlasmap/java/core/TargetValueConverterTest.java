@@ -0,0 +1,59 @@
+package io.atlasmap.java.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.atlasmap.api.AtlasConversionService;
+import io.atlasmap.core.DefaultAtlasConversionService;
+import io.atlasmap.core.DefaultAtlasFieldActionService;
+import io.atlasmap.java.test.TargetFlatPrimitiveClass;
+import io.atlasmap.java.v2.JavaField;
+import io.atlasmap.spi.AtlasInternalSession;
+import io.atlasmap.spi.AtlasPrimitiveValue;
+import io.atlasmap.v2.FieldType;
+
+public class TargetValueConverterTest {
+
+    private AtlasConversionService conversionService;
+    private AtlasInternalSession session;
+    private TargetValueConverter converter;
+
+    @Before
+    public void setUp() throws Exception {
+        conversionService = spy(DefaultAtlasConversionService.getInstance());
+        DefaultAtlasFieldActionService fieldActionService = new DefaultAtlasFieldActionService(conversionService);
+        fieldActionService.init();
+        session = mock(AtlasInternalSession.class, RETURNS_DEEP_STUBS);
+        when(session.getAtlasContext().getContextFactory().getFieldActionService()).thenReturn(fieldActionService);
+        converter = new TargetValueConverter(conversionService);
+    }
+
+    @Test
+    public void testConvertIntegerToLongUnboxed() throws Exception {
+        JavaField source = new JavaField();
+        source.setPath("/intField");
+        source.setFieldType(FieldType.INTEGER);
+        source.setValue(42);
+        JavaField target = new JavaField();
+        target.setPath("/longField");
+        target.setFieldType(FieldType.LONG);
+        target.setClassName("long");
+
+        Object value = converter.convert(session, null, source, new TargetFlatPrimitiveClass(), target);
+
+        assertEquals(42L, value);
+        verify(conversionService).convertPrimitive(any(AtlasPrimitiveValue.class), eq(FieldType.LONG),
+                any(AtlasPrimitiveValue.class));
+        verify(conversionService, never()).convertType(any(), any(FieldType.class), any(FieldType.class));
+    }
+}
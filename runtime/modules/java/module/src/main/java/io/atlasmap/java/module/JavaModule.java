@@ -24,9 +24,9 @@ import org.slf4j.LoggerFactory;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasValidationException;
 import io.atlasmap.core.AtlasModuleSupport;
-import io.atlasmap.core.AtlasPath;
 import io.atlasmap.core.AtlasUtil;
 import io.atlasmap.core.BaseAtlasModule;
+import io.atlasmap.core.CompiledPath;
 import io.atlasmap.java.core.DocumentJavaFieldReader;
 import io.atlasmap.java.core.DocumentJavaFieldWriter;
 import io.atlasmap.java.core.TargetValueConverter;
@@ -160,7 +160,7 @@ public class JavaModule extends BaseAtlasModule {
     public void processSourceFieldMapping(AtlasInternalSession session) throws AtlasException {
         Field sourceField = session.head().getSourceField();
         DocumentJavaFieldReader reader = session.getFieldReader(getDocId(), DocumentJavaFieldReader.class);
-        reader.read(session);
+        readSourceValue(session, reader);
 
         if (sourceField.getActions() != null && sourceField.getActions().getActions() != null) {
             getFieldActionService().processActions(sourceField.getActions(), sourceField);
@@ -201,9 +201,8 @@ public class JavaModule extends BaseAtlasModule {
         if (writer != null && writer.getRootObject() != null) {
             session.setTargetDocument(getDocId(), writer.getRootObject());
         } else {
-            AtlasUtil.addAudit(session, getDocId(),
-                    String.format("No target document created for DataSource '%s'", getDocId()),
-                    null, AuditStatus.WARN, null);
+            AtlasUtil.addAudit(session, getDocId(), null, null, AuditStatus.WARN,
+                    "No target document created for DataSource '%s'", getDocId());
         }
         session.removeFieldWriter(getDocId());
 
@@ -291,7 +290,8 @@ public class JavaModule extends BaseAtlasModule {
     public int getCollectionSize(AtlasInternalSession session, Field field) throws AtlasException {
         // TODO could this use FieldReader?
         Object document = session.getSourceDocument(getDocId());
-        Object collectionObject = ClassHelper.parentObjectForPath(document, new AtlasPath(field.getPath()), false);
+        Object collectionObject = ClassHelper.parentObjectForCompiledPath(document,
+                CompiledPath.compile(field.getPath()), false);
         if (collectionObject == null) {
             throw new AtlasException(String.format("Cannot find collection on sourceObject %s for path: %s",
                     document.getClass().getName(), field.getPath()));
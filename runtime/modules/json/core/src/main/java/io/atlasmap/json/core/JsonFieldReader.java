@@ -15,6 +15,10 @@
  */
 package io.atlasmap.json.core;
 
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.OptionalInt;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,16 +30,19 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasConversionService;
 import io.atlasmap.api.AtlasException;
-import io.atlasmap.core.AtlasPath;
+import io.atlasmap.core.AtlasSessionListenerSupport;
 import io.atlasmap.core.AtlasUtil;
+import io.atlasmap.core.CollectionValueIterator;
+import io.atlasmap.core.CompiledPath;
+import io.atlasmap.core.CompiledPath.Segment;
 import io.atlasmap.json.v2.JsonField;
-import io.atlasmap.spi.AtlasFieldReader;
+import io.atlasmap.spi.AtlasCollectionFieldReader;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.CollectionType;
 import io.atlasmap.v2.FieldType;
 
-public class JsonFieldReader implements AtlasFieldReader {
+public class JsonFieldReader implements AtlasCollectionFieldReader {
 
     private static final Logger LOG = LoggerFactory.getLogger(JsonFieldReader.class);
 
@@ -60,27 +67,90 @@ public class JsonFieldReader implements AtlasFieldReader {
         }
 
         JsonNode valueNode = null;
-        AtlasPath path = new AtlasPath(jsonField.getPath());
-        if (path.getSegments().size() >= 1) {
-            if (rootNode.size() == 1 && !path.getSegments().get(0).startsWith(rootNode.fieldNames().next())) {
-                // peel off a rooted object
-                valueNode = rootNode.elements().next();
-            } else {
-                valueNode = rootNode;
-            }
+        CompiledPath path = CompiledPath.compile(jsonField.getPath());
+        OptionalInt collectionIndex = session.head().getCollectionIndex();
+        if (path.size() >= 1) {
+            valueNode = getRootNode(path);
 
             // need to walk the path....
-            for (String nodeName : path.getSegments()) {
+            for (int i = 0; i < path.size(); i++) {
                 if (valueNode == null) {
                     break;
                 }
-                valueNode = getValueNode(valueNode, nodeName);
+                valueNode = getValueNode(valueNode, path.getSegment(i), collectionIndex);
             }
         }
         if (valueNode == null) {
             return;
         }
+        readValue(session, jsonField, valueNode);
+    }
 
+    /**
+     * Reads every item of a source collection, e.g. {@code /orders<>/amount}, one at a time as they
+     * are iterated, without building a collection of them. Items which can't be converted are
+     * audited and read as null.
+     */
+    @Override
+    public Iterable<Object> readCollection(AtlasInternalSession session) throws AtlasException {
+        JsonField jsonField = JsonField.class.cast(session.head().getSourceField());
+        if (rootNode == null) {
+            throw new AtlasException("document is not set");
+        }
+        if (jsonField == null) {
+            throw new AtlasException(new IllegalArgumentException("Argument 'jsonField' cannot be null"));
+        }
+        CompiledPath path = CompiledPath.compile(jsonField.getPath());
+        JsonNode root = path.size() >= 1 ? getRootNode(path) : null;
+        FieldType fieldType = jsonField.getFieldType();
+        return () -> new CollectionValueIterator<JsonNode>(path, 0, root) {
+            private final JsonField item = new JsonField();
+
+            {
+                item.setDocId(jsonField.getDocId());
+                item.setPath(jsonField.getPath());
+                item.setFormat(jsonField.getFormat());
+            }
+
+            @Override
+            protected JsonNode child(JsonNode parent, Segment segment) {
+                return getValueNode(parent, segment, OptionalInt.empty());
+            }
+
+            @Override
+            protected Iterator<JsonNode> items(JsonNode parent, Segment segment) {
+                JsonNode collection = parent.get(segment.getQualifiedName());
+                if (collection == null) {
+                    return null;
+                }
+                return collection.isArray() ? collection.elements() : Collections.singletonList(collection).iterator();
+            }
+
+            @Override
+            protected Object value(JsonNode leaf) {
+                item.setFieldType(fieldType);
+                item.setValue(null);
+                try {
+                    readValue(session, item, leaf);
+                } catch (AtlasConversionException e) {
+                    AtlasUtil.addAudit(session, item.getDocId(), item.getPath(), leaf.asText(), AuditStatus.ERROR,
+                            "Failed to read field value '%s': %s", leaf.asText(), e.getMessage());
+                }
+                return item.getValue();
+            }
+        };
+    }
+
+    private JsonNode getRootNode(CompiledPath path) {
+        if (rootNode.size() == 1 && !path.getSegment(0).getExpression().startsWith(rootNode.fieldNames().next())) {
+            // peel off a rooted object
+            return rootNode.elements().next();
+        }
+        return rootNode;
+    }
+
+    private void readValue(AtlasInternalSession session, JsonField jsonField, JsonNode valueNode)
+            throws AtlasConversionException {
         if (valueNode.isNull()) {
             jsonField.setValue(null);
             // we can't detect field type if it's null node
@@ -91,10 +161,10 @@ public class JsonFieldReader implements AtlasFieldReader {
                             jsonField.getFieldType(), null);
                     jsonField.setValue(convertedValue);
                 } catch (AtlasConversionException e) {
-                    AtlasUtil.addAudit(session, jsonField.getDocId(),
-                            String.format("Failed to convert field value '%s' into type '%s'", valueNode.asText(),
-                                    jsonField.getFieldType()),
-                            jsonField.getPath(), AuditStatus.ERROR, valueNode.asText());
+                    String text = valueNode.asText();
+                    AtlasUtil.addAudit(session, jsonField.getDocId(), jsonField.getPath(), text, AuditStatus.ERROR,
+                            "Failed to convert field value '%s' into type '%s'", text, jsonField.getFieldType());
+                    AtlasSessionListenerSupport.notifyConversionFailure(session, jsonField, null, e);
                 }
             } else {
                 if (valueNode.isTextual()) {
@@ -118,24 +188,15 @@ public class JsonFieldReader implements AtlasFieldReader {
         }
     }
 
-    private JsonNode getValueNode(JsonNode parent, String nodeName) {
-        String strippedNodeName = nodeName;
-        Integer index = null;
-        if (nodeName.contains("[")) {
-            // are we looking for an array?
-            index = Integer.parseInt(nodeName.substring(nodeName.indexOf("[") + 1, nodeName.indexOf("]")));
-            strippedNodeName = nodeName.substring(0, nodeName.indexOf("["));
-        } else if (nodeName.contains("<")) {
-            // maybe a list?
-            index = Integer.parseInt(nodeName.substring(nodeName.indexOf("<") + 1, nodeName.indexOf(">")));
-            strippedNodeName = nodeName.substring(0, nodeName.indexOf("<"));
-        }
-        JsonNode answer = parent.get(strippedNodeName);
-        if (answer != null && answer.isArray() && index != null) {
+    private JsonNode getValueNode(JsonNode parent, Segment segment, OptionalInt collectionIndex) {
+        boolean indexed = segment.isArray() || segment.isList();
+        JsonNode answer = parent.get(indexed ? segment.getQualifiedName() : segment.getExpression());
+        if (answer != null && answer.isArray() && indexed && segment.hasCollectionIndex(collectionIndex)) {
+            int index = segment.resolveCollectionIndex(collectionIndex);
             if (index >= 0) {
                 answer = answer.get(index);
             } else {
-                LOG.warn(String.format("Detected negative index for field p=%s, ignoring...", nodeName));
+                LOG.warn(String.format("Detected negative index for field p=%s, ignoring...", segment));
             }
         }
         return answer;
@@ -16,6 +16,7 @@
 package io.atlasmap.json.core;
 
 import java.math.BigDecimal;
+import java.util.OptionalInt;
 
 import org.slf4j.LoggerFactory;
 
@@ -27,7 +28,8 @@ import com.fasterxml.jackson.databind.node.JsonNodeType;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.atlasmap.api.AtlasException;
-import io.atlasmap.core.AtlasPath;
+import io.atlasmap.core.CompiledPath;
+import io.atlasmap.core.CompiledPath.Segment;
 import io.atlasmap.spi.AtlasFieldWriter;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.v2.AtlasModelFactory;
@@ -72,20 +74,22 @@ public class JsonFieldWriter implements AtlasFieldWriter {
             LOG.debug("Field type=" + targetField.getFieldType() + " path=" + targetField.getPath() + " v="
                     + targetField.getValue());
         }
-        AtlasPath path = new AtlasPath(targetField.getPath());
-        String lastSegment = path.getLastSegment();
+        CompiledPath path = CompiledPath.compile(targetField.getPath());
+        OptionalInt collectionIndex = session.head().getCollectionIndex();
+        int lastIndex = path.size() - 1;
         ObjectNode parentNode = this.rootNode;
-        String parentSegment = null;
-        for (String segment : path.getSegments()) {
-            if (!segment.equals(lastSegment)) { // this is a parent node.
+        Segment parentSegment = null;
+        for (int i = 0; i <= lastIndex; i++) {
+            Segment segment = path.getSegment(i);
+            if (i < lastIndex) { // this is a parent node.
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Now processing parent segment: " + segment);
                 }
                 JsonNode childNode = getChildNode(parentNode, parentSegment, segment);
                 if (childNode == null) {
-                    childNode = createParentNode(parentNode, parentSegment, segment);
+                    childNode = createParentNode(parentNode, parentSegment, segment, collectionIndex);
                 } else if (childNode instanceof ArrayNode) {
-                    int index = AtlasPath.indexOfSegment(segment);
+                    int index = segment.resolveCollectionIndex(collectionIndex);
                     ArrayNode arrayChild = (ArrayNode) childNode;
                     if (arrayChild.size() < (index + 1)) {
                         if (LOG.isDebugEnabled()) {
@@ -107,19 +111,19 @@ public class JsonFieldWriter implements AtlasFieldWriter {
                 parentSegment = segment;
             } else { // this is the last segment of the path, write the value
                 if (targetField.getFieldType() == FieldType.COMPLEX) {
-                    createParentNode(parentNode, parentSegment, segment);
+                    createParentNode(parentNode, parentSegment, segment, collectionIndex);
                     return;
                 }
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Now processing field value segment: " + segment);
                 }
-                writeValue(parentNode, parentSegment, segment, targetField);
+                writeValue(parentNode, parentSegment, segment, targetField, collectionIndex);
             }
         }
     }
 
-    private void writeValue(ObjectNode parentNode, String parentSegment, String segment, Field field)
-            throws AtlasException {
+    private void writeValue(ObjectNode parentNode, Segment parentSegment, Segment segment, Field field,
+            OptionalInt collectionIndex) throws AtlasException {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Writing field value '" + segment + "' in parent node '" + parentSegment + "', parentNode: "
                     + parentNode);
@@ -128,8 +132,8 @@ public class JsonFieldWriter implements AtlasFieldWriter {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Value to write: " + valueNode);
         }
-        String cleanedSegment = AtlasPath.cleanPathSegment(segment);
-        if (AtlasPath.isCollectionSegment(segment)) {
+        String cleanedSegment = segment.getName();
+        if (segment.isCollection()) {
             // if this field is a collection, we need to place our value in an array
 
             // get or construct the array the value will be placed in
@@ -151,7 +155,7 @@ public class JsonFieldWriter implements AtlasFieldWriter {
             }
 
             // determine where in the array our value will go
-            int index = AtlasPath.indexOfSegment(segment);
+            int index = segment.resolveCollectionIndex(collectionIndex);
 
             if (arrayChild.size() < (index + 1)) {
                 if (LOG.isDebugEnabled()) {
@@ -180,16 +184,17 @@ public class JsonFieldWriter implements AtlasFieldWriter {
         }
     }
 
-    private ObjectNode createParentNode(ObjectNode parentNode, String parentSegment, String segment) {
+    private ObjectNode createParentNode(ObjectNode parentNode, Segment parentSegment, Segment segment,
+            OptionalInt collectionIndex) {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Creating parent node '" + segment + "' under previous parent '" + parentSegment + "' ("
                     + parentNode.getClass().getName() + ")");
         }
         ObjectNode childNode = null;
-        String cleanedSegment = AtlasPath.cleanPathSegment(segment);
-        if (AtlasPath.isCollectionSegment(segment)) {
+        String cleanedSegment = segment.getName();
+        if (segment.isCollection()) {
             ArrayNode arrayChild = parentNode.putArray(cleanedSegment);
-            int index = AtlasPath.indexOfSegment(segment);
+            int index = segment.resolveCollectionIndex(collectionIndex);
 
             if (arrayChild.size() < (index + 1)) {
                 if (LOG.isDebugEnabled()) {
@@ -255,11 +260,14 @@ public class JsonFieldWriter implements AtlasFieldWriter {
     }
 
     public static JsonNode getChildNode(ObjectNode parentNode, String parentSegment, String segment) {
+        return getChildNode(parentNode, CompiledPath.segment(parentSegment), CompiledPath.segment(segment));
+    }
+
+    private static JsonNode getChildNode(ObjectNode parentNode, Segment parentSegment, Segment segment) {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Looking for child node '" + segment + "' in parent '" + parentSegment + "': " + parentNode);
         }
-        String cleanedSegment = AtlasPath.cleanPathSegment(segment);
-        JsonNode childNode = parentNode.path(cleanedSegment);
+        JsonNode childNode = parentNode.path(segment.getName());
         if (JsonNodeType.MISSING.equals(childNode.getNodeType())) {
             childNode = null;
         }
@@ -25,6 +25,10 @@ import static org.mockito.Mockito.when;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalInt;
 
 import org.hamcrest.core.Is;
 import org.junit.Test;
@@ -65,6 +69,45 @@ public class JsonFieldReaderTest {
         reader.read(mock(AtlasInternalSession.class));
     }
 
+    @Test
+    public void testBoundCollectionIndex() throws Exception {
+        reader.setDocument("{ \"orders\" : [ { \"id\" : 1 }, { \"id\" : 2 }, { \"id\" : 3 } ] }");
+        JsonField field = AtlasJsonModelFactory.createJsonField();
+        field.setPath("/orders<>/id");
+        AtlasInternalSession session = mock(AtlasInternalSession.class);
+        when(session.head()).thenReturn(mock(Head.class));
+        when(session.head().getSourceField()).thenReturn(field);
+        for (int i = 0; i < 3; i++) {
+            when(session.head().getCollectionIndex()).thenReturn(OptionalInt.of(i));
+            reader.read(session);
+            assertEquals(i + 1, field.getValue());
+        }
+        assertEquals("/orders<>/id", field.getPath());
+    }
+
+    @Test
+    public void testReadCollection() throws Exception {
+        reader.setDocument("{ \"shop\" : { \"orders\" : [ { \"lines\" : [ { \"amount\" : 1 }, { \"amount\" : 2.5 } ] },"
+                + " { \"lines\" : [] }, { \"id\" : 3 }, { \"lines\" : [ { \"amount\" : 4 }, { } ] } ] } }");
+        JsonField field = AtlasJsonModelFactory.createJsonField();
+        field.setPath("/orders<>/lines<>/amount");
+        AtlasInternalSession session = mock(AtlasInternalSession.class);
+        when(session.head()).thenReturn(mock(Head.class));
+        when(session.head().getSourceField()).thenReturn(field);
+        Iterable<Object> values = reader.readCollection(session);
+        for (int i = 0; i < 2; i++) {
+            List<Object> answer = new ArrayList<>();
+            values.forEach(answer::add);
+            assertEquals(Arrays.asList(1, 2.5, 4), answer);
+        }
+        assertNull(field.getValue());
+
+        field.setFieldType(FieldType.STRING);
+        List<Object> answer = new ArrayList<>();
+        reader.readCollection(session).forEach(answer::add);
+        assertEquals(Arrays.asList("1", "2.5", "4"), answer);
+    }
+
     @Test
     public void testSimpleJsonDocument() throws Exception {
         final String document = "   { \"brand\" : \"Mercedes\", \"doors\" : 5 }";
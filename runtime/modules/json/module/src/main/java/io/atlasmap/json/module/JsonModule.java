@@ -32,6 +32,7 @@ import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasValidationException;
 import io.atlasmap.core.AtlasPath;
 import io.atlasmap.core.AtlasPath.SegmentContext;
+import io.atlasmap.core.AtlasSessionListenerSupport;
 import io.atlasmap.core.AtlasUtil;
 import io.atlasmap.core.BaseAtlasModule;
 import io.atlasmap.json.core.JsonFieldReader;
@@ -105,7 +106,7 @@ public class JsonModule extends BaseAtlasModule {
     public void processSourceFieldMapping(AtlasInternalSession session) throws AtlasException {
         Field sourceField = session.head().getSourceField();
         JsonFieldReader reader = session.getFieldReader(getDocId(), JsonFieldReader.class);
-        reader.read(session);
+        readSourceValue(session, reader);
 
         if (sourceField.getActions() != null && sourceField.getActions().getActions() != null) {
             getFieldActionService().processActions(sourceField.getActions(), sourceField);
@@ -137,10 +138,10 @@ public class JsonModule extends BaseAtlasModule {
                 targetValue = getConversionService().convertType(sourceField.getValue(), sourceField.getFormat(),
                         targetField.getFieldType(), targetField.getFormat());
             } catch (AtlasConversionException e) {
-                AtlasUtil.addAudit(session, targetField.getDocId(),
-                        String.format("Unable to auto-convert for sT=%s tT=%s tF=%s msg=%s", sourceField.getFieldType(),
-                                targetField.getFieldType(), targetField.getPath(), e.getMessage()),
-                        targetField.getPath(), AuditStatus.ERROR, null);
+                AtlasUtil.addAudit(session, targetField.getDocId(), targetField.getPath(), null, AuditStatus.ERROR,
+                        "Unable to auto-convert for sT=%s tT=%s tF=%s msg=%s", sourceField.getFieldType(),
+                        targetField.getFieldType(), targetField.getPath(), e.getMessage());
+                AtlasSessionListenerSupport.notifyConversionFailure(session, sourceField, targetField, e);
                 return;
             }
         }
@@ -180,9 +181,8 @@ public class JsonModule extends BaseAtlasModule {
                         outputBody.length()));
             }
         } else {
-            AtlasUtil.addAudit(session, getDocId(), String
-                    .format("No target document created for DataSource:[id=%s, uri=%s]", getDocId(), this.getUri()),
-                    null, AuditStatus.WARN, null);
+            AtlasUtil.addAudit(session, getDocId(), null, null, AuditStatus.WARN,
+                    "No target document created for DataSource:[id=%s, uri=%s]", getDocId(), this.getUri());
         }
         session.removeFieldWriter(getDocId());
 
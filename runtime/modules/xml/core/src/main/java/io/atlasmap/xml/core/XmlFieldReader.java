@@ -16,8 +16,11 @@
 package io.atlasmap.xml.core;
 
 import java.io.ByteArrayInputStream;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalInt;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -26,20 +29,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 
 import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasConversionService;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.core.AtlasPath.SegmentContext;
+import io.atlasmap.core.AtlasSessionListenerSupport;
 import io.atlasmap.core.AtlasUtil;
-import io.atlasmap.spi.AtlasFieldReader;
+import io.atlasmap.core.CollectionValueIterator;
+import io.atlasmap.core.CompiledPath;
+import io.atlasmap.core.CompiledPath.Segment;
+import io.atlasmap.spi.AtlasCollectionFieldReader;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.v2.AuditStatus;
 import io.atlasmap.v2.Field;
 import io.atlasmap.v2.FieldType;
 import io.atlasmap.xml.v2.XmlField;
 
-public class XmlFieldReader extends XmlFieldTransformer implements AtlasFieldReader {
+public class XmlFieldReader extends XmlFieldTransformer implements AtlasCollectionFieldReader {
 
     private static final Logger LOG = LoggerFactory.getLogger(XmlFieldReader.class);
 
@@ -81,7 +89,9 @@ public class XmlFieldReader extends XmlFieldTransformer implements AtlasFieldRea
             throw new AtlasException(new IllegalArgumentException("Argument 'xmlField' cannot be null"));
         }
         Element parentNode = document.getDocumentElement();
-        for (SegmentContext sc : new XmlPath(xmlField.getPath()).getSegmentContexts(false)) {
+        OptionalInt collectionIndex = session.head().getCollectionIndex();
+        for (SegmentContext sc : CompiledPath.compile(xmlField.getPath()).getSegmentContexts(false, collectionIndex)) {
+            Segment segment = sc.getCompiledSegment();
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Now processing segment: " + sc.getSegment());
                 LOG.debug("Parent element is currently: " + XmlIOHelper.writeDocumentToString(true, parentNode));
@@ -95,12 +105,8 @@ public class XmlFieldReader extends XmlFieldTransformer implements AtlasFieldRea
                 continue;
             }
 
-            if (!XmlPath.isAttributeSegment(sc.getSegment())) {
-                String childrenElementName = XmlPath.cleanPathSegment(sc.getSegment());
-                String namespaceAlias = XmlPath.getNamespace(sc.getSegment());
-                if (namespaceAlias != null && !"".equals(namespaceAlias)) {
-                    childrenElementName = namespaceAlias + ":" + childrenElementName;
-                }
+            if (!segment.isAttribute()) {
+                String childrenElementName = getChildrenElementName(segment);
                 if (LOG.isDebugEnabled()) {
                     LOG.debug("Looking for children elements with name: " + childrenElementName);
                 }
@@ -113,8 +119,8 @@ public class XmlFieldReader extends XmlFieldTransformer implements AtlasFieldRea
                     return;
                 }
                 parentNode = children.get(0);
-                if (XmlPath.isCollectionSegment(sc.getSegment())) {
-                    int index = XmlPath.indexOfSegment(sc.getSegment());
+                if (segment.isCollection()) {
+                    int index = sc.getCollectionIndex();
                     if (index >= children.size()) {
                         if (LOG.isDebugEnabled()) {
                             LOG.debug("Skipping source value set, children list can't fit index " + index
@@ -127,8 +133,8 @@ public class XmlFieldReader extends XmlFieldTransformer implements AtlasFieldRea
             }
             if (sc.getNext() == null) { // last segment.
                 String value = parentNode.getTextContent();
-                if (XmlPath.isAttributeSegment(sc.getSegment())) {
-                    String attributeName = XmlPath.getAttribute(sc.getSegment());
+                if (segment.isAttribute()) {
+                    String attributeName = XmlPath.getAttribute(segment.getExpression());
                     value = parentNode.getAttribute(attributeName);
                 }
 
@@ -146,16 +152,88 @@ public class XmlFieldReader extends XmlFieldTransformer implements AtlasFieldRea
                                 xmlField.getFieldType(), null);
                         xmlField.setValue(convertedValue);
                     } catch (AtlasConversionException e) {
-                        AtlasUtil.addAudit(session, xmlField.getDocId(),
-                                String.format("Failed to convert field value '%s' into type '%s'", value,
-                                        xmlField.getFieldType()),
-                                xmlField.getPath(), AuditStatus.ERROR, value);
+                        AtlasUtil.addAudit(session, xmlField.getDocId(), xmlField.getPath(), value, AuditStatus.ERROR,
+                                "Failed to convert field value '%s' into type '%s'", value, xmlField.getFieldType());
+                        AtlasSessionListenerSupport.notifyConversionFailure(session, xmlField, null, e);
                     }
                 }
             }
         }
     }
 
+    /**
+     * Reads every item of a source collection, e.g. {@code /XOA/contact<>/firstName}, one at a time
+     * as they are iterated, without building a collection of them. Items which can't be converted
+     * are audited and read as null.
+     */
+    @Override
+    public Iterable<Object> readCollection(AtlasInternalSession session) throws AtlasException {
+        if (document == null) {
+            throw new AtlasException(new IllegalArgumentException("'document' cannot be null"));
+        }
+        Field field = session.head().getSourceField();
+        if (field == null) {
+            throw new AtlasException(new IllegalArgumentException("Argument 'field' cannot be null"));
+        }
+        seedDocumentNamespaces(document);
+        XmlField xmlField = XmlField.class.cast(field);
+        CompiledPath path = CompiledPath.compile(xmlField.getPath());
+        Element root = document.getDocumentElement();
+        // the root segment such as the "XOA" part of "/XOA/contact<>/firstName" is the document element
+        return () -> new CollectionValueIterator<Node>(path, 1, root) {
+            @Override
+            protected Node child(Node parent, Segment segment) {
+                if (!(parent instanceof Element)) {
+                    return null;
+                }
+                if (segment.isAttribute()) {
+                    return ((Element) parent).getAttributeNode(XmlPath.getAttribute(segment.getExpression()));
+                }
+                List<Element> children = XmlIOHelper.getChildrenWithName(getChildrenElementName(segment),
+                        (Element) parent);
+                int index = segment.isCollection() ? segment.getCollectionIndex() : 0;
+                if (children == null || index >= children.size()) {
+                    return null;
+                }
+                return children.get(index);
+            }
+
+            @Override
+            protected Iterator<Node> items(Node parent, Segment segment) {
+                if (!(parent instanceof Element)) {
+                    return null;
+                }
+                List<? extends Node> children = XmlIOHelper.getChildrenWithName(getChildrenElementName(segment),
+                        (Element) parent);
+                return children != null ? Collections.<Node>unmodifiableList(children).iterator() : null;
+            }
+
+            @Override
+            protected Object value(Node leaf) {
+                String value = leaf.getTextContent();
+                if (value == null || xmlField.getFieldType() == null) {
+                    return value;
+                }
+                try {
+                    return conversionService.convertType(value, xmlField.getFormat(), xmlField.getFieldType(), null);
+                } catch (AtlasConversionException e) {
+                    AtlasUtil.addAudit(session, xmlField.getDocId(), xmlField.getPath(), value, AuditStatus.ERROR,
+                            "Failed to convert field value '%s' into type '%s'", value, xmlField.getFieldType());
+                    AtlasSessionListenerSupport.notifyConversionFailure(session, xmlField, null, e);
+                    return null;
+                }
+            }
+        };
+    }
+
+    private static String getChildrenElementName(Segment segment) {
+        String namespaceAlias = segment.getNamespace();
+        if (namespaceAlias != null && !"".equals(namespaceAlias)) {
+            return namespaceAlias + ":" + segment.getName();
+        }
+        return segment.getName();
+    }
+
     public void setDocument(String docString, boolean namespaced) throws AtlasException {
         try {
             DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
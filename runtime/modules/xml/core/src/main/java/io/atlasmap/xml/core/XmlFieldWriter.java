@@ -19,6 +19,7 @@ import java.io.ByteArrayInputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalInt;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -30,6 +31,7 @@ import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
 import io.atlasmap.api.AtlasException;
+import io.atlasmap.core.CompiledPath;
 import io.atlasmap.spi.AtlasFieldWriter;
 import io.atlasmap.spi.AtlasInternalSession;
 import io.atlasmap.v2.Field;
@@ -65,11 +67,12 @@ public class XmlFieldWriter extends XmlFieldTransformer implements AtlasFieldWri
                     targetField.getValue());
         }
 
-        XmlPath path = new XmlPath(targetField.getPath());
-        String lastSegment = path.getLastSegment();
+        CompiledPath path = CompiledPath.compile(targetField.getPath());
+        String lastSegment = path.size() > 0 ? path.getLastSegment().getExpression() : null;
+        OptionalInt collectionIndex = session.head().getCollectionIndex();
         Element parentNode = null;
         String parentSegment = null;
-        for (String segment : path.getSegments()) {
+        for (String segment : path.getSegmentExpressions()) {
             if (LOG.isDebugEnabled()) {
                 LOG.debug("Now processing segment: {}", segment);
                 LOG.debug("Parent element is currently: {}", XmlIOHelper.writeDocumentToString(true, parentNode));
@@ -110,9 +113,9 @@ public class XmlFieldWriter extends XmlFieldTransformer implements AtlasFieldWri
                 if (!XmlPath.isAttributeSegment(segment)) {
                     // if current segment of path isn't attribute, it refers to a child element,
                     // find it or create it..
-                    Element childNode = getChildNode(parentNode, parentSegment, segment);
+                    Element childNode = getChildNode(parentNode, parentSegment, segment, collectionIndex);
                     if (childNode == null) {
-                        childNode = createParentNode(parentNode, parentSegment, segment);
+                        childNode = createParentNode(parentNode, parentSegment, segment, collectionIndex);
                     }
                     parentNode = childNode;
                     parentSegment = segment;
@@ -178,7 +181,8 @@ public class XmlFieldWriter extends XmlFieldTransformer implements AtlasFieldWri
         }
     }
 
-    private Element getChildNode(Element parentNode, String parentSegment, String segment) throws AtlasException {
+    private Element getChildNode(Element parentNode, String parentSegment, String segment, OptionalInt collectionIndex)
+            throws AtlasException {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Looking for child node '{}' in parent '{}': {}",
                     segment, parentSegment, XmlIOHelper.writeDocumentToString(true, parentNode));
@@ -198,7 +202,7 @@ public class XmlFieldWriter extends XmlFieldTransformer implements AtlasFieldWri
         }
         Element childNode = children.size() > 0 ? children.get(0) : null;
         if (children.size() > 0 && XmlPath.isCollectionSegment(segment)) {
-            int index = XmlPath.indexOfSegment(segment);
+            int index = CompiledPath.segment(segment).resolveCollectionIndex(collectionIndex);
             childNode = null;
             if (children.size() > index) {
                 childNode = children.get(index);
@@ -215,14 +219,15 @@ public class XmlFieldWriter extends XmlFieldTransformer implements AtlasFieldWri
         return childNode;
     }
 
-    private Element createParentNode(Element parentNode, String parentSegment, String segment) throws AtlasException {
+    private Element createParentNode(Element parentNode, String parentSegment, String segment, OptionalInt collectionIndex)
+            throws AtlasException {
         if (LOG.isDebugEnabled()) {
             LOG.debug("Creating parent node '{}' under previous parent '{}'.", segment, parentSegment);
         }
         Element childNode = null;
         String cleanedSegment = XmlPath.cleanPathSegment(segment);
         if (XmlPath.isCollectionSegment(segment)) {
-            int index = XmlPath.indexOfSegment(segment);
+            int index = CompiledPath.segment(segment).resolveCollectionIndex(collectionIndex);
             String namespaceAlias = XmlPath.getNamespace(segment);
             if (namespaceAlias != null && !"".equals(namespaceAlias)) {
                 cleanedSegment = namespaceAlias + ":" + cleanedSegment;
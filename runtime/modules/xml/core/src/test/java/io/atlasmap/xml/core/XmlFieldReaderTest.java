@@ -29,8 +29,11 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Test;
@@ -96,6 +99,27 @@ public class XmlFieldReaderTest {
         assertThat(xmlField.getValue(), is("54554555"));
     }
 
+    @Test
+    public void testReadCollection() throws Exception {
+        String doc = getDocumentString("src/test/resources/complex_example.xml");
+        reader.setDocument(doc, false);
+        XmlField xmlField = AtlasXmlModelFactory.createXmlField();
+        xmlField.setPath("/orders/order<>/id<>/@custId");
+        AtlasInternalSession session = mock(AtlasInternalSession.class);
+        when(session.head()).thenReturn(mock(Head.class));
+        when(session.head().getSourceField()).thenReturn(xmlField);
+        List<Object> values = new ArrayList<>();
+        reader.readCollection(session).forEach(values::add);
+        assertEquals(Arrays.asList("a", "b", "a", "a", "b", "c", "a", "b"), values);
+        assertNull(xmlField.getValue());
+
+        xmlField.setPath("/orders/order<>/id[1]");
+        xmlField.setFieldType(FieldType.LONG);
+        values.clear();
+        reader.readCollection(session).forEach(values::add);
+        assertEquals(Arrays.asList(4423423L, 4423423L, 54554555L), values);
+    }
+
     @Test
     public void testReadDocumentSetAttributeValueAsString() throws Exception {
         String doc = getDocumentString("src/test/resources/simple_example.xml");
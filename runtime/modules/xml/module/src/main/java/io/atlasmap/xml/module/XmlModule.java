@@ -41,6 +41,7 @@ import io.atlasmap.api.AtlasConversionException;
 import io.atlasmap.api.AtlasException;
 import io.atlasmap.api.AtlasValidationException;
 import io.atlasmap.core.AtlasPath.SegmentContext;
+import io.atlasmap.core.AtlasSessionListenerSupport;
 import io.atlasmap.core.AtlasUtil;
 import io.atlasmap.core.BaseAtlasModule;
 import io.atlasmap.spi.AtlasInternalSession;
@@ -144,7 +145,7 @@ public class XmlModule extends BaseAtlasModule {
     public void processSourceFieldMapping(AtlasInternalSession session) throws AtlasException {
         Field sourceField = session.head().getSourceField();
         XmlFieldReader reader = session.getFieldReader(getDocId(), XmlFieldReader.class);
-        reader.read(session);
+        readSourceValue(session, reader);
 
         if (sourceField.getActions() != null && sourceField.getActions().getActions() != null) {
             getFieldActionService().processActions(sourceField.getActions(), sourceField);
@@ -176,10 +177,10 @@ public class XmlModule extends BaseAtlasModule {
                 outputValue = getConversionService().convertType(sourceField.getValue(), sourceField.getFormat(),
                         targetField.getFieldType(), targetField.getFormat());
             } catch (AtlasConversionException e) {
-                AtlasUtil.addAudit(session, targetField.getDocId(),
-                        String.format("Unable to auto-convert for sT=%s tT=%s tF=%s msg=%s", sourceField.getFieldType(),
-                                targetField.getFieldType(), targetField.getPath(), e.getMessage()),
-                        targetField.getPath(), AuditStatus.ERROR, null);
+                AtlasUtil.addAudit(session, targetField.getDocId(), targetField.getPath(), null, AuditStatus.ERROR,
+                        "Unable to auto-convert for sT=%s tT=%s tF=%s msg=%s", sourceField.getFieldType(),
+                        targetField.getFieldType(), targetField.getPath(), e.getMessage());
+                AtlasSessionListenerSupport.notifyConversionFailure(session, sourceField, targetField, e);
                 return;
             }
         }
@@ -221,9 +222,8 @@ public class XmlModule extends BaseAtlasModule {
         if (writer != null && writer.getDocument() != null) {
             session.setTargetDocument(getDocId(), convertDocumentToString(writer.getDocument()));
         } else {
-            AtlasUtil.addAudit(session, getDocId(), String
-                    .format("No target document created for DataSource:[id=%s, uri=%s]", getDocId(), this.getUri()),
-                    null, AuditStatus.WARN, null);
+            AtlasUtil.addAudit(session, getDocId(), null, null, AuditStatus.WARN,
+                    "No target document created for DataSource:[id=%s, uri=%s]", getDocId(), this.getUri());
         }
         session.removeFieldWriter(getDocId());
 
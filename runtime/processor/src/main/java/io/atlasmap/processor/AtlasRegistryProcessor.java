@@ -0,0 +1,557 @@
+/**
+ * Copyright (C) 2017 Red Hat, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atlasmap.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+import io.atlasmap.spi.AtlasConversionInfo;
+import io.atlasmap.spi.AtlasFieldActionInfo;
+import io.atlasmap.spi.AtlasGeneratedRegistry;
+import io.atlasmap.v2.CollectionType;
+
+/**
+ * Generates an {@link AtlasGeneratedRegistry} listing the {@link AtlasConversionInfo} and
+ * {@link AtlasFieldActionInfo} methods of a compilation, together with its {@code META-INF/services}
+ * registration, so that the runtime calls them directly instead of scanning and invoking them
+ * reflectively. The registry class name is set with {@code -Aatlasmap.registry=<class name>}, and
+ * defaults to {@code GeneratedAtlasRegistry} in the common package of the annotated classes.
+ * <p>
+ * A class the generated code can't reach, e.g. a non public one, is left out and is scanned at runtime
+ * as before.
+ */
+@SupportedAnnotationTypes({ "io.atlasmap.spi.AtlasConversionInfo", "io.atlasmap.spi.AtlasFieldActionInfo" })
+@SupportedOptions(AtlasRegistryProcessor.REGISTRY_OPTION)
+public class AtlasRegistryProcessor extends AbstractProcessor {
+
+    public static final String REGISTRY_OPTION = "atlasmap.registry";
+    public static final String DEFAULT_REGISTRY_NAME = "GeneratedAtlasRegistry";
+
+    private static final String ACTION_MODEL_PACKAGE = "io.atlasmap.v2.";
+    private static final String ACTION_CLASS_NAME = "io.atlasmap.v2.Action";
+    private static final String STRING_CLASS_NAME = "java.lang.String";
+
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (generated || roundEnv.processingOver()) {
+            return false;
+        }
+
+        Map<String, TypeElement> converterTypes =
+                collectTypes(roundEnv.getElementsAnnotatedWith(AtlasConversionInfo.class));
+        Map<String, TypeElement> actionTypes =
+                collectTypes(roundEnv.getElementsAnnotatedWith(AtlasFieldActionInfo.class));
+        if (converterTypes.isEmpty() && actionTypes.isEmpty()) {
+            return false;
+        }
+        generated = true;
+
+        List<ConverterMethod> converters = new ArrayList<>();
+        for (TypeElement type : converterTypes.values()) {
+            List<ConverterMethod> methods = detectConverterMethods(type);
+            if (methods == null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "Converter is left to the runtime scan as it's not reachable from the registry", type);
+                continue;
+            }
+            converters.addAll(methods);
+        }
+        List<FieldActionMethod> actions = new ArrayList<>();
+        for (TypeElement type : actionTypes.values()) {
+            if (!isAccessible(type)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                        "Field action is left to the runtime scan as it's not reachable from the registry", type);
+                continue;
+            }
+            actions.addAll(detectFieldActionMethods(type));
+        }
+
+        String registryName = processingEnv.getOptions().get(REGISTRY_OPTION);
+        if (registryName == null || registryName.isEmpty()) {
+            String packageName = commonPackage(converterTypes, actionTypes);
+            registryName = packageName.isEmpty() ? DEFAULT_REGISTRY_NAME : packageName + "." + DEFAULT_REGISTRY_NAME;
+        }
+
+        try {
+            writeRegistry(registryName, converters, actions);
+            writeServiceFile(registryName);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    String.format("Failed to generate %s: %s", registryName, e.getMessage()));
+        }
+        return false;
+    }
+
+    private Map<String, TypeElement> collectTypes(Set<? extends Element> methods) {
+        Map<String, TypeElement> answer = new TreeMap<>();
+        for (Element method : methods) {
+            Element enclosing = method.getEnclosingElement();
+            if (method.getKind() == ElementKind.METHOD && enclosing instanceof TypeElement
+                    && enclosing.getKind() == ElementKind.CLASS) {
+                TypeElement type = (TypeElement) enclosing;
+                answer.put(binaryName(type), type);
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Mirrors DefaultAtlasConversionService#loadConverters(), which scans the declared methods of
+     * the converter class and of its superclasses.
+     *
+     * @return the converter methods, or null if any of them can't be called from the registry
+     */
+    private List<ConverterMethod> detectConverterMethods(TypeElement type) {
+        if (!isAccessible(type)) {
+            return null;
+        }
+        List<ConverterMethod> answer = new ArrayList<>();
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (method.getAnnotation(AtlasConversionInfo.class) == null || method.getParameters().isEmpty()) {
+                    continue;
+                }
+                List<? extends VariableElement> params = method.getParameters();
+                boolean containsFormat = params.size() == 3 && isType(params.get(1).asType(), STRING_CLASS_NAME)
+                        && isType(params.get(2).asType(), STRING_CLASS_NAME);
+                if (!method.getModifiers().contains(Modifier.PUBLIC) || (params.size() != 1 && !containsFormat)
+                        || (method.getModifiers().contains(Modifier.STATIC) && !isAccessible(current))) {
+                    return null;
+                }
+                String sourceClassName = erasure(params.get(0).asType());
+                answer.add(newConverterMethod(type, current, method, sourceClassName, erasure(method.getReturnType()),
+                        containsFormat));
+                // javac copies the annotation to the bridge methods the scan finds as well
+                Set<String> signatures = new HashSet<>();
+                signatures.add(sourceClassName + " " + erasure(method.getReturnType()));
+                for (ExecutableElement overridden : findOverriddenMethods(current, method)) {
+                    String bridgeSource = erasure(overridden.getParameters().get(0).asType());
+                    String bridgeTarget = erasure(overridden.getReturnType());
+                    if (signatures.add(bridgeSource + " " + bridgeTarget)) {
+                        answer.add(newConverterMethod(type, current, method, bridgeSource, bridgeTarget,
+                                containsFormat));
+                    }
+                }
+            }
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) processingEnv.getTypeUtils().asElement(superclass) : null;
+        }
+        return answer;
+    }
+
+    private ConverterMethod newConverterMethod(TypeElement type, TypeElement declaringType, ExecutableElement method,
+            String sourceClassName, String targetClassName, boolean containsFormat) {
+        ConverterMethod m = new ConverterMethod();
+        m.type = type;
+        m.declaringType = declaringType;
+        m.method = method;
+        m.parameterClassName = erasure(method.getParameters().get(0).asType());
+        m.sourceClassName = sourceClassName;
+        m.targetClassName = targetClassName;
+        m.containsFormat = containsFormat;
+        return m;
+    }
+
+    private List<ExecutableElement> findOverriddenMethods(TypeElement type, ExecutableElement method) {
+        List<ExecutableElement> answer = new ArrayList<>();
+        if (method.getModifiers().contains(Modifier.STATIC)) {
+            return answer;
+        }
+        Set<TypeElement> supertypes = new LinkedHashSet<>();
+        collectSupertypes(type.asType(), supertypes);
+        for (TypeElement supertype : supertypes) {
+            for (ExecutableElement candidate : ElementFilter.methodsIn(supertype.getEnclosedElements())) {
+                if (candidate.getSimpleName().equals(method.getSimpleName())
+                        && candidate.getParameters().size() == method.getParameters().size()
+                        && processingEnv.getElementUtils().overrides(method, candidate, type)) {
+                    answer.add(candidate);
+                }
+            }
+        }
+        return answer;
+    }
+
+    private void collectSupertypes(TypeMirror type, Set<TypeElement> supertypes) {
+        for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+            Element element = processingEnv.getTypeUtils().asElement(supertype);
+            if (element instanceof TypeElement && supertypes.add((TypeElement) element)) {
+                collectSupertypes(supertype, supertypes);
+            }
+        }
+    }
+
+    /**
+     * Mirrors DefaultAtlasFieldActionService#loadFieldActions() and #processAction(). A method is
+     * given an invoker only if processAction() would find it for its source type.
+     */
+    private List<FieldActionMethod> detectFieldActionMethods(TypeElement type) {
+        boolean instantiable = !type.getModifiers().contains(Modifier.ABSTRACT) && hasPublicConstructor(type);
+        List<FieldActionMethod> answer = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            AtlasFieldActionInfo info = method.getAnnotation(AtlasFieldActionInfo.class);
+            if (info == null || !method.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            FieldActionMethod m = new FieldActionMethod();
+            m.type = type;
+            m.declaringType = (TypeElement) method.getEnclosingElement();
+            m.method = method;
+            m.info = info;
+            m.parameters = detectFieldActionParameters(info.name(), method);
+
+            List<? extends VariableElement> params = method.getParameters();
+            String valueClassName = fieldActionValueClassName(info);
+            m.invocable = instantiable && valueClassName != null && params.size() == 2
+                    && isType(params.get(0).asType(), ACTION_CLASS_NAME)
+                    && isType(params.get(1).asType(), valueClassName)
+                    && (!method.getModifiers().contains(Modifier.STATIC) || isAccessible(m.declaringType));
+            if (m.invocable) {
+                m.valueClassName = valueClassName;
+            }
+            answer.add(m);
+        }
+        return answer;
+    }
+
+    private static String fieldActionValueClassName(AtlasFieldActionInfo info) {
+        if (info.sourceCollectionType() != CollectionType.NONE) {
+            return Object.class.getName();
+        }
+        switch (info.sourceType()) {
+        case BOOLEAN: return Boolean.class.getName();
+        case BYTE: return Byte.class.getName();
+        case BYTE_ARRAY: return Byte[].class.getCanonicalName();
+        case CHAR: return Character.class.getName();
+        case DOUBLE: return Double.class.getName();
+        case FLOAT: return Float.class.getName();
+        case INTEGER: return Integer.class.getName();
+        case LONG: return Long.class.getName();
+        case NUMBER: return Number.class.getName();
+        case SHORT: return Short.class.getName();
+        case STRING: return String.class.getName();
+        case ALL: return Object.class.getName();
+        default: return null;
+        }
+    }
+
+    /**
+     * Mirrors DefaultAtlasFieldActionService#detectFieldActionParameters().
+     *
+     * @return the setter property names and types, or null if the action model class wasn't found
+     */
+    private List<String[]> detectFieldActionParameters(String actionName, Element method) {
+        TypeElement model = processingEnv.getElementUtils().getTypeElement(ACTION_MODEL_PACKAGE + actionName);
+        if (model == null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Field action model class not found: " + ACTION_MODEL_PACKAGE + actionName, method);
+            return null;
+        }
+        List<String[]> answer = new ArrayList<>();
+        for (ExecutableElement setter : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(model))) {
+            String name = setter.getSimpleName().toString();
+            if (setter.getModifiers().contains(Modifier.PUBLIC) && setter.getParameters().size() == 1
+                    && name.startsWith("set")) {
+                answer.add(new String[] { camelize(name.substring("set".length())),
+                        erasure(setter.getParameters().get(0).asType()) });
+            }
+        }
+        return answer;
+    }
+
+    private void writeRegistry(String registryName, List<ConverterMethod> converters, List<FieldActionMethod> actions)
+            throws IOException {
+        int dot = registryName.lastIndexOf('.');
+        String packageName = dot < 0 ? "" : registryName.substring(0, dot);
+        String simpleName = registryName.substring(dot + 1);
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(registryName);
+        try (PrintWriter out = new PrintWriter(file.openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.printf("package %s;%n%n", packageName);
+            }
+            out.printf("import java.util.ArrayList;%n");
+            out.printf("import java.util.HashMap;%n");
+            out.printf("import java.util.List;%n");
+            out.printf("import java.util.Map;%n%n");
+            out.printf("import io.atlasmap.api.AtlasConverter;%n");
+            out.printf("import io.atlasmap.spi.AtlasConverterMethod;%n");
+            out.printf("import io.atlasmap.spi.AtlasFieldActionMethod;%n");
+            out.printf("import io.atlasmap.spi.AtlasGeneratedRegistry;%n");
+            out.printf("import io.atlasmap.v2.Action;%n");
+            out.printf("import io.atlasmap.v2.CollectionType;%n");
+            out.printf("import io.atlasmap.v2.FieldType;%n%n");
+            out.printf("/**%n * Generated by %s, do not edit.%n */%n", getClass().getName());
+            out.printf("public final class %s implements AtlasGeneratedRegistry {%n%n", simpleName);
+
+            out.printf("    @Override%n");
+            out.printf("    public Map<String, List<AtlasConverterMethod>> getConverterMethods() {%n");
+            out.printf("        Map<String, List<AtlasConverterMethod>> answer = new HashMap<>();%n");
+            out.printf("        List<AtlasConverterMethod> methods = null;%n");
+            TypeElement currentType = null;
+            for (int id = 0; id < converters.size(); id++) {
+                ConverterMethod m = converters.get(id);
+                if (m.type != currentType) {
+                    currentType = m.type;
+                    out.printf("        methods = new ArrayList<>();%n");
+                    out.printf("        answer.put(\"%s\", methods);%n", binaryName(m.type));
+                }
+                out.printf("        methods.add(new AtlasConverterMethod(\"%s\", \"%s\", %s, new ConverterInvoker(%d)));%n",
+                        m.sourceClassName, m.targetClassName, m.containsFormat, id);
+            }
+            out.printf("        return answer;%n");
+            out.printf("    }%n%n");
+
+            out.printf("    @Override%n");
+            out.printf("    public Map<String, List<AtlasFieldActionMethod>> getFieldActionMethods() {%n");
+            out.printf("        Map<String, List<AtlasFieldActionMethod>> answer = new HashMap<>();%n");
+            out.printf("        List<AtlasFieldActionMethod> methods = null;%n");
+            currentType = null;
+            int invokerId = 0;
+            for (FieldActionMethod m : actions) {
+                if (m.type != currentType) {
+                    currentType = m.type;
+                    out.printf("        methods = new ArrayList<>();%n");
+                    out.printf("        answer.put(\"%s\", methods);%n", binaryName(m.type));
+                }
+                out.printf("        methods.add(new AtlasFieldActionMethod(\"%s\", \"%s\", FieldType.%s, FieldType.%s,%n",
+                        m.method.getSimpleName(), m.info.name(), enumName(m.info.sourceType()),
+                        enumName(m.info.targetType()));
+                out.printf("                CollectionType.%s, CollectionType.%s,%n",
+                        enumName(m.info.sourceCollectionType()), enumName(m.info.targetCollectionType()));
+                if (m.parameters == null) {
+                    out.printf("                null, null,%n");
+                } else {
+                    StringBuilder names = new StringBuilder();
+                    StringBuilder types = new StringBuilder();
+                    for (String[] p : m.parameters) {
+                        names.append(names.length() == 0 ? " " : ", ").append('"').append(p[0]).append('"');
+                        types.append(types.length() == 0 ? " " : ", ").append(p[1]).append(".class");
+                    }
+                    out.printf("                new String[] {%s }, new Class<?>[] {%s },%n", names, types);
+                }
+                out.printf("                %s));%n", m.invocable ? "new FieldActionInvoker(" + invokerId++ + ")" : "null");
+            }
+            out.printf("        return answer;%n");
+            out.printf("    }%n%n");
+
+            writeConverterInvoker(out, converters);
+            out.printf("%n");
+            writeFieldActionInvoker(out, actions);
+            out.printf("}%n");
+        }
+    }
+
+    private void writeConverterInvoker(PrintWriter out, List<ConverterMethod> converters) {
+        out.printf("    @SuppressWarnings({ \"rawtypes\", \"unchecked\" })%n");
+        out.printf("    private static final class ConverterInvoker implements AtlasConverterMethod.Invoker {%n");
+        out.printf("        private final int id;%n%n");
+        out.printf("        ConverterInvoker(int id) {%n");
+        out.printf("            this.id = id;%n");
+        out.printf("        }%n%n");
+        out.printf("        @Override%n");
+        out.printf("        public Object convert(AtlasConverter<?> converter, Object sourceValue, String sourceFormat,%n");
+        out.printf("                String targetFormat) throws Exception {%n");
+        out.printf("            switch (id) {%n");
+        for (int id = 0; id < converters.size(); id++) {
+            ConverterMethod m = converters.get(id);
+            String args = String.format("(%s) sourceValue%s", m.parameterClassName,
+                    m.containsFormat ? ", sourceFormat, targetFormat" : "");
+            out.printf("            case %d:%n", id);
+            writeCall(out, m.method, m.type, m.declaringType, "converter", args);
+        }
+        out.printf("            default:%n");
+        out.printf("                throw new IllegalStateException(\"Unknown converter method: \" + id);%n");
+        out.printf("            }%n");
+        out.printf("        }%n");
+        out.printf("    }%n");
+    }
+
+    private void writeFieldActionInvoker(PrintWriter out, List<FieldActionMethod> actions) {
+        out.printf("    @SuppressWarnings({ \"rawtypes\", \"unchecked\" })%n");
+        out.printf("    private static final class FieldActionInvoker implements AtlasFieldActionMethod.Invoker {%n");
+        out.printf("        private final int id;%n%n");
+        out.printf("        FieldActionInvoker(int id) {%n");
+        out.printf("            this.id = id;%n");
+        out.printf("        }%n%n");
+        out.printf("        @Override%n");
+        out.printf("        public Object process(Action action, Object sourceValue) throws Exception {%n");
+        out.printf("            switch (id) {%n");
+        int id = 0;
+        for (FieldActionMethod m : actions) {
+            if (!m.invocable) {
+                continue;
+            }
+            out.printf("            case %d:%n", id++);
+            writeCall(out, m.method, m.type, m.declaringType, String.format("new %s()", m.type.getQualifiedName()),
+                    String.format("action, (%s) sourceValue", m.valueClassName));
+        }
+        out.printf("            default:%n");
+        out.printf("                throw new IllegalStateException(\"Unknown field action method: \" + id);%n");
+        out.printf("            }%n");
+        out.printf("        }%n");
+        out.printf("    }%n");
+    }
+
+    private void writeCall(PrintWriter out, ExecutableElement method, TypeElement type, TypeElement declaringType,
+            String instance, String args) {
+        String target;
+        if (method.getModifiers().contains(Modifier.STATIC)) {
+            target = declaringType.getQualifiedName().toString();
+        } else if (instance.startsWith("new ")) {
+            target = instance;
+        } else {
+            target = String.format("((%s) %s)", type.getQualifiedName(), instance);
+        }
+        if (method.getReturnType().getKind() == TypeKind.VOID) {
+            out.printf("                %s.%s(%s);%n", target, method.getSimpleName(), args);
+            out.printf("                return null;%n");
+        } else {
+            out.printf("                return %s.%s(%s);%n", target, method.getSimpleName(), args);
+        }
+    }
+
+    private void writeServiceFile(String registryName) throws IOException {
+        FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                "META-INF/services/" + AtlasGeneratedRegistry.class.getName());
+        try (Writer out = file.openWriter()) {
+            out.write(registryName);
+            out.write(System.lineSeparator());
+        }
+    }
+
+    private String commonPackage(Map<String, TypeElement> converterTypes, Map<String, TypeElement> actionTypes) {
+        String answer = null;
+        List<TypeElement> types = new ArrayList<>(converterTypes.values());
+        types.addAll(actionTypes.values());
+        for (TypeElement type : types) {
+            PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+            String name = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+            if (answer == null) {
+                answer = name;
+                continue;
+            }
+            while (!answer.isEmpty() && !name.equals(answer) && !name.startsWith(answer + ".")) {
+                int dot = answer.lastIndexOf('.');
+                answer = dot < 0 ? "" : answer.substring(0, dot);
+            }
+        }
+        return answer == null ? "" : answer;
+    }
+
+    private boolean isAccessible(TypeElement type) {
+        Element current = type;
+        while (current instanceof TypeElement) {
+            TypeElement t = (TypeElement) current;
+            // inner classes can't be instantiated by ServiceLoader either
+            if (!t.getModifiers().contains(Modifier.PUBLIC)
+                    || (t.getNestingKind() == NestingKind.MEMBER && !t.getModifiers().contains(Modifier.STATIC))) {
+                return false;
+            }
+            current = t.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private boolean hasPublicConstructor(TypeElement type) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PUBLIC) && constructor.getParameters().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isType(TypeMirror type, String className) {
+        return erasure(type).equals(className);
+    }
+
+    private String erasure(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private static String enumName(Enum<?> value) {
+        return value.name();
+    }
+
+    private static String camelize(String parameter) {
+        if (parameter.isEmpty()) {
+            return parameter;
+        }
+        return Character.toLowerCase(parameter.charAt(0)) + parameter.substring(1);
+    }
+
+    private static class ConverterMethod {
+        private TypeElement type;
+        private TypeElement declaringType;
+        private ExecutableElement method;
+        private String parameterClassName;
+        private String sourceClassName;
+        private String targetClassName;
+        private boolean containsFormat;
+    }
+
+    private static class FieldActionMethod {
+        private TypeElement type;
+        private TypeElement declaringType;
+        private ExecutableElement method;
+        private AtlasFieldActionInfo info;
+        private List<String[]> parameters;
+        private boolean invocable;
+        private String valueClassName;
+    }
+}
@@ -230,12 +230,14 @@ public class AtlasService {
         temporaryMappingFile.deleteOnExit();
         atlasContextFactory.getMappingService().saveMappingAsFile(mapping, temporaryMappingFile);
 
-        AtlasContext context = atlasContextFactory.createContext(temporaryMappingFile.toURI());
-        AtlasSession session = context.createSession();
-        context.processValidation(session);
-        Validations validations = session.getValidations();
+        Validations validations;
+        try (AtlasContext context = atlasContextFactory.createContext(temporaryMappingFile.toURI())) {
+            AtlasSession session = context.createSession();
+            context.processValidation(session);
+            validations = session.getValidations();
+        }
 
-        if (session.getValidations() == null) {
+        if (validations == null) {
             validations = new Validations();
         }
 